@@ -16,4 +16,48 @@ CREATE TABLE IF NOT EXISTS audit_log (
 );
 
 CREATE INDEX idx_users_username ON users(username);
+-- Keyset for change polling by the search index, users snapshot and change feed
+CREATE INDEX idx_users_updated_at ON users(updated_at, id);
 CREATE INDEX idx_audit_log_timestamp ON audit_log(timestamp);
+
+-- Keep updated_at current so readers can pick up changed rows
+CREATE OR REPLACE FUNCTION touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS users_touch_updated_at ON users;
+CREATE TRIGGER users_touch_updated_at BEFORE UPDATE ON users
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+
+-- Push row changes to clients listening on row_changes as "table,OP,id,changed_at";
+-- the trigger argument names the table's change-tracking column, empty for deletes
+CREATE OR REPLACE FUNCTION notify_row_change() RETURNS trigger AS $$
+DECLARE
+    changed_row jsonb;
+    changed_at text := '';
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_row := to_jsonb(OLD);
+    ELSE
+        changed_row := to_jsonb(NEW);
+        changed_at := coalesce(changed_row ->> TG_ARGV[0], '');
+    END IF;
+    PERFORM pg_notify('row_changes',
+        TG_TABLE_NAME || ',' || TG_OP || ',' || (changed_row ->> 'id') || ',' || changed_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS users_notify_change ON users;
+CREATE TRIGGER users_notify_change AFTER INSERT OR UPDATE OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_row_change('updated_at');
+
+DROP TRIGGER IF EXISTS audit_log_notify_change ON audit_log;
+CREATE TRIGGER audit_log_notify_change AFTER INSERT OR UPDATE OR DELETE ON audit_log
+    FOR EACH ROW EXECUTE FUNCTION notify_row_change('timestamp');
+
+-- Application account that desktop-client audit events are attributed to
+INSERT INTO users (username, email) VALUES ('app', 'app@localhost') ON CONFLICT DO NOTHING;
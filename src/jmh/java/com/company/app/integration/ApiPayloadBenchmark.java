@@ -0,0 +1,81 @@
+package com.company.app.integration;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ApiClient payload benchmarks - Gson decoding of user list responses,
+ * streamed from bytes the way ApiClient decodes response bodies
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiPayloadBenchmark {
+
+    private static final Type USER_LIST = new TypeToken<List<UserPayload>>() { }.getType();
+
+    @Param({"10", "1000"})
+    public int users;
+
+    private final Gson gson = new Gson();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= users; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                .append(",\"username\":\"user").append(i)
+                .append("\",\"email\":\"user").append(i).append("@example.com\"")
+                .append(",\"createdAt\":\"2024-01-01T00:00:00Z\",\"updatedAt\":\"2024-01-02T00:00:00Z\"}");
+        }
+        body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<UserPayload> decodeStreamed() throws Exception {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, USER_LIST);
+        }
+    }
+
+    @Benchmark
+    public List<UserPayload> decodeViaString() {
+        return gson.fromJson(new String(body, StandardCharsets.UTF_8), USER_LIST);
+    }
+
+    /**
+     * Representative users endpoint record
+     */
+    public static class UserPayload {
+        long id;
+        String username;
+        String email;
+        String createdAt;
+        String updatedAt;
+    }
+}
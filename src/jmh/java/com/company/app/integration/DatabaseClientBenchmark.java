@@ -0,0 +1,60 @@
+package com.company.app.integration;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * DatabaseClient benchmarks - connection lease and return against an embedded stand-in driver
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatabaseClientBenchmark {
+
+    private DatabaseClient client;
+
+    @Setup
+    public void setUp() throws Exception {
+        LoggerUtil.setConsoleOutput(false);
+        client = new DatabaseClient("bench-db", "localhost", 5432, "bench", "bench", "appdb",
+            new PoolConfig(4, 8, 2000, 1000, 600000, 0, 60000));
+        client.setConnectionFactory(new FakeConnectionFactory());
+        client.connect();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.disconnect();
+    }
+
+    @Benchmark
+    public boolean leaseAndReturn() throws Exception {
+        try (Connection connection = client.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean leaseAndReturnContended() throws Exception {
+        try (Connection connection = client.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+}
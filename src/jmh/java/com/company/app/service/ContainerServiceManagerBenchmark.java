@@ -0,0 +1,84 @@
+package com.company.app.service;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.company.app.integration.ContainerServiceClient;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * ContainerServiceManager benchmarks - registry access and health sweeps over fake clients
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainerServiceManagerBenchmark {
+
+    private ContainerServiceManager manager;
+    private FakeClient client;
+
+    @Setup
+    public void setUp() {
+        LoggerUtil.setConsoleOutput(false);
+        // A private instance keeps benchmark services out of the application-wide registry
+        manager = new ContainerServiceManager();
+        client = new FakeClient("bench");
+        for (String serviceId : new String[]{"bench-api", "bench-db", "bench-cache"}) {
+            manager.registerService(serviceId, new FakeClient(serviceId));
+        }
+    }
+
+    @Benchmark
+    public void registerService() {
+        manager.registerService("bench-registered", client);
+    }
+
+    @Benchmark
+    public ContainerServiceClient getService() {
+        return manager.getService("bench-db");
+    }
+
+    @Benchmark
+    public Map<String, HealthCheckResult> healthCheckAllServices() {
+        return manager.healthCheckAllServices();
+    }
+
+    @Benchmark
+    public HealthCheckResult getCachedHealth() {
+        return manager.getCachedHealth("bench-db");
+    }
+
+    /**
+     * Client whose probes answer immediately
+     */
+    public static class FakeClient extends ContainerServiceClient {
+        public FakeClient(String serviceName) {
+            super(serviceName, "http://localhost", 0);
+        }
+
+        @Override
+        public void connect() {
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean isServiceAvailable() {
+            return true;
+        }
+    }
+}
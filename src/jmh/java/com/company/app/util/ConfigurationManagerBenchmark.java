@@ -0,0 +1,50 @@
+package com.company.app.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ConfigurationManager benchmarks - property lookups from one and several threads
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationManagerBenchmark {
+
+    private ConfigurationManager config;
+
+    @Setup
+    public void setUp() {
+        LoggerUtil.setConsoleOutput(false);
+        config = ConfigurationManager.getInstance();
+    }
+
+    @Benchmark
+    public String getProperty() {
+        return config.getProperty("service.api.url", "http://localhost");
+    }
+
+    @Benchmark
+    public int getIntProperty() {
+        return config.getIntProperty("service.api.port", 8080);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int getIntPropertyContended() {
+        return config.getIntProperty("service.api.port", 8080);
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.app.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LoggerUtil benchmarks - cost of log calls on the caller thread.
+ * At INFO the debug calls are filtered out; at DEBUG every call is enqueued.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggerUtilBenchmark {
+
+    @Param({"INFO", "DEBUG"})
+    private LoggerUtil.LogLevel level;
+
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerUtil.setConsoleOutput(false);
+        LoggerUtil.setOverflowPolicy(LoggerUtil.OverflowPolicy.DROP);
+        LoggerUtil.setLevel(level);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LoggerUtil.setLevel(LoggerUtil.LogLevel.DEBUG);
+    }
+
+    @Benchmark
+    public void debugConcatenation() {
+        LoggerUtil.debug("Rendering row " + counter++);
+    }
+
+    @Benchmark
+    public void debugParameterized() {
+        LoggerUtil.debug("Rendering row {}", "row");
+    }
+
+    @Benchmark
+    public void infoParameterized() {
+        LoggerUtil.info("Navigating to {}", "Dashboard");
+    }
+
+    @Benchmark
+    public void infoPlain() {
+        LoggerUtil.info("Navigating to Dashboard");
+    }
+}
@@ -1,48 +1,255 @@
 package com.company.app.core;
 
-import javafx.application.Application;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.application.Platform;
+import javafx.scene.Scene;
 import javafx.stage.Stage;
+import com.company.app.integration.ApiClient;
+import com.company.app.integration.CacheClient;
+import com.company.app.integration.DatabaseClient;
+import com.company.app.integration.PoolConfig;
+import com.company.app.integration.ResiliencePolicy;
+import com.company.app.integration.ResponseCache;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.metrics.MetricsServer;
+import com.company.app.service.AuditService;
+import com.company.app.service.ContainerServiceManager;
+import com.company.app.service.JdbcAuditSink;
+import com.company.app.service.SearchService;
+import com.company.app.service.ServiceSampler;
+import com.company.app.service.ServiceState;
+import com.company.app.theme.ThemeManager;
+import com.company.app.ui.components.MainFrame;
+import com.company.app.ui.components.SplashScreen;
 import com.company.app.ui.controller.MainFrameController;
+import com.company.app.util.ConfigurationManager;
 import com.company.app.util.LoggerUtil;
 
 /**
  * Main entry point for the application.
- * Initializes and launches the JavaFX application.
+ * Initializes and launches the JavaFX application. A splash window appears
+ * first while startup work runs in parallel in the background; each step is
+ * recorded in the BootTimeline, which is logged at the first frame.
  */
 public class Application extends javafx.application.Application {
     
     private static final String APP_TITLE = "Enterprise UI Application";
     private static final String APP_VERSION = "1.0.0";
     
+    private static final int BOOTSTRAP_THREADS = 3;
+    
+    private final AtomicInteger bootstrapThreadCount = new AtomicInteger();
+    private volatile MetricsServer metricsServer;
     private MainFrameController mainFrameController;
     
     @Override
     public void start(Stage primaryStage) {
-        try {
+        BootTimeline timeline = BootTimeline.getInstance();
+        timeline.mark("fx-start");
+        SplashScreen splash = timeline.time("splash", () -> {
+            SplashScreen screen = new SplashScreen(APP_TITLE);
+            screen.show();
+            return screen;
+        });
+        
+        // Config, stylesheets, service registration and the main frame's node graph load in
+        // parallel off the FX thread; only the scene swap and the first frame run on it
+        ExecutorService bootstrap = Executors.newFixedThreadPool(BOOTSTRAP_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "bootstrap-" + bootstrapThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger completedSteps = new AtomicInteger();
+        
+        CompletableFuture<Void> config = CompletableFuture.runAsync(() -> timeline.time("config", () -> {
+            LoggerUtil.configure(ConfigurationManager.getInstance());
             LoggerUtil.info("Starting application: " + APP_TITLE + " v" + APP_VERSION);
-            
-            // Initialize main frame
+        }), bootstrap);
+        CompletableFuture<Void> stylesheets = CompletableFuture.runAsync(() ->
+            timeline.time("stylesheets", () -> ThemeManager.getInstance().preloadStylesheets()), bootstrap);
+        CompletableFuture<MainFrame> mainFrame = CompletableFuture.supplyAsync(() ->
+            timeline.time("main-frame", MainFrame::new), bootstrap);
+        CompletableFuture<Void> services = config.thenRunAsync(() ->
+            timeline.time("services", this::registerServices), bootstrap);
+        
+        config.thenRun(() -> splash.setProgress("Configuration loaded", completedSteps.incrementAndGet() / 4.0));
+        stylesheets.thenRun(() -> splash.setProgress("Styles loaded", completedSteps.incrementAndGet() / 4.0));
+        mainFrame.thenRun(() -> splash.setProgress("Main window built", completedSteps.incrementAndGet() / 4.0));
+        services.thenRun(() -> splash.setProgress("Connecting services", completedSteps.incrementAndGet() / 4.0));
+        
+        CompletableFuture.allOf(stylesheets, services, mainFrame)
+            .thenAcceptAsync(ignored -> {
+                showMainWindow(primaryStage, mainFrame.join());
+                splash.close();
+                // Connections can take seconds; the window does not wait for them
+                CompletableFuture.runAsync(() -> timeline.time("connect", this::startServices));
+            }, Platform::runLater)
+            .whenComplete((ignored, error) -> {
+                bootstrap.shutdown();
+                if (error != null) {
+                    LoggerUtil.error("Failed to start application", error);
+                    System.exit(1);
+                }
+            });
+    }
+    
+    private void showMainWindow(Stage primaryStage, MainFrame mainFrame) {
+        BootTimeline timeline = BootTimeline.getInstance();
+        timeline.time("scene", () -> {
             mainFrameController = new MainFrameController();
-            mainFrameController.initialize(primaryStage);
+            mainFrameController.initialize(primaryStage, mainFrame);
             
             // Configure primary stage
             primaryStage.setTitle(APP_TITLE);
             primaryStage.setWidth(1200);
             primaryStage.setHeight(800);
             primaryStage.setOnCloseRequest(event -> onApplicationExit());
-            
-            // Show stage
             primaryStage.show();
+        });
+        
+        Scene scene = primaryStage.getScene();
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean done;
             
-            LoggerUtil.info("Application started successfully");
-        } catch (Exception e) {
-            LoggerUtil.error("Failed to start application", e);
-            System.exit(1);
+            @Override
+            public void run() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                timeline.mark("first-frame");
+                timeline.log();
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                // Training runs for the class-data-sharing archive stop once the window is up
+                if (ConfigurationManager.getInstance().getBooleanProperty("app.startup.exitAfterFirstFrame", false)) {
+                    Platform.runLater(Application.this::onApplicationExit);
+                }
+            }
+        });
+        LoggerUtil.info("Application started successfully");
+    }
+    
+    private void registerServices() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        ContainerServiceManager manager = ContainerServiceManager.getInstance();
+        
+        DatabaseClient databaseClient = new DatabaseClient(
+            config.getProperty("service.database.name", "enterprise-db"),
+            config.getProperty("service.database.url", "localhost"),
+            config.getIntProperty("service.database.port", 5432),
+            config.getProperty("service.database.username"),
+            config.getProperty("service.database.password"));
+        
+        CacheClient cacheClient = new CacheClient(
+            config.getProperty("service.cache.name", "redis-cache"),
+            config.getProperty("service.cache.url", "localhost"),
+            config.getIntProperty("service.cache.port", 6379));
+        
+        ApiClient apiClient = new ApiClient(
+            config.getProperty("service.api.name", "backend-api"),
+            config.getProperty("service.api.url", "http://localhost"),
+            config.getIntProperty("service.api.port", 8080));
+        apiClient.setConnectionTimeout(config.getDurationProperty("service.api.timeout", Duration.ofMillis(5000)).toMillis());
+        apiClient.setResiliencePolicy(ResiliencePolicy.fromConfiguration("service.api"));
+        apiClient.setResponseCache(ResponseCache.fromConfiguration("service.api"));
+        databaseClient.setResiliencePolicy(ResiliencePolicy.fromConfiguration("service.database"));
+        
+        // Mirrors docker-compose depends_on: the backend API sits on top of the database and cache
+        manager.registerService(ContainerServiceManager.DATABASE_SERVICE, databaseClient);
+        manager.registerService(ContainerServiceManager.CACHE_SERVICE, cacheClient);
+        manager.registerService(ContainerServiceManager.API_SERVICE, apiClient,
+            ContainerServiceManager.DATABASE_SERVICE, ContainerServiceManager.CACHE_SERVICE);
+        
+        // Feed the dashboard's live charts from every client and health sweep
+        ServiceSampler.getInstance().attach(manager);
+        
+        // Retune running services when application.properties is edited
+        config.addListener((previous, current, changedKeys) -> {
+            if (anyStartsWith(changedKeys, "logging.")) {
+                LoggerUtil.configure(config);
+            }
+            if (changedKeys.contains("service.api.timeout")) {
+                apiClient.setConnectionTimeout(current.getDuration("service.api.timeout", Duration.ofMillis(5000)).toMillis());
+            }
+            if (changedKeys.contains("service.health.cacheTtl")) {
+                manager.setHealthCacheTtl(current.getDuration("service.health.cacheTtl", Duration.ofMillis(10000)).toMillis());
+            }
+            if (anyStartsWith(changedKeys, "service.database.pool.")) {
+                databaseClient.reconfigurePool(PoolConfig.fromConfiguration());
+            }
+            if (anyStartsWith(changedKeys, "service.api.resilience.")) {
+                apiClient.setResiliencePolicy(ResiliencePolicy.fromConfiguration("service.api"));
+            }
+            if (anyStartsWith(changedKeys, "service.database.resilience.")) {
+                databaseClient.setResiliencePolicy(ResiliencePolicy.fromConfiguration("service.database"));
+            }
+        });
+        config.startWatching();
+    }
+    
+    private static boolean anyStartsWith(Set<String> keys, String prefix) {
+        return keys.stream().anyMatch(key -> key.startsWith(prefix));
+    }
+    
+    private void startServices() {
+        ContainerServiceManager manager = ContainerServiceManager.getInstance();
+        // Audit events recorded during startup stay queued until the database is up
+        manager.addServiceStateListener((previous, current) -> {
+            if (ContainerServiceManager.DATABASE_SERVICE.equals(current.getServiceId())
+                    && current.getState() == ServiceState.UP) {
+                AuditService.getInstance().start(new JdbcAuditSink((DatabaseClient) current.getClient()));
+            }
+        });
+        manager.startAllServices();
+        manager.startHealthMonitoring(ConfigurationManager.getInstance().getDurationProperty("service.health.interval", Duration.ofMillis(15000)).toMillis());
+        startMetricsServer();
+    }
+    
+    private void startMetricsServer() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        if (!config.getBooleanProperty("metrics.enabled", true)) {
+            return;
+        }
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        AuditService audit = AuditService.getInstance();
+        registry.gauge("app_audit_queue_depth", "Audit events waiting to be written",
+            () -> audit.getStats().getQueueDepth());
+        registry.gauge("app_audit_dropped_events", "Audit events discarded by the overflow policy",
+            () -> audit.getStats().getDroppedCount());
+        
+        MetricsServer server = new MetricsServer(registry, new InetSocketAddress(
+            config.getProperty("metrics.bindAddress", "0.0.0.0"), config.getIntProperty("metrics.port", 8000)));
+        try {
+            server.start();
+            metricsServer = server;
+        } catch (IOException e) {
+            // Another instance on the same host may hold the port; the UI works without metrics
+            LoggerUtil.warn("Metrics endpoint not started: " + e.getMessage());
         }
     }
     
     private void onApplicationExit() {
         LoggerUtil.info("Application shutting down");
+        ConfigurationManager.getInstance().stopWatching();
+        ServiceSampler.getInstance().stop();
+        if (mainFrameController != null) {
+            mainFrameController.shutdown();
+        }
+        SearchService.getInstance().stop();
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        AuditService.getInstance().shutdown(ConfigurationManager.getInstance()
+            .getDurationProperty("audit.drainTimeout", Duration.ofMillis(5000)).toMillis());
+        ContainerServiceManager.getInstance().stopAllServices();
+        LoggerUtil.shutdown();
         System.exit(0);
     }
     
@@ -0,0 +1,154 @@
+package com.company.app.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Boot Timeline - Per-phase record of application startup.
+ * Phases may run on different threads and overlap; each one keeps its offset
+ * from JVM start, its duration and the thread it ran on. Milestones such as
+ * the first frame are phases with no duration. The time from JVM start to
+ * the first timeline call is recorded as the "jvm" phase.
+ */
+public class BootTimeline {
+    
+    private final long originNanos;
+    private final long originOffsetMillis;
+    private final List<Phase> phases = new ArrayList<>();
+    
+    private static class SingletonHolder {
+        static final BootTimeline instance = new BootTimeline(ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+    
+    public static BootTimeline getInstance() {
+        return SingletonHolder.instance;
+    }
+    
+    BootTimeline(long jvmStartMillis) {
+        this.originNanos = System.nanoTime();
+        this.originOffsetMillis = Math.max(0, System.currentTimeMillis() - jvmStartMillis);
+        phases.add(new Phase("jvm", "main", -originOffsetMillis * 1_000_000, 0));
+    }
+    
+    /**
+     * One timed step of startup
+     */
+    public final class Phase {
+        private final String name;
+        private final String thread;
+        private final long startNanos;
+        private volatile long endNanos = -1;
+        
+        private Phase(String name, String thread, long startNanos, long endNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+        
+        public void end() {
+            if (endNanos < 0) {
+                endNanos = System.nanoTime() - originNanos;
+            }
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getThread() {
+            return thread;
+        }
+        
+        /**
+         * Milliseconds from JVM start to the beginning of this phase
+         */
+        public double getStartMillis() {
+            return originOffsetMillis + startNanos / 1_000_000.0;
+        }
+        
+        /**
+         * Duration in milliseconds, or -1 while the phase is still running
+         */
+        public double getDurationMillis() {
+            long end = endNanos;
+            return end < 0 ? -1 : (end - startNanos) / 1_000_000.0;
+        }
+    }
+    
+    public Phase begin(String name) {
+        Phase phase = new Phase(name, Thread.currentThread().getName(), System.nanoTime() - originNanos, -1);
+        synchronized (phases) {
+            phases.add(phase);
+        }
+        return phase;
+    }
+    
+    /**
+     * Record a point in time, e.g. the first frame
+     */
+    public void mark(String name) {
+        begin(name).end();
+    }
+    
+    public void time(String name, Runnable step) {
+        Phase phase = begin(name);
+        try {
+            step.run();
+        } finally {
+            phase.end();
+        }
+    }
+    
+    public <T> T time(String name, Supplier<T> step) {
+        Phase phase = begin(name);
+        try {
+            return step.get();
+        } finally {
+            phase.end();
+        }
+    }
+    
+    /**
+     * Phases ordered by start time
+     */
+    public List<Phase> getPhases() {
+        List<Phase> ordered;
+        synchronized (phases) {
+            ordered = new ArrayList<>(phases);
+        }
+        ordered.sort(Comparator.comparingLong(phase -> phase.startNanos));
+        return ordered;
+    }
+    
+    /**
+     * Phase name to duration in milliseconds, in start order
+     */
+    public Map<String, Double> toReport() {
+        Map<String, Double> report = new LinkedHashMap<>();
+        for (Phase phase : getPhases()) {
+            report.put(phase.getName(), phase.getDurationMillis());
+        }
+        return report;
+    }
+    
+    public String format() {
+        StringBuilder table = new StringBuilder("Startup timeline (ms from JVM start):");
+        for (Phase phase : getPhases()) {
+            double duration = phase.getDurationMillis();
+            table.append(String.format("%n  %8.1f  %-20s %10s  [%s]", phase.getStartMillis(), phase.getName(),
+                duration < 0 ? "running" : String.format("+%.1f", duration), phase.getThread()));
+        }
+        return table.toString();
+    }
+    
+    public void log() {
+        LoggerUtil.info(format());
+    }
+}
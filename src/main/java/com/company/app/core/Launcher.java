@@ -0,0 +1,18 @@
+package com.company.app.core;
+
+/**
+ * Launcher - Entry point for the packaged jar.
+ * The java launcher refuses to start a main class that extends
+ * javafx.application.Application unless JavaFX is on the module path, so
+ * the shaded jar starts here and hands over to Application.
+ */
+public final class Launcher {
+    
+    private Launcher() {
+    }
+    
+    public static void main(String[] args) {
+        BootTimeline.getInstance().mark("main");
+        Application.main(args);
+    }
+}
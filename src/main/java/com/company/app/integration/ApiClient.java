@@ -1,44 +1,428 @@
 package com.company.app.integration;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import com.google.gson.Gson;
+import com.company.app.exception.ApplicationException;
+import com.company.app.metrics.Counter;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.util.ConfigurationManager;
 import com.company.app.util.LoggerUtil;
 
 /**
  * API Client - Container API integration.
- * Manages REST API communication with backend container.
+ * Manages REST API communication with backend container over a single
+ * multiplexed HTTP/2 client. Requests are asynchronous and share a small
+ * pool of carrier threads, so callers (including the JavaFX thread) never
+ * block on the network. GETs are idempotent, so when hedging is enabled a
+ * request still running past the recent p95 is sent once more and the
+ * first answer wins. Responses are cached as their Cache-Control, ETag and
+ * Last-Modified headers allow, and identical requests in flight at the same
+ * time share one network call. When the backend cannot be reached, a stored
+ * response is served even if stale.
  */
 public class ApiClient extends ContainerServiceClient {
-    
+
+    private static final String HEALTH_ENDPOINT = "/health";
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final long DEFAULT_CACHE_BYTES = 16L << 20;
+    private static final int HEDGE_BUDGET_WINDOW_SECONDS = 10;
+
+    private final Gson gson = new Gson();
+    private final int ioThreads;
+    private volatile HttpClient httpClient;
+    private volatile ExecutorService executor;
+    private final Counter requestCount;
+    private final Counter hedgeCount;
+    private final HedgeBudget hedgeBudget = new HedgeBudget(HEDGE_BUDGET_WINDOW_SECONDS);
+    private final Map<String, CompletableFuture<Payload>> inFlightRequests = new ConcurrentHashMap<>();
+    private volatile ResponseCache responseCache = new ResponseCache(DEFAULT_CACHE_BYTES, null);
+
     public ApiClient(String serviceName, String serviceUrl, int servicePort) {
         super(serviceName, serviceUrl, servicePort);
+        this.ioThreads = Math.max(1, ConfigurationManager.getInstance().getIntProperty("service.api.ioThreads", 2));
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.requestCount = registry.counter("app_api_requests_total", "API requests admitted", "service", serviceName);
+        this.hedgeCount = registry.counter("app_api_hedged_requests_total", "API requests sent a second time", "service", serviceName);
+        String cacheHelp = "API requests by response cache outcome";
+        registry.counter("app_api_cache_requests_total", cacheHelp, () -> getCacheStats().getHitCount(),
+            "service", serviceName, "result", "hit");
+        registry.counter("app_api_cache_requests_total", cacheHelp, () -> getCacheStats().getMissCount(),
+            "service", serviceName, "result", "miss");
+        registry.counter("app_api_cache_requests_total", cacheHelp, () -> getCacheStats().getRevalidationCount(),
+            "service", serviceName, "result", "revalidated");
+        registry.counter("app_api_cache_requests_total", cacheHelp, () -> getCacheStats().getCoalescedCount(),
+            "service", serviceName, "result", "coalesced");
+        registry.counter("app_api_cache_requests_total", cacheHelp, () -> getCacheStats().getStaleCount(),
+            "service", serviceName, "result", "stale");
     }
-    
+
     @Override
     public void connect() throws Exception {
         LoggerUtil.info("Connecting to API service: " + serviceName + " at " + serviceUrl + ":" + servicePort);
-        // Implementation for API connection
+        getHttpClient();
     }
-    
+
     @Override
     public void disconnect() throws Exception {
         LoggerUtil.info("Disconnecting from API service: " + serviceName);
-        // Implementation for API disconnection
+        synchronized (this) {
+            httpClient = null;
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
     }
-    
+
     @Override
     public boolean isServiceAvailable() {
         try {
-            // Check service availability via ping/health check
+            // Check service availability via health endpoint
             LoggerUtil.debug("Checking availability for: " + serviceName);
-            return true;
+            if (httpClient == null) {
+                return false;
+            }
+            HttpRequest request = newRequest(HEALTH_ENDPOINT, connectionTimeout).GET().build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         } catch (Exception e) {
             LoggerUtil.error("Service availability check failed", e);
             return false;
         }
     }
-    
+
+    /**
+     * Issue a GET request and decode the JSON body into the given type.
+     * The returned future completes on one of the client's carrier threads
+     * and fails with an ApplicationException for non-2xx responses.
+     */
+    public <T> CompletableFuture<T> makeRequestAsync(String endpoint, Class<T> responseType) {
+        return sendAsync(endpoint, responseType);
+    }
+
+    /**
+     * Issue a GET request and decode the JSON body into a generic type
+     */
+    public <T> CompletableFuture<T> makeRequestAsync(String endpoint, Type responseType) {
+        return sendAsync(endpoint, responseType);
+    }
+
+    /**
+     * Blocking variant of makeRequestAsync. Must not be called on the JavaFX thread.
+     */
     public <T> T makeRequest(String endpoint, Class<T> responseType) throws Exception {
+        try {
+            return makeRequestAsync(endpoint, responseType).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    private <T> CompletableFuture<T> sendAsync(String endpoint, Type responseType) {
         LoggerUtil.debug("Making request to: " + endpoint);
-        // Implementation for making HTTP requests
-        return null;
+        ExecutorService carrier;
+        try {
+            getHttpClient();
+            carrier = executor;
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        String key = resolve(endpoint).toString();
+        ResponseCache cache = responseCache;
+        CompletableFuture<CachedResponse> lookup;
+        try {
+            // Callers are often on the JavaFX thread: only a memory hit is answered here, disk reads go to a carrier
+            lookup = cache.getAsync(key, carrier);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return lookup.thenCompose(cached -> respond(endpoint, key, cached, cache, responseType, carrier));
+    }
+
+    /**
+     * Answer from the cached entry while it is fresh, otherwise join or start the network call
+     */
+    private <T> CompletableFuture<T> respond(String endpoint, String key, CachedResponse cached, ResponseCache cache,
+                                             Type responseType, ExecutorService carrier) {
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            cache.recordHit();
+            return CompletableFuture.supplyAsync(() -> decode(endpoint, HTTP_OK, cached.getBody(), responseType), carrier);
+        }
+
+        // Identical requests already on the wire share its response instead of sending their own
+        CompletableFuture<Payload> shared = new CompletableFuture<>();
+        CompletableFuture<Payload> inFlight = inFlightRequests.putIfAbsent(key, shared);
+        if (inFlight != null) {
+            cache.recordCoalesced();
+            return inFlight.thenApplyAsync(payload -> decode(endpoint, payload.status, payload.body, responseType), carrier);
+        }
+        fetch(endpoint, key, cached, cache).whenComplete((payload, error) -> {
+            inFlightRequests.remove(key, shared);
+            if (error != null && cached != null && isServiceFault(error)) {
+                // Backend down or shedding load: the last-known response beats none, even when stale
+                cache.recordStale();
+                LoggerUtil.debug("Serving stale response for " + endpoint + ": " + error.getMessage());
+                shared.complete(new Payload(HTTP_OK, cached.getBody()));
+            } else if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(payload);
+            }
+        });
+        return shared.thenApplyAsync(payload -> decode(endpoint, payload.status, payload.body, responseType), carrier);
+    }
+
+    /**
+     * One network call through the bulkhead, breaker and hedging, revalidating
+     * the stale entry when there is one and storing the result if cacheable
+     */
+    private CompletableFuture<Payload> fetch(String endpoint, String key, CachedResponse stale, ResponseCache cache) {
+        HttpClient client;
+        ExecutorService carrier;
+        Call call;
+        try {
+            client = getHttpClient();
+            carrier = executor;
+            call = admit();
+        } catch (RuntimeException | ApplicationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        requestCount.increment();
+        hedgeBudget.recordRequest();
+
+        long timeout = getEffectiveTimeout();
+        HttpRequest.Builder builder = newRequest(endpoint, timeout).GET();
+        if (stale != null && stale.getEtag() != null) {
+            builder.header("If-None-Match", stale.getEtag());
+        }
+        if (stale != null && stale.getLastModified() != null) {
+            builder.header("If-Modified-Since", stale.getLastModified());
+        }
+        HttpRequest request = builder.build();
+        Supplier<CompletableFuture<HttpResponse<byte[]>>> send = () -> client
+            .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        long hedgeDelay = getResiliencePolicy().isHedgingEnabled() ? getHedgeDelayNanos() : -1;
+        CompletableFuture<HttpResponse<byte[]>> result;
+        if (hedgeDelay > 0 && hedgeDelay < TimeUnit.MILLISECONDS.toNanos(timeout)) {
+            result = hedged(send, call, hedgeDelay, carrier);
+        } else {
+            CompletableFuture<HttpResponse<byte[]>> exchange = send.get();
+            result = exchange.thenApply(ApiClient::rejectServerError);
+            // A timed-out result aborts the exchange instead of letting it finish unobserved
+            result.whenComplete((response, error) -> exchange.cancel(true));
+        }
+        return result
+            .orTimeout(timeout, TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                call.finish(error != null && isServiceFault(error));
+                fireRequest(call.elapsedNanos(), error == null && response.statusCode() / 100 != 4);
+            })
+            .thenApply(response -> store(key, response, stale, cache));
+    }
+
+    private static Payload store(String key, HttpResponse<byte[]> response, CachedResponse stale, ResponseCache cache) {
+        long now = System.currentTimeMillis();
+        if (response.statusCode() == HTTP_NOT_MODIFIED && stale != null) {
+            cache.recordRevalidation();
+            cache.put(key, stale.revalidated(response.headers(), now));
+            return new Payload(HTTP_OK, stale.getBody());
+        }
+        cache.recordMiss();
+        if (response.statusCode() == HTTP_OK) {
+            CachedResponse entry = CachedResponse.from(response.headers(), response.body(), now);
+            if (entry != null) {
+                cache.put(key, entry);
+            } else if (stale != null) {
+                cache.invalidate(key);
+            }
+        }
+        return new Payload(response.statusCode(), response.body());
+    }
+
+    /**
+     * Server errors fail the attempt so that a hedged copy can still win
+     */
+    private static HttpResponse<byte[]> rejectServerError(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status >= 500) {
+            throw new CompletionException(new ApplicationException("API_HTTP_" + status,
+                "Request to " + response.uri().getPath() + " failed with HTTP " + status));
+        }
+        return response;
+    }
+
+    /**
+     * Send the request and, if it has not finished after the delay, a second copy of it.
+     * The first success completes the result; it fails only when every exchange has failed.
+     * The losing exchange is aborted by cancelling the sendAsync future itself, since
+     * cancelling a stage derived from it leaves the exchange and its connection running.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> hedged(Supplier<CompletableFuture<HttpResponse<byte[]>>> send,
+                                                           Call call, long delayNanos, ExecutorService carrier) {
+        CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        CompletableFuture<HttpResponse<byte[]>> primary = send.get();
+        relay(primary, result, pending);
+        result.whenComplete((value, error) -> primary.cancel(true));
+
+        CompletableFuture.runAsync(() -> {
+            if (result.isDone() || !call.tryAcquireExtra()) {
+                return;
+            }
+            if (!hedgeBudget.tryAcquire(getResiliencePolicy().getHedgeBudgetPercent())) {
+                call.releaseExtra();
+                return;
+            }
+            pending.incrementAndGet();
+            hedgeCount.increment();
+            CompletableFuture<HttpResponse<byte[]>> backup = send.get();
+            // The slot is held until the exchange itself has finished or been aborted
+            backup.whenComplete((value, error) -> call.releaseExtra());
+            relay(backup, result, pending);
+            result.whenComplete((value, error) -> backup.cancel(true));
+        }, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, carrier));
+        return result;
+    }
+
+    private static void relay(CompletableFuture<HttpResponse<byte[]>> exchange,
+                              CompletableFuture<HttpResponse<byte[]>> result, AtomicInteger pending) {
+        exchange.thenApply(ApiClient::rejectServerError).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * Client errors and cancellations say nothing about the backend's health
+     */
+    private static boolean isServiceFault(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            return false;
+        }
+        return !(cause instanceof ApplicationException
+            && ((ApplicationException) cause).getErrorCode().startsWith("API_HTTP_4"));
+    }
+
+    private <T> T decode(String endpoint, int status, byte[] body, Type responseType) {
+        if (status / 100 != 2) {
+            throw new CompletionException(new ApplicationException("API_HTTP_" + status,
+                "Request to " + endpoint + " failed with HTTP " + status));
+        }
+        if (status == 204 || body.length == 0) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, responseType);
+        } catch (IOException e) {
+            throw new CompletionException(new ApplicationException("API_IO_ERROR",
+                "Failed to read response from " + endpoint, e));
+        }
+    }
+
+    private HttpRequest.Builder newRequest(String endpoint, long timeoutMillis) {
+        return HttpRequest.newBuilder(resolve(endpoint))
+            .timeout(Duration.ofMillis(timeoutMillis))
+            .header("Accept", "application/json");
+    }
+
+    private URI resolve(String endpoint) {
+        String path = endpoint.startsWith("/") ? endpoint : "/" + endpoint;
+        return URI.create(getBaseUrl() + path);
+    }
+
+    public String getBaseUrl() {
+        return serviceUrl + ":" + servicePort;
+    }
+
+    private HttpClient getHttpClient() {
+        HttpClient client = httpClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (this) {
+            if (httpClient == null) {
+                executor = Executors.newFixedThreadPool(ioThreads, new CarrierThreadFactory(serviceName));
+                // One client per service: HTTP/2 multiplexes concurrent requests over a kept-alive connection
+                httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(connectionTimeout))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .executor(executor)
+                    .build();
+            }
+            return httpClient;
+        }
+    }
+
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public ResponseCacheStats getCacheStats() {
+        return responseCache.getStats();
+    }
+
+    /**
+     * Status and body shared by every caller of one network call
+     */
+    private static final class Payload {
+        final int status;
+        final byte[] body;
+
+        Payload(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Names carrier threads after the service and keeps them from blocking JVM exit
+     */
+    private static final class CarrierThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        CarrierThreadFactory(String serviceName) {
+            this.prefix = serviceName + "-http-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
@@ -0,0 +1,158 @@
+package com.company.app.integration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Cache Client - Redis cache container integration.
+ * Serves reads from an in-process near-cache first and falls back to the
+ * remote store, fetching misses for bulk reads in a single pipelined round trip.
+ * Writes go to the store and are broadcast so other instances drop their
+ * near-cache copy.
+ */
+public class CacheClient extends ContainerServiceClient {
+
+    // Invalidation messages are "<origin>|<key>"; an instance ignores its own
+    private static final char ORIGIN_SEPARATOR = '|';
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final long remoteTtl;
+    private final NearCache nearCache;
+    private CacheStore store;
+    private boolean subscribed;
+    private volatile boolean connected;
+
+    public CacheClient(String serviceName, String serviceUrl, int servicePort) {
+        this(serviceName, serviceUrl, servicePort, null);
+    }
+
+    /**
+     * Create a client over an explicit store, e.g. an in-memory stand-in
+     */
+    public CacheClient(String serviceName, String serviceUrl, int servicePort, CacheStore store) {
+        super(serviceName, serviceUrl, servicePort);
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.remoteTtl = config.getDurationProperty("service.cache.ttl", Duration.ofMillis(300000)).toMillis();
+        this.nearCache = new NearCache(
+            config.getIntProperty("service.cache.nearCache.maxSize", 10000),
+            config.getDurationProperty("service.cache.nearCache.ttl", Duration.ofMillis(60000)).toMillis());
+        this.store = store;
+    }
+
+    @Override
+    public void connect() throws Exception {
+        LoggerUtil.info("Connecting to cache service: " + serviceName + " at " + serviceUrl + ":" + servicePort);
+        if (store == null) {
+            ConfigurationManager config = ConfigurationManager.getInstance();
+            store = new RedisCacheStore(serviceUrl, servicePort, (int) connectionTimeout,
+                config.getIntProperty("service.cache.pool.maxTotal", 16),
+                config.getProperty("service.cache.invalidationChannel", "app:cache:invalidate"));
+        }
+        if (!subscribed) {
+            store.subscribeInvalidations(this::onInvalidation);
+            subscribed = true;
+        }
+        store.open();
+        connected = true;
+    }
+
+    @Override
+    public void disconnect() throws Exception {
+        LoggerUtil.info("Disconnecting from cache service: " + serviceName);
+        connected = false;
+        nearCache.invalidateAll();
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Override
+    public boolean isServiceAvailable() {
+        LoggerUtil.debug("Checking cache availability for: " + serviceName);
+        return connected && store.ping();
+    }
+
+    /**
+     * Value for a key, from the near-cache when possible
+     */
+    public String get(String key) {
+        String value = nearCache.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = store.get(key);
+        if (value != null) {
+            nearCache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Values for several keys; near-cache misses are fetched in one pipelined call
+     */
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            String value = nearCache.get(key);
+            if (value != null) {
+                result.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, String> fetched = store.getAll(missing);
+            fetched.forEach(nearCache::put);
+            result.putAll(fetched);
+        }
+        return result;
+    }
+
+    public void put(String key, String value) {
+        store.set(key, value, remoteTtl);
+        nearCache.put(key, value);
+        store.publishInvalidation(instanceId + ORIGIN_SEPARATOR + key);
+    }
+
+    /**
+     * Store several values in one pipelined call
+     */
+    public void putAll(Map<String, String> entries) {
+        store.setAll(entries, remoteTtl);
+        entries.forEach((key, value) -> {
+            nearCache.put(key, value);
+            store.publishInvalidation(instanceId + ORIGIN_SEPARATOR + key);
+        });
+    }
+
+    public void remove(String key) {
+        store.delete(key);
+        nearCache.invalidate(key);
+        store.publishInvalidation(instanceId + ORIGIN_SEPARATOR + key);
+    }
+
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    private void onInvalidation(String message) {
+        if (CacheStore.INVALIDATE_ALL.equals(message)) {
+            nearCache.invalidateAll();
+            return;
+        }
+        int separator = message.indexOf(ORIGIN_SEPARATOR);
+        if (separator < 0) {
+            nearCache.invalidate(message);
+        } else if (separator != instanceId.length() || !message.startsWith(instanceId)) {
+            nearCache.invalidate(message.substring(separator + 1));
+        }
+    }
+}
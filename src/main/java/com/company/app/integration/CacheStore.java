@@ -0,0 +1,59 @@
+package com.company.app.integration;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Cache Store - Remote key/value store behind the CacheClient near-cache.
+ * Implemented by RedisCacheStore in production and by in-memory stand-ins in tests.
+ */
+public interface CacheStore {
+
+    /** Invalidation message telling subscribers to drop every cached key */
+    String INVALIDATE_ALL = "*";
+
+    /**
+     * Open connections to the store
+     */
+    void open() throws Exception;
+
+    /**
+     * Release all connections and stop listening for invalidations
+     */
+    void close();
+
+    /**
+     * Check that the store answers
+     */
+    boolean ping();
+
+    String get(String key);
+
+    /**
+     * Fetch several keys in one round trip; missing keys are absent from the result
+     */
+    Map<String, String> getAll(Collection<String> keys);
+
+    /**
+     * Store a value; a ttlMillis of 0 or less means no expiry
+     */
+    void set(String key, String value, long ttlMillis);
+
+    /**
+     * Store several values in one round trip
+     */
+    void setAll(Map<String, String> entries, long ttlMillis);
+
+    void delete(String key);
+
+    /**
+     * Tell every subscribed process that its copy of the key is no longer valid
+     */
+    void publishInvalidation(String message);
+
+    /**
+     * Receive invalidation messages published by any process, including this one
+     */
+    void subscribeInvalidations(Consumer<String> listener);
+}
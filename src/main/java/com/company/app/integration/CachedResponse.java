@@ -0,0 +1,96 @@
+package com.company.app.integration;
+
+import java.net.http.HttpHeaders;
+import java.util.Locale;
+
+/**
+ * Cached Response - Body and validators of a stored HTTP response.
+ * Freshness follows Cache-Control max-age; once stale, the ETag and
+ * Last-Modified validators let the entry be revalidated with a conditional
+ * request instead of downloading the body again.
+ */
+public final class CachedResponse {
+
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+    private final long storedAt;
+    private final long expiresAt;
+
+    public CachedResponse(byte[] body, String etag, String lastModified, long storedAt, long expiresAt) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.storedAt = storedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Entry for a 200 response, or null when its headers forbid storing it or give nothing to reuse
+     */
+    public static CachedResponse from(HttpHeaders headers, byte[] body, long nowMillis) {
+        String cacheControl = String.join(",", headers.allValues("Cache-Control")).toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store") || headers.allValues("Vary").contains("*")) {
+            return null;
+        }
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        long maxAgeMillis = cacheControl.contains("no-cache") ? 0 : maxAgeSeconds(cacheControl) * 1000L;
+        if (maxAgeMillis <= 0 && etag == null && lastModified == null) {
+            return null;
+        }
+        return new CachedResponse(body, etag, lastModified, nowMillis, nowMillis + Math.max(0, maxAgeMillis));
+    }
+
+    /**
+     * Same body with freshness renewed from a 304 response's headers
+     */
+    public CachedResponse revalidated(HttpHeaders headers, long nowMillis) {
+        String cacheControl = String.join(",", headers.allValues("Cache-Control")).toLowerCase(Locale.ROOT);
+        long maxAgeMillis = cacheControl.contains("no-cache") ? 0 : maxAgeSeconds(cacheControl) * 1000L;
+        return new CachedResponse(body, headers.firstValue("ETag").orElse(etag),
+            headers.firstValue("Last-Modified").orElse(lastModified), nowMillis, nowMillis + Math.max(0, maxAgeMillis));
+    }
+
+    private static long maxAgeSeconds(String cacheControl) {
+        for (String directive : cacheControl.split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.startsWith("max-age=")) {
+                try {
+                    return Long.parseLong(trimmed.substring("max-age=".length()).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    public boolean isFresh(long nowMillis) {
+        return nowMillis < expiresAt;
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
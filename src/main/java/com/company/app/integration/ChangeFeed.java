@@ -0,0 +1,291 @@
+package com.company.app.integration;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import com.company.app.metrics.Counter;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Change Feed - Delivers row changes from a ChangeSource to per-table subscribers.
+ * One background thread reads the source, gathers changes for a short window,
+ * coalesces repeated changes to the same row and hands each table's batch to
+ * its subscribers in arrival order. The feed keeps a (changed_at, id)
+ * watermark per table; when the source fails it is reopened after a pause and
+ * resumes from those watermarks. A primary source that turns out not to be
+ * supported by the database is replaced by the fallback for good.
+ */
+public class ChangeFeed implements Closeable {
+
+    public static final String USERS_TABLE = "users";
+    public static final String AUDIT_LOG_TABLE = "audit_log";
+    /**
+     * How far behind a watermark timestamp readers re-read. A row's timestamp is
+     * set before its transaction commits, so a slow commit can become visible
+     * after rows stamped later than it have already been read.
+     */
+    public static final Duration COMMIT_LOOKBACK = Duration.ofSeconds(5);
+    // How long one read may block, which bounds how long close() waits for the thread
+    private static final long READ_TIMEOUT_MILLIS = 1000;
+
+    private final String name;
+    private final long coalesceMillis;
+    private final long retryMillis;
+    private final Map<String, List<ChangeListener>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, Watermark> watermarks = new ConcurrentHashMap<>();
+    // Per-table delivery counters, resolved once so delivering a batch never renders labels
+    private final Map<String, Counter> changeCounters = new ConcurrentHashMap<>();
+    private volatile ChangeSource source;
+    private ChangeSource fallback;
+    private volatile boolean connected;
+    private volatile boolean running;
+    private Thread worker;
+
+    public ChangeFeed(String name, ChangeSource source, ChangeSource fallback, long coalesceMillis, long retryMillis) {
+        this.name = name;
+        this.source = source;
+        this.fallback = fallback;
+        this.coalesceMillis = Math.max(0, coalesceMillis);
+        this.retryMillis = Math.max(100, retryMillis);
+    }
+
+    /**
+     * Feed for the users and audit_log tables: LISTEN/NOTIFY with polling as the
+     * fallback, or polling alone when service.database.changeFeed.mode is poll
+     */
+    public static ChangeFeed fromConfiguration(DatabaseClient database) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        List<PollingChangeSource.Table> tables = List.of(
+            new PollingChangeSource.Table(USERS_TABLE, "updated_at", "created_at"),
+            // Append-only: every row is an insert
+            new PollingChangeSource.Table(AUDIT_LOG_TABLE, "timestamp", "timestamp"));
+        long pollInterval = config.getDurationProperty("service.database.changeFeed.pollInterval",
+            Duration.ofSeconds(5)).toMillis();
+        long coalesce = config.getDurationProperty("service.database.changeFeed.coalesceWindow",
+            Duration.ofMillis(200)).toMillis();
+        long retry = config.getDurationProperty("service.database.changeFeed.retryInterval",
+            Duration.ofSeconds(5)).toMillis();
+        PollingChangeSource poller = new PollingChangeSource(database::getConnection, tables, pollInterval);
+        if ("poll".equalsIgnoreCase(config.getProperty("service.database.changeFeed.mode", "notify"))) {
+            return new ChangeFeed(database.getServiceName(), poller, null, coalesce, retry);
+        }
+        // The catch-up poller runs on the listener's own connection, so it must not share state with the fallback
+        NotifyChangeSource listener = new NotifyChangeSource(database::openDedicatedConnection,
+            new PollingChangeSource(database::getConnection, tables, pollInterval), Duration.ofSeconds(30).toMillis());
+        return new ChangeFeed(database.getServiceName(), listener, poller, coalesce, retry);
+    }
+
+    /**
+     * Receive batches of changes to one table; may be called at any time
+     */
+    public void subscribe(String table, ChangeListener listener) {
+        changeCounter(table);
+        listeners.computeIfAbsent(table, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void unsubscribe(String table, ChangeListener listener) {
+        List<ChangeListener> subscribers = listeners.get(table);
+        if (subscribers != null) {
+            subscribers.remove(listener);
+        }
+    }
+
+    /**
+     * Start reading changes on a background thread; later calls are ignored
+     */
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, name + "-change-feed");
+        worker.setDaemon(true);
+        worker.start();
+        MetricsRegistry.getInstance().gauge("app_change_feed_connected", "Whether the change feed source is open",
+            () -> connected ? 1 : 0, "feed", name);
+    }
+
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = worker;
+            worker = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(READ_TIMEOUT_MILLIS * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (!connected) {
+                    openSource();
+                }
+                List<RowChange> batch = read(READ_TIMEOUT_MILLIS);
+                if (!batch.isEmpty()) {
+                    // Let a burst finish so each row is delivered once for the whole burst
+                    long deadline = System.currentTimeMillis() + coalesceMillis;
+                    for (long left = coalesceMillis; left > 0; left = deadline - System.currentTimeMillis()) {
+                        batch.addAll(read(left));
+                    }
+                    deliver(coalesce(batch));
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (connected) {
+                    LoggerUtil.warn("Change feed " + name + " lost its source, resuming from " + watermarks
+                        + ": " + e.getMessage());
+                } else {
+                    LoggerUtil.debug("Change feed " + name + " cannot open its source: " + e.getMessage());
+                }
+                connected = false;
+                source.close();
+                if (!pause(retryMillis)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        connected = false;
+        source.close();
+    }
+
+    private void openSource() throws SQLException {
+        try {
+            source.open();
+        } catch (SQLFeatureNotSupportedException e) {
+            if (fallback == null) {
+                throw e;
+            }
+            LoggerUtil.warn("Change feed " + name + " falling back to polling: " + e.getMessage());
+            source = fallback;
+            fallback = null;
+            source.open();
+        }
+        connected = true;
+        LoggerUtil.debug("Change feed " + name + " reading from " + source.getClass().getSimpleName());
+    }
+
+    /**
+     * Read from the source and move the watermarks past what was read
+     */
+    private List<RowChange> read(long timeoutMillis) throws SQLException, InterruptedException {
+        List<RowChange> changes = new ArrayList<>(source.read(watermarks, timeoutMillis));
+        for (RowChange change : changes) {
+            if (change.getChangedAt() != null) {
+                Watermark position = new Watermark(change.getChangedAt(), change.getId());
+                watermarks.merge(change.getTable(), position, (current, next) -> next.compareTo(current) > 0 ? next : current);
+            }
+        }
+        return changes;
+    }
+
+    private void deliver(List<RowChange> changes) {
+        Map<String, List<RowChange>> byTable = new LinkedHashMap<>();
+        for (RowChange change : changes) {
+            byTable.computeIfAbsent(change.getTable(), table -> new ArrayList<>()).add(change);
+        }
+        byTable.forEach((table, tableChanges) -> {
+            changeCounter(table).add(tableChanges.size());
+            List<RowChange> view = List.copyOf(tableChanges);
+            for (ChangeListener listener : listeners.getOrDefault(table, List.of())) {
+                try {
+                    listener.onChanges(view);
+                } catch (RuntimeException e) {
+                    LoggerUtil.error("Change listener failed for " + table, e);
+                }
+            }
+        });
+    }
+
+    private Counter changeCounter(String table) {
+        Counter counter = changeCounters.get(table);
+        if (counter == null) {
+            counter = changeCounters.computeIfAbsent(table, key -> MetricsRegistry.getInstance().counter(
+                "app_change_feed_changes_total", "Row changes delivered by the change feed", "feed", name, "table", key));
+        }
+        return counter;
+    }
+
+    /**
+     * Merge repeated changes to the same row into one, ordered by each row's latest change.
+     * A row inserted and deleted inside the batch disappears; inserted then updated stays an insert.
+     */
+    static List<RowChange> coalesce(List<RowChange> changes) {
+        LinkedHashMap<RowKey, RowChange> ordered = new LinkedHashMap<>();
+        for (RowChange change : changes) {
+            RowKey key = new RowKey(change.getTable(), change.getId());
+            RowChange previous = ordered.remove(key);
+            RowChange merged = change;
+            if (previous != null) {
+                if (previous.getOp() == RowChange.Op.INSERT && change.getOp() == RowChange.Op.DELETE) {
+                    continue;
+                } else if (previous.getOp() == RowChange.Op.INSERT) {
+                    merged = change.withOp(RowChange.Op.INSERT);
+                } else if (previous.getOp() == RowChange.Op.DELETE && change.getOp() != RowChange.Op.DELETE) {
+                    // Deleted and written back: the row exists, with new contents
+                    merged = change.withOp(RowChange.Op.UPDATE);
+                }
+            }
+            ordered.put(key, merged);
+        }
+        return new ArrayList<>(ordered.values());
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return running;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Last position read for a table, or null before its first change
+     */
+    public Watermark getWatermark(String table) {
+        return watermarks.get(table);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private static final class RowKey {
+        private final String table;
+        private final long id;
+
+        RowKey(String table, long id) {
+            this.table = table;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RowKey && ((RowKey) other).id == id && ((RowKey) other).table.equals(table);
+        }
+
+        @Override
+        public int hashCode() {
+            return table.hashCode() * 31 + Long.hashCode(id);
+        }
+    }
+}
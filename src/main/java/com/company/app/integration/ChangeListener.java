@@ -0,0 +1,17 @@
+package com.company.app.integration;
+
+import java.util.List;
+
+/**
+ * Change Listener - Receives batches of row changes from a change feed.
+ * Called on the feed's thread, so implementations must be quick and hand
+ * any real work to their own thread.
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+    /**
+     * Coalesced changes for one table, oldest first
+     */
+    void onChanges(List<RowChange> changes);
+}
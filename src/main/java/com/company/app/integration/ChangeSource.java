@@ -0,0 +1,32 @@
+package com.company.app.integration;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change Source - Where a ChangeFeed reads row changes from.
+ * A source is only used from the feed's thread. When it fails the feed closes
+ * it and opens it again later; the first read after opening must then catch up
+ * on every change after the given watermarks, since the feed heard nothing
+ * while the source was down.
+ */
+public interface ChangeSource {
+
+    /**
+     * Connect and start listening
+     */
+    void open() throws SQLException;
+
+    /**
+     * Changes after the watermarks, waiting at most the timeout when there are none.
+     * The watermarks map tables to the last position the feed delivered.
+     */
+    List<RowChange> read(Map<String, Watermark> watermarks, long timeoutMillis)
+        throws SQLException, InterruptedException;
+
+    /**
+     * Release the connection; the source may be opened again
+     */
+    void close();
+}
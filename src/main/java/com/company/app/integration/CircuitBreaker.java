@@ -0,0 +1,128 @@
+package com.company.app.integration;
+
+import java.util.function.LongSupplier;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Circuit Breaker - Fails calls fast while a service keeps failing.
+ * Outcomes of the last calls are kept in a fixed ring. Once enough calls
+ * have been seen and the failure rate reaches the threshold the breaker
+ * opens and rejects calls for the open duration. It then lets a few probe
+ * calls through (half-open): if they all succeed it closes, and if any
+ * fails it opens again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final ResiliencePolicy policy;
+    private final LongSupplier clock;
+    private final boolean[] failures;
+    private int next;
+    private int recorded;
+    private int failureCount;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public CircuitBreaker(String name, ResiliencePolicy policy) {
+        this(name, policy, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, ResiliencePolicy policy, LongSupplier clock) {
+        this.name = name;
+        this.policy = policy;
+        this.clock = clock;
+        this.failures = new boolean[policy.getSlidingWindowSize()];
+    }
+
+    /**
+     * Whether a call may go ahead now; every permitted call must report its outcome
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < policy.getOpenDuration()) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= policy.getHalfOpenCalls()) {
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= policy.getHalfOpenCalls()) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= policy.getMinimumCalls()
+            && failureCount * 100 >= policy.getFailureRateThreshold() * recorded) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void transition(State target) {
+        LoggerUtil.info("Circuit breaker for " + name + " " + state + " -> " + target
+            + " (failure rate " + getFailureRate() + "%)");
+        state = target;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = clock.getAsLong();
+        }
+        if (target == State.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failureCount = 0;
+        }
+    }
+
+    /**
+     * Current state; an open breaker whose wait is over still reports OPEN until the next call
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Failure percentage over the calls in the window
+     */
+    public synchronized int getFailureRate() {
+        return recorded == 0 ? 0 : failureCount * 100 / recorded;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.app.integration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connection Factory - Creates physical JDBC connections for the pool.
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    /**
+     * Open a new physical connection
+     */
+    Connection create() throws SQLException;
+}
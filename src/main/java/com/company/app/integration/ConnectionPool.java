@@ -0,0 +1,397 @@
+package com.company.app.integration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Connection Pool - Bounded pool of physical JDBC connections.
+ * Leases are handed out as proxies whose close() returns the connection to the pool.
+ * Idle connections are kept in LIFO order so the warmest connection is reused first,
+ * and a housekeeping thread evicts surplus idle connections and reports leaked leases.
+ * Each connection keeps its own cache of prepared statements, so statements a
+ * lease prepares stay prepared for the next lease of the same connection.
+ */
+public class ConnectionPool {
+
+    // Connections used more recently than this are not re-validated on borrow
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final String poolName;
+    private final ConnectionFactory connectionFactory;
+    private volatile PoolConfig config;
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> activeConnections = ConcurrentHashMap.newKeySet();
+    private final ResizableSemaphore leasePermits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder leaseTimeoutCount = new LongAdder();
+    private final LongAdder totalLeaseWaitNanos = new LongAdder();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private volatile RequestListener leaseListener;
+
+    public ConnectionPool(String poolName, ConnectionFactory connectionFactory, PoolConfig config) {
+        this.poolName = poolName;
+        this.connectionFactory = connectionFactory;
+        this.config = config;
+        this.leasePermits = new ResizableSemaphore(config.getMaxSize());
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, poolName + "-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open the minimum number of connections and start housekeeping
+     */
+    public void start() throws SQLException {
+        fillToMinimum();
+        long interval = config.getHousekeepingInterval();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+        LoggerUtil.info("Connection pool " + poolName + " started: " + getStats());
+    }
+
+    /**
+     * Lease a connection, waiting at most the configured lease timeout
+     */
+    public Connection lease() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool " + poolName + " is closed");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!leasePermits.tryAcquire() && !leasePermits.tryAcquire(config.getLeaseTimeout(), TimeUnit.MILLISECONDS)) {
+                leaseTimeoutCount.increment();
+                notifyLease(System.nanoTime() - waitStart, false);
+                throw new SQLException("Timed out after " + config.getLeaseTimeout() + "ms waiting for a connection from " + poolName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from " + poolName, e);
+        }
+
+        PooledConnection pooled;
+        try {
+            pooled = borrowValidConnection();
+        } catch (SQLException | RuntimeException e) {
+            leasePermits.release();
+            throw e;
+        }
+
+        long waited = System.nanoTime() - waitStart;
+        leaseCount.increment();
+        totalLeaseWaitNanos.add(waited);
+        maxLeaseWaitNanos.accumulateAndGet(waited, Math::max);
+
+        pooled.markLeased(config.getLeakThreshold() > 0);
+        activeConnections.add(pooled);
+        return pooled.newLeaseProxy();
+    }
+
+    private PooledConnection borrowValidConnection() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            if (System.nanoTime() - pooled.lastReturnedAt < VALIDATION_BYPASS_NANOS || isValid(pooled)) {
+                return pooled;
+            }
+            LoggerUtil.warn("Discarding invalid connection from pool " + poolName);
+            closePhysical(pooled);
+        }
+        return openConnection();
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            int timeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(config.getValidationTimeout()));
+            return pooled.physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        totalConnections.incrementAndGet();
+        try {
+            return new PooledConnection(connectionFactory.create(), config.getStatementCacheSize());
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        activeConnections.remove(pooled);
+        if (pooled.statements != null) {
+            pooled.statements.reclaim();
+        }
+        notifyLease(System.nanoTime() - pooled.leasedAt, true);
+        try {
+            if (closed.get()) {
+                closePhysical(pooled);
+                return;
+            }
+            try {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                LoggerUtil.warn("Failed to reset returned connection, discarding it: " + e.getMessage());
+                closePhysical(pooled);
+                return;
+            }
+            pooled.lastReturnedAt = System.nanoTime();
+            idleConnections.offerFirst(pooled);
+        } finally {
+            leasePermits.release();
+        }
+    }
+
+    /**
+     * Receive the hold time of every returned lease, and the wait time of every lease that timed out
+     */
+    public void setLeaseListener(RequestListener listener) {
+        this.leaseListener = listener;
+    }
+
+    private void notifyLease(long nanos, boolean success) {
+        RequestListener listener = leaseListener;
+        if (listener != null) {
+            listener.onRequest(nanos, success);
+        }
+    }
+
+    private void closePhysical(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LoggerUtil.warn("Failed to close pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (!closed.get() && totalConnections.get() < config.getMinSize()) {
+            PooledConnection pooled = openConnection();
+            pooled.lastReturnedAt = System.nanoTime();
+            idleConnections.offerLast(pooled);
+        }
+    }
+
+    private void housekeep() {
+        try {
+            evictIdleConnections();
+            detectLeaks();
+            fillToMinimum();
+        } catch (Exception e) {
+            LoggerUtil.error("Connection pool housekeeping failed for " + poolName, e);
+        }
+    }
+
+    private void evictIdleConnections() {
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeout());
+        long now = System.nanoTime();
+        // Oldest idle connections sit at the tail of the deque
+        Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext() && totalConnections.get() > config.getMinSize()) {
+            PooledConnection pooled = iterator.next();
+            if (now - pooled.lastReturnedAt > idleTimeoutNanos && idleConnections.remove(pooled)) {
+                closePhysical(pooled);
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = config.getLeakThreshold();
+        if (threshold <= 0) {
+            return;
+        }
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+        long now = System.nanoTime();
+        for (PooledConnection pooled : activeConnections) {
+            if (!pooled.leakReported && now - pooled.leasedAt > thresholdNanos) {
+                pooled.leakReported = true;
+                leakCount.increment();
+                LoggerUtil.error("Possible connection leak in pool " + poolName + ": leased for more than "
+                    + threshold + "ms", pooled.leaseTrace);
+            }
+        }
+    }
+
+    /**
+     * Close all idle connections and reject further leases.
+     * Connections still leased are closed when they are returned.
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            closePhysical(pooled);
+        }
+        LoggerUtil.info("Connection pool " + poolName + " closed");
+    }
+
+    /**
+     * Apply new settings to a running pool.
+     * Lease capacity grows or shrinks immediately; leases already handed out are
+     * kept and the pool settles at the new size as they are returned. The
+     * housekeeping interval only changes when the pool is restarted, and the
+     * statement cache size only applies to connections opened afterwards.
+     */
+    public synchronized void reconfigure(PoolConfig newConfig) {
+        int delta = newConfig.getMaxSize() - config.getMaxSize();
+        config = newConfig;
+        if (delta > 0) {
+            leasePermits.release(delta);
+        } else if (delta < 0) {
+            leasePermits.shrink(-delta);
+        }
+        PooledConnection pooled;
+        while (totalConnections.get() > newConfig.getMaxSize() && (pooled = idleConnections.pollLast()) != null) {
+            closePhysical(pooled);
+        }
+        LoggerUtil.info("Connection pool " + poolName + " reconfigured: " + getStats());
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    public PoolStats getStats() {
+        int active = activeConnections.size();
+        return new PoolStats(
+            active,
+            idleConnections.size(),
+            config.getMaxSize(),
+            leaseCount.sum(),
+            leaseTimeoutCount.sum(),
+            totalLeaseWaitNanos.sum(),
+            maxLeaseWaitNanos.get(),
+            leakCount.sum(),
+            statementCacheHits.sum(),
+            statementCacheMisses.sum()
+        );
+    }
+
+    /**
+     * Semaphore whose permit count can be lowered while leases are outstanding
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        void shrink(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+
+    /**
+     * Physical connection plus its pool bookkeeping
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements;
+        volatile long lastReturnedAt;
+        volatile long leasedAt;
+        volatile boolean leakReported;
+        volatile Throwable leaseTrace;
+
+        PooledConnection(Connection physical, int statementCacheSize) {
+            this.physical = physical;
+            this.statements = statementCacheSize > 0
+                ? new StatementCache(physical, statementCacheSize, statementCacheHits, statementCacheMisses)
+                : null;
+        }
+
+        void markLeased(boolean captureTrace) {
+            leasedAt = System.nanoTime();
+            leakReported = false;
+            leaseTrace = captureTrace ? new Throwable("Connection leased here") : null;
+        }
+
+        Connection newLeaseProxy() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Routes calls to the physical connection until the lease is closed
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + poolName + "]";
+                default:
+                    break;
+            }
+            if (returned.get()) {
+                throw new SQLException("Connection has already been returned to pool " + poolName);
+            }
+            if (pooled.statements != null && "prepareStatement".equals(method.getName()) && args.length == 1) {
+                return pooled.statements.prepare((Connection) proxy, (String) args[0]);
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,23 +1,51 @@
 package com.company.app.integration;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import com.company.app.exception.ApplicationException;
+import com.company.app.metrics.Counter;
+import com.company.app.metrics.MetricsRegistry;
 import com.company.app.util.LoggerUtil;
 
 /**
  * Container Service Client - Base class for container integration.
- * Manages communication with containerized services.
+ * Manages communication with containerized services. Calls made through
+ * admit() pass a bulkhead and a circuit breaker, and their latencies drive
+ * a timeout that adapts to the service but never exceeds the connection timeout.
  */
 public abstract class ContainerServiceClient {
     
+    private static final int LATENCY_WINDOW_SIZE = 512;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    
     protected String serviceName;
     protected String serviceUrl;
     protected int servicePort;
-    protected long connectionTimeout;
+    protected volatile long connectionTimeout;
+    private final List<RequestListener> requestListeners = new CopyOnWriteArrayList<>();
+    private final LatencyWindow latencies = new LatencyWindow(LATENCY_WINDOW_SIZE);
+    private final Counter circuitRejections;
+    private final Counter bulkheadRejections;
+    private volatile ResiliencePolicy resiliencePolicy;
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile Bulkhead bulkhead;
     
     public ContainerServiceClient(String serviceName, String serviceUrl, int servicePort) {
         this.serviceName = serviceName;
         this.serviceUrl = serviceUrl;
         this.servicePort = servicePort;
         this.connectionTimeout = 5000; // Default 5 second timeout
+        applyResiliencePolicy(ResiliencePolicy.defaults());
+        
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String rejectedHelp = "Calls rejected before reaching the service";
+        circuitRejections = registry.counter("app_client_rejected_total", rejectedHelp,
+            "service", serviceName, "reason", "circuit_open");
+        bulkheadRejections = registry.counter("app_client_rejected_total", rejectedHelp,
+            "service", serviceName, "reason", "bulkhead_full");
+        registry.gauge("app_client_circuit_state", "Circuit breaker state: 0 closed, 1 open, 2 half-open",
+            () -> getCircuitState().ordinal(), "service", serviceName);
         
         LoggerUtil.debug("Initialized ContainerServiceClient for: " + serviceName);
     }
@@ -49,7 +77,145 @@ public abstract class ContainerServiceClient {
         return servicePort;
     }
     
+    public long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+    
     public void setConnectionTimeout(long timeout) {
         this.connectionTimeout = timeout;
     }
+    
+    /**
+     * Replace the resilience settings. The breaker starts closed and calls already
+     * in flight finish against the bulkhead they were admitted through.
+     */
+    public void setResiliencePolicy(ResiliencePolicy policy) {
+        applyResiliencePolicy(policy);
+        LoggerUtil.info("Resilience policy updated for " + serviceName);
+    }
+    
+    private void applyResiliencePolicy(ResiliencePolicy policy) {
+        this.circuitBreaker = new CircuitBreaker(serviceName, policy);
+        this.bulkhead = new Bulkhead(policy.getMaxConcurrentCalls());
+        this.resiliencePolicy = policy;
+    }
+    
+    public ResiliencePolicy getResiliencePolicy() {
+        return resiliencePolicy;
+    }
+    
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+    
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+    
+    /**
+     * Timeout in milliseconds for the next call: a multiple of the recent
+     * latency percentile, kept between the policy minimum and the connection timeout
+     */
+    public long getEffectiveTimeout() {
+        ResiliencePolicy policy = resiliencePolicy;
+        long percentile = latencies.percentile(policy.getTimeoutPercentile(), MIN_LATENCY_SAMPLES);
+        if (percentile < 0) {
+            return connectionTimeout;
+        }
+        long adaptive = TimeUnit.NANOSECONDS.toMillis(percentile) * policy.getTimeoutMultiplier();
+        return Math.min(connectionTimeout, Math.max(policy.getMinTimeout(), adaptive));
+    }
+    
+    /**
+     * Recent latency at the hedge percentile in nanoseconds, or -1 until enough calls were seen
+     */
+    protected long getHedgeDelayNanos() {
+        return latencies.percentile(resiliencePolicy.getHedgePercentile(), MIN_LATENCY_SAMPLES);
+    }
+    
+    /**
+     * Admit one call through the bulkhead and circuit breaker, or fail fast
+     */
+    protected Call admit() throws ApplicationException {
+        Bulkhead currentBulkhead = bulkhead;
+        CircuitBreaker currentBreaker = circuitBreaker;
+        if (!currentBulkhead.tryAcquire()) {
+            bulkheadRejections.increment();
+            throw new ApplicationException("BULKHEAD_FULL", serviceName + " already has "
+                + currentBulkhead.getMaxConcurrentCalls() + " calls in flight");
+        }
+        if (!currentBreaker.tryAcquire()) {
+            currentBulkhead.release();
+            circuitRejections.increment();
+            throw new ApplicationException("CIRCUIT_OPEN", "Circuit breaker for " + serviceName + " is open");
+        }
+        return new Call(currentBulkhead, currentBreaker);
+    }
+    
+    /**
+     * A call admitted by admit(); finish it exactly once
+     */
+    protected final class Call {
+        private final Bulkhead callBulkhead;
+        private final CircuitBreaker callBreaker;
+        private final long startedAt = System.nanoTime();
+        
+        private Call(Bulkhead callBulkhead, CircuitBreaker callBreaker) {
+            this.callBulkhead = callBulkhead;
+            this.callBreaker = callBreaker;
+        }
+        
+        public long elapsedNanos() {
+            return System.nanoTime() - startedAt;
+        }
+        
+        /**
+         * Take one more bulkhead slot for a parallel attempt of this call
+         */
+        public boolean tryAcquireExtra() {
+            return callBulkhead.tryAcquire();
+        }
+        
+        public void releaseExtra() {
+            callBulkhead.release();
+        }
+        
+        /**
+         * Record the outcome; serviceFault is false for errors that are the caller's, not the service's
+         */
+        public void finish(boolean serviceFault) {
+            latencies.record(elapsedNanos());
+            if (serviceFault) {
+                callBreaker.onFailure();
+            } else {
+                callBreaker.onSuccess();
+            }
+            callBulkhead.release();
+        }
+    }
+    
+    public void addRequestListener(RequestListener listener) {
+        requestListeners.add(listener);
+    }
+    
+    public void removeRequestListener(RequestListener listener) {
+        requestListeners.remove(listener);
+    }
+    
+    /**
+     * Report a finished request to the listeners
+     */
+    protected void fireRequest(long latencyNanos, boolean success) {
+        for (RequestListener listener : requestListeners) {
+            try {
+                listener.onRequest(latencyNanos, success);
+            } catch (RuntimeException e) {
+                LoggerUtil.warn("Request listener failed for " + serviceName + ": " + e.getMessage());
+            }
+        }
+    }
 }
@@ -1,50 +1,195 @@
 package com.company.app.integration;
 
 import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import com.company.app.exception.ApplicationException;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.util.ConfigurationManager;
 import com.company.app.util.LoggerUtil;
 
 /**
  * Database Client - Database container integration.
- * Manages database connection and operations.
+ * Manages a pool of database connections and operations.
  */
 public class DatabaseClient extends ContainerServiceClient {
-    
-    private Connection connection;
-    private String username;
-    private String password;
-    
+
+    private final String username;
+    private final String password;
+    private final String databaseName;
+    private volatile PoolConfig poolConfig;
+    private ConnectionFactory connectionFactory;
+    private volatile ConnectionPool pool;
+    private volatile QueryExecutor queryExecutor;
+
     public DatabaseClient(String serviceName, String serviceUrl, int servicePort, String username, String password) {
+        this(serviceName, serviceUrl, servicePort, username, password,
+            ConfigurationManager.getInstance().getProperty("service.database.dbname", "appdb"),
+            PoolConfig.fromConfiguration());
+    }
+
+    public DatabaseClient(String serviceName, String serviceUrl, int servicePort, String username, String password,
+                          String databaseName, PoolConfig poolConfig) {
         super(serviceName, serviceUrl, servicePort);
         this.username = username;
         this.password = password;
+        this.databaseName = databaseName;
+        this.poolConfig = poolConfig;
+        this.connectionFactory = this::openPhysicalConnection;
     }
-    
+
     @Override
     public void connect() throws Exception {
         LoggerUtil.info("Connecting to database service: " + serviceName + " at " + serviceUrl + ":" + servicePort);
-        // Implementation for database connection
+        if (pool != null && !pool.isClosed()) {
+            return;
+        }
+        ConnectionPool newPool = new ConnectionPool(serviceName, connectionFactory, poolConfig);
+        // A database "request" is one lease, from borrowing the connection until it is returned
+        newPool.setLeaseListener(this::fireRequest);
+        try {
+            newPool.start();
+        } catch (SQLException e) {
+            newPool.close();
+            throw e;
+        }
+        pool = newPool;
+        registerPoolGauges();
     }
-    
+
     @Override
     public void disconnect() throws Exception {
         LoggerUtil.info("Disconnecting from database service: " + serviceName);
-        if (connection != null) {
-            connection.close();
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
         }
     }
-    
+
     @Override
     public boolean isServiceAvailable() {
-        try {
-            LoggerUtil.debug("Checking database availability for: " + serviceName);
-            return connection != null && !connection.isClosed();
-        } catch (Exception e) {
-            LoggerUtil.error("Database availability check failed", e);
+        LoggerUtil.debug("Checking database availability for: " + serviceName);
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed()) {
             return false;
         }
+        // An open pool that is keeping its minimum of live connections can serve leases
+        return current.getStats().getTotalCount() > 0 || poolConfig.getMinSize() == 0;
+    }
+
+    /**
+     * Lease a pooled connection. Callers must close it to return it to the pool.
+     * Fails fast while the circuit breaker is open after repeated lease failures.
+     */
+    public Connection getConnection() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Database service " + serviceName + " is not connected");
+        }
+        Call call;
+        try {
+            call = admit();
+        } catch (ApplicationException e) {
+            throw new SQLException(e.getMessage(), "08001", e);
+        }
+        try {
+            Connection connection = current.lease();
+            call.finish(false);
+            return connection;
+        } catch (SQLException e) {
+            call.finish(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Shared query layer over this client's pool, so every caller's statements land in one set of stats
+     */
+    public QueryExecutor getQueryExecutor() {
+        QueryExecutor executor = queryExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (queryExecutor == null) {
+                    queryExecutor = new QueryExecutor(this);
+                }
+                executor = queryExecutor;
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Open a physical connection outside the pool, for a session that stays open
+     * such as a LISTEN; the caller owns it and must close it
+     */
+    public Connection openDedicatedConnection() throws SQLException {
+        if (pool == null) {
+            throw new SQLException("Database service " + serviceName + " is not connected");
+        }
+        return connectionFactory.create();
+    }
+
+    /**
+     * Resize and retune the pool without reconnecting
+     */
+    public void reconfigurePool(PoolConfig newConfig) {
+        poolConfig = newConfig;
+        ConnectionPool current = pool;
+        if (current != null && !current.isClosed()) {
+            current.reconfigure(newConfig);
+        }
+    }
+
+    /**
+     * Current pool counters, or null when not connected
+     */
+    public PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current == null ? null : current.getStats();
     }
-    
-    public Connection getConnection() {
-        return connection;
+
+    /**
+     * Replace the physical connection factory, e.g. with an embedded stand-in
+     */
+    public void setConnectionFactory(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    private void registerPoolGauges() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String help = "Pooled database connections by state";
+        registry.gauge("app_db_pool_connections", help, () -> poolStat(PoolStats::getActiveCount),
+            "service", serviceName, "state", "active");
+        registry.gauge("app_db_pool_connections", help, () -> poolStat(PoolStats::getIdleCount),
+            "service", serviceName, "state", "idle");
+        registry.gauge("app_db_pool_max_connections", "Configured maximum pool size",
+            () -> poolStat(PoolStats::getMaxSize), "service", serviceName);
+        registry.gauge("app_db_pool_lease_timeouts", "Leases that gave up waiting for a connection",
+            () -> poolStat(PoolStats::getLeaseTimeoutCount), "service", serviceName);
+        registry.gauge("app_db_pool_leaks", "Leases held past the leak threshold",
+            () -> poolStat(PoolStats::getLeakCount), "service", serviceName);
+    }
+
+    private double poolStat(ToDoubleFunction<PoolStats> stat) {
+        PoolStats stats = getPoolStats();
+        return stats == null ? 0 : stat.applyAsDouble(stats);
+    }
+
+    public String getJdbcUrl() {
+        return "jdbc:postgresql://" + serviceUrl + ":" + servicePort + "/" + databaseName;
+    }
+
+    private Connection openPhysicalConnection() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", username);
+        props.setProperty("password", password);
+        props.setProperty("connectTimeout", String.valueOf(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(connectionTimeout))));
+        props.setProperty("ApplicationName", "enterprise-ui-app");
+        // Send JDBC batches as multi-row INSERTs instead of one statement per row
+        props.setProperty("reWriteBatchedInserts", "true");
+        return DriverManager.getConnection(getJdbcUrl(), props);
     }
 }
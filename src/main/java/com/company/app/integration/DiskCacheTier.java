@@ -0,0 +1,199 @@
+package com.company.app.integration;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Disk Cache Tier - Response cache entries kept on disk across restarts.
+ * Each entry is one file named after a hash of its key and is read through a
+ * read-only memory mapping, so a hit costs a page-cache lookup rather than
+ * buffered reads. Files are written to a temporary name and moved into
+ * place, so a crash never leaves a half-written entry behind. When the
+ * directory grows past its budget the least recently written files go first.
+ */
+public class DiskCacheTier {
+
+    private static final int MAGIC = 0x41504943;
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".entry";
+
+    private final Path directory;
+    private final long maxBytes;
+    private long totalBytes;
+
+    public DiskCacheTier(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            totalBytes = files.filter(file -> file.toString().endsWith(SUFFIX)).mapToLong(DiskCacheTier::sizeOf).sum();
+        }
+    }
+
+    /**
+     * Stored entry for the key, or null when absent or unreadable
+     */
+    public CachedResponse get(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt() != MAGIC || mapped.getInt() != FORMAT_VERSION) {
+                throw new IOException("unrecognised header");
+            }
+            long storedAt = mapped.getLong();
+            long expiresAt = mapped.getLong();
+            if (!key.equals(readString(mapped))) {
+                return null;
+            }
+            String etag = readString(mapped);
+            String lastModified = readString(mapped);
+            byte[] body = new byte[mapped.getInt()];
+            mapped.get(body);
+            return new CachedResponse(body, etag, lastModified, storedAt, expiresAt);
+        } catch (IOException | RuntimeException e) {
+            LoggerUtil.warn("Discarding unreadable cache entry " + file.getFileName() + ": " + e.getMessage());
+            discard(file);
+            return null;
+        }
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        byte[][] strings = {bytes(key), bytes(response.getEtag()), bytes(response.getLastModified())};
+        int size = 4 + 4 + 8 + 8 + 4 + response.getBody().length;
+        for (byte[] string : strings) {
+            size += 4 + (string == null ? 0 : string.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(response.getStoredAt()).putLong(response.getExpiresAt());
+        for (byte[] string : strings) {
+            buffer.putInt(string == null ? -1 : string.length);
+            if (string != null) {
+                buffer.put(string);
+            }
+        }
+        buffer.putInt(response.getBody().length).put(response.getBody()).flip();
+
+        Path file = fileFor(key);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            long previous = Files.exists(file) ? sizeOf(file) : 0;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            totalBytes += size - previous;
+            if (totalBytes > maxBytes) {
+                evict();
+            }
+        } catch (IOException e) {
+            LoggerUtil.warn("Failed to write cache entry for " + key + ": " + e.getMessage());
+            delete(temporary);
+        }
+    }
+
+    public synchronized void remove(String key) {
+        discard(fileFor(key));
+    }
+
+    private synchronized void discard(Path file) {
+        totalBytes -= sizeOf(file);
+        delete(file);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Delete the oldest entries until the tier is back under 90% of its budget
+     */
+    private void evict() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(file -> file.toString().endsWith(SUFFIX)).forEach(files::add);
+        }
+        files.sort(Comparator.comparing(DiskCacheTier::modifiedTime));
+        long target = maxBytes - maxBytes / 10;
+        for (Path file : files) {
+            if (totalBytes <= target) {
+                break;
+            }
+            totalBytes -= sizeOf(file);
+            delete(file);
+        }
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest, 0, 16) + SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LoggerUtil.warn("Failed to delete cache file " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.company.app.integration;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hedge Budget - Limits hedged requests to a share of recent traffic.
+ * Requests and hedges are counted in a ring of one-second buckets, so the
+ * allowance follows the last few seconds of load. A quiet spell earns no
+ * credit, and a burst of slow calls afterwards cannot hedge more than the
+ * budget allows.
+ */
+public class HedgeBudget {
+
+    private static final long BUCKET_MILLIS = 1000;
+
+    private final LongSupplier clock;
+    private final long[] requests;
+    private final long[] hedges;
+    private final long[] bucketStarts;
+
+    public HedgeBudget(int windowSeconds) {
+        this(windowSeconds, System::currentTimeMillis);
+    }
+
+    HedgeBudget(int windowSeconds, LongSupplier clock) {
+        int buckets = Math.max(1, windowSeconds);
+        this.clock = clock;
+        this.requests = new long[buckets];
+        this.hedges = new long[buckets];
+        this.bucketStarts = new long[buckets];
+    }
+
+    public synchronized void recordRequest() {
+        requests[bucket()]++;
+    }
+
+    /**
+     * Take one hedge if the window's hedges stay under the given percentage of its requests
+     */
+    public synchronized boolean tryAcquire(int budgetPercent) {
+        int current = bucket();
+        long windowStart = bucketStarts[current] - (requests.length - 1) * BUCKET_MILLIS;
+        long requestTotal = 0;
+        long hedgeTotal = 0;
+        for (int i = 0; i < requests.length; i++) {
+            if (bucketStarts[i] >= windowStart) {
+                requestTotal += requests[i];
+                hedgeTotal += hedges[i];
+            }
+        }
+        if ((hedgeTotal + 1) * 100 > requestTotal * budgetPercent) {
+            return false;
+        }
+        hedges[current]++;
+        return true;
+    }
+
+    /**
+     * Index of the bucket for now, cleared first if it last held an older second
+     */
+    private int bucket() {
+        long start = clock.getAsLong() / BUCKET_MILLIS * BUCKET_MILLIS;
+        int index = (int) (start / BUCKET_MILLIS % requests.length);
+        if (bucketStarts[index] != start) {
+            bucketStarts[index] = start;
+            requests[index] = 0;
+            hedges[index] = 0;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.app.integration;
+
+import java.util.Arrays;
+
+/**
+ * Latency Window - Percentiles over the most recent call latencies.
+ * Latencies go into a fixed ring; percentiles are read from a sorted copy
+ * that is refreshed every few dozen samples rather than on every read, so
+ * asking for a timeout on each call stays cheap.
+ */
+public class LatencyWindow {
+
+    private static final int REFRESH_EVERY = 32;
+
+    private final long[] samples;
+    private final long[] sorted;
+    private int next;
+    private int count;
+    private int sortedCount;
+    private int sinceRefresh;
+
+    public LatencyWindow(int size) {
+        this.samples = new long[size];
+        this.sorted = new long[size];
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        sinceRefresh++;
+    }
+
+    /**
+     * Latency at the given percentile (0-100) in nanoseconds, or -1 with fewer than minimumSamples recorded
+     */
+    public synchronized long percentile(int percentile, int minimumSamples) {
+        if (count < Math.max(1, minimumSamples)) {
+            return -1;
+        }
+        // While the window is nearly empty every sample matters, so resort on any change
+        if (sinceRefresh >= REFRESH_EVERY || sinceRefresh > 0 && count <= REFRESH_EVERY) {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            sortedCount = count;
+            sinceRefresh = 0;
+        }
+        int index = (int) Math.ceil(sortedCount * Math.min(100, Math.max(0, percentile)) / 100.0) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+}
@@ -0,0 +1,242 @@
+package com.company.app.integration;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Near Cache - Bounded in-process L1 cache in front of a remote store.
+ * Reads are a lock-free hash lookup. When full, a new key is only admitted
+ * if it has been requested more often than the eviction candidate, using a
+ * small count-min sketch of recent access frequencies (TinyLFU-style), so a
+ * burst of one-off keys cannot flush out the hot set.
+ */
+public class NearCache {
+
+    private static final int MAX_EVICTION_ATTEMPTS = 8;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final FrequencySketch sketch;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Length of insertionOrder, guarded by writeLock
+    private int queuedKeys;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public NearCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.sketch = new FrequencySketch(this.maxSize);
+    }
+
+    /**
+     * Cached value, or null when absent or expired
+     */
+    public String get(String key) {
+        sketch.increment(key);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(String key, String value) {
+        Entry entry = new Entry(value, ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE);
+        writeLock.lock();
+        try {
+            if (entries.replace(key, entry) != null) {
+                return;
+            }
+            if (entries.size() >= maxSize && !makeRoomFor(key)) {
+                rejections.increment();
+                return;
+            }
+            entries.put(key, entry);
+            insertionOrder.add(key);
+            if (++queuedKeys > maxSize * 2) {
+                compactInsertionOrder();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Evict the oldest entry that is accessed less often than the candidate.
+     * Frequent old entries get a second chance at the back of the queue.
+     */
+    private boolean makeRoomFor(String candidate) {
+        int candidateFrequency = sketch.frequency(candidate);
+        for (int attempt = 0; attempt < MAX_EVICTION_ATTEMPTS; attempt++) {
+            String victim = insertionOrder.poll();
+            if (victim == null) {
+                return entries.size() < maxSize;
+            }
+            queuedKeys--;
+            Entry victimEntry = entries.get(victim);
+            if (victimEntry == null) {
+                // Already removed by invalidation or expiry
+                if (entries.size() < maxSize) {
+                    return true;
+                }
+                continue;
+            }
+            if (victimEntry.isExpired(System.nanoTime()) || sketch.frequency(victim) <= candidateFrequency) {
+                entries.remove(victim);
+                evictions.increment();
+                return true;
+            }
+            insertionOrder.add(victim);
+            queuedKeys++;
+        }
+        return false;
+    }
+
+    /**
+     * Drop queue slots left behind by invalidated keys; caller holds the write lock
+     */
+    private void compactInsertionOrder() {
+        Set<String> seen = new HashSet<>();
+        insertionOrder.removeIf(key -> !entries.containsKey(key) || !seen.add(key));
+        queuedKeys = insertionOrder.size();
+    }
+
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        writeLock.lock();
+        try {
+            entries.clear();
+            insertionOrder.clear();
+            queuedKeys = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Number of puts refused because the key was colder than everything cached
+     */
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    private static final class Entry {
+        final String value;
+        final long expiresAt;
+
+        Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+
+    /**
+     * Count-min sketch with four rows of small counters. Counts are halved
+     * once enough increments accumulate, so old popularity fades out.
+     */
+    static final class FrequencySketch {
+        private static final int ROWS = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[][] counters;
+        private final int mask;
+        private final int resetThreshold;
+        private int additions;
+
+        FrequencySketch(int expectedSize) {
+            int width = Integer.highestOneBit(Math.max(64, expectedSize * 8 - 1)) << 1;
+            this.counters = new byte[ROWS][width];
+            this.mask = width - 1;
+            this.resetThreshold = width * 10;
+        }
+
+        // Races between threads can lose an increment, which an estimate tolerates
+        void increment(String key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < ROWS; row++) {
+                int index = indexOf(hash, row);
+                if (counters[row][index] < MAX_COUNT) {
+                    counters[row][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= resetThreshold) {
+                halve();
+            }
+        }
+
+        int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int min = MAX_COUNT;
+            for (int row = 0; row < ROWS; row++) {
+                min = Math.min(min, counters[row][indexOf(hash, row)]);
+            }
+            return min;
+        }
+
+        private void halve() {
+            additions = 0;
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = (byte) (row[i] >>> 1);
+                }
+            }
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 17;
+            hash *= 0xED5AD4BB;
+            hash ^= hash >>> 11;
+            return hash;
+        }
+    }
+}
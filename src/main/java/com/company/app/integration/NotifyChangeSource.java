@@ -0,0 +1,147 @@
+package com.company.app.integration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Notify Change Source - Row changes pushed by Postgres LISTEN/NOTIFY.
+ * The notify_row_change trigger in init-db.sql sends one notification per
+ * changed row on a dedicated connection held outside the pool, so an idle feed
+ * costs the database nothing. Notifications sent while the connection was down
+ * are lost; after every open the source catches up by polling from the feed's
+ * watermarks once before it starts listening.
+ */
+public class NotifyChangeSource implements ChangeSource {
+
+    public static final String CHANNEL = "row_changes";
+    private static final String TRIGGER_CHECK_SQL = "SELECT 1 FROM pg_proc WHERE proname = 'notify_row_change'";
+
+    private final ConnectionFactory listenerConnections;
+    private final PollingChangeSource catchUp;
+    private final long keepaliveMillis;
+    private Connection connection;
+    private boolean caughtUp;
+    private long lastHeardMillis;
+
+    public NotifyChangeSource(ConnectionFactory listenerConnections, PollingChangeSource catchUp, long keepaliveMillis) {
+        this.listenerConnections = listenerConnections;
+        this.catchUp = catchUp;
+        this.keepaliveMillis = keepaliveMillis;
+    }
+
+    /**
+     * Connect and LISTEN; fails with SQLFeatureNotSupportedException when the
+     * database has no notify trigger or the connection cannot listen, e.g. behind
+     * a transaction-pooling proxy, and with a plain SQLException for errors that
+     * may clear up on their own
+     */
+    @Override
+    public void open() throws SQLException {
+        connection = listenerConnections.create();
+        try {
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement(TRIGGER_CHECK_SQL);
+                 ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLFeatureNotSupportedException("Database has no notify_row_change trigger");
+                }
+            }
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new SQLFeatureNotSupportedException("Connection is not a Postgres connection");
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+        } catch (SQLFeatureNotSupportedException e) {
+            close();
+            throw e;
+        } catch (SQLException e) {
+            close();
+            // Only "feature not supported" (0A) and syntax or access rule violations (42) will fail
+            // the same way again; anything else, such as too many connections or an admin
+            // shutdown, is worth retrying
+            String state = e.getSQLState();
+            if (state != null && (state.startsWith("0A") || state.startsWith("42"))) {
+                throw new SQLFeatureNotSupportedException("Connection cannot LISTEN: " + e.getMessage(), state, e);
+            }
+            throw e;
+        }
+        caughtUp = false;
+        lastHeardMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public List<RowChange> read(Map<String, Watermark> watermarks, long timeoutMillis) throws SQLException {
+        if (!caughtUp) {
+            // Already listening, so nothing committed from here on can slip between the two
+            List<RowChange> missed = catchUp.poll(connection, watermarks);
+            caughtUp = missed.isEmpty();
+            if (!caughtUp) {
+                return missed;
+            }
+        }
+        PGNotification[] notifications = connection.unwrap(PGConnection.class)
+            .getNotifications((int) Math.max(1, Math.min(Integer.MAX_VALUE, timeoutMillis)));
+        long now = System.currentTimeMillis();
+        if (notifications == null || notifications.length == 0) {
+            // A half-open socket delivers nothing forever; probe it once in a while
+            if (now - lastHeardMillis >= keepaliveMillis) {
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Change feed listener connection lost", "08006");
+                }
+                lastHeardMillis = now;
+            }
+            return List.of();
+        }
+        lastHeardMillis = now;
+        List<RowChange> changes = new ArrayList<>(notifications.length);
+        for (PGNotification notification : notifications) {
+            RowChange change = CHANNEL.equals(notification.getName()) ? parse(notification.getParameter()) : null;
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Decode a trigger payload: table,OP,id,changed_at with changed_at empty for deletes
+     */
+    static RowChange parse(String payload) {
+        String[] fields = payload == null ? new String[0] : payload.split(",", 4);
+        try {
+            if (fields.length == 4) {
+                LocalDateTime changedAt = fields[3].isEmpty() ? null : LocalDateTime.parse(fields[3]);
+                return new RowChange(fields[0], RowChange.Op.valueOf(fields[1]), Long.parseLong(fields[2]), changedAt);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Fall through to the warning below
+        }
+        LoggerUtil.warn("Ignoring malformed change notification: " + payload);
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LoggerUtil.debug("Failed to close change feed listener: " + e.getMessage());
+            }
+            connection = null;
+        }
+    }
+}
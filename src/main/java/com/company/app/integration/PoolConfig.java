@@ -0,0 +1,110 @@
+package com.company.app.integration;
+
+import java.time.Duration;
+import com.company.app.util.ConfigurationManager;
+
+/**
+ * Pool Config - Sizing and timing settings for the JDBC connection pool.
+ * Values are read from the service.database.pool.* keys in application.properties.
+ */
+public class PoolConfig {
+
+    private static final String PREFIX = "service.database.pool.";
+
+    private final int minSize;
+    private final int maxSize;
+    private final long leaseTimeout;
+    private final long validationTimeout;
+    private final long idleTimeout;
+    private final long leakThreshold;
+    private final long housekeepingInterval;
+    private final int statementCacheSize;
+
+    public PoolConfig(int minSize, int maxSize, long leaseTimeout, long validationTimeout,
+                      long idleTimeout, long leakThreshold, long housekeepingInterval) {
+        this(minSize, maxSize, leaseTimeout, validationTimeout, idleTimeout, leakThreshold, housekeepingInterval, 0);
+    }
+
+    public PoolConfig(int minSize, int maxSize, long leaseTimeout, long validationTimeout,
+                      long idleTimeout, long leakThreshold, long housekeepingInterval, int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool maxSize must be at least 1");
+        }
+        this.minSize = Math.max(0, Math.min(minSize, maxSize));
+        this.maxSize = maxSize;
+        this.leaseTimeout = leaseTimeout;
+        this.validationTimeout = validationTimeout;
+        this.idleTimeout = idleTimeout;
+        this.leakThreshold = leakThreshold;
+        this.housekeepingInterval = housekeepingInterval;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+    }
+
+    /**
+     * Build pool settings from application configuration
+     */
+    public static PoolConfig fromConfiguration() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        return new PoolConfig(
+            config.getIntProperty(PREFIX + "minSize", 2),
+            config.getIntProperty(PREFIX + "maxSize", 10),
+            millis(config, "leaseTimeout", 2000),
+            millis(config, "validationTimeout", 1000),
+            millis(config, "idleTimeout", 600000),
+            millis(config, "leakThreshold", 30000),
+            millis(config, "housekeepingInterval", 30000),
+            config.getIntProperty(PREFIX + "statementCacheSize", 64)
+        );
+    }
+
+    private static long millis(ConfigurationManager config, String key, long defaultMillis) {
+        return config.getDurationProperty(PREFIX + key, Duration.ofMillis(defaultMillis)).toMillis();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Maximum time in milliseconds a caller waits for a free connection
+     */
+    public long getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    /**
+     * Maximum time in milliseconds spent validating a connection on borrow
+     */
+    public long getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    /**
+     * Time in milliseconds after which surplus idle connections are closed
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Lease duration in milliseconds after which a connection is reported as leaked; 0 disables
+     */
+    public long getLeakThreshold() {
+        return leakThreshold;
+    }
+
+    public long getHousekeepingInterval() {
+        return housekeepingInterval;
+    }
+
+    /**
+     * Prepared statements kept open per connection; 0 disables the cache
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.app.integration;
+
+/**
+ * Pool Stats - Point-in-time snapshot of connection pool state.
+ */
+public class PoolStats {
+
+    private final int activeCount;
+    private final int idleCount;
+    private final int maxSize;
+    private final long leaseCount;
+    private final long leaseTimeoutCount;
+    private final long totalLeaseWaitNanos;
+    private final long maxLeaseWaitNanos;
+    private final long leakCount;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    public PoolStats(int activeCount, int idleCount, int maxSize, long leaseCount, long leaseTimeoutCount,
+                     long totalLeaseWaitNanos, long maxLeaseWaitNanos, long leakCount,
+                     long statementCacheHits, long statementCacheMisses) {
+        this.activeCount = activeCount;
+        this.idleCount = idleCount;
+        this.maxSize = maxSize;
+        this.leaseCount = leaseCount;
+        this.leaseTimeoutCount = leaseTimeoutCount;
+        this.totalLeaseWaitNanos = totalLeaseWaitNanos;
+        this.maxLeaseWaitNanos = maxLeaseWaitNanos;
+        this.leakCount = leakCount;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getIdleCount() {
+        return idleCount;
+    }
+
+    public int getTotalCount() {
+        return activeCount + idleCount;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getLeaseCount() {
+        return leaseCount;
+    }
+
+    public long getLeaseTimeoutCount() {
+        return leaseTimeoutCount;
+    }
+
+    public long getTotalLeaseWaitNanos() {
+        return totalLeaseWaitNanos;
+    }
+
+    public long getMaxLeaseWaitNanos() {
+        return maxLeaseWaitNanos;
+    }
+
+    public double getAverageLeaseWaitMillis() {
+        return leaseCount == 0 ? 0.0 : (totalLeaseWaitNanos / (double) leaseCount) / 1_000_000.0;
+    }
+
+    public long getLeakCount() {
+        return leakCount;
+    }
+
+    /**
+     * Statements served from a connection's cache instead of being prepared again
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats[active=%d, idle=%d, max=%d, leases=%d, timeouts=%d, avgWait=%.3fms, leaks=%d, "
+            + "statementHits=%d, statementMisses=%d]",
+            activeCount, idleCount, maxSize, leaseCount, leaseTimeoutCount, getAverageLeaseWaitMillis(), leakCount,
+            statementCacheHits, statementCacheMisses);
+    }
+}
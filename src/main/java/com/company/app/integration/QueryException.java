@@ -0,0 +1,21 @@
+package com.company.app.integration;
+
+import java.sql.SQLException;
+
+/**
+ * Query Exception - Unchecked carrier for a SQLException raised while a
+ * streamed result is being consumed, where stream operations cannot throw it.
+ */
+public class QueryException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,336 @@
+package com.company.app.integration;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import com.company.app.metrics.Counter;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.metrics.Timer;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Query Executor - Runs SQL over pooled connections and maps the rows.
+ * Parameters are bound by their runtime type with the matching typed setter,
+ * statements come from the pool's per-connection statement cache, and rows
+ * are mapped by a RowMapper bound once per result set. Large results are
+ * streamed: the stream holds a connection with a server-side cursor that
+ * fetches a batch at a time, and must be closed to give the connection back.
+ * Every statement's calls, rows and time are tallied for getStats(), up to
+ * MAX_TRACKED_STATEMENTS distinct statements; any beyond that share one
+ * tally, so SQL built with inlined values cannot grow the map without bound.
+ */
+public class QueryExecutor {
+
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    static final int MAX_TRACKED_STATEMENTS = 256;
+    static final String OTHER_STATEMENTS = "(other statements)";
+    private static final long SLOW_QUERY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final ConnectionFactory connections;
+    private final Map<String, Tally> tallies = new ConcurrentHashMap<>();
+    private final Tally otherStatements = new Tally();
+    private final Timer timer;
+    private final Counter rowCounter;
+
+    public QueryExecutor(DatabaseClient database) {
+        this(database.getServiceName(), database::getConnection);
+    }
+
+    public QueryExecutor(String name, ConnectionFactory connections) {
+        this.name = name;
+        this.connections = connections;
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.timer = registry.timer("app_db_query_seconds", "Time from executing a query to reading its last row",
+            "service", name);
+        this.rowCounter = registry.counter("app_db_query_rows_total", "Rows read or changed by queries",
+            "service", name);
+    }
+
+    /**
+     * Every row of the result, mapped
+     */
+    public <T> List<T> list(String sql, RowMapper<T> mapper, Object... parameters) throws SQLException {
+        return list(sql, 0, mapper, parameters);
+    }
+
+    /**
+     * Every row of the result, mapped, fetched from the server fetchSize rows at a
+     * time; zero leaves the driver's default
+     */
+    public <T> List<T> list(String sql, int fetchSize, RowMapper<T> mapper, Object... parameters)
+            throws SQLException {
+        long started = System.nanoTime();
+        List<T> rows = new ArrayList<>();
+        boolean success = false;
+        try (Connection connection = connections.create();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            bind(statement, parameters);
+            try (ResultSet rs = statement.executeQuery()) {
+                RowMapper<T> bound = mapper.bind(rs.getMetaData());
+                while (rs.next()) {
+                    rows.add(bound.map(rs));
+                }
+            }
+            success = true;
+            return rows;
+        } finally {
+            record(sql, started, rows.size(), success);
+        }
+    }
+
+    /**
+     * The first row of the result mapped, or null when there is none
+     */
+    public <T> T first(String sql, RowMapper<T> mapper, Object... parameters) throws SQLException {
+        long started = System.nanoTime();
+        T row = null;
+        boolean success = false;
+        try (Connection connection = connections.create();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setMaxRows(1);
+            bind(statement, parameters);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    row = mapper.bind(rs.getMetaData()).map(rs);
+                }
+            }
+            success = true;
+            return row;
+        } finally {
+            record(sql, started, row == null ? 0 : 1, success);
+        }
+    }
+
+    /**
+     * Run an INSERT, UPDATE or DELETE and return the number of rows changed
+     */
+    public int update(String sql, Object... parameters) throws SQLException {
+        long started = System.nanoTime();
+        int changed = 0;
+        boolean success = false;
+        try (Connection connection = connections.create();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            changed = statement.executeUpdate();
+            success = true;
+            return changed;
+        } finally {
+            record(sql, started, changed, success);
+        }
+    }
+
+    /**
+     * Rows pulled lazily through a cursor of fetchSize rows; never holds more than
+     * one batch in memory. The stream owns a leased connection until it is closed
+     * or read to the end, so use it in try-with-resources. A failure while reading
+     * surfaces as a QueryException.
+     */
+    public <T> Stream<T> stream(String sql, int fetchSize, RowMapper<T> mapper, Object... parameters)
+            throws SQLException {
+        long started = System.nanoTime();
+        Connection connection = connections.create();
+        PreparedStatement statement = null;
+        ResultSet rs = null;
+        try {
+            // Postgres only keeps a cursor open inside a transaction; otherwise it sends every row at once
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement(sql);
+            statement.setFetchSize(Math.max(1, fetchSize));
+            bind(statement, parameters);
+            rs = statement.executeQuery();
+            Cursor<T> cursor = new Cursor<>(sql, started, connection, statement, rs, mapper.bind(rs.getMetaData()));
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(rs, statement, connection);
+            record(sql, started, 0, false);
+            throw e;
+        }
+    }
+
+    /**
+     * Set each parameter with the setter for its runtime type
+     */
+    static void bind(PreparedStatement statement, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            int index = i + 1;
+            Object value = parameters[i];
+            if (value == null) {
+                statement.setObject(index, null);
+            } else if (value instanceof String) {
+                statement.setString(index, (String) value);
+            } else if (value instanceof Long) {
+                statement.setLong(index, (Long) value);
+            } else if (value instanceof Integer) {
+                statement.setInt(index, (Integer) value);
+            } else if (value instanceof Boolean) {
+                statement.setBoolean(index, (Boolean) value);
+            } else if (value instanceof Double) {
+                statement.setDouble(index, (Double) value);
+            } else if (value instanceof LocalDateTime) {
+                statement.setTimestamp(index, Timestamp.valueOf((LocalDateTime) value));
+            } else if (value instanceof Instant) {
+                statement.setTimestamp(index, Timestamp.from((Instant) value));
+            } else if (value instanceof LocalDate) {
+                statement.setDate(index, Date.valueOf((LocalDate) value));
+            } else if (value instanceof BigDecimal) {
+                statement.setBigDecimal(index, (BigDecimal) value);
+            } else if (value instanceof byte[]) {
+                statement.setBytes(index, (byte[]) value);
+            } else if (value instanceof Enum) {
+                statement.setString(index, ((Enum<?>) value).name());
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+    }
+
+    private void record(String sql, long started, long rows, boolean success) {
+        long elapsed = System.nanoTime() - started;
+        tally(sql).add(elapsed, rows, success);
+        timer.record(elapsed, success);
+        rowCounter.add(rows);
+        if (elapsed >= SLOW_QUERY_NANOS) {
+            LoggerUtil.warn("Slow query on " + name + " (" + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms, "
+                + rows + " rows): " + sql);
+        }
+    }
+
+    private Tally tally(String sql) {
+        Tally tally = tallies.get(sql);
+        if (tally != null) {
+            return tally;
+        }
+        // Checked before inserting, so racing callers can overshoot the cap by a few entries at most
+        return tallies.size() < MAX_TRACKED_STATEMENTS
+            ? tallies.computeIfAbsent(sql, key -> new Tally())
+            : otherStatements;
+    }
+
+    /**
+     * Totals per statement, most total time first
+     */
+    public List<QueryStats> getStats() {
+        List<QueryStats> stats = new ArrayList<>();
+        tallies.forEach((sql, tally) -> stats.add(tally.snapshot(sql)));
+        if (otherStatements.calls.sum() > 0) {
+            stats.add(otherStatements.snapshot(OTHER_STATEMENTS));
+        }
+        stats.sort(Comparator.comparingLong(QueryStats::getTotalNanos).reversed());
+        return stats;
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    LoggerUtil.debug("Failed to close query resource: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class Tally {
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos, long rowCount, boolean success) {
+            calls.increment();
+            if (!success) {
+                failures.increment();
+            }
+            rows.add(rowCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        QueryStats snapshot(String sql) {
+            return new QueryStats(sql, calls.sum(), failures.sum(), rows.sum(), totalNanos.sum(), maxNanos.get());
+        }
+    }
+
+    /**
+     * Walks an open result set for a stream and releases it exactly once
+     */
+    private final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final String sql;
+        private final long started;
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private long rows;
+        private boolean closed;
+        private boolean failed;
+
+        Cursor(String sql, long started, Connection connection, PreparedStatement statement, ResultSet rs,
+               RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.sql = sql;
+            this.started = started;
+            this.connection = connection;
+            this.statement = statement;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                T row = mapper.map(rs);
+                rows++;
+                action.accept(row);
+                return true;
+            } catch (SQLException e) {
+                failed = true;
+                close();
+                throw new QueryException("Failed reading rows of: " + sql, e);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Returning the connection rolls back, which also ends the cursor's transaction
+            closeQuietly(rs, statement, connection);
+            record(sql, started, rows, !failed);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.app.integration;
+
+/**
+ * Query Stats - Point-in-time totals for one SQL statement run through a QueryExecutor.
+ */
+public class QueryStats {
+
+    private final String sql;
+    private final long callCount;
+    private final long failureCount;
+    private final long rowCount;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    public QueryStats(String sql, long callCount, long failureCount, long rowCount, long totalNanos, long maxNanos) {
+        this.sql = sql;
+        this.callCount = callCount;
+        this.failureCount = failureCount;
+        this.rowCount = rowCount;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Rows read, or rows changed for updates
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Time from execution until the last row was read, summed over calls
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getAverageMillis() {
+        return callCount == 0 ? 0.0 : (totalNanos / (double) callCount) / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueryStats[calls=%d, failures=%d, rows=%d, avg=%.3fms, max=%.3fms, sql=%s]",
+            callCount, failureCount, rowCount, getAverageMillis(), maxNanos / 1_000_000.0, sql);
+    }
+}
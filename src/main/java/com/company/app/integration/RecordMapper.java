@@ -0,0 +1,174 @@
+package com.company.app.integration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Record Mapper - Maps result set rows onto a Java record's canonical constructor.
+ * Record components are matched to columns by label, either by name or by its
+ * snake_case form (userId reads user_id). The constructor handle and one typed
+ * column reader per component are built once per record type and cached;
+ * column positions are resolved once per result set in bind, so mapping a row
+ * is a fixed sequence of typed getters and one constructor call.
+ */
+public final class RecordMapper<R extends Record> implements RowMapper<R> {
+
+    private static final ClassValue<RecordMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected RecordMapper<?> computeValue(Class<?> type) {
+            return new RecordMapper<>(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Class<R> type;
+    private final String[] names;
+    private final ColumnReader[] readers;
+    // (Object[]) -> Object, spreading the arguments over the canonical constructor
+    private final MethodHandle constructor;
+
+    /**
+     * Reads one column as the Java type of a record component
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet rs, int column) throws SQLException;
+    }
+
+    private RecordMapper(Class<R> type) {
+        this.type = type;
+        RecordComponent[] components = type.getRecordComponents();
+        names = new String[components.length];
+        readers = new ColumnReader[components.length];
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            names[i] = components[i].getName();
+            parameterTypes[i] = components[i].getType();
+            readers[i] = readerFor(parameterTypes[i]);
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot access the canonical constructor of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * The cached mapper for a record type
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> RecordMapper<R> of(Class<R> type) {
+        return (RecordMapper<R>) MAPPERS.get(type);
+    }
+
+    /**
+     * Map one row, resolving columns on every call; queries call bind once instead
+     */
+    @Override
+    public R map(ResultSet rs) throws SQLException {
+        return bind(rs.getMetaData()).map(rs);
+    }
+
+    @Override
+    public RowMapper<R> bind(ResultSetMetaData metaData) throws SQLException {
+        int[] columns = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = findColumn(metaData, names[i]);
+        }
+        return rs -> {
+            Object[] arguments = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                arguments[i] = readers[i].read(rs, columns[i]);
+            }
+            return construct(arguments);
+        };
+    }
+
+    private R construct(Object[] arguments) {
+        try {
+            return type.cast((Object) constructor.invokeExact(arguments));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to construct " + type.getName(), e);
+        }
+    }
+
+    private int findColumn(ResultSetMetaData metaData, String component) throws SQLException {
+        String snake = component.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            String label = metaData.getColumnLabel(column);
+            if (label.equalsIgnoreCase(component) || label.equalsIgnoreCase(snake)) {
+                return column;
+            }
+        }
+        throw new SQLException("No column for " + type.getSimpleName() + "." + component + " in the result");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ColumnReader readerFor(Class<?> javaType) {
+        if (javaType == long.class) {
+            return ResultSet::getLong;
+        } else if (javaType == int.class) {
+            return ResultSet::getInt;
+        } else if (javaType == double.class) {
+            return ResultSet::getDouble;
+        } else if (javaType == boolean.class) {
+            return ResultSet::getBoolean;
+        } else if (javaType == Long.class) {
+            return (rs, column) -> nullable(rs, rs.getLong(column));
+        } else if (javaType == Integer.class) {
+            return (rs, column) -> nullable(rs, rs.getInt(column));
+        } else if (javaType == Double.class) {
+            return (rs, column) -> nullable(rs, rs.getDouble(column));
+        } else if (javaType == Boolean.class) {
+            return (rs, column) -> nullable(rs, rs.getBoolean(column));
+        } else if (javaType == String.class) {
+            return ResultSet::getString;
+        } else if (javaType == LocalDateTime.class) {
+            return (rs, column) -> {
+                Timestamp value = rs.getTimestamp(column);
+                return value == null ? null : value.toLocalDateTime();
+            };
+        } else if (javaType == Instant.class) {
+            return (rs, column) -> {
+                Timestamp value = rs.getTimestamp(column);
+                return value == null ? null : value.toInstant();
+            };
+        } else if (javaType == LocalDate.class) {
+            return (rs, column) -> {
+                Date value = rs.getDate(column);
+                return value == null ? null : value.toLocalDate();
+            };
+        } else if (javaType == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        } else if (javaType == byte[].class) {
+            return ResultSet::getBytes;
+        } else if (javaType.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) javaType;
+            return (rs, column) -> {
+                String value = rs.getString(column);
+                return value == null ? null : Enum.valueOf(enumType, value);
+            };
+        }
+        return (rs, column) -> rs.getObject(column, javaType);
+    }
+
+    private static Object nullable(ResultSet rs, Object value) throws SQLException {
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,209 @@
+package com.company.app.integration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.params.SetParams;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Redis Cache Store - Jedis-backed CacheStore.
+ * Commands borrow connections from a JedisPool; bulk operations are pipelined
+ * so a multi-key read or write costs a single network round trip. Invalidations
+ * travel over a pub/sub channel read by a dedicated subscriber thread.
+ */
+public class RedisCacheStore implements CacheStore {
+
+    private static final long RESUBSCRIBE_DELAY_MILLIS = 1000;
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final int maxConnections;
+    private final String invalidationChannel;
+    private final List<Consumer<String>> invalidationListeners = new ArrayList<>();
+    private volatile JedisPool pool;
+    private volatile JedisPubSub subscriber;
+    private volatile boolean open;
+
+    public RedisCacheStore(String host, int port, int timeoutMillis, int maxConnections, String invalidationChannel) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnections = maxConnections;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    public void open() throws Exception {
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(maxConnections);
+        config.setMaxIdle(maxConnections);
+        config.setMinIdle(1);
+        config.setTestOnBorrow(false);
+        config.setTestWhileIdle(true);
+        pool = new JedisPool(config, host, port, timeoutMillis);
+        open = true;
+        if (!ping()) {
+            close();
+            throw new Exception("Redis at " + host + ":" + port + " did not answer PING");
+        }
+        startSubscriber();
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        JedisPubSub current = subscriber;
+        if (current != null && current.isSubscribed()) {
+            current.unsubscribe();
+        }
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Override
+    public boolean ping() {
+        try (Jedis jedis = pool.getResource()) {
+            return "PONG".equals(jedis.ping());
+        } catch (Exception e) {
+            LoggerUtil.warn("Redis ping failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        try (Jedis jedis = pool.getResource()) {
+            return jedis.get(key);
+        }
+    }
+
+    @Override
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            Map<String, Response<String>> responses = new LinkedHashMap<>();
+            for (String key : keys) {
+                responses.put(key, pipeline.get(key));
+            }
+            pipeline.sync();
+            responses.forEach((key, response) -> {
+                String value = response.get();
+                if (value != null) {
+                    result.put(key, value);
+                }
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public void set(String key, String value, long ttlMillis) {
+        try (Jedis jedis = pool.getResource()) {
+            if (ttlMillis > 0) {
+                jedis.set(key, value, SetParams.setParams().px(ttlMillis));
+            } else {
+                jedis.set(key, value);
+            }
+        }
+    }
+
+    @Override
+    public void setAll(Map<String, String> entries, long ttlMillis) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            SetParams params = ttlMillis > 0 ? SetParams.setParams().px(ttlMillis) : null;
+            entries.forEach((key, value) -> {
+                if (params != null) {
+                    pipeline.set(key, value, params);
+                } else {
+                    pipeline.set(key, value);
+                }
+            });
+            pipeline.sync();
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.del(key);
+        }
+    }
+
+    @Override
+    public void publishInvalidation(String message) {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.publish(invalidationChannel, message);
+        }
+    }
+
+    @Override
+    public synchronized void subscribeInvalidations(Consumer<String> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    private void startSubscriber() {
+        Thread thread = new Thread(this::runSubscriber, "redis-invalidation-" + port);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runSubscriber() {
+        while (open) {
+            // Subscribing blocks a connection for as long as it lasts, so it uses its own
+            try (Jedis jedis = new Jedis(host, port, timeoutMillis, 0)) {
+                subscriber = new JedisPubSub() {
+                    @Override
+                    public void onMessage(String channel, String message) {
+                        notifyListeners(message);
+                    }
+                };
+                jedis.subscribe(subscriber, invalidationChannel);
+            } catch (Exception e) {
+                if (open) {
+                    LoggerUtil.warn("Redis invalidation subscription lost, retrying: " + e.getMessage());
+                    // Invalidations may have been missed while disconnected
+                    notifyListeners(INVALIDATE_ALL);
+                    sleepQuietly(RESUBSCRIBE_DELAY_MILLIS);
+                }
+            }
+        }
+    }
+
+    private synchronized void notifyListeners(String message) {
+        for (Consumer<String> listener : invalidationListeners) {
+            try {
+                listener.accept(message);
+            } catch (Exception e) {
+                LoggerUtil.error("Cache invalidation listener failed", e);
+            }
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
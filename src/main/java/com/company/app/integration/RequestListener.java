@@ -0,0 +1,15 @@
+package com.company.app.integration;
+
+/**
+ * Request Listener - Notified of every request a service client completes.
+ * Called on the thread that finished the request, so implementations must be
+ * quick and thread-safe.
+ */
+@FunctionalInterface
+public interface RequestListener {
+    
+    /**
+     * One finished request and how long it took end to end
+     */
+    void onRequest(long latencyNanos, boolean success);
+}
@@ -0,0 +1,144 @@
+package com.company.app.integration;
+
+import java.time.Duration;
+import com.company.app.util.ConfigurationManager;
+
+/**
+ * Resilience Policy - Timeout, circuit breaker, bulkhead and hedging settings for one client.
+ * Values are read from the service.&lt;name&gt;.resilience.* keys in application.properties.
+ */
+public class ResiliencePolicy {
+
+    private final long minTimeout;
+    private final int timeoutPercentile;
+    private final int timeoutMultiplier;
+    private final int failureRateThreshold;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final long openDuration;
+    private final int halfOpenCalls;
+    private final int maxConcurrentCalls;
+    private final boolean hedgingEnabled;
+    private final int hedgePercentile;
+    private final int hedgeBudgetPercent;
+
+    public ResiliencePolicy(long minTimeout, int timeoutPercentile, int timeoutMultiplier,
+                            int failureRateThreshold, int slidingWindowSize, int minimumCalls, long openDuration,
+                            int halfOpenCalls, int maxConcurrentCalls, boolean hedgingEnabled,
+                            int hedgePercentile, int hedgeBudgetPercent) {
+        if (slidingWindowSize < 1 || maxConcurrentCalls < 1 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Window size, concurrent calls and half-open calls must be at least 1");
+        }
+        this.minTimeout = minTimeout;
+        this.timeoutPercentile = timeoutPercentile;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = Math.min(Math.max(1, minimumCalls), slidingWindowSize);
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeBudgetPercent = hedgeBudgetPercent;
+    }
+
+    /**
+     * Settings used until a client is given its configured policy
+     */
+    public static ResiliencePolicy defaults() {
+        return new ResiliencePolicy(250, 99, 3, 50, 20, 10, 10000, 3, 64, false, 95, 10);
+    }
+
+    /**
+     * Build settings from the keys under the given service prefix, e.g. "service.api"
+     */
+    public static ResiliencePolicy fromConfiguration(String servicePrefix) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String prefix = servicePrefix + ".resilience.";
+        ResiliencePolicy defaults = defaults();
+        return new ResiliencePolicy(
+            config.getDurationProperty(prefix + "minTimeout", Duration.ofMillis(defaults.minTimeout)).toMillis(),
+            config.getIntProperty(prefix + "timeoutPercentile", defaults.timeoutPercentile),
+            config.getIntProperty(prefix + "timeoutMultiplier", defaults.timeoutMultiplier),
+            config.getIntProperty(prefix + "breaker.failureRate", defaults.failureRateThreshold),
+            config.getIntProperty(prefix + "breaker.window", defaults.slidingWindowSize),
+            config.getIntProperty(prefix + "breaker.minimumCalls", defaults.minimumCalls),
+            config.getDurationProperty(prefix + "breaker.openDuration", Duration.ofMillis(defaults.openDuration)).toMillis(),
+            config.getIntProperty(prefix + "breaker.halfOpenCalls", defaults.halfOpenCalls),
+            config.getIntProperty(prefix + "bulkhead.maxConcurrent", defaults.maxConcurrentCalls),
+            config.getBooleanProperty(prefix + "hedge.enabled", defaults.hedgingEnabled),
+            config.getIntProperty(prefix + "hedge.percentile", defaults.hedgePercentile),
+            config.getIntProperty(prefix + "hedge.budgetPercent", defaults.hedgeBudgetPercent)
+        );
+    }
+
+    /**
+     * Lower bound in milliseconds for the adaptive timeout
+     */
+    public long getMinTimeout() {
+        return minTimeout;
+    }
+
+    /**
+     * Latency percentile the adaptive timeout is derived from
+     */
+    public int getTimeoutPercentile() {
+        return timeoutPercentile;
+    }
+
+    public int getTimeoutMultiplier() {
+        return timeoutMultiplier;
+    }
+
+    /**
+     * Failure percentage over the sliding window at which the breaker opens
+     */
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    /**
+     * Calls needed in the window before the failure rate is trusted
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Time in milliseconds an open breaker rejects calls before letting probes through
+     */
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    /**
+     * Latency percentile after which an idempotent request is sent a second time
+     */
+    public int getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * Most requests, as a percentage, that may be hedged
+     */
+    public int getHedgeBudgetPercent() {
+        return hedgeBudgetPercent;
+    }
+}
@@ -0,0 +1,145 @@
+package com.company.app.integration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Response Cache - Two-tier store of cacheable HTTP responses.
+ * The memory tier is an LRU bounded by total body bytes; the optional disk
+ * tier keeps entries across restarts and refills the memory tier on a hit.
+ * Counters for hits, misses, revalidations, coalesced calls and stale
+ * fallbacks are kept here so callers can report them in one place.
+ */
+public class ResponseCache {
+
+    private final long maxMemoryBytes;
+    private final DiskCacheTier diskTier;
+    private final LinkedHashMap<String, CachedResponse> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public ResponseCache(long maxMemoryBytes, DiskCacheTier diskTier) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.diskTier = diskTier;
+    }
+
+    /**
+     * Build a cache from the keys under the given service prefix, e.g. "service.api".
+     * The disk tier is used only when &lt;prefix&gt;.cache.dir is set.
+     */
+    public static ResponseCache fromConfiguration(String servicePrefix) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String prefix = servicePrefix + ".cache.";
+        DiskCacheTier disk = null;
+        String directory = config.getProperty(prefix + "dir", "");
+        if (!directory.isBlank()) {
+            try {
+                disk = new DiskCacheTier(Path.of(directory), config.getLongProperty(prefix + "diskMaxBytes", 64L << 20));
+            } catch (IOException e) {
+                LoggerUtil.warn("Response cache disk tier disabled: " + e.getMessage());
+            }
+        }
+        return new ResponseCache(config.getLongProperty(prefix + "maxBytes", 16L << 20), disk);
+    }
+
+    /**
+     * Stored entry, fresh or stale, from memory or disk; null when neither has it.
+     * A disk read opens and hashes files, so this blocks; see getAsync
+     */
+    public CachedResponse get(String key) {
+        CachedResponse entry;
+        synchronized (this) {
+            entry = memory.get(key);
+        }
+        if (entry == null && diskTier != null) {
+            entry = diskTier.get(key);
+            if (entry != null) {
+                storeInMemory(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Like get, but only the memory tier is consulted on the caller's thread; a disk lookup runs on the executor
+     */
+    public CompletableFuture<CachedResponse> getAsync(String key, Executor executor) {
+        CachedResponse entry;
+        synchronized (this) {
+            entry = memory.get(key);
+        }
+        if (entry != null || diskTier == null) {
+            return CompletableFuture.completedFuture(entry);
+        }
+        return CompletableFuture.supplyAsync(() -> get(key), executor);
+    }
+
+    public void put(String key, CachedResponse entry) {
+        storeInMemory(key, entry);
+        if (diskTier != null) {
+            diskTier.put(key, entry);
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (this) {
+            CachedResponse removed = memory.remove(key);
+            if (removed != null) {
+                memoryBytes -= removed.getBody().length;
+            }
+        }
+        if (diskTier != null) {
+            diskTier.remove(key);
+        }
+    }
+
+    private synchronized void storeInMemory(String key, CachedResponse entry) {
+        if (entry.getBody().length > maxMemoryBytes) {
+            return;
+        }
+        CachedResponse previous = memory.put(key, entry);
+        memoryBytes += entry.getBody().length - (previous == null ? 0 : previous.getBody().length);
+        Iterator<Map.Entry<String, CachedResponse>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().getValue().getBody().length;
+            eldest.remove();
+        }
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    void recordStale() {
+        stale.increment();
+    }
+
+    public synchronized ResponseCacheStats getStats() {
+        return new ResponseCacheStats(hits.sum(), misses.sum(), revalidations.sum(), coalesced.sum(), stale.sum(),
+            memory.size(), memoryBytes, diskTier == null ? 0 : diskTier.getTotalBytes());
+    }
+}
@@ -0,0 +1,82 @@
+package com.company.app.integration;
+
+/**
+ * Response Cache Stats - Point-in-time snapshot of the API response cache.
+ */
+public class ResponseCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long revalidationCount;
+    private final long coalescedCount;
+    private final long staleCount;
+    private final int memoryEntries;
+    private final long memoryBytes;
+    private final long diskBytes;
+
+    public ResponseCacheStats(long hitCount, long missCount, long revalidationCount, long coalescedCount,
+                              long staleCount, int memoryEntries, long memoryBytes, long diskBytes) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.revalidationCount = revalidationCount;
+        this.coalescedCount = coalescedCount;
+        this.staleCount = staleCount;
+        this.memoryEntries = memoryEntries;
+        this.memoryBytes = memoryBytes;
+        this.diskBytes = diskBytes;
+    }
+
+    /**
+     * Requests answered from a fresh entry without touching the network
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Requests that needed a full response from the backend
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Stale entries confirmed by a 304 Not Modified
+     */
+    public long getRevalidationCount() {
+        return revalidationCount;
+    }
+
+    /**
+     * Requests that joined an identical call already in flight
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Stale entries served because the backend could not be reached
+     */
+    public long getStaleCount() {
+        return staleCount;
+    }
+
+    public int getMemoryEntries() {
+        return memoryEntries;
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public long getDiskBytes() {
+        return diskBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hitCount + ", misses=" + missCount + ", revalidations=" + revalidationCount
+            + ", coalesced=" + coalescedCount + ", stale=" + staleCount + ", entries=" + memoryEntries
+            + ", memoryBytes=" + memoryBytes + ", diskBytes=" + diskBytes;
+    }
+}
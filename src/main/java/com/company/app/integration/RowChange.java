@@ -0,0 +1,60 @@
+package com.company.app.integration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row Change - One inserted, updated or deleted row reported by a change feed.
+ * Carries only the row's identity and position; subscribers re-read whatever
+ * columns they need, so events stay small and never go stale in a queue.
+ */
+public final class RowChange {
+
+    public enum Op {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    private final String table;
+    private final Op op;
+    private final long id;
+    private final LocalDateTime changedAt;
+
+    public RowChange(String table, Op op, long id, LocalDateTime changedAt) {
+        this.table = table;
+        this.op = op;
+        this.id = id;
+        this.changedAt = changedAt;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public Op getOp() {
+        return op;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * The row's change-tracking column after the change; null for deletes
+     */
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * This change with another operation, keeping its position
+     */
+    public RowChange withOp(Op newOp) {
+        return new RowChange(table, newOp, id, changedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "RowChange[" + table + " " + op + " id=" + id + "]";
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.app.integration;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Row Mapper - Turns the current row of a result set into an object.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Map the row the result set is positioned on; must not move the cursor
+     */
+    T map(ResultSet rs) throws SQLException;
+
+    /**
+     * A mapper specialised to one result set's columns, called once before its
+     * first row; mappers that look columns up by name resolve them here
+     */
+    default RowMapper<T> bind(ResultSetMetaData metaData) throws SQLException {
+        return this;
+    }
+}
@@ -0,0 +1,456 @@
+package com.company.app.integration;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Snapshot Store - Append-only key/value file for last-known data.
+ * A fixed header holds the format and schema versions and the position of a
+ * compact index of every record written by the last compaction. Opening
+ * reads the header and that index, then walks only the records appended
+ * since, so values are not decoded until they are asked for. Each record
+ * carries a CRC: a write cut short by a crash is dropped on the next open
+ * instead of being read back. Compaction rewrites the live records into a
+ * new file with a fresh index and, when the live data alone is over the
+ * size cap, leaves the oldest records behind. Records are read with
+ * positional channel reads rather than a mapping: a mapped file cannot be
+ * truncated or replaced on Windows, and Java offers no way to unmap one.
+ */
+public class SnapshotStore implements Closeable {
+
+    private static final int MAGIC = 0x534E4150;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int TOMBSTONE = -1;
+    private static final int MAX_KEY_BYTES = 4096;
+    private static final int READ_CHUNK_BYTES = 1 << 20;
+    private static final long MIN_COMPACTION_BYTES = 1L << 20;
+
+    private final Path file;
+    private final int schemaVersion;
+    private final long maxBytes;
+    private FileChannel channel;
+    private final Map<String, Location> index = new HashMap<>();
+    private long dataEnd;
+    private long liveBytes;
+    private long evictedCount;
+
+    /**
+     * Where a live record sits in the file; size covers header, key and value
+     */
+    private record Location(long offset, int size) {
+    }
+
+    private SnapshotStore(Path file, int schemaVersion, long maxBytes) {
+        this.file = file;
+        this.schemaVersion = schemaVersion;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Open or create the store; a file from another format or schema version is discarded
+     */
+    public static SnapshotStore open(Path file, int schemaVersion, long maxBytes) throws IOException {
+        SnapshotStore store = new SnapshotStore(file, schemaVersion, maxBytes);
+        store.load();
+        return store;
+    }
+
+    private void load() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SIZE || !readIndex()) {
+            reset();
+            return;
+        }
+        long started = System.nanoTime();
+        scanTail();
+        LoggerUtil.debug("Opened snapshot " + file.getFileName() + " with " + index.size() + " records in "
+            + (System.nanoTime() - started) / 1_000_000 + "ms");
+    }
+
+    /**
+     * Validate the header and load the index block; false when the file cannot be used
+     */
+    private boolean readIndex() throws IOException {
+        ByteBuffer header = read(0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            LoggerUtil.warn("Discarding unreadable snapshot " + file.getFileName());
+            return false;
+        }
+        if (header.getInt(8) != schemaVersion) {
+            LoggerUtil.info("Discarding snapshot " + file.getFileName() + " written for schema version " + header.getInt(8));
+            return false;
+        }
+        long indexOffset = header.getLong(16);
+        long indexLength = header.getLong(24);
+        dataEnd = HEADER_SIZE;
+        if (indexLength == 0) {
+            return true;
+        }
+        if (indexOffset < HEADER_SIZE || indexLength > Integer.MAX_VALUE || indexOffset + indexLength > channel.size()) {
+            LoggerUtil.warn("Discarding snapshot " + file.getFileName() + " with a damaged index");
+            return false;
+        }
+        ByteBuffer block = read(indexOffset, (int) indexLength);
+        CRC32 crc = new CRC32();
+        crc.update(block.duplicate());
+        if ((int) crc.getValue() != header.getInt(32)) {
+            LoggerUtil.warn("Discarding snapshot " + file.getFileName() + " with a damaged index");
+            return false;
+        }
+        int count = block.getInt();
+        List<Map.Entry<String, Long>> offsets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] key = new byte[block.getInt()];
+            block.get(key);
+            offsets.add(Map.entry(new String(key, StandardCharsets.UTF_8), block.getLong()));
+        }
+        // Compaction writes records back to back, so each one ends where the next begins
+        offsets.sort(Map.Entry.comparingByValue());
+        for (int i = 0; i < count; i++) {
+            long offset = offsets.get(i).getValue();
+            long next = i + 1 < count ? offsets.get(i + 1).getValue() : indexOffset;
+            index.put(offsets.get(i).getKey(), new Location(offset, (int) (next - offset)));
+            liveBytes += next - offset;
+        }
+        dataEnd = indexOffset + indexLength;
+        return true;
+    }
+
+    /**
+     * Apply records appended after the index, stopping at the first torn or damaged one
+     */
+    private void scanTail() throws IOException {
+        long size = channel.size();
+        long position = dataEnd;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (position + RECORD_HEADER_SIZE <= size) {
+            readFully(header.clear(), position);
+            int keyLength = header.getInt(0);
+            int valueLength = header.getInt(4);
+            if (keyLength <= 0 || keyLength > MAX_KEY_BYTES || valueLength < TOMBSTONE) {
+                break;
+            }
+            int bodyLength = keyLength + Math.max(0, valueLength);
+            long end = position + RECORD_HEADER_SIZE + bodyLength;
+            if (end > size) {
+                break;
+            }
+            ByteBuffer body = read(position + RECORD_HEADER_SIZE, bodyLength);
+            CRC32 crc = new CRC32();
+            crc.update(header.array(), 0, 8);
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != header.getInt(8)) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            body.get(key);
+            track(new String(key, StandardCharsets.UTF_8),
+                valueLength == TOMBSTONE ? null : new Location(position, (int) (end - position)));
+            position = end;
+        }
+        if (position < size) {
+            LoggerUtil.warn("Dropping " + (size - position) + " incomplete bytes from snapshot " + file.getFileName());
+            channel.truncate(position);
+        }
+        dataEnd = position;
+    }
+
+    /**
+     * Value for the key, or null when absent
+     */
+    public synchronized byte[] get(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        try {
+            ByteBuffer record = read(location.offset(), location.size());
+            return Arrays.copyOfRange(record.array(), valueStart(key), location.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot " + file.getFileName(), e);
+        }
+    }
+
+    /**
+     * Visit every key starting with the prefix with a read-only view of its value.
+     * Matching records are read in file order through a large buffer, so a full
+     * visit costs a few big reads rather than one per record.
+     */
+    public synchronized void forEach(String prefix, BiConsumer<String, ByteBuffer> visitor) {
+        List<Map.Entry<String, Location>> matches = new ArrayList<>();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.comparingLong(entry -> entry.getValue().offset()));
+        ByteBuffer chunk = ByteBuffer.allocate(0);
+        long chunkStart = 0;
+        for (Map.Entry<String, Location> entry : matches) {
+            Location location = entry.getValue();
+            if (location.offset() < chunkStart || location.offset() + location.size() > chunkStart + chunk.capacity()) {
+                chunkStart = location.offset();
+                int length = (int) Math.min(Math.max(READ_CHUNK_BYTES, location.size()), dataEnd - chunkStart);
+                try {
+                    chunk = read(chunkStart, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read snapshot " + file.getFileName(), e);
+                }
+            }
+            int start = (int) (location.offset() - chunkStart) + valueStart(entry.getKey());
+            int end = (int) (location.offset() - chunkStart) + location.size();
+            visitor.accept(entry.getKey(), chunk.slice(start, end - start).asReadOnlyBuffer());
+        }
+    }
+
+    public void put(String key, byte[] value) throws IOException {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        records.put(key, value);
+        putAll(records);
+    }
+
+    public void remove(String key) throws IOException {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        records.put(key, null);
+        putAll(records);
+    }
+
+    /**
+     * Append a batch of records in one write; a null value removes its key
+     */
+    public synchronized void putAll(Map<String, byte[]> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        for (Map.Entry<String, byte[]> record : records.entrySet()) {
+            total += RECORD_HEADER_SIZE + record.getKey().getBytes(StandardCharsets.UTF_8).length
+                + (record.getValue() == null ? 0 : record.getValue().length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        List<String> keys = new ArrayList<>(records.size());
+        List<Location> locations = new ArrayList<>(records.size());
+        for (Map.Entry<String, byte[]> record : records.entrySet()) {
+            byte[] key = record.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] value = record.getValue();
+            if (key.length == 0 || key.length > MAX_KEY_BYTES) {
+                throw new IllegalArgumentException("Snapshot keys must be 1 to " + MAX_KEY_BYTES + " bytes");
+            }
+            int valueLength = value == null ? TOMBSTONE : value.length;
+            CRC32 crc = new CRC32();
+            crc.update(ByteBuffer.allocate(8).putInt(key.length).putInt(valueLength).flip());
+            crc.update(key);
+            if (value != null) {
+                crc.update(value);
+            }
+            keys.add(record.getKey());
+            locations.add(value == null ? null
+                : new Location(dataEnd + buffer.position(), RECORD_HEADER_SIZE + key.length + value.length));
+            buffer.putInt(key.length).putInt(valueLength).putInt((int) crc.getValue()).put(key);
+            if (value != null) {
+                buffer.put(value);
+            }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, dataEnd + buffer.position());
+        }
+        dataEnd += total;
+        for (int i = 0; i < keys.size(); i++) {
+            track(keys.get(i), locations.get(i));
+        }
+        // Compact once the cap is reached or dead records outweigh live ones
+        if (dataEnd > maxBytes || (dataEnd > MIN_COMPACTION_BYTES && dataEnd - liveBytes > liveBytes)) {
+            compact();
+        }
+    }
+
+    /**
+     * Drop every record
+     */
+    public synchronized void clear() throws IOException {
+        reset();
+    }
+
+    /**
+     * Rewrite live records into a fresh file with a new index, oldest first,
+     * leaving the oldest behind when they do not fit in 90% of the size cap
+     */
+    public synchronized void compact() throws IOException {
+        List<Map.Entry<String, Location>> live = new ArrayList<>(index.entrySet());
+        live.sort(Comparator.comparingLong(entry -> entry.getValue().offset()));
+        long budget = maxBytes - maxBytes / 10 - HEADER_SIZE - 4;
+        int first = live.size();
+        long needed = 0;
+        while (first > 0) {
+            Map.Entry<String, Location> entry = live.get(first - 1);
+            long cost = entry.getValue().size() + 12 + entry.getKey().getBytes(StandardCharsets.UTF_8).length;
+            if (needed + cost > budget) {
+                break;
+            }
+            needed += cost;
+            first--;
+        }
+        if (first > 0) {
+            evictedCount += first;
+            LoggerUtil.warn("Snapshot " + file.getFileName() + " is over its size cap; dropping " + first + " oldest records");
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".compact");
+        Map<String, Location> compacted = new HashMap<>();
+        long position = HEADER_SIZE;
+        long kept = 0;
+        int indexLength = 4;
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.position(HEADER_SIZE);
+            for (int i = first; i < live.size(); i++) {
+                Location location = live.get(i).getValue();
+                long copied = 0;
+                while (copied < location.size()) {
+                    copied += channel.transferTo(location.offset() + copied, location.size() - copied, out);
+                }
+                compacted.put(live.get(i).getKey(), new Location(position, location.size()));
+                indexLength += 12 + live.get(i).getKey().getBytes(StandardCharsets.UTF_8).length;
+                position += location.size();
+                kept += location.size();
+            }
+            ByteBuffer block = ByteBuffer.allocate(indexLength).putInt(live.size() - first);
+            for (int i = first; i < live.size(); i++) {
+                byte[] key = live.get(i).getKey().getBytes(StandardCharsets.UTF_8);
+                block.putInt(key.length).put(key).putLong(compacted.get(live.get(i).getKey()).offset());
+            }
+            block.flip();
+            CRC32 crc = new CRC32();
+            crc.update(block.duplicate());
+            while (block.hasRemaining()) {
+                out.write(block, position + block.position());
+            }
+            writeHeader(out, position, indexLength, (int) crc.getValue());
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        index.putAll(compacted);
+        liveBytes = kept;
+        dataEnd = position + indexLength;
+        LoggerUtil.debug("Compacted snapshot " + file.getFileName() + " to " + dataEnd + " bytes");
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void reset() throws IOException {
+        channel.truncate(0);
+        writeHeader(channel, 0, 0, 0);
+        index.clear();
+        liveBytes = 0;
+        dataEnd = HEADER_SIZE;
+    }
+
+    private void writeHeader(FileChannel target, long indexOffset, long indexLength, int indexCrc) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(schemaVersion).putInt(0)
+            .putLong(indexOffset).putLong(indexLength).putInt(indexCrc).flip();
+        while (header.hasRemaining()) {
+            target.write(header, header.position());
+        }
+    }
+
+    /**
+     * Point the key at a record, or drop it for null, keeping the live byte count in step
+     */
+    private void track(String key, Location location) {
+        Location previous = location == null ? index.remove(key) : index.put(key, location);
+        if (previous != null) {
+            liveBytes -= previous.size();
+        }
+        if (location != null) {
+            liveBytes += location.size();
+        }
+    }
+
+    /**
+     * Offset of the value within a record of the given key
+     */
+    private static int valueStart(String key) {
+        return RECORD_HEADER_SIZE + key.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Exactly length bytes from the file at the position, flipped for reading
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(buffer, position);
+        return buffer.flip();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long start = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("Snapshot " + file.getFileName() + " ends at " + (start + buffer.position()));
+            }
+        }
+    }
+
+    public synchronized int getRecordCount() {
+        return index.size();
+    }
+
+    /**
+     * Bytes in the file, including records that compaction would drop
+     */
+    public synchronized long getFileBytes() {
+        return dataEnd;
+    }
+
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Records dropped to stay under the size cap since the store was opened
+     */
+    public synchronized long getEvictedCount() {
+        return evictedCount;
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.app.integration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Statement Cache - Prepared statements kept open on one physical connection, by SQL text.
+ * Each statement goes to one caller at a time as a handle whose close() resets
+ * it for the next caller instead of closing it, so a query repeated on a pooled
+ * connection skips the parse and plan round trip. A caller asking for a
+ * statement that is already out gets an uncached one. The least recently used
+ * statement is closed when the cache is full.
+ */
+final class StatementCache {
+
+    private final Connection physical;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final Map<String, Entry> entries;
+
+    StatementCache(Connection physical, int capacity, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * A cached statement for the SQL, handed out through the given lease
+     */
+    synchronized PreparedStatement prepare(Connection lease, String sql) throws SQLException {
+        Entry entry = entries.get(sql);
+        if (entry != null && !entry.inUse) {
+            hits.increment();
+            return entry.checkOut(lease);
+        }
+        misses.increment();
+        PreparedStatement statement = physical.prepareStatement(sql);
+        if (entry != null || statement == null) {
+            return statement;
+        }
+        entry = new Entry(statement);
+        entries.put(sql, entry);
+        return entry.checkOut(lease);
+    }
+
+    /**
+     * Take back statements whose callers returned the lease without closing them
+     */
+    synchronized void reclaim() {
+        // Copied because an entry that fails to reset removes itself
+        for (Entry entry : List.copyOf(entries.values())) {
+            if (entry.inUse) {
+                entry.checkIn();
+            }
+        }
+    }
+
+    private final class Entry {
+        final PreparedStatement statement;
+        boolean inUse;
+        boolean evicted;
+        CachedStatement handle;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement checkOut(Connection lease) {
+            inUse = true;
+            handle = new CachedStatement(statement, lease, this::release);
+            return handle;
+        }
+
+        void release(CachedStatement closing) {
+            synchronized (StatementCache.this) {
+                if (!closing.isMarkedClosed() && handle == closing) {
+                    checkIn();
+                }
+            }
+        }
+
+        /**
+         * Called with the cache locked
+         */
+        void checkIn() {
+            handle.markClosed();
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                // Settings a caller changed must not leak into the next query
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.setFetchSize(0);
+                statement.setMaxRows(0);
+                statement.setQueryTimeout(0);
+            } catch (SQLException e) {
+                LoggerUtil.debug("Dropping cached statement that failed to reset: " + e.getMessage());
+                evicted = true;
+                closeQuietly();
+                entries.values().remove(this);
+            }
+        }
+
+        /**
+         * Called with the cache locked
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LoggerUtil.debug("Failed to close cached statement: " + e.getMessage());
+            }
+        }
+    }
+}
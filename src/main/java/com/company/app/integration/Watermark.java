@@ -0,0 +1,49 @@
+package com.company.app.integration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Watermark - Position in a table's (changed_at, id) order.
+ * A feed resumes after its watermark when its source reconnects.
+ */
+public final class Watermark implements Comparable<Watermark> {
+
+    public static final Watermark BEGINNING = new Watermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private final LocalDateTime changedAt;
+    private final long id;
+
+    public Watermark(LocalDateTime changedAt, long id) {
+        this.changedAt = changedAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public int compareTo(Watermark other) {
+        int byTime = changedAt.compareTo(other.changedAt);
+        return byTime != 0 ? byTime : Long.compare(id, other.id);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Watermark && compareTo((Watermark) other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return changedAt.hashCode() * 31 + Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + changedAt + ", " + id + ")";
+    }
+}
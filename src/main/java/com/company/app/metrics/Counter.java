@@ -0,0 +1,25 @@
+package com.company.app.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter - Monotonic count backed by a LongAdder.
+ * Increments from many threads land in separate cells instead of fighting
+ * over one cache line; the cells are only summed when scraped.
+ */
+public class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.app.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram - Log-linear latency histogram in the style of HdrHistogram.
+ * Every power of two is split into eight equal sub-buckets, so any recorded
+ * value is known to within about 12% over the whole range of a long. The
+ * bucket layout is fixed, which makes histograms and their snapshots
+ * mergeable by adding counts bucket by bucket. Recording is two atomic adds
+ * and never allocates.
+ */
+public class Histogram {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Record one value; negative values count as zero
+     */
+    public void record(long value) {
+        long clamped = Math.max(0L, value);
+        counts.incrementAndGet(bucketIndex(clamped));
+        sum.add(clamped);
+    }
+
+    /**
+     * Add every count from a snapshot, e.g. one taken on another histogram
+     */
+    public void merge(HistogramSnapshot other) {
+        long[] otherCounts = other.getCounts();
+        for (int i = 0; i < otherCounts.length; i++) {
+            if (otherCounts[i] != 0) {
+                counts.addAndGet(i, otherCounts[i]);
+            }
+        }
+        sum.add(other.getSum());
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new HistogramSnapshot(copy, sum.sum());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * Largest value that falls into the bucket
+     */
+    static long upperBound(int index) {
+        if (index == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return lowerBound(index + 1) - 1;
+    }
+}
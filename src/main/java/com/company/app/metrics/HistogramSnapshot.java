@@ -0,0 +1,77 @@
+package com.company.app.metrics;
+
+/**
+ * Histogram Snapshot - Point-in-time copy of a histogram's buckets.
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long sum;
+    private final long count;
+
+    HistogramSnapshot(long[] counts, long sum) {
+        this.counts = counts;
+        this.sum = sum;
+        long total = 0;
+        for (long bucket : counts) {
+            total += bucket;
+        }
+        this.count = total;
+    }
+
+    /**
+     * Combine two snapshots, e.g. from several threads or instances
+     */
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+        long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new HistogramSnapshot(merged, sum + other.sum);
+    }
+
+    /**
+     * Number of recorded values no greater than the given value, to bucket precision
+     */
+    public long countAtOrBelow(long value) {
+        long total = 0;
+        for (int i = 0; i < counts.length && Histogram.upperBound(i) <= value; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), or 0 when empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Histogram.upperBound(i);
+            }
+        }
+        return Histogram.upperBound(counts.length - 1);
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    long[] getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,224 @@
+package com.company.app.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics Registry - Named counters, gauges and histograms for the application.
+ * Metrics are looked up once, when a component is wired, and the returned
+ * handle is kept; recording on a handle never touches the registry and never
+ * allocates. Asking again for the same name and labels returns the same
+ * handle. Everything is rendered in the Prometheus text format on scrape.
+ */
+public class MetricsRegistry {
+
+    // Histogram bucket boundaries exported to Prometheus, in seconds
+    private static final double[] EXPORTED_BOUNDS = {
+        0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM;
+
+        String exposition() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * All series sharing a metric name, keyed by their rendered label set
+     */
+    private static final class Family {
+        final String name;
+        final String help;
+        final Type type;
+        final Map<String, Object> series = new ConcurrentSkipListMap<>();
+
+        Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private static class SingletonHolder {
+        static final MetricsRegistry instance = new MetricsRegistry();
+    }
+
+    public static MetricsRegistry getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * Counter for the given name and label pairs (key, value, key, value...)
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).series
+            .computeIfAbsent(renderLabels(labels), key -> new Counter());
+    }
+
+    /**
+     * Counter read from the supplier at scrape time, for counts kept by the component itself.
+     * Registering the same name and labels again replaces the supplier.
+     */
+    public void counter(String name, String help, LongSupplier supplier, String... labels) {
+        family(name, help, Type.COUNTER).series.put(renderLabels(labels), supplier);
+    }
+
+    /**
+     * Histogram of durations in nanoseconds, exported in seconds
+     */
+    public Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) family(name, help, Type.HISTOGRAM).series
+            .computeIfAbsent(renderLabels(labels), key -> new Histogram());
+    }
+
+    /**
+     * Duration histograms with an extra outcome label of success or failure
+     */
+    public Timer timer(String name, String help, String... labels) {
+        String[] success = Arrays.copyOf(labels, labels.length + 2);
+        String[] failure = Arrays.copyOf(labels, labels.length + 2);
+        success[labels.length] = "outcome";
+        success[labels.length + 1] = "success";
+        failure[labels.length] = "outcome";
+        failure[labels.length + 1] = "failure";
+        return new Timer(histogram(name, help, success), histogram(name, help, failure));
+    }
+
+    /**
+     * Gauge read from the supplier at scrape time.
+     * Registering the same name and labels again replaces the supplier.
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        family(name, help, Type.GAUGE).series.put(renderLabels(labels), supplier);
+    }
+
+    public void remove(String name, String... labels) {
+        Family family = families.get(name);
+        if (family != null) {
+            family.series.remove(renderLabels(labels));
+        }
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a "
+                + family.type.exposition());
+        }
+        return family;
+    }
+
+    /**
+     * Render every metric in the Prometheus text exposition format
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : families.values()) {
+            if (family.series.isEmpty()) {
+                continue;
+            }
+            out.append("# HELP ").append(family.name).append(' ').append(escapeHelp(family.help)).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type.exposition()).append('\n');
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                writeSeries(out, family, series.getKey(), series.getValue());
+            }
+        }
+        return out.toString();
+    }
+
+    private static void writeSeries(StringBuilder out, Family family, String labels, Object metric) {
+        switch (family.type) {
+            case COUNTER:
+                long count;
+                try {
+                    count = metric instanceof Counter ? ((Counter) metric).get() : ((LongSupplier) metric).getAsLong();
+                } catch (RuntimeException e) {
+                    count = 0;
+                }
+                sample(out, family.name, labels, count);
+                break;
+            case GAUGE:
+                double value;
+                try {
+                    value = ((DoubleSupplier) metric).getAsDouble();
+                } catch (RuntimeException e) {
+                    value = Double.NaN;
+                }
+                sample(out, family.name, labels, value);
+                break;
+            case HISTOGRAM:
+                HistogramSnapshot snapshot = ((Histogram) metric).snapshot();
+                for (double bound : EXPORTED_BOUNDS) {
+                    long cumulative = snapshot.countAtOrBelow((long) (bound * 1_000_000_000L));
+                    sample(out, family.name + "_bucket", withLabel(labels, "le", formatDouble(bound)), cumulative);
+                }
+                sample(out, family.name + "_bucket", withLabel(labels, "le", "+Inf"), snapshot.getCount());
+                sample(out, family.name + "_sum", labels, snapshot.getSum() / 1e9);
+                sample(out, family.name + "_count", labels, snapshot.getCount());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(formatDouble(value)).append('\n');
+    }
+
+    private static String withLabel(String labels, String key, String value) {
+        String label = key + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    static String renderLabels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be key/value pairs: " + Arrays.toString(labels));
+        }
+        if (labels.length == 0) {
+            return "";
+        }
+        StringBuilder rendered = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                rendered.append(',');
+            }
+            rendered.append(labels[i]).append("=\"").append(escapeLabel(labels[i + 1])).append('"');
+        }
+        return rendered.append('}').toString();
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.app.metrics;
+
+/**
+ * Timer - Pair of duration histograms split by outcome.
+ * Its record method has the shape of a RequestListener, so a timer can be
+ * attached to a service client as-is.
+ */
+public class Timer {
+
+    private final Histogram success;
+    private final Histogram failure;
+
+    Timer(Histogram success, Histogram failure) {
+        this.success = success;
+        this.failure = failure;
+    }
+
+    public void record(long nanos, boolean succeeded) {
+        (succeeded ? success : failure).record(nanos);
+    }
+
+    public Histogram getSuccess() {
+        return success;
+    }
+
+    public Histogram getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,9 @@
+package com.company.app.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit Entry - One row read back from the audit_log table.
+ */
+public record AuditEntry(long id, long userId, String action, LocalDateTime timestamp) {
+}
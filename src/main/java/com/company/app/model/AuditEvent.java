@@ -0,0 +1,37 @@
+package com.company.app.model;
+
+/**
+ * Audit Event - One user action destined for the audit_log table.
+ */
+public final class AuditEvent {
+
+    private final long userId;
+    private final String action;
+    private final long timestampMillis;
+
+    public AuditEvent(long userId, String action, long timestampMillis) {
+        this.userId = userId;
+        this.action = action;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * When the action happened, in epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditEvent[userId=" + userId + ", action=" + action + "]";
+    }
+}
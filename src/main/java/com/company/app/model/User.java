@@ -0,0 +1,52 @@
+package com.company.app.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * User - Row of the users table.
+ */
+public final class User {
+
+    private final long id;
+    private final String username;
+    private final String email;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public User(long id, String username, String email, LocalDateTime createdAt) {
+        this(id, username, email, createdAt, null);
+    }
+
+    public User(long id, String username, String email, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "User[id=" + id + ", username=" + username + "]";
+    }
+}
@@ -0,0 +1,615 @@
+package com.company.app.service;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import com.company.app.integration.ChangeFeed;
+import com.company.app.integration.ChangeListener;
+import com.company.app.integration.RowChange;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.model.AuditEntry;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Audit Column Cache - In-process columnar copy of audit_log for fast aggregations.
+ * Rows live off-heap in fixed-size chunks of direct memory, one column per
+ * field: the timestamp as an int millisecond delta from the chunk's first row,
+ * user_id as an int and the action as a short code into a shared dictionary.
+ * That is ten bytes a row and no per-row objects for the collector to trace.
+ * A single loader appends rows past the highest id seen; scans run over a
+ * snapshot of the chunk list, one parallel task per chunk, and skip chunks
+ * whose time span misses the query. Over maxBytes, the chunk holding the
+ * oldest rows is dropped and ranges starting at or before its newest row are
+ * no longer covered.
+ * audit_log is append-only, so updates and deletes are not tracked. Ids are
+ * taken before commit, so a load stops at the first row stamped within
+ * ChangeFeed.COMMIT_LOOKBACK of now and leaves it for a later load, giving a
+ * slow commit with a lower id time to land; getLoadedThrough() tells readers
+ * where the held rows end. A row stamped more than the lag ahead of now came
+ * from a skewed clock and is loaded as it is, since waiting for it would hold
+ * back every row behind it until the clock caught up.
+ * Loads hold the instance monitor; the feed callback and close() do not take
+ * it, so neither waits for a load in progress.
+ */
+public class AuditColumnCache implements Closeable {
+
+    public static final int DEFAULT_CHUNK_ROWS = 1 << 16;
+
+    private static final int ROW_BYTES = Integer.BYTES + Integer.BYTES + Short.BYTES;
+    private static final int MAX_ACTIONS = 1 << 16;
+    private static final String OTHER_ACTION = "(other)";
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final JdbcAuditLog auditLog;
+    private final int chunkRows;
+    private final long chunkBytes;
+    private final long maxBytes;
+    private final Clock clock;
+    private final Object lifecycle = new Object();
+    private final Map<String, Integer> actionCodes = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final ChangeListener auditChanged = this::onAuditChanged;
+    // Replaced whole when an action is added, before any row carries its code
+    private volatile String[] actionNames = new String[0];
+    private volatile List<Chunk> chunks = List.of();
+    private volatile long watermark;
+    private volatile long evictedThroughMillis = Long.MIN_VALUE;
+    private volatile boolean loaded;
+    private volatile LocalDateTime loadedThrough;
+    private volatile boolean closed;
+    private volatile ScheduledExecutorService loader;
+    private Chunk tail;
+    private ChangeFeed feed;
+
+    public AuditColumnCache(JdbcAuditLog auditLog, int chunkRows, long maxBytes) {
+        this(auditLog, chunkRows, maxBytes, Clock.systemDefaultZone());
+    }
+
+    AuditColumnCache(JdbcAuditLog auditLog, int chunkRows, long maxBytes, Clock clock) {
+        this.auditLog = auditLog;
+        this.chunkRows = Math.max(1, chunkRows);
+        this.chunkBytes = (long) this.chunkRows * ROW_BYTES;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Load in the background every refreshMillis, and as soon as the feed reports new audit rows
+     */
+    public void start(long refreshMillis, ChangeFeed changeFeed) {
+        synchronized (lifecycle) {
+            if (loader != null || closed) {
+                return;
+            }
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-cache-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            registry.gauge("app_audit_cache_rows", "audit_log rows held in the column cache", this::getRowCount);
+            registry.gauge("app_audit_cache_bytes", "Off-heap bytes reserved by the audit column cache",
+                this::getMemoryBytes);
+            executor.scheduleWithFixedDelay(this::refreshQuietly, 0, Math.max(1000, refreshMillis),
+                TimeUnit.MILLISECONDS);
+            loader = executor;
+            if (changeFeed != null) {
+                feed = changeFeed;
+                feed.subscribe(ChangeFeed.AUDIT_LOG_TABLE, auditChanged);
+            }
+        }
+    }
+
+    /**
+     * Runs on the feed's dispatch thread, so it only queues a load and never waits for one
+     */
+    private void onAuditChanged(List<RowChange> changes) {
+        ScheduledExecutorService executor = loader;
+        if (executor == null || changes.stream().noneMatch(change -> change.getOp() == RowChange.Op.INSERT)) {
+            return;
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    refreshQueued.set(false);
+                    refreshQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // Closed in the meantime
+                refreshQueued.set(false);
+            }
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (SQLException | RuntimeException e) {
+            LoggerUtil.warn("Audit column cache refresh failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Append rows with an id above the last one loaded, up to the first row stamped
+     * within the commit lag either side of now; returns the number of rows read
+     */
+    public synchronized int refresh() throws SQLException {
+        if (closed) {
+            return 0;
+        }
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime settled = now.minus(ChangeFeed.COMMIT_LOOKBACK);
+        LocalDateTime skewed = now.plus(ChangeFeed.COMMIT_LOOKBACK);
+        int rows = 0;
+        try (Stream<AuditEntry> entries = auditLog.streamAfter(watermark)) {
+            for (Iterator<AuditEntry> it = entries.iterator(); it.hasNext() && !closed;) {
+                AuditEntry entry = it.next();
+                if (entry.timestamp() != null && !entry.timestamp().isBefore(settled)
+                        && !entry.timestamp().isAfter(skewed)) {
+                    // Re-read from here once the lag has passed
+                    break;
+                }
+                append(entry);
+                watermark = entry.id();
+                rows++;
+            }
+        }
+        if (closed) {
+            // close() cannot clear what a running load may still be appending to
+            chunks = List.of();
+            tail = null;
+            return rows;
+        }
+        loadedThrough = settled;
+        if (!loaded || rows > 0) {
+            LoggerUtil.debug("Audit column cache loaded " + rows + " rows in " + (System.currentTimeMillis() - started)
+                + "ms (" + getRowCount() + " rows, " + getMemoryBytes() + " bytes held)");
+        }
+        loaded = true;
+        return rows;
+    }
+
+    private void append(AuditEntry entry) {
+        // Rows without a time cannot fall in any range
+        if (entry.timestamp() == null) {
+            return;
+        }
+        long millis = toMillis(entry.timestamp());
+        int action = actionCode(entry.action());
+        if (tail == null || !tail.append(millis, (int) entry.userId(), action)) {
+            tail = newChunk();
+            tail.append(millis, (int) entry.userId(), action);
+        }
+    }
+
+    private Chunk newChunk() {
+        List<Chunk> kept = new ArrayList<>(chunks);
+        while (!kept.isEmpty() && (kept.size() + 1) * chunkBytes > maxBytes) {
+            Chunk oldest = kept.get(0);
+            for (Chunk chunk : kept) {
+                if (chunk.maxMillis < oldest.maxMillis) {
+                    oldest = chunk;
+                }
+            }
+            kept.remove(oldest);
+            evictedThroughMillis = Math.max(evictedThroughMillis, oldest.maxMillis);
+            LoggerUtil.debug("Audit column cache evicted " + oldest.size + " rows up to "
+                + LocalDateTime.ofEpochSecond(Math.floorDiv(oldest.maxMillis, 1000), 0, ZoneOffset.UTC));
+        }
+        Chunk chunk = new Chunk(chunkRows);
+        kept.add(chunk);
+        chunks = List.copyOf(kept);
+        return chunk;
+    }
+
+    private int actionCode(String action) {
+        String name = action == null ? "" : action;
+        Integer code = actionCodes.get(name);
+        if (code != null) {
+            return code;
+        }
+        String[] names = actionNames;
+        if (names.length >= MAX_ACTIONS - 1) {
+            // Dictionary full: every further action shares the last code
+            name = OTHER_ACTION;
+            code = actionCodes.get(name);
+            if (code != null) {
+                return code;
+            }
+        }
+        String[] grown = Arrays.copyOf(names, names.length + 1);
+        grown[names.length] = name;
+        actionNames = grown;
+        actionCodes.put(name, names.length);
+        return names.length;
+    }
+
+    /**
+     * Whether every loaded row from this point in time on is still held
+     */
+    public boolean covers(LocalDateTime from) {
+        return loaded && toMillis(from) > evictedThroughMillis;
+    }
+
+    /**
+     * Entries per time bucket from (inclusive) to (exclusive); userId and action filter when not null
+     */
+    public long[] countByTime(LocalDateTime from, LocalDateTime to, Duration bucket, Long userId, String action) {
+        Query query = new Query(from, to, userId, action);
+        query.bucketOrigin = query.fromMillis;
+        query.bucketMillis = Math.max(1, bucket.toMillis());
+        query.buckets = (int) Math.max(0, ceilDiv(query.toMillis - query.fromMillis, query.bucketMillis));
+        Counts counts = scan(query);
+        return counts.buckets == null ? new long[query.buckets] : counts.buckets;
+    }
+
+    /**
+     * Entries per action, most frequent first; userId filters when not null
+     */
+    public Map<String, Long> countByAction(LocalDateTime from, LocalDateTime to, Long userId) {
+        Query query = new Query(from, to, userId, null);
+        query.byAction = true;
+        return actionCounts(scan(query));
+    }
+
+    /**
+     * Entries per user; action filters when not null
+     */
+    public Map<Long, Long> countByUser(LocalDateTime from, LocalDateTime to, String action) {
+        Query query = new Query(from, to, null, action);
+        query.byUser = true;
+        return scan(query).users.toMap();
+    }
+
+    /**
+     * The same report ReportEngine builds from the database, from a single pass over the cached columns
+     */
+    public AuditReport report(LocalDateTime from, LocalDateTime to, int topUsers) {
+        Query query = new Query(from, to, null, null);
+        query.byAction = true;
+        query.byUser = true;
+        query.bucketOrigin = Math.floorDiv(query.fromMillis, HOUR_MILLIS) * HOUR_MILLIS;
+        query.bucketMillis = HOUR_MILLIS;
+        query.buckets = (int) Math.max(0, ceilDiv(query.toMillis - query.bucketOrigin, HOUR_MILLIS));
+        Counts counts = scan(query);
+
+        TreeMap<LocalDateTime, Long> hourlyCounts = new TreeMap<>();
+        for (int i = 0; counts.buckets != null && i < counts.buckets.length; i++) {
+            if (counts.buckets[i] > 0) {
+                long start = query.bucketOrigin + i * HOUR_MILLIS;
+                hourlyCounts.put(LocalDateTime.ofEpochSecond(start / 1000, 0, ZoneOffset.UTC), counts.buckets[i]);
+            }
+        }
+        Map<Long, Long> userCounts = counts.users.toMap();
+        return new AuditReport(from, to, counts.rows, actionCounts(counts), userCounts, hourlyCounts,
+            ReportAccumulator.topUsers(userCounts, topUsers));
+    }
+
+    private Map<String, Long> actionCounts(Counts counts) {
+        String[] names = actionNames;
+        Map<String, Long> byAction = new HashMap<>();
+        for (int code = 0; counts.actions != null && code < counts.actions.length; code++) {
+            if (counts.actions[code] > 0) {
+                byAction.put(names[code], counts.actions[code]);
+            }
+        }
+        return ReportAccumulator.mostFrequentFirst(byAction);
+    }
+
+    private Counts scan(Query query) {
+        if (query.action != null) {
+            Integer code = actionCodes.get(query.action);
+            if (code == null) {
+                return new Counts(query);
+            }
+            query.actionCode = code;
+        }
+        return chunks.parallelStream()
+            .map(chunk -> chunk.scan(query))
+            .reduce(Counts::merge)
+            .orElseGet(() -> new Counts(query));
+    }
+
+    public long getRowCount() {
+        long rows = 0;
+        for (Chunk chunk : chunks) {
+            rows += chunk.size;
+        }
+        return rows;
+    }
+
+    /**
+     * Off-heap bytes reserved by the chunks held, including unused rows of the newest
+     */
+    public long getMemoryBytes() {
+        return chunks.size() * chunkBytes;
+    }
+
+    /**
+     * Highest audit_log id loaded
+     */
+    public long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Every row stamped before this time is held, unless evicted; null before the first load
+     */
+    public LocalDateTime getLoadedThrough() {
+        return loadedThrough;
+    }
+
+    /**
+     * Stops loading without waiting for a load in progress; that load ends at its next row
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (lifecycle) {
+            if (feed != null) {
+                feed.unsubscribe(ChangeFeed.AUDIT_LOG_TABLE, auditChanged);
+                feed = null;
+            }
+            if (loader != null) {
+                loader.shutdownNow();
+                loader = null;
+            }
+        }
+        // Direct buffers are released once no scan still holds them
+        chunks = List.of();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Rows of one chunk, column by column; appended by the loader only and read by any scan
+     */
+    private static final class Chunk {
+        private final int capacity;
+        private final IntBuffer deltas;
+        private final IntBuffer users;
+        private final ShortBuffer actions;
+        // Written with the first row, before size publishes it
+        private long baseMillis;
+        private volatile long minMillis = Long.MAX_VALUE;
+        private volatile long maxMillis = Long.MIN_VALUE;
+        private volatile int size;
+
+        Chunk(int capacity) {
+            this.capacity = capacity;
+            ByteBuffer memory = ByteBuffer.allocateDirect(capacity * ROW_BYTES);
+            int userOffset = capacity * Integer.BYTES;
+            int actionOffset = userOffset * 2;
+            deltas = memory.slice(0, userOffset).order(ByteOrder.nativeOrder()).asIntBuffer();
+            users = memory.slice(userOffset, userOffset).order(ByteOrder.nativeOrder()).asIntBuffer();
+            actions = memory.slice(actionOffset, capacity * Short.BYTES).order(ByteOrder.nativeOrder()).asShortBuffer();
+        }
+
+        /**
+         * False when the chunk is full or the time is too far from its first row for an int delta
+         */
+        boolean append(long millis, int userId, int actionCode) {
+            int row = size;
+            if (row == capacity) {
+                return false;
+            }
+            if (row == 0) {
+                baseMillis = millis;
+            }
+            long delta = millis - baseMillis;
+            if (delta < Integer.MIN_VALUE || delta > Integer.MAX_VALUE) {
+                return false;
+            }
+            deltas.put(row, (int) delta);
+            users.put(row, userId);
+            actions.put(row, (short) actionCode);
+            if (millis < minMillis) {
+                minMillis = millis;
+            }
+            if (millis > maxMillis) {
+                maxMillis = millis;
+            }
+            size = row + 1;
+            return true;
+        }
+
+        Counts scan(Query query) {
+            Counts counts = new Counts(query);
+            // Size first: the rows, bounds and base it covers were all written before it
+            int rows = size;
+            if (rows == 0 || maxMillis < query.fromMillis || minMillis >= query.toMillis) {
+                return counts;
+            }
+            long base = baseMillis;
+            for (int i = 0; i < rows; i++) {
+                long millis = base + deltas.get(i);
+                if (millis < query.fromMillis || millis >= query.toMillis) {
+                    continue;
+                }
+                int user = users.get(i);
+                if (query.filterUser && user != query.userId) {
+                    continue;
+                }
+                int action = actions.get(i) & 0xFFFF;
+                if (query.actionCode >= 0 && action != query.actionCode) {
+                    continue;
+                }
+                counts.add(millis, user, action);
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * What a scan filters on and which counts it keeps
+     */
+    private static final class Query {
+        final long fromMillis;
+        final long toMillis;
+        final boolean filterUser;
+        final int userId;
+        final String action;
+        int actionCode = -1;
+        boolean byAction;
+        boolean byUser;
+        long bucketOrigin;
+        long bucketMillis;
+        int buckets;
+
+        Query(LocalDateTime from, LocalDateTime to, Long userId, String action) {
+            this.fromMillis = toMillis(from);
+            this.toMillis = toMillis(to);
+            this.filterUser = userId != null;
+            this.userId = userId == null ? 0 : userId.intValue();
+            this.action = action;
+        }
+    }
+
+    /**
+     * Partial counts from one chunk; partials merge pairwise
+     */
+    private static final class Counts {
+        private final Query query;
+        long rows;
+        long[] buckets;
+        long[] actions;
+        final UserCounts users = new UserCounts();
+
+        Counts(Query query) {
+            this.query = query;
+        }
+
+        void add(long millis, int user, int action) {
+            rows++;
+            if (query.buckets > 0) {
+                if (buckets == null) {
+                    buckets = new long[query.buckets];
+                }
+                buckets[(int) ((millis - query.bucketOrigin) / query.bucketMillis)]++;
+            }
+            if (query.byAction) {
+                if (actions == null || action >= actions.length) {
+                    actions = Arrays.copyOf(actions == null ? new long[0] : actions, Math.max(16, action * 2 + 1));
+                }
+                actions[action]++;
+            }
+            if (query.byUser) {
+                users.add(user, 1);
+            }
+        }
+
+        Counts merge(Counts other) {
+            rows += other.rows;
+            if (buckets == null) {
+                buckets = other.buckets;
+            } else if (other.buckets != null) {
+                for (int i = 0; i < other.buckets.length; i++) {
+                    buckets[i] += other.buckets[i];
+                }
+            }
+            if (other.actions != null) {
+                if (actions == null || actions.length < other.actions.length) {
+                    actions = Arrays.copyOf(actions == null ? new long[0] : actions, other.actions.length);
+                }
+                for (int i = 0; i < other.actions.length; i++) {
+                    actions[i] += other.actions[i];
+                }
+            }
+            users.merge(other.users);
+            return this;
+        }
+    }
+
+    /**
+     * Open-addressing int to count map, so counting users never boxes a key
+     */
+    private static final class UserCounts {
+        private int[] keys = new int[16];
+        // Zero marks a free slot; stored counts are always positive
+        private long[] counts = new long[16];
+        private int size;
+
+        void add(int key, long amount) {
+            int slot = slot(keys, counts, key);
+            if (counts[slot] == 0) {
+                keys[slot] = key;
+                counts[slot] = amount;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            } else {
+                counts[slot] += amount;
+            }
+        }
+
+        void merge(UserCounts other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.keys[i], other.counts[i]);
+                }
+            }
+        }
+
+        Map<Long, Long> toMap() {
+            Map<Long, Long> map = new HashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0) {
+                    map.put((long) keys[i], counts[i]);
+                }
+            }
+            return map;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = slot(keys, counts, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int slot(int[] keys, long[] counts, int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (counts[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
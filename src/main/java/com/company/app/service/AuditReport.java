@@ -0,0 +1,116 @@
+package com.company.app.service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Audit Report - Aggregated audit_log activity over a time range.
+ */
+public class AuditReport {
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final long rowCount;
+    private final Map<String, Long> actionCounts;
+    private final Map<Long, Long> userCounts;
+    private final SortedMap<LocalDateTime, Long> hourlyCounts;
+    private final List<UserCount> topUsers;
+
+    public AuditReport(LocalDateTime from, LocalDateTime to, long rowCount, Map<String, Long> actionCounts,
+                       Map<Long, Long> userCounts, SortedMap<LocalDateTime, Long> hourlyCounts,
+                       List<UserCount> topUsers) {
+        this.from = from;
+        this.to = to;
+        this.rowCount = rowCount;
+        this.actionCounts = Collections.unmodifiableMap(actionCounts);
+        this.userCounts = Collections.unmodifiableMap(userCounts);
+        this.hourlyCounts = Collections.unmodifiableSortedMap(hourlyCounts);
+        this.topUsers = List.copyOf(topUsers);
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * End of the range, exclusive
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Entries per action, most frequent first; entries without an action count under ""
+     */
+    public Map<String, Long> getActionCounts() {
+        return actionCounts;
+    }
+
+    public Map<Long, Long> getUserCounts() {
+        return userCounts;
+    }
+
+    /**
+     * Entries per hour, keyed by the start of the hour
+     */
+    public SortedMap<LocalDateTime, Long> getHourlyCounts() {
+        return hourlyCounts;
+    }
+
+    /**
+     * Most active users, most entries first
+     */
+    public List<UserCount> getTopUsers() {
+        return topUsers;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditReport{from=" + from + ", to=" + to + ", rows=" + rowCount
+            + ", actions=" + actionCounts.size() + ", users=" + userCounts.size() + "}";
+    }
+
+    /**
+     * Entries attributed to one user
+     */
+    public static final class UserCount {
+        private final long userId;
+        private final long count;
+
+        public UserCount(long userId, long count) {
+            this.userId = userId;
+            this.count = count;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof UserCount && ((UserCount) other).userId == userId
+                && ((UserCount) other).count == count;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(userId) * 31 + Long.hashCode(count);
+        }
+
+        @Override
+        public String toString() {
+            return userId + "=" + count;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.company.app.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import com.company.app.model.AuditEvent;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Audit Service - Asynchronous, batched writer for the audit_log table.
+ * record() only offers to a bounded queue, so it is safe to call from the FX
+ * thread. A background writer collects events until the batch is full or the
+ * linger time has passed, writes the batch to the sink with retries, and
+ * drains whatever is left when the service shuts down.
+ */
+public class AuditService {
+
+    /**
+     * What record() does when the queue is full
+     */
+    public enum OverflowPolicy {
+        /** Discard the new event */
+        DROP_NEWEST,
+        /** Discard the oldest queued event to make room */
+        DROP_OLDEST,
+        /** Wait up to audit.blockTimeout for room, then discard */
+        BLOCK
+    }
+
+    // How often an idle writer re-checks for shutdown
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final ArrayBlockingQueue<AuditEvent> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final long defaultUserId;
+    private Thread writerThread;
+    private volatile boolean stopping;
+
+    private final LongAdder recordedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private static class SingletonHolder {
+        static final AuditService instance = fromConfiguration();
+    }
+
+    public static AuditService getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    AuditService(int queueCapacity, int batchSize, long lingerMillis, int maxAttempts, long retryBackoffMillis,
+                 OverflowPolicy overflowPolicy, long blockTimeoutMillis, long defaultUserId) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.defaultUserId = defaultUserId;
+    }
+
+    private static AuditService fromConfiguration() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        OverflowPolicy policy = OverflowPolicy.DROP_OLDEST;
+        String configuredPolicy = config.getProperty("audit.overflow");
+        if (configuredPolicy != null) {
+            try {
+                policy = OverflowPolicy.valueOf(configuredPolicy.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LoggerUtil.warn("Unknown audit.overflow: " + configuredPolicy);
+            }
+        }
+        return new AuditService(
+            config.getIntProperty("audit.queueCapacity", 10000),
+            config.getIntProperty("audit.batchSize", 500),
+            millis(config, "audit.linger", 200),
+            config.getIntProperty("audit.retry.maxAttempts", 3),
+            millis(config, "audit.retry.backoff", 200),
+            policy,
+            millis(config, "audit.blockTimeout", 50),
+            config.getLongProperty("audit.userId", 1));
+    }
+
+    private static long millis(ConfigurationManager config, String key, long defaultMillis) {
+        return config.getDurationProperty(key, Duration.ofMillis(defaultMillis)).toMillis();
+    }
+
+    /**
+     * Start writing to the sink. Events recorded before this are kept and written first.
+     */
+    public synchronized void start(AuditSink sink) {
+        if (writerThread != null || stopping) {
+            return;
+        }
+        writerThread = new Thread(() -> runWriter(sink), "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        LoggerUtil.info("Audit writer started");
+    }
+
+    /**
+     * Record an action for the configured application user
+     */
+    public boolean record(String action) {
+        return record(defaultUserId, action);
+    }
+
+    /**
+     * Queue an action without blocking (unless the BLOCK policy is configured).
+     * Returns false if the event was discarded.
+     */
+    public boolean record(long userId, String action) {
+        if (stopping) {
+            droppedCount.increment();
+            return false;
+        }
+        AuditEvent event = new AuditEvent(userId, action, System.currentTimeMillis());
+        recordedCount.increment();
+        if (queue.offer(event)) {
+            return true;
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                if (queue.poll() != null) {
+                    droppedCount.increment();
+                }
+                if (queue.offer(event)) {
+                    return true;
+                }
+                break;
+            case BLOCK:
+                try {
+                    if (queue.offer(event, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            default:
+                break;
+        }
+        droppedCount.increment();
+        return false;
+    }
+
+    private void runWriter(AuditSink sink) {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (!stopping || !queue.isEmpty()) {
+                AuditEvent first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    // Once shutdown starts, flush what is there instead of lingering
+                    if (remaining <= 0 || stopping) {
+                        break;
+                    }
+                    AuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(sink, batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Drain deadline passed; whatever is left is reported as dropped
+            droppedCount.add(batch.size() + queue.size());
+            queue.clear();
+        }
+    }
+
+    private void flush(AuditSink sink, List<AuditEvent> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            long started = System.nanoTime();
+            try {
+                sink.write(batch);
+                long elapsed = System.nanoTime() - started;
+                lastFlushNanos.set(elapsed);
+                maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+                totalFlushNanos.add(elapsed);
+                batchCount.increment();
+                writtenCount.add(batch.size());
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    failedCount.add(batch.size());
+                    LoggerUtil.error("Failed to write " + batch.size() + " audit events after " + attempt + " attempts", e);
+                    return;
+                }
+                LoggerUtil.warn("Audit batch write failed (attempt " + attempt + "): " + e.getMessage());
+                Thread.sleep(retryBackoffMillis << (attempt - 1));
+            }
+        }
+    }
+
+    /**
+     * Stop accepting events and wait for the queue to drain.
+     * Returns true if every queued event was handed to the sink in time.
+     */
+    public boolean shutdown(long timeoutMillis) {
+        Thread writer;
+        synchronized (this) {
+            stopping = true;
+            writer = writerThread;
+        }
+        if (writer == null) {
+            droppedCount.add(queue.size());
+            queue.clear();
+            return false;
+        }
+        try {
+            writer.join(timeoutMillis);
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(IDLE_POLL_MILLIS);
+                LoggerUtil.warn("Audit writer did not drain within " + timeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LoggerUtil.info("Audit writer stopped: " + getStats());
+        return !writer.isAlive() && queue.isEmpty();
+    }
+
+    public AuditStats getStats() {
+        return new AuditStats(
+            queue.size(),
+            queueCapacity,
+            recordedCount.sum(),
+            writtenCount.sum(),
+            droppedCount.sum(),
+            failedCount.sum(),
+            batchCount.sum(),
+            lastFlushNanos.get(),
+            maxFlushNanos.get(),
+            totalFlushNanos.sum()
+        );
+    }
+}
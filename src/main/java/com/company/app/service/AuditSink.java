@@ -0,0 +1,15 @@
+package com.company.app.service;
+
+import java.util.List;
+import com.company.app.model.AuditEvent;
+
+/**
+ * Audit Sink - Durable destination for batches of audit events.
+ */
+public interface AuditSink {
+
+    /**
+     * Persist a batch atomically; throwing means none of it was stored
+     */
+    void write(List<AuditEvent> batch) throws Exception;
+}
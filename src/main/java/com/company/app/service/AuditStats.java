@@ -0,0 +1,88 @@
+package com.company.app.service;
+
+/**
+ * Audit Stats - Point-in-time snapshot of the audit pipeline.
+ */
+public class AuditStats {
+
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long recordedCount;
+    private final long writtenCount;
+    private final long droppedCount;
+    private final long failedCount;
+    private final long batchCount;
+    private final long lastFlushNanos;
+    private final long maxFlushNanos;
+    private final long totalFlushNanos;
+
+    public AuditStats(int queueDepth, int queueCapacity, long recordedCount, long writtenCount, long droppedCount,
+                      long failedCount, long batchCount, long lastFlushNanos, long maxFlushNanos, long totalFlushNanos) {
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.recordedCount = recordedCount;
+        this.writtenCount = writtenCount;
+        this.droppedCount = droppedCount;
+        this.failedCount = failedCount;
+        this.batchCount = batchCount;
+        this.lastFlushNanos = lastFlushNanos;
+        this.maxFlushNanos = maxFlushNanos;
+        this.totalFlushNanos = totalFlushNanos;
+    }
+
+    /**
+     * Events waiting to be written
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getRecordedCount() {
+        return recordedCount;
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * Events discarded by the overflow policy or after shutdown
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Events lost because every write attempt for their batch failed
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    public long getLastFlushNanos() {
+        return lastFlushNanos;
+    }
+
+    public long getMaxFlushNanos() {
+        return maxFlushNanos;
+    }
+
+    public double getAverageFlushMillis() {
+        return batchCount == 0 ? 0 : totalFlushNanos / 1_000_000.0 / batchCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AuditStats[queued=%d/%d, recorded=%d, written=%d, dropped=%d, failed=%d, batches=%d, avgFlush=%.3fms, maxFlush=%.3fms]",
+            queueDepth, queueCapacity, recordedCount, writtenCount, droppedCount, failedCount, batchCount,
+            getAverageFlushMillis(), maxFlushNanos / 1_000_000.0);
+    }
+}
@@ -1,17 +1,82 @@
 package com.company.app.service;
 
+import com.company.app.integration.CircuitBreaker;
 import com.company.app.integration.ContainerServiceClient;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.metrics.Timer;
+import com.company.app.util.ConfigurationManager;
 import com.company.app.util.LoggerUtil;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * Container Service Manager - Manages containerized services lifecycle.
  * Handles initialization, monitoring, and health checks of container services.
+ * The registry is an immutable map of ServiceRegistrations. Registering a
+ * service or changing its state swaps in a new map with compare-and-set, so
+ * each change is atomic and readers on any thread get a consistent snapshot
+ * without taking a lock. Listeners are told about every transition.
  */
 public class ContainerServiceManager {
     
-    private Map<String, ContainerServiceClient> services;
+    public static final String API_SERVICE = "api";
+    public static final String DATABASE_SERVICE = "database";
+    public static final String CACHE_SERVICE = "cache";
+    
+    // Registration order; replaced whole, never mutated
+    private final AtomicReference<Map<String, ServiceRegistration>> registry = new AtomicReference<>(Map.of());
+    private final List<ServiceStateListener> stateListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, HealthCheckResult> healthCache = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor healthCheckExecutor;
+    private final ExecutorService lifecycleExecutor;
+    private final long lifecycleTimeout;
+    private ScheduledExecutorService healthMonitor;
+    private volatile long healthCacheTtl;
+    private final List<HealthListener> healthListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, ServiceMetrics> metrics = new ConcurrentHashMap<>();
+    
+    /**
+     * Metric handles for one service, resolved at registration so recording never allocates
+     */
+    private static final class ServiceMetrics {
+        private static final String OPERATION_METRIC = "app_service_operation_duration_seconds";
+        private static final String OPERATION_HELP = "Duration of service connect, disconnect and availability checks";
+        
+        final Timer connect;
+        final Timer disconnect;
+        final Timer availability;
+        
+        ServiceMetrics(MetricsRegistry registry, String serviceId) {
+            connect = registry.timer(OPERATION_METRIC, OPERATION_HELP, "service", serviceId, "operation", "connect");
+            disconnect = registry.timer(OPERATION_METRIC, OPERATION_HELP, "service", serviceId, "operation", "disconnect");
+            availability = registry.timer(OPERATION_METRIC, OPERATION_HELP, "service", serviceId, "operation", "available");
+        }
+    }
     
     private static class SingletonHolder {
         static final ContainerServiceManager instance = new ContainerServiceManager();
@@ -21,8 +86,18 @@ public class ContainerServiceManager {
         return SingletonHolder.instance;
     }
     
-    private ContainerServiceManager() {
-        services = new HashMap<>();
+    /**
+     * Package-private so tests and benchmarks can work on an instance of their own
+     */
+    ContainerServiceManager() {
+        healthCacheTtl = ConfigurationManager.getInstance().getDurationProperty("service.health.cacheTtl", Duration.ofMillis(10000)).toMillis();
+        // Probes mostly wait on I/O, so one thread per service keeps sweeps parallel; a probe that
+        // never returns holds its one thread and later probes queue behind it instead of adding threads
+        healthCheckExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            daemonThreadFactory("health-probe"));
+        healthCheckExecutor.allowCoreThreadTimeOut(true);
+        lifecycleExecutor = Executors.newCachedThreadPool(daemonThreadFactory("service-lifecycle"));
+        lifecycleTimeout = ConfigurationManager.getInstance().getDurationProperty("service.startup.timeout", Duration.ofMillis(60000)).toMillis();
         LoggerUtil.info("ContainerServiceManager initialized");
     }
     
@@ -30,60 +105,536 @@ public class ContainerServiceManager {
      * Register a container service
      */
     public void registerService(String serviceId, ContainerServiceClient client) {
-        services.put(serviceId, client);
-        LoggerUtil.info("Registered container service: " + serviceId);
+        registerService(serviceId, client, new String[0]);
+    }
+    
+    /**
+     * Register a container service that must start after the given services.
+     * Registering the same client again only updates its dependencies; a new
+     * client replaces the old one, which is disconnected in the background.
+     */
+    public void registerService(String serviceId, ContainerServiceClient client, String... dependsOn) {
+        ServiceRegistration existing = getRegistration(serviceId);
+        if (existing == null || existing.getClient() != client) {
+            // Metrics first, so every visible registration already has its timers
+            instrument(serviceId, client);
+        }
+        ServiceRegistration[] replaced = new ServiceRegistration[1];
+        update(serviceId, previous -> {
+            replaced[0] = previous;
+            if (previous != null && previous.getClient() == client) {
+                return new ServiceRegistration(serviceId, client, List.of(dependsOn), previous.getState(),
+                    previous.getSince(), previous.getVersion() + 1);
+            }
+            return new ServiceRegistration(serviceId, client, List.of(dependsOn), ServiceState.REGISTERED,
+                System.currentTimeMillis(), previous == null ? 1 : previous.getVersion() + 1);
+        });
+        sizeProbePool(registry.get().size());
+        LoggerUtil.info("Registered container service: " + serviceId
+            + (dependsOn.length > 0 ? " (depends on " + String.join(", ", dependsOn) + ")" : ""));
+        if (replaced[0] != null && replaced[0].getClient() != client) {
+            disconnectReplaced(serviceId, replaced[0].getClient());
+        }
+    }
+    
+    /**
+     * Grow the probe pool to one thread per registered service
+     */
+    private synchronized void sizeProbePool(int services) {
+        if (services > healthCheckExecutor.getMaximumPoolSize()) {
+            // Maximum first: the core size may never exceed it
+            healthCheckExecutor.setMaximumPoolSize(services);
+            healthCheckExecutor.setCorePoolSize(services);
+        }
+    }
+    
+    /**
+     * Release a client that is no longer reachable through the registry
+     */
+    private void disconnectReplaced(String serviceId, ContainerServiceClient client) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                client.disconnect();
+                LoggerUtil.info("Disconnected replaced client of service: " + serviceId);
+            } catch (Exception e) {
+                LoggerUtil.error("Failed to disconnect replaced client of service: " + serviceId, e);
+            }
+        }, lifecycleExecutor);
+    }
+    
+    private void instrument(String serviceId, ContainerServiceClient client) {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        metrics.put(serviceId, new ServiceMetrics(registry, serviceId));
+        // API calls and database leases both arrive through the client's request listeners
+        client.addRequestListener(registry.timer("app_client_request_duration_seconds",
+            "Duration of requests made through a service client", "service", serviceId)::record);
+        registry.gauge("app_service_up", "Whether the last health check of the service passed",
+            () -> getCachedHealth(serviceId).isHealthy() ? 1 : 0, "service", serviceId);
+        registry.gauge("app_service_state", "Lifecycle state of the service: 0 registered, 1 connecting, 2 up, "
+            + "3 degraded, 4 down, 5 stopping, 6 stopped", () -> {
+                ServiceRegistration registration = getRegistration(serviceId);
+                return registration == null ? -1 : registration.getState().ordinal();
+            }, "service", serviceId);
+    }
+    
+    /**
+     * Replace one registration atomically; the change may run more than once and must not have side effects.
+     * Returns the registration now in place, or null when the change left the registry as it was.
+     */
+    private ServiceRegistration update(String serviceId, UnaryOperator<ServiceRegistration> change) {
+        while (true) {
+            Map<String, ServiceRegistration> current = registry.get();
+            ServiceRegistration previous = current.get(serviceId);
+            ServiceRegistration next = change.apply(previous);
+            if (next == null || next == previous) {
+                return null;
+            }
+            Map<String, ServiceRegistration> updated = new LinkedHashMap<>(current);
+            updated.put(serviceId, next);
+            if (registry.compareAndSet(current, Collections.unmodifiableMap(updated))) {
+                notifyStateListeners(previous, next);
+                return next;
+            }
+        }
+    }
+    
+    /**
+     * Move a service to a state; false when it is not registered or already there
+     */
+    public boolean transition(String serviceId, ServiceState to) {
+        return update(serviceId, current ->
+            current == null || current.getState() == to ? current : current.withState(to)) != null;
+    }
+    
+    /**
+     * Move a service to a state only if it is in the expected one; check and move are a single atomic step
+     */
+    public boolean transition(String serviceId, ServiceState from, ServiceState to) {
+        return update(serviceId, current ->
+            current == null || current.getState() != from || from == to ? current : current.withState(to)) != null;
     }
     
     /**
      * Get a registered service
      */
     public ContainerServiceClient getService(String serviceId) {
-        return services.get(serviceId);
+        ServiceRegistration registration = registry.get().get(serviceId);
+        return registration == null ? null : registration.getClient();
     }
     
     /**
-     * Start all registered services
+     * Registration and current state of a service, or null when it is not registered
      */
-    public void startAllServices() {
-        LoggerUtil.info("Starting all container services...");
-        for (Map.Entry<String, ContainerServiceClient> entry : services.entrySet()) {
+    public ServiceRegistration getRegistration(String serviceId) {
+        return registry.get().get(serviceId);
+    }
+    
+    /**
+     * Consistent, unmodifiable snapshot of every registration, in registration order; never blocks
+     */
+    public Map<String, ServiceRegistration> getRegistrations() {
+        return registry.get();
+    }
+    
+    /**
+     * Ids of all registered services, in registration order
+     */
+    public List<String> getServiceIds() {
+        return new ArrayList<>(registry.get().keySet());
+    }
+    
+    /**
+     * Services the given service was registered as depending on
+     */
+    public List<String> getDependencies(String serviceId) {
+        return getDependencies(registry.get(), serviceId);
+    }
+    
+    private static List<String> getDependencies(Map<String, ServiceRegistration> snapshot, String serviceId) {
+        ServiceRegistration registration = snapshot.get(serviceId);
+        return registration == null ? List.of() : registration.getDependencies();
+    }
+    
+    public void addServiceStateListener(ServiceStateListener listener) {
+        stateListeners.add(listener);
+    }
+    
+    public void removeServiceStateListener(ServiceStateListener listener) {
+        stateListeners.remove(listener);
+    }
+    
+    private void notifyStateListeners(ServiceRegistration previous, ServiceRegistration current) {
+        if (previous != null && previous.getState() != current.getState()) {
+            LoggerUtil.info("Service " + current.getServiceId() + ": " + previous.getState() + " -> " + current.getState());
+        }
+        for (ServiceStateListener listener : stateListeners) {
             try {
-                entry.getValue().connect();
-                LoggerUtil.info("Started service: " + entry.getKey());
-            } catch (Exception e) {
-                LoggerUtil.error("Failed to start service: " + entry.getKey(), e);
+                listener.onTransition(previous, current);
+            } catch (RuntimeException e) {
+                LoggerUtil.warn("Service state listener failed for " + current.getServiceId() + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Start all registered services.
+     * Services connect concurrently as soon as their own dependencies are up;
+     * a service whose dependency failed or is not registered is skipped
+     * rather than started.
+     */
+    public StartupTimeline startAllServices() {
+        LoggerUtil.info("Starting all container services...");
+        StartupTimeline timeline = new StartupTimeline();
+        Map<String, ServiceRegistration> snapshot = registry.get();
+        List<String> order = topologicalOrder(snapshot, false);
+        
+        Map<String, CompletableFuture<Boolean>> started = new HashMap<>();
+        for (String serviceId : order) {
+            List<String> deps = getDependencies(snapshot, serviceId);
+            Map<String, CompletableFuture<Boolean>> prerequisites = new LinkedHashMap<>();
+            for (String dependency : deps) {
+                prerequisites.put(dependency, started.get(dependency));
             }
+            CompletableFuture<?>[] waitFor = prerequisites.values().stream()
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture[]::new);
+            
+            started.put(serviceId, CompletableFuture.allOf(waitFor).thenApplyAsync(ignored -> {
+                long readyAt = System.nanoTime();
+                for (Map.Entry<String, CompletableFuture<Boolean>> prerequisite : prerequisites.entrySet()) {
+                    String dependency = prerequisite.getKey();
+                    if (prerequisite.getValue() == null || !prerequisite.getValue().join()) {
+                        LoggerUtil.warn("Skipping service " + serviceId + ": dependency " + dependency + " is not running");
+                        timeline.record(serviceId, deps, readyAt, System.nanoTime(), StartupTimeline.Outcome.SKIPPED);
+                        transition(serviceId, ServiceState.STOPPED);
+                        return false;
+                    }
+                }
+                Timer connectTimer = metrics.get(serviceId).connect;
+                transition(serviceId, ServiceState.CONNECTING);
+                try {
+                    snapshot.get(serviceId).getClient().connect();
+                    long finishedAt = System.nanoTime();
+                    connectTimer.record(finishedAt - readyAt, true);
+                    timeline.record(serviceId, deps, readyAt, finishedAt, StartupTimeline.Outcome.STARTED);
+                    transition(serviceId, ServiceState.CONNECTING, ServiceState.UP);
+                    LoggerUtil.info("Started service: " + serviceId);
+                    return true;
+                } catch (Exception e) {
+                    long finishedAt = System.nanoTime();
+                    connectTimer.record(finishedAt - readyAt, false);
+                    timeline.record(serviceId, deps, readyAt, finishedAt, StartupTimeline.Outcome.FAILED);
+                    transition(serviceId, ServiceState.CONNECTING, ServiceState.STOPPED);
+                    LoggerUtil.error("Failed to start service: " + serviceId, e);
+                    return false;
+                }
+            }, lifecycleExecutor));
         }
+        
+        awaitAll(started, "start");
+        timeline.finish();
+        for (StartupTimeline.Entry entry : timeline.getEntries()) {
+            LoggerUtil.info("Startup timeline: " + entry);
+        }
+        LoggerUtil.info("All services processed in " + timeline.getTotalMillis() + "ms, critical path: "
+            + String.join(" -> ", timeline.getCriticalPath()));
+        return timeline;
     }
     
     /**
-     * Stop all registered services
+     * Stop all registered services.
+     * Runs in reverse dependency order: a service disconnects only after
+     * every service that depends on it has disconnected.
      */
     public void stopAllServices() {
         LoggerUtil.info("Stopping all container services...");
-        for (Map.Entry<String, ContainerServiceClient> entry : services.entrySet()) {
-            try {
-                entry.getValue().disconnect();
-                LoggerUtil.info("Stopped service: " + entry.getKey());
-            } catch (Exception e) {
-                LoggerUtil.error("Failed to stop service: " + entry.getKey(), e);
+        stopHealthMonitoring();
+        Map<String, ServiceRegistration> snapshot = registry.get();
+        List<String> order = topologicalOrder(snapshot, true);
+        
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (String serviceId : snapshot.keySet()) {
+            for (String dependency : getDependencies(snapshot, serviceId)) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(serviceId);
             }
         }
+        
+        Map<String, CompletableFuture<Boolean>> stopped = new HashMap<>();
+        for (String serviceId : order) {
+            CompletableFuture<?>[] prerequisites = dependents.getOrDefault(serviceId, List.of()).stream()
+                .map(stopped::get)
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture[]::new);
+            
+            stopped.put(serviceId, CompletableFuture.allOf(prerequisites).thenApplyAsync(ignored -> {
+                Timer disconnectTimer = metrics.get(serviceId).disconnect;
+                long started = System.nanoTime();
+                transition(serviceId, ServiceState.STOPPING);
+                try {
+                    snapshot.get(serviceId).getClient().disconnect();
+                    disconnectTimer.record(System.nanoTime() - started, true);
+                    LoggerUtil.info("Stopped service: " + serviceId);
+                    return true;
+                } catch (Exception e) {
+                    disconnectTimer.record(System.nanoTime() - started, false);
+                    LoggerUtil.error("Failed to stop service: " + serviceId, e);
+                    return false;
+                } finally {
+                    transition(serviceId, ServiceState.STOPPING, ServiceState.STOPPED);
+                }
+            }, lifecycleExecutor));
+        }
+        
+        awaitAll(stopped, "stop");
     }
     
     /**
-     * Check health of all services
+     * Order services so that each one follows its dependencies (or precedes
+     * them when reversed). Services on a dependency cycle are left out;
+     * a dependency that is not registered does not hold up ordering, and
+     * startAllServices() records its dependents as skipped.
      */
-    public Map<String, Boolean> healthCheckAllServices() {
-        Map<String, Boolean> healthStatus = new HashMap<>();
+    private List<String> topologicalOrder(Map<String, ServiceRegistration> snapshot, boolean reverse) {
+        Set<String> serviceIds = snapshot.keySet();
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (String serviceId : serviceIds) {
+            int count = 0;
+            for (String dependency : getDependencies(snapshot, serviceId)) {
+                if (serviceIds.contains(dependency)) {
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(serviceId);
+                    count++;
+                } else {
+                    LoggerUtil.warn("Service " + serviceId + " depends on unregistered service " + dependency);
+                }
+            }
+            pending.put(serviceId, count);
+        }
+        
+        Deque<String> ready = new ArrayDeque<>();
+        pending.forEach((serviceId, count) -> {
+            if (count == 0) {
+                ready.add(serviceId);
+            }
+        });
+        
+        List<String> order = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String serviceId = ready.poll();
+            order.add(serviceId);
+            for (String dependent : dependents.getOrDefault(serviceId, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        
+        if (order.size() < serviceIds.size()) {
+            List<String> cyclic = new ArrayList<>(serviceIds);
+            cyclic.removeAll(order);
+            LoggerUtil.warn("Dependency cycle detected, not scheduling services: " + cyclic);
+        }
+        if (reverse) {
+            Collections.reverse(order);
+        }
+        return order;
+    }
+    
+    private void awaitAll(Map<String, CompletableFuture<Boolean>> tasks, String phase) {
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0]))
+                .get(lifecycleTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            tasks.forEach((serviceId, task) -> {
+                if (!task.isDone()) {
+                    LoggerUtil.warn("Service " + serviceId + " did not " + phase + " within " + lifecycleTimeout + "ms");
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LoggerUtil.error("Unexpected failure during service " + phase, e.getCause());
+        }
+    }
+    
+    /**
+     * Check health of all services in parallel.
+     * Each probe is bounded by its client's connection timeout, so the sweep
+     * takes as long as the slowest probe rather than the sum of all of them.
+     */
+    public Map<String, HealthCheckResult> healthCheckAllServices() {
         LoggerUtil.debug("Running health check on all services...");
         
-        for (Map.Entry<String, ContainerServiceClient> entry : services.entrySet()) {
-            boolean isHealthy = entry.getValue().isServiceAvailable();
-            healthStatus.put(entry.getKey(), isHealthy);
-            LoggerUtil.debug("Health check for " + entry.getKey() + ": " + (isHealthy ? "HEALTHY" : "UNHEALTHY"));
+        long sweepStart = System.nanoTime();
+        Map<String, ServiceRegistration> snapshot = registry.get();
+        Map<String, Future<Boolean>> probes = new LinkedHashMap<>();
+        for (Map.Entry<String, ServiceRegistration> entry : snapshot.entrySet()) {
+            ContainerServiceClient client = entry.getValue().getClient();
+            Timer availabilityTimer = metrics.get(entry.getKey()).availability;
+            probes.put(entry.getKey(), healthCheckExecutor.submit(() -> {
+                long started = System.nanoTime();
+                boolean available = false;
+                try {
+                    available = client.isServiceAvailable();
+                    return available;
+                } finally {
+                    availabilityTimer.record(System.nanoTime() - started, available);
+                }
+            }));
+        }
+        
+        Map<String, HealthCheckResult> healthStatus = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Boolean>> entry : probes.entrySet()) {
+            String serviceId = entry.getKey();
+            ContainerServiceClient client = snapshot.get(serviceId).getClient();
+            long deadline = sweepStart + TimeUnit.MILLISECONDS.toNanos(client.getConnectionTimeout());
+            HealthCheckResult result = withCircuitState(
+                awaitProbe(serviceId, entry.getValue(), sweepStart, deadline), client);
+            healthCache.put(serviceId, result);
+            healthStatus.put(serviceId, result);
+            applyHealth(result);
+            notifyHealthListeners(result);
+            LoggerUtil.debug("Health check for " + serviceId + ": " + result.getStatus());
         }
         
         return healthStatus;
     }
+    
+    private HealthCheckResult awaitProbe(String serviceId, Future<Boolean> probe, long sweepStart, long deadline) {
+        HealthStatus status;
+        try {
+            boolean available = probe.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            status = available ? HealthStatus.HEALTHY : HealthStatus.UNHEALTHY;
+        } catch (TimeoutException e) {
+            probe.cancel(true);
+            status = HealthStatus.TIMED_OUT;
+        } catch (InterruptedException e) {
+            probe.cancel(true);
+            Thread.currentThread().interrupt();
+            status = HealthStatus.TIMED_OUT;
+        } catch (ExecutionException e) {
+            LoggerUtil.error("Health probe failed for service: " + serviceId, e.getCause());
+            status = HealthStatus.UNHEALTHY;
+        }
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sweepStart);
+        return new HealthCheckResult(serviceId, status, System.currentTimeMillis(), latency);
+    }
+    
+    /**
+     * A service that answers its probe while the client's breaker is open or
+     * half-open is reachable but not trusted with traffic yet
+     */
+    private static HealthCheckResult withCircuitState(HealthCheckResult result, ContainerServiceClient client) {
+        if (result.isHealthy() && client.getCircuitState() != CircuitBreaker.State.CLOSED) {
+            return new HealthCheckResult(result.getServiceId(), HealthStatus.DEGRADED,
+                result.getCheckedAt(), result.getLatencyMillis());
+        }
+        return result;
+    }
+    
+    /**
+     * Move a running service between UP, DEGRADED and DOWN to match a probe result;
+     * services that are not running, or are starting or stopping, keep their state
+     */
+    private void applyHealth(HealthCheckResult result) {
+        ServiceState observed;
+        switch (result.getStatus()) {
+            case HEALTHY:
+                observed = ServiceState.UP;
+                break;
+            case DEGRADED:
+                observed = ServiceState.DEGRADED;
+                break;
+            default:
+                observed = ServiceState.DOWN;
+                break;
+        }
+        update(result.getServiceId(), current -> current == null || !current.getState().followsHealth()
+            || current.getState() == observed ? current : current.withState(observed));
+    }
+    
+    public void addHealthListener(HealthListener listener) {
+        healthListeners.add(listener);
+    }
+    
+    public void removeHealthListener(HealthListener listener) {
+        healthListeners.remove(listener);
+    }
+    
+    private void notifyHealthListeners(HealthCheckResult result) {
+        for (HealthListener listener : healthListeners) {
+            try {
+                listener.onHealthChecked(result);
+            } catch (RuntimeException e) {
+                LoggerUtil.warn("Health listener failed for " + result.getServiceId() + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Last known health of a service without probing it.
+     * Results older than the cache TTL are reported as STALE.
+     */
+    public HealthCheckResult getCachedHealth(String serviceId) {
+        HealthCheckResult result = healthCache.get(serviceId);
+        if (result == null) {
+            return HealthCheckResult.unknown(serviceId);
+        }
+        if (System.currentTimeMillis() - result.getCheckedAt() > healthCacheTtl) {
+            return result.asStale();
+        }
+        return result;
+    }
+    
+    /**
+     * Last known health of every registered service without probing
+     */
+    public Map<String, HealthCheckResult> getCachedHealthAll() {
+        Map<String, HealthCheckResult> snapshot = new LinkedHashMap<>();
+        for (String serviceId : registry.get().keySet()) {
+            snapshot.put(serviceId, getCachedHealth(serviceId));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+    
+    public void setHealthCacheTtl(long ttlMillis) {
+        this.healthCacheTtl = ttlMillis;
+    }
+    
+    /**
+     * Run health sweeps periodically in the background to keep the cache warm
+     */
+    public synchronized void startHealthMonitoring(long intervalMillis) {
+        if (healthMonitor != null) {
+            return;
+        }
+        healthMonitor = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("health-monitor"));
+        healthMonitor.scheduleWithFixedDelay(() -> {
+            try {
+                healthCheckAllServices();
+            } catch (Exception e) {
+                LoggerUtil.error("Health monitoring sweep failed", e);
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        LoggerUtil.info("Health monitoring started with interval " + intervalMillis + "ms");
+    }
+    
+    /**
+     * Stop periodic health sweeps
+     */
+    public synchronized void stopHealthMonitoring() {
+        if (healthMonitor != null) {
+            healthMonitor.shutdownNow();
+            healthMonitor = null;
+        }
+    }
+    
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -0,0 +1,58 @@
+package com.company.app.service;
+
+/**
+ * Health Check Result - Immutable result of a single service probe.
+ */
+public class HealthCheckResult {
+
+    private final String serviceId;
+    private final HealthStatus status;
+    private final long checkedAt;
+    private final long latencyMillis;
+
+    public HealthCheckResult(String serviceId, HealthStatus status, long checkedAt, long latencyMillis) {
+        this.serviceId = serviceId;
+        this.status = status;
+        this.checkedAt = checkedAt;
+        this.latencyMillis = latencyMillis;
+    }
+
+    public static HealthCheckResult unknown(String serviceId) {
+        return new HealthCheckResult(serviceId, HealthStatus.UNKNOWN, 0L, 0L);
+    }
+
+    /**
+     * Copy of this result marked as stale, keeping the original check time
+     */
+    public HealthCheckResult asStale() {
+        return new HealthCheckResult(serviceId, HealthStatus.STALE, checkedAt, latencyMillis);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public HealthStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Wall-clock time of the probe in epoch milliseconds
+     */
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public boolean isHealthy() {
+        return status == HealthStatus.HEALTHY;
+    }
+
+    @Override
+    public String toString() {
+        return serviceId + "=" + status + " (" + latencyMillis + "ms)";
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.app.service;
+
+/**
+ * Health Listener - Notified of each health probe result.
+ * Called on the health sweep thread.
+ */
+@FunctionalInterface
+public interface HealthListener {
+    
+    void onHealthChecked(HealthCheckResult result);
+}
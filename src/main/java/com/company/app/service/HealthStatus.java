@@ -0,0 +1,19 @@
+package com.company.app.service;
+
+/**
+ * Health Status - Outcome of a container service health probe.
+ */
+public enum HealthStatus {
+    /** Probe completed and the service reported itself available */
+    HEALTHY,
+    /** Probe passed but the client's circuit breaker is shedding calls */
+    DEGRADED,
+    /** Probe completed and the service reported itself unavailable */
+    UNHEALTHY,
+    /** Probe did not complete within the client's connection timeout */
+    TIMED_OUT,
+    /** Last known result is older than the health cache TTL */
+    STALE,
+    /** Service has not been probed yet */
+    UNKNOWN
+}
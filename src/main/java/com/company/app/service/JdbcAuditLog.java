@@ -0,0 +1,44 @@
+package com.company.app.service;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import com.company.app.integration.DatabaseClient;
+import com.company.app.integration.QueryExecutor;
+import com.company.app.integration.RecordMapper;
+import com.company.app.integration.RowMapper;
+import com.company.app.model.AuditEntry;
+
+/**
+ * JDBC Audit Log - Streaming reads of the audit_log table.
+ * Results are cursor-backed streams, so reading millions of rows holds one
+ * fetch batch in memory at a time. Each open stream holds a pooled connection
+ * until it is closed.
+ */
+public class JdbcAuditLog {
+
+    private static final String COLUMNS = "SELECT id, user_id, action, timestamp FROM audit_log ";
+    private static final String RANGE_SQL = COLUMNS + "WHERE timestamp >= ? AND timestamp < ? ORDER BY timestamp, id";
+    private static final String AFTER_SQL = COLUMNS + "WHERE id > ? ORDER BY id";
+    private static final RowMapper<AuditEntry> ENTRY = RecordMapper.of(AuditEntry.class);
+
+    private final DatabaseClient databaseClient;
+
+    public JdbcAuditLog(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Entries from (inclusive) to (exclusive) in time order
+     */
+    public Stream<AuditEntry> streamRange(LocalDateTime from, LocalDateTime to) throws SQLException {
+        return databaseClient.getQueryExecutor().stream(RANGE_SQL, QueryExecutor.DEFAULT_FETCH_SIZE, ENTRY, from, to);
+    }
+
+    /**
+     * Entries with an id above the given one, in id order
+     */
+    public Stream<AuditEntry> streamAfter(long afterId) throws SQLException {
+        return databaseClient.getQueryExecutor().stream(AFTER_SQL, QueryExecutor.DEFAULT_FETCH_SIZE, ENTRY, afterId);
+    }
+}
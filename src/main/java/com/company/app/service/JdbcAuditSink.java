@@ -0,0 +1,41 @@
+package com.company.app.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import com.company.app.integration.DatabaseClient;
+import com.company.app.model.AuditEvent;
+
+/**
+ * JDBC Audit Sink - Writes audit batches to audit_log in one transaction.
+ * Rows are sent as a single JDBC batch, which the PostgreSQL driver rewrites
+ * into multi-row INSERT statements.
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log (user_id, action, timestamp) VALUES (?, ?, ?)";
+
+    private final DatabaseClient databaseClient;
+
+    public JdbcAuditSink(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws SQLException {
+        try (Connection connection = databaseClient.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            for (AuditEvent event : batch) {
+                statement.setLong(1, event.getUserId());
+                statement.setString(2, event.getAction());
+                statement.setTimestamp(3, new Timestamp(event.getTimestampMillis()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+}
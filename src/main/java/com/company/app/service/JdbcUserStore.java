@@ -0,0 +1,94 @@
+package com.company.app.service;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import com.company.app.integration.ChangeFeed;
+import com.company.app.integration.ChangeListener;
+import com.company.app.integration.DatabaseClient;
+import com.company.app.integration.QueryExecutor;
+import com.company.app.integration.RowMapper;
+import com.company.app.model.User;
+
+/**
+ * JDBC User Store - Keyset-paginated reads of the users table.
+ * Every page query walks idx_users_username from a known username, so the
+ * cost of a page does not grow with its distance from the top of the table.
+ * Change listeners are subscribed to the users table of a change feed, when
+ * the store was given one.
+ */
+public class JdbcUserStore implements UserStore {
+
+    private static final String COLUMNS = "SELECT id, username, email, created_at, updated_at FROM users ";
+    private static final String COUNT_SQL = "SELECT count(*) FROM users";
+    private static final String FIRST_PAGE_SQL = COLUMNS + "ORDER BY username LIMIT ?";
+    private static final String PAGE_AFTER_SQL = COLUMNS + "WHERE username > ? ORDER BY username LIMIT ?";
+    private static final String PAGE_BEFORE_SQL = COLUMNS + "WHERE username < ? ORDER BY username DESC LIMIT ?";
+    private static final String PAGE_AT_SQL = COLUMNS + "ORDER BY username LIMIT ? OFFSET ?";
+    private static final String CHANGED_SQL = COLUMNS + "WHERE (updated_at, id) > (?, ?) ORDER BY updated_at, id LIMIT ?";
+    private static final RowMapper<User> USER = rs -> new User(rs.getLong(1), rs.getString(2), rs.getString(3),
+        toLocalDateTime(rs.getTimestamp(4)), toLocalDateTime(rs.getTimestamp(5)));
+
+    private final DatabaseClient databaseClient;
+    private final ChangeFeed changeFeed;
+
+    public JdbcUserStore(DatabaseClient databaseClient) {
+        this(databaseClient, null);
+    }
+
+    public JdbcUserStore(DatabaseClient databaseClient, ChangeFeed changeFeed) {
+        this.databaseClient = databaseClient;
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public void addChangeListener(ChangeListener listener) {
+        if (changeFeed != null) {
+            changeFeed.subscribe(ChangeFeed.USERS_TABLE, listener);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(ChangeListener listener) {
+        if (changeFeed != null) {
+            changeFeed.unsubscribe(ChangeFeed.USERS_TABLE, listener);
+        }
+    }
+
+    @Override
+    public int count() throws SQLException {
+        Long count = databaseClient.getQueryExecutor().first(COUNT_SQL, rs -> rs.getLong(1));
+        return count == null ? 0 : (int) Math.min(Integer.MAX_VALUE, count);
+    }
+
+    @Override
+    public List<User> pageAfter(String afterUsername, int limit) throws SQLException {
+        QueryExecutor queries = databaseClient.getQueryExecutor();
+        return afterUsername == null
+            ? queries.list(FIRST_PAGE_SQL, limit, USER, limit)
+            : queries.list(PAGE_AFTER_SQL, limit, USER, afterUsername, limit);
+    }
+
+    @Override
+    public List<User> pageBefore(String beforeUsername, int limit) throws SQLException {
+        List<User> users = databaseClient.getQueryExecutor().list(PAGE_BEFORE_SQL, limit, USER, beforeUsername, limit);
+        Collections.reverse(users);
+        return users;
+    }
+
+    @Override
+    public List<User> pageAt(long offset, int limit) throws SQLException {
+        return databaseClient.getQueryExecutor().list(PAGE_AT_SQL, limit, USER, limit, offset);
+    }
+
+    @Override
+    public List<User> changedSince(LocalDateTime updatedAfter, long afterId, int limit) throws SQLException {
+        return databaseClient.getQueryExecutor().list(CHANGED_SQL, limit, USER, updatedAfter, afterId, limit);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.app.service;
+
+/**
+ * Progress Listener - Receives progress of a long-running report or export.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called from worker threads; fraction runs from 0 to 1
+     */
+    void onProgress(double fraction, long rows);
+}
@@ -0,0 +1,120 @@
+package com.company.app.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import com.company.app.model.AuditEntry;
+
+/**
+ * Report Accumulator - Partial audit_log counts for one scanned partition.
+ * Counters are mutable long[1] cells, so a row for a key already seen only
+ * bumps a cell; user and hour keys are still boxed Longs on lookup. Partials
+ * from different partitions are merged pairwise and top users are only picked
+ * once every partial has been merged, since per-partition top lists cannot be
+ * combined exactly.
+ */
+final class ReportAccumulator {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final Map<String, long[]> actions = new HashMap<>();
+    private final Map<Long, long[]> users = new HashMap<>();
+    // Keyed by hours since the epoch
+    private final Map<Long, long[]> hours = new HashMap<>();
+    private long rowCount;
+
+    void add(AuditEntry entry) {
+        rowCount++;
+        increment(actions, entry.action() == null ? "" : entry.action(), 1);
+        increment(users, entry.userId(), 1);
+        if (entry.timestamp() != null) {
+            increment(hours, Math.floorDiv(entry.timestamp().toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR), 1);
+        }
+    }
+
+    /**
+     * Fold another partial into this one and return this
+     */
+    ReportAccumulator merge(ReportAccumulator other) {
+        rowCount += other.rowCount;
+        other.actions.forEach((key, cell) -> increment(actions, key, cell[0]));
+        other.users.forEach((key, cell) -> increment(users, key, cell[0]));
+        other.hours.forEach((key, cell) -> increment(hours, key, cell[0]));
+        return this;
+    }
+
+    /**
+     * Fold in the counts of a finished report, such as one answered by the column cache
+     */
+    ReportAccumulator merge(AuditReport report) {
+        rowCount += report.getRowCount();
+        report.getActionCounts().forEach((key, count) -> increment(actions, key, count));
+        report.getUserCounts().forEach((key, count) -> increment(users, key, count));
+        report.getHourlyCounts().forEach((hour, count) ->
+            increment(hours, Math.floorDiv(hour.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR), count));
+        return this;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    AuditReport toReport(LocalDateTime from, LocalDateTime to, int topUsers) {
+        Map<String, Long> actionCounts = new HashMap<>();
+        actions.forEach((key, cell) -> actionCounts.put(key, cell[0]));
+
+        Map<Long, Long> userCounts = new HashMap<>(users.size() * 4 / 3 + 1);
+        users.forEach((key, cell) -> userCounts.put(key, cell[0]));
+
+        TreeMap<LocalDateTime, Long> hourlyCounts = new TreeMap<>();
+        hours.forEach((hour, cell) ->
+            hourlyCounts.put(LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC), cell[0]));
+
+        return new AuditReport(from, to, rowCount, mostFrequentFirst(actionCounts), userCounts, hourlyCounts,
+            topUsers(userCounts, topUsers));
+    }
+
+    /**
+     * Counts ordered by count descending, then by key
+     */
+    static Map<String, Long> mostFrequentFirst(Map<String, Long> counts) {
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry::getKey));
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        sorted.forEach(e -> ordered.put(e.getKey(), e.getValue()));
+        return ordered;
+    }
+
+    /**
+     * The k busiest users, ties to the lower id, from a k-sized heap instead of sorting every user
+     */
+    static List<AuditReport.UserCount> topUsers(Map<Long, Long> userCounts, int k) {
+        // Head is the weakest entry kept so far
+        Comparator<Map.Entry<Long, Long>> weakestFirst = Map.Entry.<Long, Long>comparingByValue()
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<Long, Long>> heap = new PriorityQueue<>(Math.max(1, k + 1), weakestFirst);
+        for (Map.Entry<Long, Long> entry : userCounts.entrySet()) {
+            heap.add(entry);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<AuditReport.UserCount> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<Long, Long> entry = heap.poll();
+            top.add(0, new AuditReport.UserCount(entry.getKey(), entry.getValue()));
+        }
+        return top;
+    }
+
+    private static <K> void increment(Map<K, long[]> counts, K key, long amount) {
+        counts.computeIfAbsent(key, ignored -> new long[1])[0] += amount;
+    }
+}
@@ -0,0 +1,304 @@
+package com.company.app.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import com.company.app.integration.DatabaseClient;
+import com.company.app.integration.QueryException;
+import com.company.app.model.AuditEntry;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Report Engine - Parallel aggregation and CSV export of audit_log ranges.
+ * A report splits its time range into partitions of partitionSpan, each read
+ * as a timestamp range on idx_audit_log_timestamp through its own streamed
+ * cursor and pooled connection. Partitions are fork-join tasks: halves are
+ * forked, idle workers steal them, and partial counts merge on the way back
+ * up, so a busy day does not hold up the rest. At most parallelism partitions
+ * are read at once, which also bounds the connections a report takes from
+ * the pool. Exports stream one cursor into a file channel through a fixed
+ * buffer and only replace the target once every row is written.
+ * With an AuditColumnCache that still holds the start of the range, reports
+ * are counted from the cache up to where its last load ended, and only the
+ * rest of the range is read from the database.
+ */
+public class ReportEngine implements Closeable {
+
+    private static final int MAX_PARTITIONS = 4096;
+    private static final int PROGRESS_ROWS = 50_000;
+    private static final int CSV_BUFFER_BYTES = 64 * 1024;
+    private static final DateTimeFormatter CSV_TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final JdbcAuditLog auditLog;
+    private final AuditColumnCache cache;
+    private final Duration partitionSpan;
+    private final int topUsers;
+    private final ForkJoinPool workers;
+    // Joins may add compensating workers; the permits keep concurrent scans at parallelism
+    private final Semaphore scans;
+
+    public ReportEngine(JdbcAuditLog auditLog, int parallelism, Duration partitionSpan, int topUsers) {
+        this(auditLog, null, parallelism, partitionSpan, topUsers);
+    }
+
+    /**
+     * Reports over ranges the cache covers are answered from it instead of the database
+     */
+    public ReportEngine(JdbcAuditLog auditLog, AuditColumnCache cache, int parallelism, Duration partitionSpan,
+                        int topUsers) {
+        this.auditLog = auditLog;
+        this.cache = cache;
+        this.partitionSpan = partitionSpan;
+        this.topUsers = topUsers;
+        int threads = Math.max(1, parallelism);
+        AtomicInteger workerIds = new AtomicInteger();
+        this.workers = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("report-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.scans = new Semaphore(threads);
+    }
+
+    /**
+     * Engine over the application database, sized from ui.reports.*; cache may be null
+     */
+    public static ReportEngine fromConfiguration(DatabaseClient database, AuditColumnCache cache) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        return new ReportEngine(new JdbcAuditLog(database), cache,
+            config.getIntProperty("ui.reports.parallelism", 4),
+            config.getDurationProperty("ui.reports.partitionSpan", Duration.ofDays(1)),
+            config.getIntProperty("ui.reports.topUsers", 10));
+    }
+
+    /**
+     * Count entries from (inclusive) to (exclusive) per action, user and hour in the background
+     */
+    public ReportJob<AuditReport> aggregate(LocalDateTime from, LocalDateTime to, ProgressListener listener) {
+        List<LocalDateTime> bounds = partition(from, to, partitionSpan);
+        ReportJob<AuditReport> job = new ReportJob<>();
+        LocalDateTime cachedTo = cachedThrough(from, to);
+        if (to.equals(cachedTo)) {
+            CompletableFuture.supplyAsync(() -> {
+                AuditReport report = cache.report(from, to, topUsers);
+                listener.onProgress(1, report.getRowCount());
+                return report;
+            }, workers).whenComplete(job::finish);
+            return job;
+        }
+        List<LocalDateTime> scanned = cachedTo == null ? bounds : partition(cachedTo, to, partitionSpan);
+        Progress progress = new Progress(scanned.size() - 1, listener);
+        long started = System.currentTimeMillis();
+        CompletableFuture.supplyAsync(() -> {
+            ReportAccumulator total = new Scan(job, scanned, 0, scanned.size() - 1, progress).invoke();
+            LoggerUtil.info("Audit report over " + (scanned.size() - 1) + " partitions read " + total.getRowCount()
+                + " rows in " + (System.currentTimeMillis() - started) + "ms");
+            if (cachedTo != null) {
+                total.merge(cache.report(from, cachedTo, 0));
+            }
+            return total.toReport(from, to, topUsers);
+        }, workers).whenComplete(job::finish);
+        return job;
+    }
+
+    /**
+     * How far into from..to the cache can answer, capped at to; null when it holds none of it
+     */
+    private LocalDateTime cachedThrough(LocalDateTime from, LocalDateTime to) {
+        if (cache == null || !cache.covers(from)) {
+            return null;
+        }
+        LocalDateTime loadedThrough = cache.getLoadedThrough();
+        if (loadedThrough == null || !loadedThrough.isAfter(from)) {
+            return null;
+        }
+        return loadedThrough.isBefore(to) ? loadedThrough : to;
+    }
+
+    /**
+     * Write entries from (inclusive) to (exclusive) to a CSV file in the background; completes with the row count
+     */
+    public ReportJob<Long> export(LocalDateTime from, LocalDateTime to, Path target, ProgressListener listener) {
+        ReportJob<Long> job = new ReportJob<>();
+        CompletableFuture.supplyAsync(() -> writeCsv(job, from, to, target, listener), workers)
+            .whenComplete(job::finish);
+        return job;
+    }
+
+    private long writeCsv(ReportJob<Long> job, LocalDateTime from, LocalDateTime to, Path target,
+                          ProgressListener listener) {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        double rangeSeconds = Math.max(1, Duration.between(from, to).getSeconds());
+        long rows = 0;
+        boolean written = false;
+        scans.acquireUninterruptibly();
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                 StandardOpenOption.TRUNCATE_EXISTING);
+             CsvChannelWriter csv = new CsvChannelWriter(channel, CSV_BUFFER_BYTES);
+             Stream<AuditEntry> entries = auditLog.streamRange(from, to)) {
+            csv.writeRow("id", "user_id", "action", "timestamp");
+            for (Iterator<AuditEntry> it = entries.iterator(); it.hasNext();) {
+                AuditEntry entry = it.next();
+                csv.writeRow(entry.id(), entry.userId(), entry.action(), CSV_TIMESTAMP.format(entry.timestamp()));
+                if (++rows % PROGRESS_ROWS == 0) {
+                    job.checkCancelled();
+                    listener.onProgress(Duration.between(from, entry.timestamp()).getSeconds() / rangeSeconds, rows);
+                }
+            }
+            csv.flush();
+            written = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + target, e);
+        } catch (SQLException e) {
+            throw new QueryException("Failed to read audit_log for export", e);
+        } finally {
+            scans.release();
+            if (!written) {
+                deleteQuietly(partial);
+            }
+        }
+        try {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(partial);
+            throw new UncheckedIOException("Failed to replace " + target, e);
+        }
+        listener.onProgress(1, rows);
+        LoggerUtil.info("Exported " + rows + " audit entries to " + target);
+        return rows;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LoggerUtil.debug("Failed to delete " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Partition bounds from..to in steps of span; the step grows when the range would need too many partitions
+     */
+    static List<LocalDateTime> partition(LocalDateTime from, LocalDateTime to, Duration span) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Report range must end after it starts: " + from + " - " + to);
+        }
+        Duration range = Duration.between(from, to);
+        Duration step = span.isZero() || span.isNegative() ? range : span;
+        if (range.dividedBy(step) >= MAX_PARTITIONS) {
+            step = range.dividedBy(MAX_PARTITIONS).plusNanos(1);
+        }
+        List<LocalDateTime> bounds = new ArrayList<>();
+        for (LocalDateTime bound = from; bound.isBefore(to); bound = bound.plus(step)) {
+            bounds.add(bound);
+        }
+        bounds.add(to);
+        return bounds;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Scans partitions [low, high) by splitting in halves and merging the partial counts
+     */
+    private final class Scan extends RecursiveTask<ReportAccumulator> {
+        private static final long serialVersionUID = 1L;
+
+        private final ReportJob<?> job;
+        private final List<LocalDateTime> bounds;
+        private final int low;
+        private final int high;
+        private final Progress progress;
+
+        Scan(ReportJob<?> job, List<LocalDateTime> bounds, int low, int high, Progress progress) {
+            this.job = job;
+            this.bounds = bounds;
+            this.low = low;
+            this.high = high;
+            this.progress = progress;
+        }
+
+        @Override
+        protected ReportAccumulator compute() {
+            if (high - low == 1) {
+                return scan(bounds.get(low), bounds.get(high));
+            }
+            int middle = (low + high) >>> 1;
+            Scan left = new Scan(job, bounds, low, middle, progress);
+            left.fork();
+            ReportAccumulator right = new Scan(job, bounds, middle, high, progress).compute();
+            return left.join().merge(right);
+        }
+
+        private ReportAccumulator scan(LocalDateTime start, LocalDateTime end) {
+            job.checkCancelled();
+            ReportAccumulator partial = new ReportAccumulator();
+            scans.acquireUninterruptibly();
+            try (Stream<AuditEntry> entries = auditLog.streamRange(start, end)) {
+                for (Iterator<AuditEntry> it = entries.iterator(); it.hasNext();) {
+                    partial.add(it.next());
+                    if (partial.getRowCount() % PROGRESS_ROWS == 0) {
+                        job.checkCancelled();
+                        progress.rowsRead(PROGRESS_ROWS);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new QueryException("Failed to read audit_log from " + start + " to " + end, e);
+            } finally {
+                scans.release();
+            }
+            progress.partitionDone(partial.getRowCount() % PROGRESS_ROWS);
+            return partial;
+        }
+    }
+
+    /**
+     * Completed partitions and rows read so far, shared by every scan of one report
+     */
+    private static final class Progress {
+        private final int partitions;
+        private final ProgressListener listener;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final LongAdder rows = new LongAdder();
+
+        Progress(int partitions, ProgressListener listener) {
+            this.partitions = partitions;
+            this.listener = listener;
+        }
+
+        void rowsRead(long count) {
+            rows.add(count);
+            listener.onProgress((double) completed.get() / partitions, rows.sum());
+        }
+
+        void partitionDone(long remainingRows) {
+            rows.add(remainingRows);
+            listener.onProgress((double) completed.incrementAndGet() / partitions, rows.sum());
+        }
+    }
+}
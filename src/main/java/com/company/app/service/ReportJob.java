@@ -0,0 +1,51 @@
+package com.company.app.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Report Job - Handle on a report or export running in the background.
+ * Cancelling completes the result at once; workers notice the flag at their
+ * next check, stop reading and release their connections. A job that fails
+ * raises the same flag, so partitions still running beside the failed one
+ * stop as well.
+ */
+public final class ReportJob<T> {
+
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private volatile boolean cancelled;
+
+    ReportJob() {
+    }
+
+    public CompletableFuture<T> getResult() {
+        return result;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        result.cancel(false);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stop the calling worker once the job has been cancelled
+     */
+    void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Report cancelled");
+        }
+    }
+
+    void finish(T value, Throwable error) {
+        if (error == null) {
+            result.complete(value);
+        } else {
+            cancelled = true;
+            result.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.app.service;
+
+/**
+ * Search Hit - One ranked type-ahead result.
+ */
+public final class SearchHit {
+
+    public enum Kind {
+        NAVIGATION,
+        USER
+    }
+
+    private final Kind kind;
+    private final long id;
+    private final String label;
+    private final String detail;
+    private final int score;
+
+    public SearchHit(Kind kind, long id, String label, String detail, int score) {
+        this.kind = kind;
+        this.id = id;
+        this.label = label;
+        this.detail = detail;
+        this.score = score;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * User id for USER hits; -1 for navigation entries
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Username or menu title
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Email or menu description
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Rank of the match; higher is better
+     */
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return label + " - " + detail;
+    }
+}
@@ -0,0 +1,439 @@
+package com.company.app.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Search Index - In-memory trigram index for type-ahead search.
+ * Every word of an entry is cut into overlapping three-character grams,
+ * padded at the front so that one- and two-character queries match word
+ * prefixes. Each gram maps to a sorted posting list of entry numbers kept in
+ * a plain int array; a query intersects the lists of its grams, shortest
+ * first, scores every entry that survives and keeps the best few in a
+ * bounded heap, so recently added entries rank as fairly as old ones.
+ * Entries are never rewritten in place: an update appends a new entry and marks the old one
+ * removed, so posting lists stay sorted without being copied.
+ */
+public class SearchIndex {
+
+    private static final int NAVIGATION_BONUS = 4;
+    private static final int EXACT_BONUS = 8;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Entries, addressed by entry number
+    private byte[] kinds = new byte[256];
+    private long[] ids = new long[256];
+    private String[] labels = new String[256];
+    private String[] details = new String[256];
+    private String[] texts = new String[256];
+    private final BitSet removed = new BitSet();
+    private int entryCount;
+    private int removedCount;
+    private final Map<Long, Integer> userEntries = new HashMap<>();
+    private final Map<String, Integer> navigationEntries = new HashMap<>();
+
+    // Open-addressed gram table; a code of 0 marks a free slot
+    private long[] gramCodes = new long[1024];
+    private int[][] postings = new int[1024][];
+    private int[] postingSizes = new int[1024];
+    private int gramCount;
+
+    /**
+     * Add or replace a user; false when the user was already indexed unchanged
+     */
+    public boolean putUser(long id, String username, String email) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = userEntries.get(id);
+            if (previous != null && username.equals(labels[previous]) && email.equals(details[previous])) {
+                return false;
+            }
+            if (previous != null) {
+                markRemoved(previous);
+            }
+            userEntries.put(id, append(SearchHit.Kind.USER, id, username, email));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeUser(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = userEntries.remove(id);
+            if (previous != null) {
+                markRemoved(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a navigation entry, keyed by its title
+     */
+    public void putNavigation(String title, String description) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = navigationEntries.get(title);
+            if (previous != null && description.equals(details[previous])) {
+                return;
+            }
+            if (previous != null) {
+                markRemoved(previous);
+            }
+            navigationEntries.put(title, append(SearchHit.Kind.NAVIGATION, -1, title, description));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit best matches for every word of the query, best first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = words(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[] slots = gramSlots(terms);
+            if (slots.length == 0) {
+                return List.of();
+            }
+            String[] wordStarts = new String[terms.size()];
+            for (int i = 0; i < wordStarts.length; i++) {
+                wordStarts[i] = " " + terms.get(i);
+            }
+            String exact = String.join(" ", terms);
+            // Worst of the best so far at the root, so a candidate is compared once to get in
+            int[] heap = new int[limit];
+            int[] heapScores = new int[limit];
+            int found = 0;
+            // Leapfrog over the lists: every list gallops to the largest entry seen so far
+            int[] base = postings[slots[0]];
+            int baseSize = postingSizes[slots[0]];
+            int[] cursors = new int[slots.length];
+            scan:
+            while (cursors[0] < baseSize) {
+                int entry = base[cursors[0]];
+                for (int j = 1; j < slots.length; j++) {
+                    int size = postingSizes[slots[j]];
+                    int at = gallop(postings[slots[j]], cursors[j], size, entry);
+                    cursors[j] = at;
+                    if (at == size) {
+                        break scan;
+                    }
+                    if (postings[slots[j]][at] != entry) {
+                        cursors[0] = gallop(base, cursors[0] + 1, baseSize, postings[slots[j]][at]);
+                        continue scan;
+                    }
+                }
+                cursors[0]++;
+                if (removed.get(entry)) {
+                    continue;
+                }
+                int score = score(entry, terms, wordStarts, exact);
+                if (score < 0) {
+                    continue;
+                }
+                if (found < limit) {
+                    heap[found] = entry;
+                    heapScores[found] = score;
+                    siftUp(heap, heapScores, found++);
+                } else if (ranksAbove(entry, score, heap[0], heapScores[0])) {
+                    heap[0] = entry;
+                    heapScores[0] = score;
+                    siftDown(heap, heapScores, found);
+                }
+            }
+            // Taking the worst off the root each time fills the hits from the back
+            SearchHit[] hits = new SearchHit[found];
+            for (int size = found; size > 0; size--) {
+                int entry = heap[0];
+                hits[size - 1] = new SearchHit(SearchHit.Kind.values()[kinds[entry]], ids[entry], labels[entry],
+                    details[entry], heapScores[0]);
+                heap[0] = heap[size - 1];
+                heapScores[0] = heapScores[size - 1];
+                siftDown(heap, heapScores, size - 1);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entries that can still be found
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entryCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * True once replaced or removed entries make up a quarter of the index
+     */
+    public boolean needsCompaction() {
+        lock.readLock().lock();
+        try {
+            return removedCount > 1024 && removedCount * 4 > entryCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int append(SearchHit.Kind kind, long id, String label, String detail) {
+        if (entryCount == ids.length) {
+            int capacity = entryCount * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+            details = Arrays.copyOf(details, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+        }
+        int entry = entryCount++;
+        List<String> words = words(label + " " + detail);
+        kinds[entry] = (byte) kind.ordinal();
+        ids[entry] = id;
+        labels[entry] = label;
+        details[entry] = detail;
+        texts[entry] = String.join(" ", words);
+        for (String word : words) {
+            String padded = "  " + word;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                addPosting(gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)), entry);
+            }
+        }
+        return entry;
+    }
+
+    private void markRemoved(int entry) {
+        removed.set(entry);
+        removedCount++;
+        // Drop the strings now; the posting list slots go with the next rebuild
+        labels[entry] = null;
+        details[entry] = null;
+        texts[entry] = null;
+    }
+
+    private void addPosting(long code, int entry) {
+        int slot = findSlot(code);
+        if (gramCodes[slot] == 0) {
+            if ((gramCount + 1) * 2 > gramCodes.length) {
+                growGramTable();
+                slot = findSlot(code);
+            }
+            gramCodes[slot] = code;
+            gramCount++;
+        }
+        int[] list = postings[slot];
+        int size = postingSizes[slot];
+        if (size > 0 && list[size - 1] == entry) {
+            return;
+        }
+        if (list == null) {
+            list = postings[slot] = new int[4];
+        } else if (size == list.length) {
+            list = postings[slot] = Arrays.copyOf(list, size + (size >> 1) + 1);
+        }
+        list[size] = entry;
+        postingSizes[slot] = size + 1;
+    }
+
+    private int findSlot(long code) {
+        int mask = gramCodes.length - 1;
+        int slot = (int) ((code * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (gramCodes[slot] != 0 && gramCodes[slot] != code) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void growGramTable() {
+        long[] oldCodes = gramCodes;
+        int[][] oldPostings = postings;
+        int[] oldSizes = postingSizes;
+        gramCodes = new long[oldCodes.length * 2];
+        postings = new int[oldCodes.length * 2][];
+        postingSizes = new int[oldCodes.length * 2];
+        for (int i = 0; i < oldCodes.length; i++) {
+            if (oldCodes[i] != 0) {
+                int slot = findSlot(oldCodes[i]);
+                gramCodes[slot] = oldCodes[i];
+                postings[slot] = oldPostings[i];
+                postingSizes[slot] = oldSizes[i];
+            }
+        }
+    }
+
+    /**
+     * Table slots of every gram of every term, shortest posting list first; empty when a gram is unknown
+     */
+    private int[] gramSlots(List<String> terms) {
+        List<Integer> slots = new ArrayList<>();
+        for (String term : terms) {
+            for (long code : queryGrams(term)) {
+                int slot = findSlot(code);
+                if (gramCodes[slot] == 0) {
+                    return new int[0];
+                }
+                if (!slots.contains(slot)) {
+                    slots.add(slot);
+                }
+            }
+        }
+        slots.sort((a, b) -> Integer.compare(postingSizes[a], postingSizes[b]));
+        return slots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Position of the first value at or after from that is not below value: a short
+     * linear probe, since the next match is usually close, then doubling steps and a
+     * binary search over the last step
+     */
+    private static int gallop(int[] list, int from, int size, int value) {
+        int probeEnd = Math.min(size, from + 16);
+        while (from < probeEnd) {
+            if (list[from] >= value) {
+                return from;
+            }
+            from++;
+        }
+        int step = 16;
+        int to = from;
+        while (to < size && list[to] < value) {
+            from = to + 1;
+            to += step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(list, from, Math.min(to + 1, size), value);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Ranking score, or -1 when the entry only shares grams with the query
+     */
+    private int score(int entry, List<String> terms, String[] wordStarts, String exact) {
+        String text = texts[entry];
+        int score = 0;
+        for (int i = 0; i < wordStarts.length; i++) {
+            String term = terms.get(i);
+            if (text.startsWith(term)) {
+                boolean wholeWord = text.length() == term.length() || text.charAt(term.length()) == ' ';
+                score += wholeWord ? 4 : 3;
+            } else if (text.contains(wordStarts[i])) {
+                score += 2;
+            } else if (term.length() >= 3 && text.contains(term)) {
+                score += 1;
+            } else {
+                return -1;
+            }
+        }
+        if (labels[entry].equalsIgnoreCase(exact)) {
+            score += EXACT_BONUS;
+        }
+        return kinds[entry] == SearchHit.Kind.NAVIGATION.ordinal() ? score + NAVIGATION_BONUS : score;
+    }
+
+    private void siftUp(int[] heap, int[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], scores[parent], heap[index], scores[index])) {
+                return;
+            }
+            swap(heap, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (ranksAbove(heap[worst], scores[worst], heap[child], scores[child])) {
+                    worst = child;
+                }
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, scores, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int[] scores, int i, int j) {
+        int entry = heap[i];
+        heap[i] = heap[j];
+        heap[j] = entry;
+        int score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    /**
+     * Higher score first, then the shorter label, then the older entry
+     */
+    private boolean ranksAbove(int entry, int score, int other, int otherScore) {
+        if (score != otherScore) {
+            return score > otherScore;
+        }
+        int length = labels[entry].length();
+        int otherLength = labels[other].length();
+        return length != otherLength ? length < otherLength : entry < other;
+    }
+
+    private static long[] queryGrams(String term) {
+        if (term.length() == 1) {
+            return new long[] {gram(' ', ' ', term.charAt(0))};
+        }
+        if (term.length() == 2) {
+            return new long[] {gram(' ', term.charAt(0), term.charAt(1))};
+        }
+        long[] grams = new long[term.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long gram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
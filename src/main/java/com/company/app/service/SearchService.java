@@ -0,0 +1,237 @@
+package com.company.app.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import com.company.app.integration.ChangeFeed;
+import com.company.app.integration.ChangeListener;
+import com.company.app.integration.RowChange;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.model.User;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Search Service - Type-ahead search over users and navigation entries.
+ * The index is built on a background thread by walking the users table in
+ * (updated_at, id) order, then kept current by asking only for rows changed
+ * after the last one seen. Queries run on their own thread; a new query
+ * cancels the one before it, so a slow result never replaces a newer one.
+ * A store with a change feed triggers that catch-up as soon as users change
+ * and reports deletes, which otherwise leave no updated_at behind; the index
+ * is also rebuilt from scratch on a longer interval and whenever replaced
+ * entries pile up.
+ */
+public class SearchService {
+
+    private static final int PAGE_SIZE = 5000;
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final long refreshMillis;
+    private final long rebuildMillis;
+    private final int maxResults;
+    private final Map<String, String> navigation = new LinkedHashMap<>();
+    private final AtomicReference<CompletableFuture<List<SearchHit>>> latestQuery = new AtomicReference<>();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final ConcurrentLinkedQueue<Long> deletedUsers = new ConcurrentLinkedQueue<>();
+    private final ChangeListener usersChanged = this::onUsersChanged;
+    private volatile SearchIndex index = new SearchIndex();
+    private ScheduledExecutorService indexer;
+    private ExecutorService querier;
+    private UserStore store;
+    private LocalDateTime watermark;
+    private long lastRebuildMillis;
+
+    private static class SingletonHolder {
+        static final SearchService instance = new SearchService(
+            ConfigurationManager.getInstance().getDurationProperty("ui.search.refreshInterval", Duration.ofSeconds(30)).toMillis(),
+            ConfigurationManager.getInstance().getDurationProperty("ui.search.rebuildInterval", Duration.ofHours(1)).toMillis(),
+            ConfigurationManager.getInstance().getIntProperty("ui.search.maxResults", 10));
+    }
+
+    public static SearchService getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    SearchService(long refreshMillis, long rebuildMillis, int maxResults) {
+        this.refreshMillis = Math.max(1000, refreshMillis);
+        this.rebuildMillis = rebuildMillis;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Make a navigation entry searchable; it survives rebuilds
+     */
+    public synchronized void addNavigation(String title, String description) {
+        navigation.put(title, description);
+        index.putNavigation(title, description);
+    }
+
+    /**
+     * Build the user index in the background and keep it current; later calls are ignored
+     */
+    public synchronized void start(UserStore userStore) {
+        if (indexer != null) {
+            return;
+        }
+        this.store = userStore;
+        indexer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        querier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsRegistry.getInstance().gauge("app_search_index_entries", "Entries in the type-ahead search index",
+            () -> index.size());
+        // A database that is still starting only delays the first build to the next refresh
+        indexer.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+        store.addChangeListener(usersChanged);
+    }
+
+    public synchronized void stop() {
+        if (indexer != null) {
+            store.removeChangeListener(usersChanged);
+            indexer.shutdownNow();
+            querier.shutdownNow();
+            indexer = null;
+            querier = null;
+        }
+    }
+
+    /**
+     * Ranked matches for the query, completed off the caller's thread; cancelled when a newer query starts
+     */
+    public CompletableFuture<List<SearchHit>> search(String query) {
+        CompletableFuture<List<SearchHit>> result = new CompletableFuture<>();
+        CompletableFuture<List<SearchHit>> previous = latestQuery.getAndSet(result);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        ExecutorService executor;
+        synchronized (this) {
+            executor = querier;
+        }
+        if (query == null || query.isBlank()) {
+            result.complete(List.of());
+        } else if (executor == null) {
+            result.complete(index.search(query, maxResults));
+        } else {
+            executor.execute(() -> {
+                // Superseded while queued: skip the work entirely
+                if (!result.isDone()) {
+                    try {
+                        result.complete(index.search(query, maxResults));
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Drop deleted users and catch up on the rest on the indexer thread; one queued catch-up covers a burst
+     */
+    private synchronized void onUsersChanged(List<RowChange> changes) {
+        if (indexer == null) {
+            return;
+        }
+        for (RowChange change : changes) {
+            if (change.getOp() == RowChange.Op.DELETE) {
+                deletedUsers.add(change.getId());
+            }
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            indexer.execute(() -> {
+                refreshQueued.set(false);
+                refresh();
+                // After the refresh, so a rebuild that read a user just before its delete cannot bring it back
+                for (Long id; (id = deletedUsers.poll()) != null;) {
+                    index.removeUser(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Apply changed users, or rebuild when due; runs on the indexer thread
+     */
+    void refresh() {
+        try {
+            if (watermark == null || index.needsCompaction()
+                    || System.currentTimeMillis() - lastRebuildMillis >= rebuildMillis) {
+                rebuild();
+            } else {
+                int changed = catchUp(index, watermark.minus(ChangeFeed.COMMIT_LOOKBACK));
+                if (changed > 0) {
+                    LoggerUtil.debug("Search index applied " + changed + " changed users");
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LoggerUtil.warn("Search index refresh failed: " + e.getMessage());
+        }
+    }
+
+    private void rebuild() throws SQLException {
+        long started = System.currentTimeMillis();
+        SearchIndex fresh = new SearchIndex();
+        watermark = null;
+        int users = catchUp(fresh, BEGINNING);
+        synchronized (this) {
+            // Under the lock, so entries added while the build ran are not lost
+            navigation.forEach(fresh::putNavigation);
+            index = fresh;
+        }
+        lastRebuildMillis = System.currentTimeMillis();
+        LoggerUtil.info("Search index built with " + users + " users in " + (lastRebuildMillis - started) + "ms");
+    }
+
+    /**
+     * Page through users changed after a point in time into the index, advancing the watermark
+     */
+    private int catchUp(SearchIndex target, LocalDateTime since) throws SQLException {
+        LocalDateTime position = since;
+        long afterId = 0;
+        int applied = 0;
+        List<User> page;
+        do {
+            page = store.changedSince(position, afterId, PAGE_SIZE);
+            for (User user : page) {
+                if (target.putUser(user.getId(), user.getUsername(), user.getEmail())) {
+                    applied++;
+                }
+                if (user.getUpdatedAt() != null) {
+                    position = user.getUpdatedAt();
+                    afterId = user.getId();
+                }
+            }
+        } while (page.size() == PAGE_SIZE);
+        if (watermark == null || position.isAfter(watermark)) {
+            watermark = position;
+        }
+        return applied;
+    }
+
+    /**
+     * Index currently answering queries
+     */
+    public SearchIndex getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,71 @@
+package com.company.app.service;
+
+import java.util.List;
+import com.company.app.integration.ContainerServiceClient;
+
+/**
+ * Service Registration - Immutable view of one registered service and its state.
+ * Every change produces a new registration with a higher version.
+ */
+public final class ServiceRegistration {
+
+    private final String serviceId;
+    private final ContainerServiceClient client;
+    private final List<String> dependencies;
+    private final ServiceState state;
+    private final long since;
+    private final long version;
+
+    public ServiceRegistration(String serviceId, ContainerServiceClient client, List<String> dependencies,
+                               ServiceState state, long since, long version) {
+        this.serviceId = serviceId;
+        this.client = client;
+        this.dependencies = List.copyOf(dependencies);
+        this.state = state;
+        this.since = since;
+        this.version = version;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public ContainerServiceClient getClient() {
+        return client;
+    }
+
+    /**
+     * Services that must start before this one
+     */
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    public ServiceState getState() {
+        return state;
+    }
+
+    /**
+     * When the service entered its current state, in epoch milliseconds
+     */
+    public long getSince() {
+        return since;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The same service in another state
+     */
+    public ServiceRegistration withState(ServiceState newState) {
+        return new ServiceRegistration(serviceId, client, dependencies, newState, System.currentTimeMillis(),
+            version + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceRegistration{" + serviceId + " " + state + ", version=" + version + "}";
+    }
+}
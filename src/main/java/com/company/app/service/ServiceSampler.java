@@ -0,0 +1,124 @@
+package com.company.app.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import com.company.app.integration.ContainerServiceClient;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+import com.company.app.util.TimeSeries;
+
+/**
+ * Service Sampler - Live time series for the dashboard.
+ * Listens to every registered service client, including clients registered
+ * or replaced after attaching, and to health sweeps. Each
+ * request latency and health probe result goes straight into a primitive ring
+ * buffer. Request counts are summed in LongAdders and turned into a
+ * requests-per-second sample once per rate interval.
+ */
+public class ServiceSampler {
+    
+    private final int capacity;
+    private final long rateIntervalMillis;
+    private final Map<String, TimeSeries> latency = new ConcurrentHashMap<>();
+    private final Map<String, TimeSeries> requestRate = new ConcurrentHashMap<>();
+    private final Map<String, TimeSeries> healthLatency = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    // Client each service's request listener was added to
+    private final Map<String, ContainerServiceClient> sampledClients = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+    
+    private static class SingletonHolder {
+        static final ServiceSampler instance = new ServiceSampler(
+            ConfigurationManager.getInstance().getIntProperty("ui.dashboard.capacity", 16384),
+            ConfigurationManager.getInstance().getDurationProperty("ui.dashboard.rateInterval", Duration.ofSeconds(1)).toMillis());
+    }
+    
+    public static ServiceSampler getInstance() {
+        return SingletonHolder.instance;
+    }
+    
+    ServiceSampler(int capacity, long rateIntervalMillis) {
+        this.capacity = capacity;
+        this.rateIntervalMillis = Math.max(50, rateIntervalMillis);
+    }
+    
+    /**
+     * Listen to every service registered with the manager and start the rate ticker
+     */
+    public synchronized void attach(ContainerServiceManager manager) {
+        // Subscribed before the current clients are read, so a registration in between is not missed
+        manager.addServiceStateListener((previous, current) -> attach(current.getServiceId(), current.getClient()));
+        for (String serviceId : manager.getServiceIds()) {
+            attach(serviceId, manager.getService(serviceId));
+        }
+        manager.addHealthListener(this::recordHealth);
+        if (ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::sampleRates, rateIntervalMillis, rateIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        LoggerUtil.info("Service sampler attached to " + manager.getServiceIds());
+    }
+    
+    /**
+     * Sample a service's client, once per client; a replacement client takes over its series
+     */
+    void attach(String serviceId, ContainerServiceClient client) {
+        if (client == null || sampledClients.put(serviceId, client) == client) {
+            return;
+        }
+        TimeSeries series = getLatency(serviceId);
+        LongAdder count = requestCounts.computeIfAbsent(serviceId, key -> new LongAdder());
+        getRequestRate(serviceId);
+        client.addRequestListener((latencyNanos, success) -> {
+            series.add(latencyNanos / 1_000_000.0);
+            count.increment();
+        });
+    }
+    
+    void recordHealth(HealthCheckResult result) {
+        getHealthLatency(result.getServiceId()).add(result.getCheckedAt(),
+            result.isHealthy() ? result.getLatencyMillis() : Double.NaN);
+    }
+    
+    void sampleRates() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, LongAdder> entry : requestCounts.entrySet()) {
+            long requests = entry.getValue().sumThenReset();
+            getRequestRate(entry.getKey()).add(now, requests * 1000.0 / rateIntervalMillis);
+        }
+    }
+    
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+    
+    /**
+     * Request latency in milliseconds
+     */
+    public TimeSeries getLatency(String serviceId) {
+        return latency.computeIfAbsent(serviceId, key -> new TimeSeries(key, capacity));
+    }
+    
+    public TimeSeries getRequestRate(String serviceId) {
+        return requestRate.computeIfAbsent(serviceId, key -> new TimeSeries(key, capacity));
+    }
+    
+    /**
+     * Health probe latency in milliseconds; NaN marks a failed probe
+     */
+    public TimeSeries getHealthLatency(String serviceId) {
+        return healthLatency.computeIfAbsent(serviceId, key -> new TimeSeries(key, capacity));
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.app.service;
+
+/**
+ * Service State - Lifecycle state of a registered container service.
+ */
+public enum ServiceState {
+    /** Registered but not started yet */
+    REGISTERED,
+    /** Connect in progress */
+    CONNECTING,
+    /** Connected and passing health checks */
+    UP,
+    /** Reachable but its client's circuit breaker is shedding calls */
+    DEGRADED,
+    /** Started, then failing health checks */
+    DOWN,
+    /** Disconnect in progress */
+    STOPPING,
+    /** Failed to connect, skipped for a failed dependency, or stopped */
+    STOPPED;
+
+    /**
+     * Whether a health check result may move the service out of this state;
+     * starts and stops in progress own the state until they finish, and a
+     * stopped service stays stopped until it is started again
+     */
+    boolean followsHealth() {
+        return this == UP || this == DEGRADED || this == DOWN;
+    }
+}
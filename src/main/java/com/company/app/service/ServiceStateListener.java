@@ -0,0 +1,16 @@
+package com.company.app.service;
+
+/**
+ * Service State Listener - Notified of each service registration and state transition.
+ * Called on the thread that made the transition, after it took effect.
+ * Transitions of one service made on different threads can arrive out of
+ * order; a registration with a lower version than one already seen is stale.
+ */
+@FunctionalInterface
+public interface ServiceStateListener {
+
+    /**
+     * previous is null when the service was registered for the first time
+     */
+    void onTransition(ServiceRegistration previous, ServiceRegistration current);
+}
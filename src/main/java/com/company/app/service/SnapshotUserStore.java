@@ -0,0 +1,447 @@
+package com.company.app.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import com.company.app.integration.ChangeFeed;
+import com.company.app.integration.ChangeListener;
+import com.company.app.integration.RowChange;
+import com.company.app.integration.SnapshotStore;
+import com.company.app.model.User;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Snapshot User Store - Users served from a local snapshot and synced in the background.
+ * The last-known users table is kept in a SnapshotStore, so after the first
+ * complete sync every launch pages through it straight away, whether or not
+ * the database is reachable. A background sync asks the live store only for
+ * rows changed after the snapshot's (updated_at, id) watermark, appends them
+ * to the snapshot and tells listeners which users changed. Until a first
+ * sync has completed, reads go to the live store. When the live store reports
+ * changes of its own, a sync runs straight away and reported deletes are
+ * applied directly; otherwise deleted rows leave no updated_at behind, so a
+ * full pass on a longer interval drops users that are gone.
+ */
+public class SnapshotUserStore implements UserStore, Closeable {
+
+    // Bump when the record layout changes; older snapshot files are then discarded on open
+    private static final int SCHEMA_VERSION = 1;
+    private static final String USER_PREFIX = "user/";
+    private static final String WATERMARK_KEY = "meta/watermark";
+    private static final int PAGE_SIZE = 5000;
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserStore source;
+    private final SnapshotStore snapshot;
+    private final long resyncMillis;
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final ChangeListener sourceChanged = this::onSourceChanges;
+    // Decoded lazily on the first read; guarded by this
+    private TreeMap<String, User> byUsername;
+    private Map<Long, User> byId;
+    private LocalDateTime watermark;
+    private long watermarkId;
+    private long lastFullSyncMillis;
+    private boolean oversized;
+    private ScheduledExecutorService syncer;
+
+    public SnapshotUserStore(UserStore source, SnapshotStore snapshot, long resyncMillis) {
+        this.source = source;
+        this.snapshot = snapshot;
+        this.resyncMillis = resyncMillis;
+        byte[] mark = snapshot.get(WATERMARK_KEY);
+        if (mark != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(mark);
+            watermark = readTime(buffer);
+            watermarkId = buffer.getLong();
+            lastFullSyncMillis = buffer.getLong();
+        }
+    }
+
+    /**
+     * Open the snapshot file in front of a live store
+     */
+    public static SnapshotUserStore open(UserStore source, Path file, long maxBytes, long resyncMillis) throws IOException {
+        return new SnapshotUserStore(source, SnapshotStore.open(file, SCHEMA_VERSION, maxBytes), resyncMillis);
+    }
+
+    /**
+     * Sync with the live store now and then on every interval, on a background thread
+     */
+    public synchronized void start(long syncIntervalMillis) {
+        if (syncer != null) {
+            return;
+        }
+        syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "users-snapshot-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (SQLException | IOException | RuntimeException e) {
+                // Offline: keep serving the snapshot and try again next interval
+                LoggerUtil.warn("Users snapshot sync failed: " + e.getMessage());
+            }
+        }, 0, Math.max(1000, syncIntervalMillis), TimeUnit.MILLISECONDS);
+        source.addChangeListener(sourceChanged);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.removeChangeListener(sourceChanged);
+        synchronized (this) {
+            if (syncer != null) {
+                syncer.shutdownNow();
+                syncer = null;
+            }
+        }
+        snapshot.close();
+    }
+
+    /**
+     * Called after a sync changes the snapshot; may run on any thread
+     */
+    @Override
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * True once the snapshot holds a complete copy of the table
+     */
+    public synchronized boolean isComplete() {
+        return lastFullSyncMillis > 0;
+    }
+
+    @Override
+    public int count() throws SQLException {
+        synchronized (this) {
+            if (isComplete()) {
+                return users().size();
+            }
+        }
+        return source.count();
+    }
+
+    @Override
+    public List<User> pageAfter(String afterUsername, int limit) throws SQLException {
+        synchronized (this) {
+            if (isComplete()) {
+                Map<String, User> tail = afterUsername == null ? users() : users().tailMap(afterUsername, false);
+                return take(tail.values().iterator(), limit);
+            }
+        }
+        return source.pageAfter(afterUsername, limit);
+    }
+
+    @Override
+    public List<User> pageBefore(String beforeUsername, int limit) throws SQLException {
+        synchronized (this) {
+            if (isComplete()) {
+                List<User> page = take(users().headMap(beforeUsername, false).descendingMap().values().iterator(), limit);
+                Collections.reverse(page);
+                return page;
+            }
+        }
+        return source.pageBefore(beforeUsername, limit);
+    }
+
+    @Override
+    public List<User> pageAt(long offset, int limit) throws SQLException {
+        synchronized (this) {
+            if (isComplete()) {
+                Iterator<User> users = users().values().iterator();
+                for (long skipped = 0; skipped < offset && users.hasNext(); skipped++) {
+                    users.next();
+                }
+                return take(users, limit);
+            }
+        }
+        return source.pageAt(offset, limit);
+    }
+
+    /**
+     * Always answered by the live store; the snapshot only records what it has seen
+     */
+    @Override
+    public List<User> changedSince(LocalDateTime updatedAfter, long afterId, int limit) throws SQLException {
+        return source.changedSince(updatedAfter, afterId, limit);
+    }
+
+    /**
+     * Pull rows changed after the watermark into the snapshot, or walk the whole
+     * table when no complete pass exists or the last one is older than the resync interval
+     */
+    public void sync() throws SQLException, IOException {
+        boolean full;
+        boolean restart;
+        LocalDateTime position;
+        long afterId;
+        synchronized (this) {
+            if (oversized) {
+                return;
+            }
+            users();
+            full = !isComplete() || System.currentTimeMillis() - lastFullSyncMillis >= resyncMillis;
+            // A first pass that was cut short resumes from its watermark
+            restart = watermark == null || (full && isComplete());
+            if (restart) {
+                position = BEGINNING;
+                afterId = 0;
+            } else if (full) {
+                position = watermark;
+                afterId = watermarkId;
+            } else {
+                position = watermark.minus(ChangeFeed.COMMIT_LOOKBACK);
+                afterId = 0;
+            }
+        }
+        // Only a pass over the whole table can tell which users were deleted
+        Set<Long> seen = full && restart ? new HashSet<>() : null;
+        List<RowChange> changes = new ArrayList<>();
+        List<User> page;
+        do {
+            page = source.changedSince(position, afterId, PAGE_SIZE);
+            Map<String, byte[]> records = new LinkedHashMap<>();
+            synchronized (this) {
+                for (User user : page) {
+                    if (seen != null) {
+                        seen.add(user.getId());
+                    }
+                    RowChange change = apply(user);
+                    if (change != null) {
+                        records.put(USER_PREFIX + user.getId(), encode(user));
+                        changes.add(change);
+                    }
+                    if (user.getUpdatedAt() != null) {
+                        position = user.getUpdatedAt();
+                        afterId = user.getId();
+                    }
+                }
+                if (restart || !position.isBefore(watermark)) {
+                    watermark = position;
+                    watermarkId = afterId;
+                }
+                records.put(WATERMARK_KEY, encodeWatermark());
+            }
+            snapshot.putAll(records);
+        } while (page.size() == PAGE_SIZE);
+
+        if (full) {
+            changes.addAll(finishFullPass(seen));
+        }
+        if (snapshot.getEvictedCount() > 0) {
+            // The size cap cut users out of the snapshot; it can no longer stand in for the table
+            LoggerUtil.warn("Users snapshot exceeds its size cap; serving users from the database only");
+            synchronized (this) {
+                oversized = true;
+                lastFullSyncMillis = 0;
+                watermark = null;
+                byUsername = new TreeMap<>();
+                byId = new HashMap<>();
+            }
+            snapshot.clear();
+            return;
+        }
+        if (!changes.isEmpty()) {
+            LoggerUtil.debug("Users snapshot applied " + changes.size() + " changes");
+            fireChanges(changes);
+        }
+    }
+
+    /**
+     * Remove users the live store reported deleted
+     */
+    void applyDeletes(List<RowChange> changes) throws IOException {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        List<RowChange> removed = new ArrayList<>();
+        synchronized (this) {
+            if (oversized) {
+                return;
+            }
+            users();
+            for (RowChange change : changes) {
+                User user = change.getOp() == RowChange.Op.DELETE ? byId.remove(change.getId()) : null;
+                if (user != null) {
+                    byUsername.remove(user.getUsername(), user);
+                    records.put(USER_PREFIX + user.getId(), null);
+                    removed.add(change);
+                }
+            }
+        }
+        if (!records.isEmpty()) {
+            snapshot.putAll(records);
+            fireChanges(removed);
+        }
+    }
+
+    /**
+     * The live store saw users change: catch up on the sync thread instead of waiting for the interval
+     */
+    private void onSourceChanges(List<RowChange> changes) {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = syncer;
+        }
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    applyDeletes(changes);
+                    sync();
+                } catch (SQLException | IOException | RuntimeException e) {
+                    LoggerUtil.warn("Users snapshot sync failed: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed while the feed was delivering
+        }
+    }
+
+    private void fireChanges(List<RowChange> changes) {
+        List<RowChange> view = List.copyOf(changes);
+        for (ChangeListener listener : changeListeners) {
+            listener.onChanges(view);
+        }
+    }
+
+    /**
+     * Drop users the full pass did not see, when it saw the whole table, and mark the snapshot complete
+     */
+    private List<RowChange> finishFullPass(Set<Long> seen) throws IOException {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        List<RowChange> deleted = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<User> users = byId.values().iterator(); seen != null && users.hasNext();) {
+                User user = users.next();
+                if (!seen.contains(user.getId())) {
+                    users.remove();
+                    byUsername.remove(user.getUsername(), user);
+                    records.put(USER_PREFIX + user.getId(), null);
+                    deleted.add(new RowChange(ChangeFeed.USERS_TABLE, RowChange.Op.DELETE, user.getId(), null));
+                }
+            }
+            lastFullSyncMillis = System.currentTimeMillis();
+            records.put(WATERMARK_KEY, encodeWatermark());
+            snapshot.putAll(records);
+            return deleted;
+        }
+    }
+
+    /**
+     * Replace the stored copy of a user; null when nothing changed
+     */
+    private RowChange apply(User user) {
+        User previous = byId.put(user.getId(), user);
+        if (previous != null) {
+            if (previous.getUsername().equals(user.getUsername()) && previous.getEmail().equals(user.getEmail())
+                    && Objects.equals(previous.getUpdatedAt(), user.getUpdatedAt())) {
+                return null;
+            }
+            byUsername.remove(previous.getUsername(), previous);
+        }
+        byUsername.put(user.getUsername(), user);
+        return new RowChange(ChangeFeed.USERS_TABLE, previous == null ? RowChange.Op.INSERT : RowChange.Op.UPDATE,
+            user.getId(), user.getUpdatedAt());
+    }
+
+    /**
+     * Users ordered by username, decoded from the snapshot on first use
+     */
+    private TreeMap<String, User> users() {
+        if (byUsername == null) {
+            long started = System.nanoTime();
+            byUsername = new TreeMap<>();
+            byId = new HashMap<>();
+            snapshot.forEach(USER_PREFIX, (key, value) -> {
+                User user = decode(value);
+                byId.put(user.getId(), user);
+                byUsername.put(user.getUsername(), user);
+            });
+            LoggerUtil.debug("Users snapshot decoded " + byId.size() + " users in "
+                + (System.nanoTime() - started) / 1_000_000 + "ms");
+        }
+        return byUsername;
+    }
+
+    private static List<User> take(Iterator<User> users, int limit) {
+        List<User> page = new ArrayList<>(limit);
+        while (page.size() < limit && users.hasNext()) {
+            page.add(users.next());
+        }
+        return page;
+    }
+
+    private byte[] encodeWatermark() {
+        ByteBuffer buffer = ByteBuffer.allocate(28);
+        writeTime(buffer, watermark);
+        return buffer.putLong(watermarkId).putLong(lastFullSyncMillis).array();
+    }
+
+    static byte[] encode(User user) {
+        byte[] username = user.getUsername().getBytes(StandardCharsets.UTF_8);
+        byte[] email = user.getEmail().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 12 + 12 + 4 + username.length + 4 + email.length);
+        buffer.putLong(user.getId());
+        writeTime(buffer, user.getCreatedAt());
+        writeTime(buffer, user.getUpdatedAt());
+        buffer.putInt(username.length).put(username).putInt(email.length).put(email);
+        return buffer.array();
+    }
+
+    static User decode(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        LocalDateTime created = readTime(buffer);
+        LocalDateTime updated = readTime(buffer);
+        byte[] username = new byte[buffer.getInt()];
+        buffer.get(username);
+        byte[] email = new byte[buffer.getInt()];
+        buffer.get(email);
+        return new User(id, new String(username, StandardCharsets.UTF_8), new String(email, StandardCharsets.UTF_8),
+            created, updated);
+    }
+
+    private static void writeTime(ByteBuffer buffer, LocalDateTime time) {
+        if (time == null) {
+            buffer.putLong(Long.MIN_VALUE).putInt(0);
+        } else {
+            buffer.putLong(time.toEpochSecond(ZoneOffset.UTC)).putInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
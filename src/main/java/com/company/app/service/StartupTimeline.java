@@ -0,0 +1,142 @@
+package com.company.app.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup Timeline - Per-service record of a dependency-ordered startup run.
+ * Captures when each service became ready to start, how long its connect took,
+ * and which chain of services determined the total startup time.
+ */
+public class StartupTimeline {
+
+    public enum Outcome {
+        STARTED, FAILED, SKIPPED
+    }
+
+    /**
+     * Timing of one service, relative to the start of the run
+     */
+    public static class Entry {
+        private final String serviceId;
+        private final List<String> dependencies;
+        private final long readyAtNanos;
+        private final long finishedAtNanos;
+        private final Outcome outcome;
+
+        Entry(String serviceId, List<String> dependencies, long readyAtNanos, long finishedAtNanos, Outcome outcome) {
+            this.serviceId = serviceId;
+            this.dependencies = dependencies;
+            this.readyAtNanos = readyAtNanos;
+            this.finishedAtNanos = finishedAtNanos;
+            this.outcome = outcome;
+        }
+
+        public String getServiceId() {
+            return serviceId;
+        }
+
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+
+        /**
+         * Milliseconds from the start of the run until all dependencies were up
+         */
+        public long getStartOffsetMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(readyAtNanos);
+        }
+
+        public long getDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(finishedAtNanos - readyAtNanos);
+        }
+
+        public long getFinishOffsetMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(finishedAtNanos);
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s +%dms (%dms)", serviceId, outcome, getStartOffsetMillis(), getDurationMillis());
+        }
+    }
+
+    private final long runStartNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long runEndNanos;
+
+    public StartupTimeline() {
+        this.runStartNanos = System.nanoTime();
+    }
+
+    void record(String serviceId, List<String> dependencies, long readyAt, long finishedAt, Outcome outcome) {
+        entries.put(serviceId, new Entry(serviceId, dependencies, readyAt - runStartNanos, finishedAt - runStartNanos, outcome));
+    }
+
+    void finish() {
+        runEndNanos = System.nanoTime();
+    }
+
+    public Entry getEntry(String serviceId) {
+        return entries.get(serviceId);
+    }
+
+    /**
+     * Entries ordered by the time each service became ready to start
+     */
+    public List<Entry> getEntries() {
+        List<Entry> ordered = new ArrayList<>(entries.values());
+        ordered.sort((a, b) -> Long.compare(a.readyAtNanos, b.readyAtNanos));
+        return ordered;
+    }
+
+    public long getTotalMillis() {
+        return runEndNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(runEndNanos - runStartNanos);
+    }
+
+    /**
+     * Chain of services that determined total startup time, first to last.
+     * Starts at the service that finished last and walks back through the
+     * dependency that finished latest at each step.
+     */
+    public List<String> getCriticalPath() {
+        Entry current = null;
+        for (Entry entry : entries.values()) {
+            if (current == null || entry.finishedAtNanos > current.finishedAtNanos) {
+                current = entry;
+            }
+        }
+
+        List<String> path = new ArrayList<>();
+        while (current != null) {
+            path.add(current.serviceId);
+            Entry latestDependency = null;
+            for (String dependency : current.dependencies) {
+                Entry candidate = entries.get(dependency);
+                if (candidate != null && (latestDependency == null || candidate.finishedAtNanos > latestDependency.finishedAtNanos)) {
+                    latestDependency = candidate;
+                }
+            }
+            current = latestDependency;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public Map<String, Outcome> getOutcomes() {
+        Map<String, Outcome> outcomes = new LinkedHashMap<>();
+        for (Entry entry : getEntries()) {
+            outcomes.put(entry.serviceId, entry.outcome);
+        }
+        return outcomes;
+    }
+}
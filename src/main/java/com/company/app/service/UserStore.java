@@ -0,0 +1,49 @@
+package com.company.app.service;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import com.company.app.integration.ChangeListener;
+import com.company.app.model.User;
+
+/**
+ * User Store - Paged, username-ordered access to the users table.
+ * Pages are addressed by keyset (the username next to the page) so reading
+ * deep into the table costs the same as reading its first page.
+ */
+public interface UserStore {
+
+    /**
+     * Number of users, used to size the table
+     */
+    int count() throws SQLException;
+
+    /**
+     * Up to limit users ordered after the given username; null starts at the first user
+     */
+    List<User> pageAfter(String afterUsername, int limit) throws SQLException;
+
+    /**
+     * Up to limit users ordered immediately before the given username, in ascending order
+     */
+    List<User> pageBefore(String beforeUsername, int limit) throws SQLException;
+
+    /**
+     * Up to limit users starting at a row position; only used to land on a page no keyset reaches
+     */
+    List<User> pageAt(long offset, int limit) throws SQLException;
+
+    /**
+     * Up to limit users changed after the (updated_at, id) position, in that order
+     */
+    List<User> changedSince(LocalDateTime updatedAfter, long afterId, int limit) throws SQLException;
+
+    /**
+     * Be told which users changed, on any thread; stores that never notice changes ignore this
+     */
+    default void addChangeListener(ChangeListener listener) {
+    }
+
+    default void removeChangeListener(ChangeListener listener) {
+    }
+}
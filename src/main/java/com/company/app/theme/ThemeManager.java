@@ -1,17 +1,51 @@
 package com.company.app.theme;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+import javafx.css.CssParser;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import com.company.app.util.LoggerUtil;
 
 /**
  * Theme Manager - Unified styling and color management.
  * Handles application-wide theme configuration and switching.
+ * Components are styled by application.css through -app-* looked-up colors;
+ * a theme is a set of values for those colors scoped to a root style class
+ * (.root.theme-dark). All theme stylesheets are installed once per scene, so
+ * switching themes only swaps the root's theme class and never reloads or
+ * reparses CSS. Themes can also be registered at runtime from a map or a
+ * properties file; colors they leave out fall back to the light theme.
  */
 public class ThemeManager {
     
     private static final String LIGHT_THEME = "light";
     private static final String DARK_THEME = "dark";
+    private static final String BASE_STYLESHEET = "/styles/application.css";
+    private static final String THEME_CLASS_PREFIX = "theme-";
+    private static final Pattern THEME_NAME = Pattern.compile("[a-z0-9][a-z0-9-]*");
+    private static final Pattern VARIABLE_NAME = Pattern.compile("-[a-zA-Z][a-zA-Z0-9-]*");
     
+    // Theme name to stylesheet URL, in registration order; replaced whole, so preloading
+    // on the bootstrap thread reads a consistent copy while the FX thread registers themes
+    private volatile Map<String, String> themeStylesheets;
+    private final Set<Scene> scenes = Collections.newSetFromMap(new WeakHashMap<>());
+    private final String baseStylesheet;
     private String currentTheme = LIGHT_THEME;
     
     private static class SingletonHolder {
@@ -24,23 +58,28 @@ public class ThemeManager {
     
     private ThemeManager() {
         LoggerUtil.debug("Initializing ThemeManager");
+        baseStylesheet = resource(BASE_STYLESHEET);
+        Map<String, String> builtIn = new LinkedHashMap<>();
+        builtIn.put(LIGHT_THEME, resource("/styles/light-theme.css"));
+        builtIn.put(DARK_THEME, resource("/styles/dark-theme.css"));
+        themeStylesheets = Collections.unmodifiableMap(builtIn);
+    }
+    
+    private String resource(String path) {
+        return getClass().getResource(path).toExternalForm();
     }
     
     public void setTheme(String theme, Scene scene) {
         try {
-            this.currentTheme = theme;
-            
-            String cssResource = null;
-            if (LIGHT_THEME.equals(theme)) {
-                cssResource = "/styles/light-theme.css";
-            } else if (DARK_THEME.equals(theme)) {
-                cssResource = "/styles/dark-theme.css";
+            if (!themeStylesheets.containsKey(theme)) {
+                LoggerUtil.warn("Unknown theme: " + theme);
+                return;
             }
+            this.currentTheme = theme;
             
-            if (cssResource != null && scene != null) {
-                scene.getStylesheets().clear();
-                String resource = getClass().getResource(cssResource).toExternalForm();
-                scene.getStylesheets().add(resource);
+            if (scene != null) {
+                install(scene);
+                applyThemeClass(scene.getRoot(), theme);
                 LoggerUtil.info("Theme switched to: " + theme);
             }
         } catch (Exception e) {
@@ -48,11 +87,131 @@ public class ThemeManager {
         }
     }
     
+    /**
+     * Add the base and theme stylesheets to a scene the first time it is themed
+     */
+    private void install(Scene scene) {
+        if (!scenes.add(scene)) {
+            return;
+        }
+        Map<String, String> stylesheets = themeStylesheets;
+        scene.getStylesheets().removeIf(url -> url.equals(baseStylesheet) || stylesheets.containsValue(url));
+        scene.getStylesheets().add(baseStylesheet);
+        scene.getStylesheets().addAll(stylesheets.values());
+    }
+    
+    private static void applyThemeClass(Parent root, String theme) {
+        if (root == null) {
+            return;
+        }
+        String themeClass = THEME_CLASS_PREFIX + theme;
+        root.getStyleClass().removeIf(styleClass -> styleClass.startsWith(THEME_CLASS_PREFIX) && !styleClass.equals(themeClass));
+        if (!root.getStyleClass().contains(themeClass)) {
+            root.getStyleClass().add(themeClass);
+        }
+    }
+    
+    /**
+     * Register or replace a theme from -app-* color values, e.g. "-app-nav-background" to "#004d40"
+     */
+    public void registerTheme(String name, Map<String, String> variables) {
+        if (!THEME_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid theme name: " + name);
+        }
+        String stylesheet = "data:text/css;base64,"
+            + Base64.getEncoder().encodeToString(toCss(name, variables).getBytes(StandardCharsets.UTF_8));
+        String previous = putStylesheet(name, stylesheet);
+        for (Scene scene : scenes) {
+            if (previous != null) {
+                scene.getStylesheets().remove(previous);
+            }
+            scene.getStylesheets().add(stylesheet);
+        }
+        LoggerUtil.info("Registered theme: " + name + " (" + variables.size() + " colors)");
+    }
+    
+    /**
+     * Publish a copy of the stylesheets with one theme added or replaced; returns the stylesheet it replaced
+     */
+    private synchronized String putStylesheet(String name, String stylesheet) {
+        Map<String, String> updated = new LinkedHashMap<>(themeStylesheets);
+        String previous = updated.put(name, stylesheet);
+        themeStylesheets = Collections.unmodifiableMap(updated);
+        return previous;
+    }
+    
+    /**
+     * Register a theme from a properties file; the theme is named after the file
+     */
+    public void registerTheme(Path propertiesFile) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(propertiesFile)) {
+            properties.load(input);
+        }
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            variables.put(key, properties.getProperty(key));
+        }
+        String fileName = propertiesFile.getFileName().toString();
+        registerTheme(fileName.substring(0, fileName.lastIndexOf('.')), variables);
+    }
+    
+    /**
+     * Register every *.properties theme in a directory
+     */
+    public void loadThemes(Path directory) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.properties")) {
+            for (Path file : files) {
+                try {
+                    registerTheme(file);
+                } catch (IOException | IllegalArgumentException e) {
+                    LoggerUtil.warn("Skipping theme " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LoggerUtil.warn("Failed to read themes from " + directory + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * CSS for a theme: its variables scoped to the root's theme class
+     */
+    static String toCss(String name, Map<String, String> variables) {
+        StringBuilder css = new StringBuilder(".root.").append(THEME_CLASS_PREFIX).append(name).append(" {\n");
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            String key = variable.getKey().trim();
+            String value = variable.getValue().trim();
+            if (!VARIABLE_NAME.matcher(key).matches() || value.isEmpty() || value.matches(".*[;{}].*")) {
+                throw new IllegalArgumentException("Invalid theme variable: " + key + "=" + value);
+            }
+            css.append("    ").append(key).append(": ").append(value).append(";\n");
+        }
+        return css.append("}\n").toString();
+    }
+    
+    /**
+     * Parse the base and built-in theme stylesheets off the FX thread so the
+     * CSS parser is loaded and warmed up before the first scene needs it
+     */
+    public void preloadStylesheets() {
+        List<String> stylesheets = new ArrayList<>();
+        stylesheets.add(baseStylesheet);
+        stylesheets.addAll(themeStylesheets.values());
+        CssParser parser = new CssParser();
+        for (String stylesheet : stylesheets) {
+            try {
+                parser.parse(new URL(stylesheet));
+            } catch (IOException e) {
+                LoggerUtil.warn("Failed to preload stylesheet " + stylesheet + ": " + e.getMessage());
+            }
+        }
+    }
+    
     public String getCurrentTheme() {
         return currentTheme;
     }
     
     public String[] getAvailableThemes() {
-        return new String[]{LIGHT_THEME, DARK_THEME};
+        return themeStylesheets.keySet().toArray(new String[0]);
     }
 }
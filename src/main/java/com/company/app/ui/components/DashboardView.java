@@ -0,0 +1,83 @@
+package com.company.app.ui.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import com.company.app.service.ServiceSampler;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Dashboard View component - Live charts of service latency, request rate and health.
+ * Charts redraw from an AnimationTimer that only runs while the view is in
+ * a scene, so a cached but hidden dashboard costs nothing per frame.
+ */
+public class DashboardView extends VBox implements ManagedView {
+    
+    private static final Color[] PALETTE = {
+        Color.web("#3498db"), Color.web("#2ecc71"), Color.web("#e67e22"), Color.web("#9b59b6")
+    };
+    
+    private final List<LiveChart> charts = new ArrayList<>();
+    private final AnimationTimer frameTimer;
+    
+    public DashboardView(ServiceSampler sampler, List<String> serviceIds, long windowMillis) {
+        LoggerUtil.debug("Initializing DashboardView");
+        
+        this.getStyleClass().add("dashboard-view");
+        this.setSpacing(10);
+        this.setPadding(new Insets(15));
+        
+        Label title = new Label("Dashboard");
+        title.getStyleClass().add("view-title");
+        
+        LiveChart latency = new LiveChart("Request latency (ms)", windowMillis);
+        LiveChart rate = new LiveChart("Requests per second", windowMillis);
+        LiveChart health = new LiveChart("Health probe latency (ms)", windowMillis);
+        for (int i = 0; i < serviceIds.size(); i++) {
+            String serviceId = serviceIds.get(i);
+            Color color = PALETTE[i % PALETTE.length];
+            latency.addSeries(sampler.getLatency(serviceId), color);
+            rate.addSeries(sampler.getRequestRate(serviceId), color);
+            health.addSeries(sampler.getHealthLatency(serviceId), color);
+        }
+        charts.add(latency);
+        charts.add(rate);
+        charts.add(health);
+        for (LiveChart chart : charts) {
+            VBox.setVgrow(chart, Priority.ALWAYS);
+        }
+        
+        frameTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                long nowMillis = System.currentTimeMillis();
+                for (LiveChart chart : charts) {
+                    chart.redraw(nowMillis);
+                }
+            }
+        };
+        // Only animate while attached to a scene
+        sceneProperty().addListener((observable, previous, scene) -> {
+            if (scene == null) {
+                frameTimer.stop();
+            } else {
+                frameTimer.start();
+            }
+        });
+        
+        this.getChildren().add(title);
+        this.getChildren().addAll(charts);
+        
+        LoggerUtil.debug("DashboardView initialized successfully");
+    }
+    
+    @Override
+    public void dispose() {
+        frameTimer.stop();
+    }
+}
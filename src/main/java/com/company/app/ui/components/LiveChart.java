@@ -0,0 +1,214 @@
+package com.company.app.ui.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+import com.company.app.util.Lttb;
+import com.company.app.util.TimeSeries;
+
+/**
+ * Live Chart component - Scrolling line chart drawn on a Canvas.
+ * Each frame copies the visible time window of every series into reusable
+ * primitive buffers, downsamples it to about one point per horizontal pixel
+ * with LTTB and strokes it as a single path, so the scene graph stays at a
+ * handful of nodes no matter how many samples there are. NaN samples break
+ * the line and are marked along the bottom edge.
+ */
+public class LiveChart extends Region {
+    
+    private static final double PADDING = 8;
+    private static final double LEGEND_HEIGHT = 16;
+    private static final Color GRID = Color.gray(0.5, 0.3);
+    private static final Color AXIS_TEXT = Color.gray(0.5);
+    private static final Color GAP_MARKER = Color.web("#e74c3c");
+    
+    private final Label titleLabel;
+    private final Canvas canvas = new Canvas();
+    private final List<Line> lines = new ArrayList<>();
+    private int[] counts = new int[0];
+    private long windowMillis;
+    private long lastDrawnAt;
+    
+    /**
+     * One series plus its copy and downsample buffers
+     */
+    private static final class Line {
+        final TimeSeries series;
+        final Color color;
+        final long[] times;
+        final double[] values;
+        long[] sampledTimes = new long[0];
+        double[] sampledValues = new double[0];
+        long drawnVersion = -1;
+        
+        Line(TimeSeries series, Color color) {
+            this.series = series;
+            this.color = color;
+            this.times = new long[series.getCapacity()];
+            this.values = new double[series.getCapacity()];
+        }
+    }
+    
+    public LiveChart(String title, long windowMillis) {
+        this.windowMillis = windowMillis;
+        titleLabel = new Label(title);
+        titleLabel.getStyleClass().add("chart-title");
+        getStyleClass().add("live-chart");
+        getChildren().addAll(titleLabel, canvas);
+        setMinHeight(120);
+        setPrefHeight(180);
+    }
+    
+    public void addSeries(TimeSeries series, Color color) {
+        lines.add(new Line(series, color));
+        counts = new int[lines.size()];
+    }
+    
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+    
+    @Override
+    protected void layoutChildren() {
+        double titleHeight = titleLabel.prefHeight(getWidth());
+        titleLabel.resizeRelocate(PADDING, 0, getWidth() - 2 * PADDING, titleHeight);
+        double width = Math.max(0, getWidth() - 2 * PADDING);
+        double height = Math.max(0, getHeight() - titleHeight);
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            lastDrawnAt = 0;
+        }
+        canvas.relocate(PADDING, titleHeight);
+    }
+    
+    /**
+     * Redraw if any series changed or the window has scrolled by at least a pixel.
+     * Call once per frame on the FX thread.
+     */
+    public void redraw(long nowMillis) {
+        double width = canvas.getWidth();
+        double plotHeight = canvas.getHeight() - LEGEND_HEIGHT;
+        if (width < 2 || plotHeight < 2) {
+            return;
+        }
+        boolean changed = nowMillis - lastDrawnAt >= windowMillis / width;
+        for (Line line : lines) {
+            changed |= line.drawnVersion != line.series.getVersion();
+        }
+        if (!changed) {
+            return;
+        }
+        lastDrawnAt = nowMillis;
+        
+        // Copy and downsample first so the y scale covers every series
+        int pixels = Math.max(3, (int) width);
+        long from = nowMillis - windowMillis;
+        double max = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            Line line = lines.get(i);
+            line.drawnVersion = line.series.getVersion();
+            int copied = line.series.copySince(from, line.times, line.values);
+            if (line.sampledTimes.length < pixels) {
+                line.sampledTimes = new long[pixels];
+                line.sampledValues = new double[pixels];
+            }
+            counts[i] = Lttb.downsample(line.times, line.values, copied, pixels, line.sampledTimes, line.sampledValues);
+            for (int p = 0; p < counts[i]; p++) {
+                if (line.sampledValues[p] > max) {
+                    max = line.sampledValues[p];
+                }
+            }
+        }
+        double scale = niceCeiling(max);
+        
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        graphics.clearRect(0, 0, width, canvas.getHeight());
+        drawGrid(graphics, width, plotHeight, scale);
+        for (int i = 0; i < lines.size(); i++) {
+            drawLine(graphics, lines.get(i), counts[i], from, width, plotHeight, scale);
+        }
+        drawLegend(graphics, plotHeight);
+    }
+    
+    private void drawGrid(GraphicsContext graphics, double width, double plotHeight, double scale) {
+        graphics.setStroke(GRID);
+        graphics.setLineWidth(1);
+        graphics.setFill(AXIS_TEXT);
+        graphics.setTextAlign(TextAlignment.RIGHT);
+        graphics.setTextBaseline(VPos.TOP);
+        for (int step = 0; step <= 4; step++) {
+            double y = Math.round(plotHeight * step / 4.0) + 0.5;
+            graphics.strokeLine(0, y, width, y);
+            if (step < 4) {
+                graphics.fillText(formatValue(scale * (4 - step) / 4.0), width - 2, y + 1);
+            }
+        }
+    }
+    
+    private void drawLine(GraphicsContext graphics, Line line, int count, long from, double width,
+                          double plotHeight, double scale) {
+        graphics.setStroke(line.color);
+        graphics.setLineWidth(1.5);
+        graphics.beginPath();
+        boolean drawing = false;
+        for (int p = 0; p < count; p++) {
+            double x = (line.sampledTimes[p] - from) * width / windowMillis;
+            double value = line.sampledValues[p];
+            if (Double.isNaN(value)) {
+                drawing = false;
+                graphics.setFill(GAP_MARKER);
+                graphics.fillRect(x - 1.5, plotHeight - 3, 3, 3);
+                continue;
+            }
+            double y = plotHeight - value / scale * plotHeight;
+            if (drawing) {
+                graphics.lineTo(x, y);
+            } else {
+                graphics.moveTo(x, y);
+                drawing = true;
+            }
+        }
+        graphics.stroke();
+    }
+    
+    private void drawLegend(GraphicsContext graphics, double plotHeight) {
+        graphics.setTextAlign(TextAlignment.LEFT);
+        graphics.setTextBaseline(VPos.TOP);
+        double x = 0;
+        for (Line line : lines) {
+            graphics.setFill(line.color);
+            graphics.fillRect(x, plotHeight + 6, 8, 8);
+            String text = line.series.getName() + " " + formatValue(line.series.latest());
+            graphics.setFill(AXIS_TEXT);
+            graphics.fillText(text, x + 12, plotHeight + 3);
+            x += 24 + text.length() * 6.5;
+        }
+    }
+    
+    /**
+     * Round the axis maximum up to 1, 2 or 5 times a power of ten
+     */
+    static double niceCeiling(double value) {
+        if (!(value > 0)) {
+            return 1;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(value)));
+        double normalized = value / magnitude;
+        double nice = normalized <= 1 ? 1 : normalized <= 2 ? 2 : normalized <= 5 ? 5 : 10;
+        return nice * magnitude;
+    }
+    
+    private static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+        return value >= 100 ? String.format("%.0f", value) : String.format("%.1f", value);
+    }
+}
@@ -32,7 +32,7 @@ public class MainFrame extends BorderPane {
         
         // Initialize content area
         contentArea = new VBox();
-        contentArea.setStyle("-fx-background-color: #f5f5f5;");
+        contentArea.getStyleClass().add("content-area");
         contentArea.setPrefHeight(Double.MAX_VALUE);
         
         // Create center layout (sidebar + content)
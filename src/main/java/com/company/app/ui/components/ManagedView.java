@@ -0,0 +1,21 @@
+package com.company.app.ui.components;
+
+/**
+ * Managed View - Lifecycle hooks for views shown by the ViewRouter.
+ * A routed view is built once, swapped in and out of the content area while
+ * it stays cached, and disposed when the cache evicts it.
+ */
+public interface ManagedView {
+    
+    /**
+     * Called on the FX thread each time the view is swapped into the content area
+     */
+    default void onShow() {
+    }
+    
+    /**
+     * Called on the FX thread when the view is evicted; release listeners, threads and data
+     */
+    default void dispose() {
+    }
+}
@@ -28,14 +28,14 @@ public class NavigationBar extends HBox {
     private void initialize() {
         LoggerUtil.debug("Initializing NavigationBar");
         
-        this.setStyle("-fx-background-color: #2c3e50; -fx-padding: 10px;");
+        this.getStyleClass().add("navigation-bar");
         this.setSpacing(15);
         this.setAlignment(Pos.CENTER_LEFT);
         this.setPrefHeight(60);
         
         // App title
         appTitleLabel = new Label("Enterprise Application");
-        appTitleLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
+        appTitleLabel.getStyleClass().add("app-title");
         
         // Navigation buttons
         homeButton = createNavButton("Home");
@@ -71,9 +71,8 @@ public class NavigationBar extends HBox {
     
     private Button createNavButton(String text) {
         Button button = new Button(text);
-        button.setStyle("-fx-padding: 8px 15px; -fx-font-size: 12px; -fx-background-color: #34495e; -fx-text-fill: white;");
-        button.setOnMouseEntered(e -> button.setStyle("-fx-padding: 8px 15px; -fx-font-size: 12px; -fx-background-color: #3a5068; -fx-text-fill: white;"));
-        button.setOnMouseExited(e -> button.setStyle("-fx-padding: 8px 15px; -fx-font-size: 12px; -fx-background-color: #34495e; -fx-text-fill: white;"));
+        // Hover styling comes from the :hover pseudo-class in application.css
+        button.getStyleClass().add("nav-button");
         return button;
     }
     
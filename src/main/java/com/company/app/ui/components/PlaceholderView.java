@@ -0,0 +1,24 @@
+package com.company.app.ui.components;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Placeholder View component - Heading and short message for screens
+ * that have no content of their own yet.
+ */
+public class PlaceholderView extends VBox implements ManagedView {
+    
+    public PlaceholderView(String title, String message) {
+        LoggerUtil.debug("Initializing PlaceholderView: " + title);
+        
+        Label titleLabel = new Label(title);
+        titleLabel.getStyleClass().add("view-title");
+        Label messageLabel = new Label(message);
+        messageLabel.setWrapText(true);
+        
+        this.getStyleClass().add("placeholder-view");
+        this.getChildren().addAll(titleLabel, messageLabel);
+    }
+}
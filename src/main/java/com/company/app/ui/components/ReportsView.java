@@ -0,0 +1,260 @@
+package com.company.app.ui.components;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import com.company.app.service.AuditReport;
+import com.company.app.service.ReportEngine;
+import com.company.app.service.ReportJob;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Reports View component - Audit activity reports over a chosen date range.
+ * Reports and CSV exports run on the ReportEngine's workers; their progress
+ * and a cancel button are shown in the status bar. Progress updates are
+ * coalesced so the FX thread handles at most one pending update at a time.
+ */
+public class ReportsView extends VBox implements ManagedView {
+
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final ReportEngine engine;
+    private final StatusBar statusBar;
+    private final AtomicBoolean progressQueued = new AtomicBoolean();
+    private volatile double progressFraction;
+    private volatile long progressRows;
+    private DatePicker fromPicker;
+    private DatePicker toPicker;
+    private Button runButton;
+    private Button exportButton;
+    private Label summaryLabel;
+    private TableView<CountRow> actionTable;
+    private TableView<CountRow> userTable;
+    private TableView<CountRow> hourTable;
+    private ReportJob<?> running;
+    private String runningTask;
+
+    /**
+     * The view owns the engine and closes it when disposed
+     */
+    public ReportsView(ReportEngine engine, StatusBar statusBar) {
+        this.engine = engine;
+        this.statusBar = statusBar;
+        initialize();
+    }
+
+    private void initialize() {
+        LoggerUtil.debug("Initializing ReportsView");
+
+        this.setSpacing(10);
+        this.setPadding(new Insets(15));
+
+        Label title = new Label("Reports");
+        title.getStyleClass().add("view-title");
+
+        LocalDate today = LocalDate.now();
+        fromPicker = new DatePicker(today.minusDays(DEFAULT_RANGE_DAYS - 1));
+        toPicker = new DatePicker(today);
+        runButton = new Button("Run report");
+        runButton.setOnAction(e -> runReport());
+        exportButton = new Button("Export CSV...");
+        exportButton.setOnAction(e -> exportCsv());
+        HBox controls = new HBox(10, new Label("From"), fromPicker, new Label("To"), toPicker, runButton, exportButton);
+        controls.setAlignment(Pos.CENTER_LEFT);
+
+        summaryLabel = new Label("Choose a date range and run a report.");
+
+        actionTable = createTable("Action");
+        userTable = createTable("User");
+        hourTable = createTable("Hour");
+        TabPane tabs = new TabPane(
+            new Tab("By action", actionTable),
+            new Tab("Top users", userTable),
+            new Tab("By hour", hourTable));
+        tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        VBox.setVgrow(tabs, Priority.ALWAYS);
+
+        this.getChildren().addAll(title, controls, summaryLabel, tabs);
+
+        LoggerUtil.debug("ReportsView initialized successfully");
+    }
+
+    private static TableView<CountRow> createTable(String keyTitle) {
+        TableView<CountRow> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        TableColumn<CountRow, String> key = new TableColumn<>(keyTitle);
+        key.setPrefWidth(260);
+        key.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().key));
+        TableColumn<CountRow, Long> count = new TableColumn<>("Entries");
+        count.setPrefWidth(120);
+        count.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().count));
+        table.getColumns().add(key);
+        table.getColumns().add(count);
+        return table;
+    }
+
+    private void runReport() {
+        LocalDateTime[] range = selectedRange();
+        if (range == null) {
+            return;
+        }
+        ReportJob<AuditReport> job = engine.aggregate(range[0], range[1], this::onProgress);
+        track(job, "Running report");
+        job.getResult().whenCompleteAsync((report, error) -> {
+            if (finish(job, error, "Report")) {
+                showReport(report);
+                statusBar.hideProgress("Report ready: " + report.getRowCount() + " entries");
+            }
+        }, Platform::runLater);
+    }
+
+    private void exportCsv() {
+        LocalDateTime[] range = selectedRange();
+        if (range == null) {
+            return;
+        }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export audit log");
+        chooser.setInitialFileName("audit-log-" + fromPicker.getValue() + "-to-" + toPicker.getValue() + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showSaveDialog(getScene() == null ? null : getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        ReportJob<Long> job = engine.export(range[0], range[1], file.toPath(), this::onProgress);
+        track(job, "Exporting " + file.getName());
+        job.getResult().whenCompleteAsync((rows, error) -> {
+            if (finish(job, error, "Export")) {
+                statusBar.hideProgress("Exported " + rows + " entries to " + file.getName());
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Start of the first picked day to the end of the last, or null after telling the user why not
+     */
+    private LocalDateTime[] selectedRange() {
+        if (running != null) {
+            statusBar.setStatus(runningTask + " is still running");
+            return null;
+        }
+        LocalDate from = fromPicker.getValue();
+        LocalDate to = toPicker.getValue();
+        if (from == null || to == null || to.isBefore(from)) {
+            statusBar.setStatus("Choose a report range that ends on or after its first day");
+            return null;
+        }
+        return new LocalDateTime[]{from.atStartOfDay(), to.plusDays(1).atStartOfDay()};
+    }
+
+    private void track(ReportJob<?> job, String task) {
+        running = job;
+        runningTask = task;
+        progressFraction = 0;
+        progressRows = 0;
+        runButton.setDisable(true);
+        exportButton.setDisable(true);
+        statusBar.showProgress(task + "...", ProgressBar.INDETERMINATE_PROGRESS, job::cancel);
+    }
+
+    /**
+     * Clear the running job; true when it succeeded, otherwise the failure is already reported
+     */
+    private boolean finish(ReportJob<?> job, Throwable error, String task) {
+        if (running == job) {
+            running = null;
+            runButton.setDisable(false);
+            exportButton.setDisable(false);
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            statusBar.hideProgress(task + " cancelled");
+            return false;
+        } else if (cause != null) {
+            LoggerUtil.warn(task + " failed: " + cause.getMessage());
+            statusBar.hideProgress(task + " failed: " + cause.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Called from report workers; queues at most one status bar update at a time
+     */
+    private void onProgress(double fraction, long rows) {
+        progressFraction = fraction;
+        progressRows = rows;
+        if (progressQueued.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                progressQueued.set(false);
+                ReportJob<?> job = running;
+                if (job != null) {
+                    statusBar.showProgress(runningTask + " (" + progressRows + " rows)", progressFraction, job::cancel);
+                }
+            });
+        }
+    }
+
+    private void showReport(AuditReport report) {
+        List<CountRow> actions = new ArrayList<>();
+        report.getActionCounts().forEach((action, count) ->
+            actions.add(new CountRow(action.isEmpty() ? "(none)" : action, count)));
+        List<CountRow> users = new ArrayList<>();
+        report.getTopUsers().forEach(user -> users.add(new CountRow("User " + user.getUserId(), user.getCount())));
+        List<CountRow> hours = new ArrayList<>();
+        report.getHourlyCounts().forEach((hour, count) -> hours.add(new CountRow(HOUR_FORMAT.format(hour), count)));
+        actionTable.getItems().setAll(actions);
+        userTable.getItems().setAll(users);
+        hourTable.getItems().setAll(hours);
+        summaryLabel.setText(report.getRowCount() + " entries by " + report.getUserCounts().size() + " users from "
+            + report.getFrom().toLocalDate() + " to " + report.getTo().toLocalDate().minusDays(1));
+    }
+
+    /**
+     * Cancel a running report or export when the view is discarded
+     */
+    @Override
+    public void dispose() {
+        if (running != null) {
+            running.cancel();
+        }
+        engine.close();
+    }
+
+    /**
+     * One labelled count in a report table
+     */
+    private static final class CountRow {
+        final String key;
+        final long count;
+
+        CountRow(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+}
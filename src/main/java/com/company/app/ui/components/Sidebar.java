@@ -3,18 +3,35 @@ package com.company.app.ui.components;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.VBox;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.company.app.service.SearchHit;
 import com.company.app.util.LoggerUtil;
 
 /**
  * Sidebar component - Secondary navigation and context menu.
- * Provides hierarchical navigation and contextual options.
+ * Provides hierarchical navigation and contextual options, topped by a
+ * type-ahead search field whose results list stays hidden until there is
+ * something to show.
  */
 public class Sidebar extends VBox {
     
+    private static final double RESULT_ROW_HEIGHT = 40;
+    private static final int VISIBLE_RESULTS = 8;
+    
     private VBox navigationItems;
     private ScrollPane scrollPane;
+    private final Map<String, Button> menuItems = new LinkedHashMap<>();
+    private final Map<String, String> menuDescriptions = new LinkedHashMap<>();
+    private TextField searchField;
+    private ListView<SearchHit> searchResults;
     
     public Sidebar() {
         initialize();
@@ -23,15 +40,29 @@ public class Sidebar extends VBox {
     private void initialize() {
         LoggerUtil.debug("Initializing Sidebar");
         
-        this.setStyle("-fx-background-color: #ecf0f1; -fx-border-right: 1px solid #bdc3c7;");
+        this.getStyleClass().add("sidebar");
         this.setPrefWidth(250);
         this.setFillWidth(true);
         
+        // Search field and its results
+        searchField = new TextField();
+        searchField.setPromptText("Search users and pages");
+        searchField.getStyleClass().add("sidebar-search");
+        
+        searchResults = new ListView<>();
+        searchResults.getStyleClass().add("sidebar-search-results");
+        searchResults.setFixedCellSize(RESULT_ROW_HEIGHT);
+        searchResults.setCellFactory(list -> new SearchResultCell());
+        setSearchResultsVisible(false);
+        
+        VBox searchBox = new VBox(5, searchField, searchResults);
+        searchBox.setPadding(new Insets(15, 15, 0, 15));
+        
         // Navigation items container
         navigationItems = new VBox();
         navigationItems.setSpacing(5);
         navigationItems.setPadding(new Insets(15));
-        navigationItems.setStyle("-fx-background-color: #ecf0f1;");
+        navigationItems.getStyleClass().add("sidebar-items");
         
         // Add menu items
         navigationItems.getChildren().addAll(
@@ -45,9 +76,8 @@ public class Sidebar extends VBox {
         // Scroll pane
         scrollPane = new ScrollPane(navigationItems);
         scrollPane.setFitToWidth(true);
-        scrollPane.setStyle("-fx-control-inner-background: #ecf0f1;");
         
-        this.getChildren().add(scrollPane);
+        this.getChildren().addAll(searchBox, scrollPane);
         VBox.setVgrow(scrollPane, javafx.scene.layout.Priority.ALWAYS);
         
         LoggerUtil.debug("Sidebar initialized successfully");
@@ -57,19 +87,68 @@ public class Sidebar extends VBox {
         VBox itemBox = new VBox();
         itemBox.setSpacing(3);
         itemBox.setPadding(new Insets(8));
-        itemBox.setStyle("-fx-background-color: white; -fx-border-radius: 4; -fx-padding: 8;");
+        itemBox.getStyleClass().add("sidebar-item");
         
         Button titleButton = new Button(title);
         titleButton.setWrapText(true);
         titleButton.setMaxWidth(Double.MAX_VALUE);
-        titleButton.setStyle("-fx-font-weight: bold; -fx-text-alignment: left; -fx-padding: 8px; -fx-background-color: transparent;");
+        titleButton.getStyleClass().add("sidebar-item-title");
         
         Button descButton = new Button(description);
         descButton.setWrapText(true);
         descButton.setMaxWidth(Double.MAX_VALUE);
-        descButton.setStyle("-fx-font-size: 10px; -fx-text-fill: #7f8c8d; -fx-padding: 0; -fx-background-color: transparent;");
+        descButton.getStyleClass().add("sidebar-item-description");
         
         itemBox.getChildren().addAll(titleButton, descButton);
+        menuItems.put(title, titleButton);
+        menuDescriptions.put(title, description);
         return (Button) itemBox.getChildren().get(0);
     }
+    
+    /**
+     * Menu button for a navigation entry, e.g. "Users"
+     */
+    public Button getMenuItem(String title) {
+        return menuItems.get(title);
+    }
+    
+    /**
+     * Menu titles and their descriptions, in display order
+     */
+    public Map<String, String> getMenuEntries() {
+        return Collections.unmodifiableMap(menuDescriptions);
+    }
+    
+    public TextField getSearchField() {
+        return searchField;
+    }
+    
+    public ListView<SearchHit> getSearchResults() {
+        return searchResults;
+    }
+    
+    /**
+     * Replace the search results; an empty list hides them
+     */
+    public void showSearchResults(List<SearchHit> hits) {
+        searchResults.getItems().setAll(hits);
+        searchResults.setPrefHeight(Math.min(hits.size(), VISIBLE_RESULTS) * RESULT_ROW_HEIGHT + 2);
+        setSearchResultsVisible(!hits.isEmpty());
+    }
+    
+    private void setSearchResultsVisible(boolean visible) {
+        searchResults.setVisible(visible);
+        searchResults.setManaged(visible);
+    }
+    
+    /**
+     * Two-line cell: the username or page title over its email or description
+     */
+    private static class SearchResultCell extends ListCell<SearchHit> {
+        @Override
+        protected void updateItem(SearchHit hit, boolean empty) {
+            super.updateItem(hit, empty);
+            setText(empty || hit == null ? null : hit.getLabel() + "\n" + hit.getDetail());
+        }
+    }
 }
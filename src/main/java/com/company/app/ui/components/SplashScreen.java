@@ -0,0 +1,78 @@
+package com.company.app.ui.components;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * Splash Screen component - Window shown while the application boots.
+ * Built from shapes and text with no controls or stylesheets, so it appears
+ * before any CSS has been parsed. Progress updates may come from any thread.
+ */
+public class SplashScreen {
+    
+    private static final double WIDTH = 420;
+    private static final double HEIGHT = 180;
+    private static final double BAR_WIDTH = WIDTH - 60;
+    private static final Color BACKGROUND = Color.web("#2c3e50");
+    private static final Color ACCENT = Color.web("#3498db");
+    
+    private final Stage stage;
+    private final Text messageText;
+    private final Rectangle progressBar;
+    
+    public SplashScreen(String title) {
+        Text titleText = new Text(title);
+        titleText.setFont(Font.font(null, FontWeight.BOLD, 20));
+        titleText.setFill(Color.WHITE);
+        
+        messageText = new Text("Starting...");
+        messageText.setFill(Color.web("#bdc3c7"));
+        
+        Rectangle track = new Rectangle(BAR_WIDTH, 4, Color.web("#34495e"));
+        progressBar = new Rectangle(0, 4, ACCENT);
+        Pane bar = new Pane(track, progressBar);
+        bar.setMaxWidth(BAR_WIDTH);
+        
+        VBox root = new VBox(16, titleText, bar, messageText);
+        root.setAlignment(Pos.CENTER_LEFT);
+        root.setPadding(new Insets(30));
+        root.setBackground(new Background(new BackgroundFill(BACKGROUND, null, null)));
+        
+        stage = new Stage(StageStyle.UNDECORATED);
+        stage.setTitle(title);
+        stage.setScene(new Scene(root, WIDTH, HEIGHT, BACKGROUND));
+    }
+    
+    public void show() {
+        stage.show();
+    }
+    
+    /**
+     * Show a startup step and how far along startup is (0 to 1)
+     */
+    public void setProgress(String message, double progress) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> setProgress(message, progress));
+            return;
+        }
+        messageText.setText(message);
+        progressBar.setWidth(BAR_WIDTH * Math.max(0, Math.min(1, progress)));
+    }
+    
+    public void close() {
+        stage.close();
+    }
+}
@@ -1,8 +1,11 @@
 package com.company.app.ui.components;
 
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -10,13 +13,18 @@ import com.company.app.util.LoggerUtil;
 
 /**
  * Status Bar component - Bottom status information display.
- * Shows application status, connection status, and user information.
+ * Shows application status, connection status, and user information,
+ * plus a progress bar with a cancel button while a background task runs.
  */
 public class StatusBar extends HBox {
     
+    private static final PseudoClass CONNECTED = PseudoClass.getPseudoClass("connected");
+    
     private Label statusLabel;
     private Label connectionLabel;
     private Label timeLabel;
+    private ProgressBar progressBar;
+    private Button cancelButton;
     
     public StatusBar() {
         initialize();
@@ -25,22 +33,29 @@ public class StatusBar extends HBox {
     private void initialize() {
         LoggerUtil.debug("Initializing StatusBar");
         
-        this.setStyle("-fx-background-color: #34495e; -fx-padding: 8px 15px;");
+        this.getStyleClass().add("status-bar");
         this.setSpacing(20);
         this.setAlignment(Pos.CENTER_LEFT);
         this.setPrefHeight(35);
         
         // Status label
         statusLabel = new Label("Ready");
-        statusLabel.setStyle("-fx-text-fill: white; -fx-font-size: 11px;");
         
         // Connection label
         connectionLabel = new Label("● Connected");
-        connectionLabel.setStyle("-fx-text-fill: #2ecc71; -fx-font-size: 11px;");
+        connectionLabel.getStyleClass().add("connection-indicator");
+        connectionLabel.pseudoClassStateChanged(CONNECTED, true);
         
         // Time label (right-aligned)
         timeLabel = new Label("Last updated: --:--:--");
-        timeLabel.setStyle("-fx-text-fill: #bdc3c7; -fx-font-size: 11px;");
+        timeLabel.getStyleClass().add("last-updated");
+        
+        // Background task progress, hidden until a task reports
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(160);
+        cancelButton = new Button("Cancel");
+        cancelButton.getStyleClass().add("status-cancel");
+        setProgressVisible(false);
         
         // Spacer
         Region spacer = new Region();
@@ -49,6 +64,8 @@ public class StatusBar extends HBox {
         this.getChildren().addAll(
             statusLabel,
             connectionLabel,
+            progressBar,
+            cancelButton,
             spacer,
             timeLabel
         );
@@ -61,13 +78,40 @@ public class StatusBar extends HBox {
     }
     
     public void setConnectionStatus(String status, boolean connected) {
-        String color = connected ? "#2ecc71" : "#e74c3c";
         String indicator = connected ? "●" : "○";
         connectionLabel.setText(indicator + " " + status);
-        connectionLabel.setStyle("-fx-text-fill: " + color + "; -fx-font-size: 11px;");
+        // Color comes from the :connected pseudo-class; no-op when the state is unchanged
+        connectionLabel.pseudoClassStateChanged(CONNECTED, connected);
     }
     
     public void setLastUpdated(String time) {
         timeLabel.setText("Last updated: " + time);
     }
+    
+    /**
+     * Show a running task; progress below 0 is indeterminate and onCancel may be null
+     */
+    public void showProgress(String status, double progress, Runnable onCancel) {
+        statusLabel.setText(status);
+        progressBar.setProgress(progress);
+        cancelButton.setOnAction(onCancel == null ? null : e -> onCancel.run());
+        cancelButton.setDisable(onCancel == null);
+        setProgressVisible(true);
+    }
+    
+    /**
+     * Hide the progress bar and leave a final status
+     */
+    public void hideProgress(String status) {
+        statusLabel.setText(status);
+        cancelButton.setOnAction(null);
+        setProgressVisible(false);
+    }
+    
+    private void setProgressVisible(boolean visible) {
+        progressBar.setVisible(visible);
+        progressBar.setManaged(visible);
+        cancelButton.setVisible(visible);
+        cancelButton.setManaged(visible);
+    }
 }
@@ -0,0 +1,311 @@
+package com.company.app.ui.components;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import javafx.collections.ObservableListBase;
+import com.company.app.integration.RowChange;
+import com.company.app.model.User;
+import com.company.app.service.UserStore;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * User Row List - Virtual, page-loaded list of users for a TableView.
+ * Reports the full table size but only holds a bounded number of pages; rows
+ * that are not loaded yet read as LOADING and are filled in by an update event
+ * once their page arrives from the background loader. Pages are fetched by
+ * keyset from the neighbouring page's first or last username, and the next
+ * pages in the scroll direction are prefetched. Reported row changes are
+ * applied in place: loaded pages are re-read behind the rows already shown.
+ * Any update triggers that re-read, since a rename can move a user from
+ * anywhere into the loaded range; changes arriving while one is running are
+ * folded into a single follow-up pass.
+ * All state is confined to the UI thread; only store calls run on the loader.
+ */
+public class UserRowList extends ObservableListBase<User> {
+
+    /**
+     * Stand-in for rows whose page has not been loaded yet
+     */
+    public static final User LOADING = new User(0, "Loading...", "", null);
+
+    private final UserStore store;
+    private final int pageSize;
+    private final int prefetchPages;
+    private final Executor loader;
+    private final Executor uiExecutor;
+    private final Map<Integer, List<User>> pages;
+    // Keyset anchors survive page eviction so any visited region can be re-read by index
+    private final Map<Integer, String> firstKeys = new HashMap<>();
+    private final Map<Integer, String> lastKeys = new HashMap<>();
+    private final Set<Integer> inFlight = new HashSet<>();
+    private final Set<Integer> deferred = new HashSet<>();
+    private int size;
+    private int lastPage = -1;
+    private int direction = 1;
+    private int generation;
+    private boolean refreshing;
+    private boolean refreshAgain;
+
+    public UserRowList(UserStore store, int pageSize, int maxCachedPages, int prefetchPages,
+                       Executor loader, Executor uiExecutor) {
+        this.store = store;
+        this.pageSize = Math.max(1, pageSize);
+        this.prefetchPages = Math.max(0, prefetchPages);
+        this.loader = loader;
+        this.uiExecutor = uiExecutor;
+        int capacity = Math.max(1 + 2 * this.prefetchPages, maxCachedPages);
+        this.pages = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<User>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Drop every loaded page and re-read the row count
+     */
+    public void reload() {
+        int generationAtStart = ++generation;
+        pages.clear();
+        firstKeys.clear();
+        lastKeys.clear();
+        inFlight.clear();
+        deferred.clear();
+        lastPage = -1;
+        loader.execute(() -> {
+            try {
+                int count = store.count();
+                uiExecutor.execute(() -> onCountLoaded(generationAtStart, count));
+            } catch (Exception e) {
+                LoggerUtil.error("Failed to count users", e);
+            }
+        });
+    }
+
+    /**
+     * Bring loaded rows up to date with changed users without dropping the list
+     */
+    public void applyChanges(List<RowChange> changes) {
+        boolean structural = false;
+        for (RowChange change : changes) {
+            structural |= change.getOp() != RowChange.Op.UPDATE;
+        }
+        if (structural) {
+            int generationAtStart = generation;
+            loader.execute(() -> {
+                try {
+                    int count = store.count();
+                    uiExecutor.execute(() -> onRecounted(generationAtStart, count));
+                } catch (Exception e) {
+                    LoggerUtil.error("Failed to count users", e);
+                }
+            });
+            return;
+        }
+        if (!changes.isEmpty()) {
+            // A rename can move a row into or across the loaded pages, whoever it belonged to
+            refreshLoadedPages();
+        }
+    }
+
+    private void onRecounted(int generationAtStart, int count) {
+        if (generationAtStart != generation) {
+            return;
+        }
+        if (count != size) {
+            int previous = size;
+            size = count;
+            // Rows shifted, so every anchor may point at the wrong page now
+            firstKeys.clear();
+            lastKeys.clear();
+            pages.keySet().removeIf(page -> page * (long) pageSize >= count);
+            beginChange();
+            if (count > previous) {
+                nextAdd(previous, count);
+            } else {
+                nextRemove(count, Collections.nCopies(previous - count, LOADING));
+            }
+            endChange();
+        }
+        refreshLoadedPages();
+    }
+
+    /**
+     * Re-read every loaded page in one background pass, keeping the old rows on
+     * screen until the new ones land. Runs of adjacent pages chain by keyset from
+     * the page just read; only the first page of a run that is not at the top
+     * needs an OFFSET.
+     */
+    private void refreshLoadedPages() {
+        if (refreshing) {
+            refreshAgain = true;
+            return;
+        }
+        List<Integer> loaded = new ArrayList<>(pages.keySet());
+        if (loaded.isEmpty()) {
+            return;
+        }
+        refreshing = true;
+        Collections.sort(loaded);
+        int generationAtStart = generation;
+        loader.execute(() -> {
+            Map<Integer, List<User>> fresh = new LinkedHashMap<>();
+            try {
+                String anchor = null;
+                int previous = -2;
+                for (int page : loaded) {
+                    List<User> rows;
+                    if (page == 0) {
+                        rows = store.pageAfter(null, pageSize);
+                    } else if (page == previous + 1 && anchor != null) {
+                        rows = store.pageAfter(anchor, pageSize);
+                    } else {
+                        rows = store.pageAt((long) page * pageSize, pageSize);
+                    }
+                    fresh.put(page, rows);
+                    anchor = rows.isEmpty() ? null : rows.get(rows.size() - 1).getUsername();
+                    previous = page;
+                }
+            } catch (Exception e) {
+                LoggerUtil.error("Failed to refresh users", e);
+            }
+            uiExecutor.execute(() -> {
+                fresh.forEach((page, rows) -> onPageLoaded(generationAtStart, page, rows));
+                refreshing = false;
+                if (refreshAgain) {
+                    refreshAgain = false;
+                    refreshLoadedPages();
+                }
+            });
+        });
+    }
+
+    @Override
+    public User get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of 0.." + size);
+        }
+        int page = index / pageSize;
+        if (page != lastPage) {
+            direction = page >= lastPage ? 1 : -1;
+            lastPage = page;
+            request(page);
+            for (int ahead = 1; ahead <= prefetchPages; ahead++) {
+                request(page + ahead * direction);
+            }
+        }
+        List<User> rows = pages.get(page);
+        int offset = index - page * pageSize;
+        return rows != null && offset < rows.size() ? rows.get(offset) : LOADING;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    private void onCountLoaded(int generationAtStart, int count) {
+        if (generationAtStart != generation) {
+            return;
+        }
+        int previous = size;
+        size = count;
+        beginChange();
+        if (previous > 0) {
+            nextRemove(0, Collections.nCopies(previous, LOADING));
+        }
+        if (count > 0) {
+            nextAdd(0, count);
+        }
+        endChange();
+    }
+
+    private void request(int page) {
+        if (page < 0 || page * (long) pageSize >= size || pages.containsKey(page) || inFlight.contains(page)) {
+            return;
+        }
+        String after = page == 0 ? null : lastKeys.get(page - 1);
+        String before = firstKeys.get(page + 1);
+        if (page != 0 && after == null && before == null
+                && (inFlight.contains(page - 1) || inFlight.contains(page + 1))) {
+            // A neighbour is on its way; wait for its keyset instead of paying for an OFFSET scan
+            deferred.add(page);
+            return;
+        }
+        inFlight.add(page);
+        int generationAtStart = generation;
+        loader.execute(() -> {
+            try {
+                List<User> rows;
+                if (page == 0 || after != null) {
+                    rows = store.pageAfter(after, pageSize);
+                } else if (before != null) {
+                    rows = store.pageBefore(before, pageSize);
+                } else {
+                    rows = store.pageAt((long) page * pageSize, pageSize);
+                }
+                uiExecutor.execute(() -> onPageLoaded(generationAtStart, page, rows));
+            } catch (Exception e) {
+                LoggerUtil.error("Failed to load users page " + page, e);
+                uiExecutor.execute(() -> onPageFailed(generationAtStart, page));
+            }
+        });
+    }
+
+    private void onPageFailed(int generationAtStart, int page) {
+        if (generationAtStart == generation) {
+            inFlight.remove(page);
+            releaseDeferred(page);
+        }
+    }
+
+    private void releaseDeferred(int page) {
+        if (deferred.remove(page + 1)) {
+            request(page + 1);
+        }
+        if (deferred.remove(page - 1)) {
+            request(page - 1);
+        }
+    }
+
+    private void onPageLoaded(int generationAtStart, int page, List<User> rows) {
+        if (generationAtStart != generation) {
+            return;
+        }
+        inFlight.remove(page);
+        pages.put(page, rows);
+        if (!rows.isEmpty()) {
+            firstKeys.put(page, rows.get(0).getUsername());
+            lastKeys.put(page, rows.get(rows.size() - 1).getUsername());
+        }
+        // Neighbours waiting on this page load now, by keyset when it had rows and by offset otherwise
+        releaseDeferred(page);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int from = page * pageSize;
+        int to = Math.min(size, from + rows.size());
+        beginChange();
+        for (int index = from; index < to; index++) {
+            nextUpdate(index);
+        }
+        endChange();
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.app.ui.components;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import com.company.app.integration.ChangeListener;
+import com.company.app.integration.RowChange;
+import com.company.app.model.User;
+import com.company.app.service.UserStore;
+import com.company.app.util.ConfigurationManager;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Users View component - Scrollable table of all user accounts.
+ * The table is virtualized: it only creates cells for visible rows, and the
+ * rows themselves come from a UserRowList that keeps a bounded window of
+ * pages in memory, so memory and scroll cost stay flat as the table grows.
+ * Revisits show the pages already loaded, kept current by the store's change
+ * events; only an explicit refresh (F5) re-reads from the first page.
+ */
+public class UsersView extends VBox implements ManagedView {
+
+    private static final DateTimeFormatter CREATED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final double ROW_HEIGHT = 24;
+
+    private final ExecutorService loader;
+    private final UserStore store;
+    private final UserRowList rows;
+    private final ChangeListener storeChanged = this::onStoreChanged;
+    private TableView<User> table;
+    private Label countLabel;
+
+    public UsersView(UserStore store) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.store = store;
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "users-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rows = new UserRowList(store,
+            config.getIntProperty("ui.users.pageSize", 200),
+            config.getIntProperty("ui.users.cachedPages", 20),
+            config.getIntProperty("ui.users.prefetchPages", 2),
+            loader, Platform::runLater);
+        initialize();
+        // Stores fed by a change feed or a background sync report which users changed
+        store.addChangeListener(storeChanged);
+    }
+
+    private void initialize() {
+        LoggerUtil.debug("Initializing UsersView");
+
+        this.setSpacing(10);
+        this.setPadding(new Insets(15));
+
+        countLabel = new Label("Loading users...");
+
+        table = new TableView<>(rows);
+        // Fixed row height lets the virtual flow skip measuring every row
+        table.setFixedCellSize(ROW_HEIGHT);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.getColumns().add(createColumn("ID", 80, user -> user == UserRowList.LOADING ? "" : String.valueOf(user.getId())));
+        table.getColumns().add(createColumn("Username", 200, User::getUsername));
+        table.getColumns().add(createColumn("Email", 260, User::getEmail));
+        table.getColumns().add(createColumn("Created", 140,
+            user -> user.getCreatedAt() == null ? "" : CREATED_FORMAT.format(user.getCreatedAt())));
+        VBox.setVgrow(table, Priority.ALWAYS);
+        table.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.F5) {
+                refresh();
+            }
+        });
+
+        // Re-render visible cells when a page lands in place of its placeholders
+        rows.addListener((ListChangeListener<User>) change -> {
+            boolean resized = false;
+            boolean updated = false;
+            while (change.next()) {
+                resized |= change.wasAdded() || change.wasRemoved();
+                updated |= change.wasUpdated();
+            }
+            if (resized) {
+                countLabel.setText(rows.size() + " users");
+            } else if (updated) {
+                table.refresh();
+            }
+        });
+
+        this.getChildren().addAll(countLabel, table);
+        rows.reload();
+
+        LoggerUtil.debug("UsersView initialized successfully");
+    }
+
+    private static TableColumn<User, String> createColumn(String title, double width,
+                                                          Function<User, String> value) {
+        TableColumn<User, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        // The list is ordered by the username index; client-side sorting would load every page
+        column.setSortable(false);
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private void onStoreChanged(List<RowChange> changes) {
+        Platform.runLater(() -> rows.applyChanges(changes));
+    }
+
+    /**
+     * Reload the table from the first page
+     */
+    public void refresh() {
+        rows.reload();
+    }
+
+    /**
+     * Stop the background loader when the view is discarded
+     */
+    @Override
+    public void dispose() {
+        store.removeChangeListener(storeChanged);
+        loader.shutdownNow();
+    }
+
+    public TableView<User> getTable() {
+        return table;
+    }
+}
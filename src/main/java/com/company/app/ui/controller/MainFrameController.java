@@ -1,9 +1,45 @@
 package com.company.app.ui.controller;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.input.KeyCode;
 import javafx.stage.Stage;
+import com.company.app.integration.ChangeFeed;
+import com.company.app.integration.DatabaseClient;
+import com.company.app.service.AuditColumnCache;
+import com.company.app.service.AuditService;
+import com.company.app.service.ContainerServiceManager;
+import com.company.app.service.HealthListener;
+import com.company.app.service.JdbcAuditLog;
+import com.company.app.service.JdbcUserStore;
+import com.company.app.service.ReportEngine;
+import com.company.app.service.SearchHit;
+import com.company.app.service.SearchService;
+import com.company.app.service.ServiceRegistration;
+import com.company.app.service.ServiceSampler;
+import com.company.app.service.ServiceState;
+import com.company.app.service.ServiceStateListener;
+import com.company.app.service.SnapshotUserStore;
+import com.company.app.service.UserStore;
+import com.company.app.ui.components.DashboardView;
 import com.company.app.ui.components.MainFrame;
+import com.company.app.ui.components.PlaceholderView;
+import com.company.app.ui.components.ReportsView;
+import com.company.app.ui.components.Sidebar;
+import com.company.app.ui.components.UsersView;
 import com.company.app.theme.ThemeManager;
+import com.company.app.util.ConfigurationManager;
 import com.company.app.util.LoggerUtil;
 
 /**
@@ -12,32 +48,74 @@ import com.company.app.util.LoggerUtil;
  */
 public class MainFrameController {
     
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final String HOME_ROUTE = "home";
+    private static final String DASHBOARD_ROUTE = "dashboard";
+    private static final String SETTINGS_ROUTE = "settings";
+    private static final String USERS_ROUTE = "users";
+    private static final String REPORTS_ROUTE = "reports";
+    
     private MainFrame mainFrame;
     private Stage primaryStage;
     private Scene scene;
+    private final AtomicBoolean indicatorQueued = new AtomicBoolean();
+    private final ServiceStateListener serviceStateChanged = (previous, current) -> queueConnectionStatus();
+    private final HealthListener healthChecked = result -> queueConnectionStatus();
+    private ViewRouter router;
+    private CompletableFuture<UserStore> userStore;
+    private ChangeFeed changeFeed;
+    private AuditColumnCache auditCache;
     
     public MainFrameController() {
         LoggerUtil.debug("Initializing MainFrameController");
     }
     
     public void initialize(Stage primaryStage) {
+        initialize(primaryStage, new MainFrame());
+    }
+    
+    /**
+     * Attach a main frame that was built ahead of time, e.g. off the FX thread during startup
+     */
+    public void initialize(Stage primaryStage, MainFrame mainFrame) {
         this.primaryStage = primaryStage;
-        
-        // Create main frame component
-        mainFrame = new MainFrame();
+        this.mainFrame = mainFrame;
         
         // Create scene
         scene = new Scene(mainFrame, 1200, 800);
         
-        // Apply theme
-        ThemeManager.getInstance().setTheme("light", scene);
+        // Apply theme; extra themes can be dropped into ui.themes.dir as properties files
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        ThemeManager themes = ThemeManager.getInstance();
+        String themesDir = config.getProperty("ui.themes.dir");
+        if (themesDir != null && !themesDir.isBlank()) {
+            themes.loadThemes(Paths.get(themesDir));
+        }
+        themes.setTheme(config.getProperty("ui.theme", "light"), scene);
         
         // Set scene on stage
         primaryStage.setScene(scene);
         
+        // Row changes pushed from the database, shared by everything below that reads users
+        changeFeed = openChangeFeed();
+        
+        // Columnar copy of audit_log that answers reports without a database round trip
+        auditCache = openAuditCache(config);
+        
+        // Content views are built on first visit, off the FX thread
+        setupRoutes(config);
+        
         // Setup event handlers
         setupEventHandlers();
         
+        // Index users and menu entries in the background for the sidebar search
+        setupSearch();
+        
+        // Keep connection indicator in sync with service states
+        startConnectionIndicator();
+        
+        router.navigate(HOME_ROUTE);
+        
         LoggerUtil.info("MainFrameController initialized successfully");
     }
     
@@ -46,27 +124,263 @@ public class MainFrameController {
         mainFrame.getNavigationBar().getHomeButton().setOnAction(e -> handleHomeAction());
         mainFrame.getNavigationBar().getDashboardButton().setOnAction(e -> handleDashboardAction());
         mainFrame.getNavigationBar().getSettingsButton().setOnAction(e -> handleSettingsAction());
+        
+        // Sidebar handlers
+        mainFrame.getSidebar().getMenuItem("Dashboard").setOnAction(e -> handleDashboardAction());
+        mainFrame.getSidebar().getMenuItem("Users").setOnAction(e -> handleUsersAction());
+        mainFrame.getSidebar().getMenuItem("Reports").setOnAction(e -> handleReportsAction());
+        mainFrame.getSidebar().getMenuItem("Settings").setOnAction(e -> handleSettingsAction());
+    }
+    
+    private void setupSearch() {
+        Sidebar sidebar = mainFrame.getSidebar();
+        SearchService search = SearchService.getInstance();
+        sidebar.getMenuEntries().forEach(search::addNavigation);
+        DatabaseClient database = (DatabaseClient) ContainerServiceManager.getInstance()
+            .getService(ContainerServiceManager.DATABASE_SERVICE);
+        search.start(new JdbcUserStore(database, changeFeed));
+        
+        // Each keystroke cancels the previous query; a result that lands after the text moved on is dropped
+        sidebar.getSearchField().textProperty().addListener((observable, previous, text) ->
+            search.search(text).thenAcceptAsync(hits -> {
+                if (text.equals(sidebar.getSearchField().getText())) {
+                    sidebar.showSearchResults(hits);
+                }
+            }, Platform::runLater));
+        sidebar.getSearchField().setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER && !sidebar.getSearchResults().getItems().isEmpty()) {
+                openSearchHit(sidebar.getSearchResults().getItems().get(0));
+            } else if (e.getCode() == KeyCode.ESCAPE) {
+                sidebar.getSearchField().clear();
+            }
+        });
+        sidebar.getSearchResults().setOnMouseClicked(e ->
+            openSearchHit(sidebar.getSearchResults().getSelectionModel().getSelectedItem()));
+    }
+    
+    private void openSearchHit(SearchHit hit) {
+        if (hit == null) {
+            return;
+        }
+        Sidebar sidebar = mainFrame.getSidebar();
+        sidebar.getSearchField().clear();
+        if (hit.getKind() == SearchHit.Kind.USER) {
+            handleUsersAction();
+            mainFrame.getStatusBar().setStatus("User " + hit.getLabel() + " <" + hit.getDetail() + ">");
+            return;
+        }
+        Button menuItem = sidebar.getMenuItem(hit.getLabel());
+        if (menuItem != null && menuItem.getOnAction() != null) {
+            menuItem.fire();
+        } else {
+            mainFrame.getStatusBar().setStatus(hit.getLabel() + " is not available yet");
+        }
+    }
+    
+    private void setupRoutes(ConfigurationManager config) {
+        Executor viewBuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "view-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        router = new ViewRouter(mainFrame.getContentArea(), config.getIntProperty("ui.router.cacheSize", 4),
+            viewBuilder, Platform::runLater);
+        // Opened on the builder thread, so the Users view factory below always finds it ready
+        userStore = CompletableFuture.supplyAsync(() -> openUserStore(config), viewBuilder)
+            .exceptionally(error -> {
+                // A broken snapshot must not take the Users route down with it
+                LoggerUtil.error("Failed to open the users store, reading users from the database", error);
+                return new JdbcUserStore((DatabaseClient) ContainerServiceManager.getInstance()
+                    .getService(ContainerServiceManager.DATABASE_SERVICE), changeFeed);
+            });
+        router.register(HOME_ROUTE, () -> new PlaceholderView("Home",
+            "Welcome to " + config.getProperty("app.name", "the application") + "."));
+        router.register(DASHBOARD_ROUTE, () -> new DashboardView(ServiceSampler.getInstance(),
+            ContainerServiceManager.getInstance().getServiceIds(),
+            config.getDurationProperty("ui.dashboard.window", Duration.ofMinutes(5)).toMillis()));
+        router.register(SETTINGS_ROUTE, () -> new PlaceholderView("Settings", "Application settings will appear here."));
+        router.register(USERS_ROUTE, () -> new UsersView(userStore.join()));
+        router.register(REPORTS_ROUTE, () -> new ReportsView(
+            ReportEngine.fromConfiguration((DatabaseClient) ContainerServiceManager.getInstance()
+                .getService(ContainerServiceManager.DATABASE_SERVICE), auditCache),
+            mainFrame.getStatusBar()));
+    }
+    
+    /**
+     * Start the users and audit_log change feed; it connects on its own once the database is up
+     */
+    private ChangeFeed openChangeFeed() {
+        DatabaseClient database = (DatabaseClient) ContainerServiceManager.getInstance()
+            .getService(ContainerServiceManager.DATABASE_SERVICE);
+        ChangeFeed feed = ChangeFeed.fromConfiguration(database);
+        feed.start();
+        return feed;
+    }
+    
+    /**
+     * Load audit_log into the column cache in the background; null when ui.auditCache.maxBytes is 0
+     */
+    private AuditColumnCache openAuditCache(ConfigurationManager config) {
+        long maxBytes = config.getLongProperty("ui.auditCache.maxBytes", 64L << 20);
+        if (maxBytes <= 0) {
+            return null;
+        }
+        DatabaseClient database = (DatabaseClient) ContainerServiceManager.getInstance()
+            .getService(ContainerServiceManager.DATABASE_SERVICE);
+        AuditColumnCache cache = new AuditColumnCache(new JdbcAuditLog(database),
+            AuditColumnCache.DEFAULT_CHUNK_ROWS, maxBytes);
+        cache.start(config.getDurationProperty("ui.auditCache.refreshInterval", Duration.ofMinutes(1))
+            .toMillis(), changeFeed);
+        return cache;
+    }
+    
+    /**
+     * Users from the local snapshot when it can be opened, otherwise straight from the database
+     */
+    private UserStore openUserStore(ConfigurationManager config) {
+        DatabaseClient database = (DatabaseClient) ContainerServiceManager.getInstance()
+            .getService(ContainerServiceManager.DATABASE_SERVICE);
+        UserStore live = new JdbcUserStore(database, changeFeed);
+        String directory = config.getProperty("ui.snapshot.dir", "");
+        if (directory.isBlank()) {
+            return live;
+        }
+        try {
+            SnapshotUserStore store = SnapshotUserStore.open(live, Paths.get(directory, "users.snapshot"),
+                config.getLongProperty("ui.snapshot.maxBytes", 64L << 20),
+                config.getDurationProperty("ui.snapshot.resyncInterval", Duration.ofHours(24)).toMillis());
+            store.start(config.getDurationProperty("ui.snapshot.syncInterval", Duration.ofSeconds(30)).toMillis());
+            return store;
+        } catch (IOException e) {
+            LoggerUtil.warn("Users snapshot unavailable, reading users from the database: " + e.getMessage());
+            return live;
+        }
+    }
+    
+    /**
+     * Switch the content area to a route; the status bar shows progress while a first visit builds
+     */
+    private void navigate(String route, String title) {
+        mainFrame.getStatusBar().setStatus("Navigating to " + title);
+        // Builds complete on the FX thread, so the callback can touch the status bar directly
+        router.navigate(route).whenComplete((view, error) -> {
+            if (error != null) {
+                mainFrame.getStatusBar().setStatus("Failed to open " + title);
+            }
+        });
+    }
+    
+    /**
+     * Redraw the indicator on every service transition and health sweep instead of polling
+     */
+    private void startConnectionIndicator() {
+        ContainerServiceManager manager = ContainerServiceManager.getInstance();
+        manager.addServiceStateListener(serviceStateChanged);
+        manager.addHealthListener(healthChecked);
+        refreshConnectionStatus();
+    }
+    
+    /**
+     * Called on service threads; one queued refresh covers a burst of transitions
+     */
+    private void queueConnectionStatus() {
+        if (indicatorQueued.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                indicatorQueued.set(false);
+                refreshConnectionStatus();
+            });
+        }
+    }
+    
+    /**
+     * Update the status bar from a snapshot of service states; never probes the network
+     */
+    private void refreshConnectionStatus() {
+        Map<String, ServiceRegistration> services = ContainerServiceManager.getInstance().getRegistrations();
+        if (services.isEmpty()) {
+            return;
+        }
+        
+        int up = 0;
+        boolean starting = false;
+        for (ServiceRegistration service : services.values()) {
+            if (service.getState() == ServiceState.UP) {
+                up++;
+            } else if (service.getState() == ServiceState.REGISTERED || service.getState() == ServiceState.CONNECTING) {
+                starting = true;
+            }
+        }
+        
+        if (up == services.size()) {
+            mainFrame.getStatusBar().setConnectionStatus("Connected", true);
+        } else if (starting) {
+            mainFrame.getStatusBar().setConnectionStatus("Connecting (" + up + "/" + services.size() + " up)", false);
+        } else {
+            mainFrame.getStatusBar().setConnectionStatus("Degraded (" + up + "/" + services.size() + " up)", false);
+        }
+        mainFrame.getStatusBar().setLastUpdated(LocalTime.now().format(TIME_FORMAT));
     }
     
     private void handleHomeAction() {
         LoggerUtil.debug("Home button clicked");
-        mainFrame.getStatusBar().setStatus("Navigating to Home");
+        navigate(HOME_ROUTE, "Home");
+        AuditService.getInstance().record("NAVIGATE_HOME");
     }
     
     private void handleDashboardAction() {
         LoggerUtil.debug("Dashboard button clicked");
-        mainFrame.getStatusBar().setStatus("Navigating to Dashboard");
+        navigate(DASHBOARD_ROUTE, "Dashboard");
+        AuditService.getInstance().record("NAVIGATE_DASHBOARD");
+    }
+    
+    private void handleUsersAction() {
+        LoggerUtil.debug("Users menu item clicked");
+        navigate(USERS_ROUTE, "Users");
+        AuditService.getInstance().record("NAVIGATE_USERS");
+    }
+    
+    private void handleReportsAction() {
+        LoggerUtil.debug("Reports menu item clicked");
+        navigate(REPORTS_ROUTE, "Reports");
+        AuditService.getInstance().record("NAVIGATE_REPORTS");
     }
     
     private void handleSettingsAction() {
         LoggerUtil.debug("Settings button clicked");
-        mainFrame.getStatusBar().setStatus("Navigating to Settings");
+        navigate(SETTINGS_ROUTE, "Settings");
+        AuditService.getInstance().record("NAVIGATE_SETTINGS");
+    }
+    
+    /**
+     * Stop background work owned by the window before the application exits
+     */
+    public void shutdown() {
+        ContainerServiceManager.getInstance().removeServiceStateListener(serviceStateChanged);
+        ContainerServiceManager.getInstance().removeHealthListener(healthChecked);
+        UserStore store = userStore == null ? null : userStore.getNow(null);
+        if (store instanceof SnapshotUserStore) {
+            try {
+                ((SnapshotUserStore) store).close();
+            } catch (IOException e) {
+                LoggerUtil.warn("Failed to close users snapshot: " + e.getMessage());
+            }
+        }
+        if (auditCache != null) {
+            auditCache.close();
+        }
+        if (changeFeed != null) {
+            changeFeed.close();
+        }
     }
     
     public MainFrame getMainFrame() {
         return mainFrame;
     }
     
+    public ViewRouter getRouter() {
+        return router;
+    }
+    
     public Stage getPrimaryStage() {
         return primaryStage;
     }
@@ -0,0 +1,84 @@
+package com.company.app.ui.controller;
+
+/**
+ * Route Stats - Point-in-time navigation figures for one route.
+ * Latency runs from the navigate() call until the view is in the content
+ * area, so a first visit includes the background build.
+ */
+public class RouteStats {
+    
+    private final String route;
+    private final long navigations;
+    private final long cacheHits;
+    private final long builds;
+    private final long failures;
+    private final long lastNanos;
+    private final long maxNanos;
+    private final long totalNanos;
+    private final long lastBuildNanos;
+    
+    public RouteStats(String route, long navigations, long cacheHits, long builds, long failures,
+                      long lastNanos, long maxNanos, long totalNanos, long lastBuildNanos) {
+        this.route = route;
+        this.navigations = navigations;
+        this.cacheHits = cacheHits;
+        this.builds = builds;
+        this.failures = failures;
+        this.lastNanos = lastNanos;
+        this.maxNanos = maxNanos;
+        this.totalNanos = totalNanos;
+        this.lastBuildNanos = lastBuildNanos;
+    }
+    
+    public String getRoute() {
+        return route;
+    }
+    
+    /**
+     * Navigations that ended with this route on screen
+     */
+    public long getNavigations() {
+        return navigations;
+    }
+    
+    /**
+     * Navigations served from the view cache
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+    
+    public long getBuilds() {
+        return builds;
+    }
+    
+    public long getFailures() {
+        return failures;
+    }
+    
+    public long getLastNanos() {
+        return lastNanos;
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+    
+    public long getAverageNanos() {
+        return navigations == 0 ? 0 : totalNanos / navigations;
+    }
+    
+    /**
+     * Time spent in the view factory on the background thread
+     */
+    public long getLastBuildNanos() {
+        return lastBuildNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("RouteStats[route=%s, navigations=%d, cacheHits=%d, builds=%d, failures=%d, last=%.3fms, avg=%.3fms, max=%.3fms]",
+            route, navigations, cacheHits, builds, failures, lastNanos / 1_000_000.0,
+            getAverageNanos() / 1_000_000.0, maxNanos / 1_000_000.0);
+    }
+}
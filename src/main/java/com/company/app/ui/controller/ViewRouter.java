@@ -0,0 +1,233 @@
+package com.company.app.ui.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import com.company.app.ui.components.ManagedView;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * View Router - Lazy, cached navigation between the main content views.
+ * Views are registered as factories and built on a background executor the
+ * first time their route is requested, so the FX thread only pays for the
+ * swap. Built views stay in an LRU cache and later visits swap them in
+ * directly; views pushed out of the cache are disposed. If navigation moves
+ * on while a view is still building, the finished view is cached but not
+ * shown. Per-route latency is kept for getStats().
+ * Everything except the factories runs on the UI executor.
+ */
+public class ViewRouter {
+    
+    /**
+     * Builds a view and loads its initial data; runs off the FX thread, so the
+     * node must not be attached to a showing scene until the router does it
+     */
+    @FunctionalInterface
+    public interface ViewFactory {
+        Node create() throws Exception;
+    }
+    
+    private final Pane host;
+    private final Executor builder;
+    private final Executor uiExecutor;
+    private final int cacheSize;
+    private final Map<String, ViewFactory> factories = new LinkedHashMap<>();
+    private final Map<String, Node> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Node>> building = new HashMap<>();
+    private final Map<String, RouteCounters> counters = new HashMap<>();
+    private String currentRoute;
+    private String requestedRoute;
+    private long requestedAt;
+    
+    public ViewRouter(Pane host, int cacheSize, Executor builder, Executor uiExecutor) {
+        this.host = host;
+        this.cacheSize = Math.max(1, cacheSize);
+        this.builder = builder;
+        this.uiExecutor = uiExecutor;
+    }
+    
+    public void register(String route, ViewFactory factory) {
+        factories.put(route, factory);
+    }
+    
+    /**
+     * Show a route, building its view in the background on the first visit.
+     * The future completes with the view once it is built.
+     */
+    public CompletableFuture<Node> navigate(String route) {
+        ViewFactory factory = factories.get(route);
+        if (factory == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown route: " + route));
+        }
+        long started = System.nanoTime();
+        requestedRoute = route;
+        requestedAt = started;
+        
+        Node cached = cache.get(route);
+        if (cached != null) {
+            show(route, cached);
+            navigated(route, System.nanoTime() - started, true);
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        CompletableFuture<Node> pending = building.get(route);
+        if (pending == null) {
+            CompletableFuture<Node> result = new CompletableFuture<>();
+            building.put(route, result);
+            builder.execute(() -> build(route, factory, result));
+            pending = result;
+        }
+        return pending;
+    }
+    
+    private void build(String route, ViewFactory factory, CompletableFuture<Node> result) {
+        long started = System.nanoTime();
+        try {
+            Node view = factory.create();
+            long buildNanos = System.nanoTime() - started;
+            uiExecutor.execute(() -> onBuilt(route, view, buildNanos, result));
+        } catch (Exception e) {
+            uiExecutor.execute(() -> onBuildFailed(route, e, result));
+        }
+    }
+    
+    private void onBuilt(String route, Node view, long buildNanos, CompletableFuture<Node> result) {
+        building.remove(route);
+        counters(route).built(buildNanos);
+        cache.put(route, view);
+        if (route.equals(requestedRoute)) {
+            show(route, view);
+            navigated(route, System.nanoTime() - requestedAt, false);
+        }
+        evict();
+        result.complete(view);
+    }
+    
+    private void onBuildFailed(String route, Exception error, CompletableFuture<Node> result) {
+        building.remove(route);
+        counters(route).failures++;
+        LoggerUtil.error("Failed to build view for route: " + route, error);
+        result.completeExceptionally(error);
+    }
+    
+    private void show(String route, Node view) {
+        if (!route.equals(currentRoute) || host.getChildren().size() != 1 || host.getChildren().get(0) != view) {
+            host.getChildren().setAll(view);
+            currentRoute = route;
+        }
+        if (view instanceof ManagedView) {
+            ((ManagedView) view).onShow();
+        }
+    }
+    
+    private void navigated(String route, long nanos, boolean cacheHit) {
+        counters(route).navigated(nanos, cacheHit);
+        LoggerUtil.debug(String.format("Navigated to %s in %.3fms (%s)", route, nanos / 1_000_000.0,
+            cacheHit ? "cached" : "built"));
+    }
+    
+    /**
+     * Drop least recently used views beyond the cache size, never the one on screen
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Node>> entries = cache.entrySet().iterator();
+        while (cache.size() > cacheSize && entries.hasNext()) {
+            Map.Entry<String, Node> entry = entries.next();
+            if (entry.getKey().equals(currentRoute)) {
+                continue;
+            }
+            entries.remove();
+            dispose(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    private static void dispose(String route, Node view) {
+        LoggerUtil.debug("Evicting view: " + route);
+        if (view instanceof ManagedView) {
+            try {
+                ((ManagedView) view).dispose();
+            } catch (Exception e) {
+                LoggerUtil.warn("Failed to dispose view " + route + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Dispose every cached view and clear the content area
+     */
+    public void dispose() {
+        host.getChildren().clear();
+        List<Map.Entry<String, Node>> views = new ArrayList<>(cache.entrySet());
+        cache.clear();
+        currentRoute = null;
+        requestedRoute = null;
+        for (Map.Entry<String, Node> view : views) {
+            dispose(view.getKey(), view.getValue());
+        }
+    }
+    
+    public String getCurrentRoute() {
+        return currentRoute;
+    }
+    
+    public boolean isCached(String route) {
+        return cache.containsKey(route);
+    }
+    
+    public RouteStats getStats(String route) {
+        return counters(route).snapshot(route);
+    }
+    
+    /**
+     * Stats for every registered route, in registration order
+     */
+    public List<RouteStats> getAllStats() {
+        List<RouteStats> stats = new ArrayList<>();
+        for (String route : factories.keySet()) {
+            stats.add(getStats(route));
+        }
+        return stats;
+    }
+    
+    private RouteCounters counters(String route) {
+        return counters.computeIfAbsent(route, key -> new RouteCounters());
+    }
+    
+    private static class RouteCounters {
+        long navigations;
+        long cacheHits;
+        long builds;
+        long failures;
+        long lastNanos;
+        long maxNanos;
+        long totalNanos;
+        long lastBuildNanos;
+        
+        void navigated(long nanos, boolean cacheHit) {
+            navigations++;
+            if (cacheHit) {
+                cacheHits++;
+            }
+            lastNanos = nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            totalNanos += nanos;
+        }
+        
+        void built(long nanos) {
+            builds++;
+            lastBuildNanos = nanos;
+        }
+        
+        RouteStats snapshot(String route) {
+            return new RouteStats(route, navigations, cacheHits, builds, failures,
+                lastNanos, maxNanos, totalNanos, lastBuildNanos);
+        }
+    }
+}
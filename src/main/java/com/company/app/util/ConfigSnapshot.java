@@ -0,0 +1,220 @@
+package com.company.app.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Config Snapshot - Immutable, pre-parsed view of the application configuration.
+ * Every value is parsed once when the snapshot is built, so typed reads are a
+ * plain map lookup and snapshots can be shared freely between threads.
+ */
+public final class ConfigSnapshot {
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h|d)?");
+
+    /**
+     * Value types the schema can require for a key
+     */
+    public enum ValueType {
+        STRING, INT, LONG, BOOLEAN, DURATION, URI
+    }
+
+    private final Map<String, String> values;
+    private final Map<String, Integer> ints = new HashMap<>();
+    private final Map<String, Long> longs = new HashMap<>();
+    private final Map<String, Boolean> booleans = new HashMap<>();
+    private final Map<String, Duration> durations = new HashMap<>();
+    private final Map<String, URI> uris = new HashMap<>();
+    private final List<String> errors = new ArrayList<>();
+    private final long version;
+
+    ConfigSnapshot(Map<String, String> rawValues, Map<String, ValueType> schema, long version) {
+        this(rawValues, schema, version, List.of());
+    }
+
+    /**
+     * Snapshot that also carries problems found while collecting the raw values
+     */
+    ConfigSnapshot(Map<String, String> rawValues, Map<String, ValueType> schema, long version, List<String> sourceErrors) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(rawValues));
+        this.version = version;
+        errors.addAll(sourceErrors);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            parse(entry.getKey(), entry.getValue().trim());
+        }
+        validate(schema);
+    }
+
+    private void parse(String key, String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            booleans.put(key, Boolean.parseBoolean(value));
+            return;
+        }
+        try {
+            long number = Long.parseLong(value);
+            longs.put(key, number);
+            if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                ints.put(key, (int) number);
+            }
+            // Bare numbers are milliseconds when read as durations
+            durations.put(key, Duration.ofMillis(number));
+            return;
+        } catch (NumberFormatException ignored) {
+            // Not a number; fall through to duration and URI forms
+        }
+        Matcher matcher = DURATION.matcher(value);
+        if (matcher.matches()) {
+            durations.put(key, toDuration(Long.parseLong(matcher.group(1)), matcher.group(2)));
+            return;
+        }
+        if (value.contains("://")) {
+            try {
+                uris.put(key, new URI(value));
+            } catch (URISyntaxException ignored) {
+                // Reported by validation if the schema requires a URI
+            }
+        }
+    }
+
+    private static Duration toDuration(long amount, String unit) {
+        if (unit == null) {
+            return Duration.ofMillis(amount);
+        }
+        switch (unit) {
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                return Duration.ofMillis(amount);
+        }
+    }
+
+    private void validate(Map<String, ValueType> schema) {
+        for (Map.Entry<String, ValueType> rule : schema.entrySet()) {
+            String key = rule.getKey();
+            if (!values.containsKey(key)) {
+                continue;
+            }
+            boolean valid;
+            switch (rule.getValue()) {
+                case INT:
+                    valid = ints.containsKey(key);
+                    break;
+                case LONG:
+                    valid = longs.containsKey(key);
+                    break;
+                case BOOLEAN:
+                    valid = booleans.containsKey(key);
+                    break;
+                case DURATION:
+                    valid = durations.containsKey(key) && !durations.get(key).isNegative();
+                    break;
+                case URI:
+                    valid = uris.containsKey(key);
+                    break;
+                default:
+                    valid = true;
+                    break;
+            }
+            if (valid && key.endsWith(".port")) {
+                int port = ints.get(key);
+                valid = port > 0 && port <= 65535;
+            }
+            if (!valid) {
+                errors.add(key + "=" + values.get(key) + " is not a valid " + rule.getValue());
+                // Typed reads of a rejected value get the caller's default
+                ints.remove(key);
+                longs.remove(key);
+                booleans.remove(key);
+                durations.remove(key);
+                uris.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Problems found while validating against the schema; empty when valid
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Monotonic number of the load that produced this snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = ints.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Long value = longs.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = booleans.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        return durations.getOrDefault(key, defaultValue);
+    }
+
+    public URI getUri(String key, URI defaultValue) {
+        return uris.getOrDefault(key, defaultValue);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    /**
+     * Keys whose value differs between two snapshots, including added and removed keys
+     */
+    public Set<String> diff(ConfigSnapshot other) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!entry.getValue().equals(other.values.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String key : other.values.keySet()) {
+            if (!values.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+}
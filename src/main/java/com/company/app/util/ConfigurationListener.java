@@ -0,0 +1,15 @@
+package com.company.app.util;
+
+import java.util.Set;
+
+/**
+ * Configuration Listener - Notified after a new configuration snapshot is published.
+ */
+@FunctionalInterface
+public interface ConfigurationListener {
+
+    /**
+     * Called on the watcher thread once the new snapshot is live
+     */
+    void onConfigurationChanged(ConfigSnapshot previous, ConfigSnapshot current, Set<String> changedKeys);
+}
@@ -1,62 +1,382 @@
 package com.company.app.util;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import com.company.app.util.ConfigSnapshot.ValueType;
 import com.company.app.util.LoggerUtil;
 
 /**
  * Configuration Manager - Centralized application configuration.
  * Loads and manages application properties.
+ * Properties are layered as file, then environment variables, then system
+ * properties, parsed into an immutable ConfigSnapshot and published through a
+ * volatile reference, so reads never lock. When the configuration file lives on
+ * the filesystem it is watched and valid edits are swapped in atomically.
  */
 public class ConfigurationManager {
-    
-    private static final String CONFIG_FILE = "application.properties";
-    private Properties properties;
-    
+
+    private static final String CONFIG_FILE = "config/application.properties";
+    private static final String CONFIG_PATH_PROPERTY = "app.config";
+    private static final String CONFIG_PATH_ENV = "APP_CONFIG";
+    private static final long RELOAD_SETTLE_MILLIS = 100;
+
+    // Expected value types, checked whenever a snapshot is built
+    private static final Map<String, ValueType> SCHEMA = Map.ofEntries(
+        Map.entry("app.startup.exitAfterFirstFrame", ValueType.BOOLEAN),
+        Map.entry("ui.window.width", ValueType.INT),
+        Map.entry("ui.window.height", ValueType.INT),
+        Map.entry("ui.users.pageSize", ValueType.INT),
+        Map.entry("ui.users.cachedPages", ValueType.INT),
+        Map.entry("ui.users.prefetchPages", ValueType.INT),
+        Map.entry("ui.router.cacheSize", ValueType.INT),
+        Map.entry("ui.dashboard.capacity", ValueType.INT),
+        Map.entry("ui.dashboard.window", ValueType.DURATION),
+        Map.entry("ui.dashboard.rateInterval", ValueType.DURATION),
+        Map.entry("ui.search.refreshInterval", ValueType.DURATION),
+        Map.entry("ui.search.rebuildInterval", ValueType.DURATION),
+        Map.entry("ui.search.maxResults", ValueType.INT),
+        Map.entry("ui.snapshot.maxBytes", ValueType.LONG),
+        Map.entry("ui.snapshot.syncInterval", ValueType.DURATION),
+        Map.entry("ui.snapshot.resyncInterval", ValueType.DURATION),
+        Map.entry("ui.reports.parallelism", ValueType.INT),
+        Map.entry("ui.reports.partitionSpan", ValueType.DURATION),
+        Map.entry("ui.reports.topUsers", ValueType.INT),
+        Map.entry("ui.auditCache.maxBytes", ValueType.LONG),
+        Map.entry("ui.auditCache.refreshInterval", ValueType.DURATION),
+        Map.entry("service.api.port", ValueType.INT),
+        Map.entry("service.api.timeout", ValueType.DURATION),
+        Map.entry("service.api.ioThreads", ValueType.INT),
+        Map.entry("service.database.port", ValueType.INT),
+        Map.entry("service.database.pool.minSize", ValueType.INT),
+        Map.entry("service.database.pool.maxSize", ValueType.INT),
+        Map.entry("service.database.pool.leaseTimeout", ValueType.DURATION),
+        Map.entry("service.database.pool.validationTimeout", ValueType.DURATION),
+        Map.entry("service.database.pool.idleTimeout", ValueType.DURATION),
+        Map.entry("service.database.pool.leakThreshold", ValueType.DURATION),
+        Map.entry("service.database.pool.housekeepingInterval", ValueType.DURATION),
+        Map.entry("service.database.pool.statementCacheSize", ValueType.INT),
+        Map.entry("service.api.resilience.minTimeout", ValueType.DURATION),
+        Map.entry("service.api.resilience.timeoutPercentile", ValueType.INT),
+        Map.entry("service.api.resilience.timeoutMultiplier", ValueType.INT),
+        Map.entry("service.api.resilience.breaker.failureRate", ValueType.INT),
+        Map.entry("service.api.resilience.breaker.window", ValueType.INT),
+        Map.entry("service.api.resilience.breaker.minimumCalls", ValueType.INT),
+        Map.entry("service.api.resilience.breaker.openDuration", ValueType.DURATION),
+        Map.entry("service.api.resilience.breaker.halfOpenCalls", ValueType.INT),
+        Map.entry("service.api.resilience.bulkhead.maxConcurrent", ValueType.INT),
+        Map.entry("service.api.resilience.hedge.enabled", ValueType.BOOLEAN),
+        Map.entry("service.api.resilience.hedge.percentile", ValueType.INT),
+        Map.entry("service.api.resilience.hedge.budgetPercent", ValueType.INT),
+        Map.entry("service.api.cache.maxBytes", ValueType.LONG),
+        Map.entry("service.api.cache.diskMaxBytes", ValueType.LONG),
+        Map.entry("service.database.resilience.breaker.failureRate", ValueType.INT),
+        Map.entry("service.database.resilience.breaker.openDuration", ValueType.DURATION),
+        Map.entry("service.database.changeFeed.pollInterval", ValueType.DURATION),
+        Map.entry("service.database.changeFeed.coalesceWindow", ValueType.DURATION),
+        Map.entry("service.database.changeFeed.retryInterval", ValueType.DURATION),
+        Map.entry("service.cache.port", ValueType.INT),
+        Map.entry("service.cache.ttl", ValueType.DURATION),
+        Map.entry("service.cache.nearCache.maxSize", ValueType.INT),
+        Map.entry("service.cache.nearCache.ttl", ValueType.DURATION),
+        Map.entry("service.startup.timeout", ValueType.DURATION),
+        Map.entry("service.health.cacheTtl", ValueType.DURATION),
+        Map.entry("service.health.interval", ValueType.DURATION),
+        Map.entry("audit.queueCapacity", ValueType.INT),
+        Map.entry("audit.batchSize", ValueType.INT),
+        Map.entry("audit.linger", ValueType.DURATION),
+        Map.entry("audit.retry.maxAttempts", ValueType.INT),
+        Map.entry("audit.retry.backoff", ValueType.DURATION),
+        Map.entry("audit.blockTimeout", ValueType.DURATION),
+        Map.entry("audit.drainTimeout", ValueType.DURATION),
+        Map.entry("audit.userId", ValueType.LONG),
+        Map.entry("logging.bufferSize", ValueType.INT),
+        Map.entry("logging.file.maxSize", ValueType.LONG),
+        Map.entry("logging.file.maxHistory", ValueType.INT),
+        Map.entry("logging.console", ValueType.BOOLEAN),
+        Map.entry("metrics.enabled", ValueType.BOOLEAN),
+        Map.entry("metrics.port", ValueType.INT)
+    );
+
+    // Only system properties under these prefixes override the file
+    private static final List<String> OVERRIDABLE_PREFIXES = List.of("app.", "ui.", "service.", "audit.", "logging.", "metrics.");
+
+    private final Path configPath;
+    private final Map<String, String> environment;
+    private final List<ConfigurationListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile ConfigSnapshot snapshot;
+    private volatile WatchService watchService;
+
     private static class SingletonHolder {
-        static final ConfigurationManager instance = new ConfigurationManager();
+        static final ConfigurationManager instance = new ConfigurationManager(resolveConfigPath(), System.getenv());
     }
-    
+
     public static ConfigurationManager getInstance() {
         return SingletonHolder.instance;
     }
-    
-    private ConfigurationManager() {
+
+    ConfigurationManager(Path configPath, Map<String, String> environment) {
+        this.configPath = configPath;
+        this.environment = environment;
         loadConfiguration();
     }
-    
+
     private void loadConfiguration() {
-        properties = new Properties();
-        try {
-            InputStream input = getClass().getClassLoader().getResourceAsStream(CONFIG_FILE);
+        ConfigSnapshot loaded = buildSnapshot();
+        for (String error : loaded.getErrors()) {
+            LoggerUtil.warn("Invalid configuration value, using default: " + error);
+        }
+        snapshot = loaded;
+    }
+
+    /**
+     * Re-read the configuration and publish it unless it adds validation errors.
+     * Listeners are notified when at least one value changed.
+     */
+    public boolean reload() {
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot loaded = buildSnapshot();
+        // Problems already present at the last load fall back to defaults as before
+        if (!previous.getErrors().containsAll(loaded.getErrors())) {
+            LoggerUtil.warn("Rejected configuration reload: " + loaded.getErrors());
+            return false;
+        }
+        Set<String> changed = previous.diff(loaded);
+        if (changed.isEmpty()) {
+            return false;
+        }
+        snapshot = loaded;
+        LoggerUtil.info("Configuration reloaded, changed keys: " + changed);
+        for (ConfigurationListener listener : listeners) {
+            try {
+                listener.onConfigurationChanged(previous, loaded, changed);
+            } catch (Exception e) {
+                LoggerUtil.error("Configuration listener failed", e);
+            }
+        }
+        return true;
+    }
+
+    private ConfigSnapshot buildSnapshot() {
+        Map<String, String> values = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        Properties fileProperties = readFile();
+        for (String key : fileProperties.stringPropertyNames()) {
+            values.put(key, fileProperties.getProperty(key));
+        }
+        applyEnvironment(values, errors);
+        applySystemProperties(values);
+        return new ConfigSnapshot(values, SCHEMA, versions.incrementAndGet(), errors);
+    }
+
+    private Properties readFile() {
+        Properties properties = new Properties();
+        try (InputStream input = configPath != null
+                ? Files.newInputStream(configPath)
+                : getClass().getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input != null) {
                 properties.load(input);
-                LoggerUtil.info("Configuration loaded from " + CONFIG_FILE);
+                LoggerUtil.info("Configuration loaded from " + (configPath != null ? configPath : CONFIG_FILE));
             } else {
                 LoggerUtil.warn("Configuration file not found: " + CONFIG_FILE);
             }
         } catch (Exception e) {
             LoggerUtil.error("Failed to load configuration", e);
         }
+        return properties;
     }
-    
-    public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
-    }
-    
-    public String getProperty(String key) {
-        return properties.getProperty(key);
+
+    /**
+     * Overlay environment variables: SERVICE_API_TIMEOUT overrides service.api.timeout,
+     * and the docker-compose variables map onto their service keys.
+     * A malformed API_URL is reported and leaves the file's values in place.
+     */
+    private void applyEnvironment(Map<String, String> values, List<String> errors) {
+        for (String key : List.copyOf(values.keySet())) {
+            String override = environment.get(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            if (override != null) {
+                values.put(key, override);
+            }
+        }
+
+        String apiUrl = environment.get("API_URL");
+        if (apiUrl != null) {
+            try {
+                URI uri = new URI(apiUrl);
+                if (uri.getScheme() == null || uri.getHost() == null) {
+                    throw new URISyntaxException(apiUrl, "Expected scheme://host[:port]");
+                }
+                values.put("service.api.url", uri.getScheme() + "://" + uri.getHost());
+                if (uri.getPort() > 0) {
+                    values.put("service.api.port", String.valueOf(uri.getPort()));
+                }
+            } catch (URISyntaxException e) {
+                errors.add("API_URL=" + apiUrl + " is not a valid URI");
+            }
+        }
+        putIfPresent(values, "service.database.url", "DB_HOST");
+        putIfPresent(values, "service.database.port", "DB_PORT");
+        putIfPresent(values, "service.cache.url", "CACHE_HOST");
+        putIfPresent(values, "service.cache.port", "CACHE_PORT");
     }
-    
-    public int getIntProperty(String key, int defaultValue) {
-        String value = properties.getProperty(key);
+
+    private void putIfPresent(Map<String, String> values, String key, String variable) {
+        String value = environment.get(variable);
         if (value != null) {
+            values.put(key, value);
+        }
+    }
+
+    private static void applySystemProperties(Map<String, String> values) {
+        Properties system = System.getProperties();
+        for (String key : system.stringPropertyNames()) {
+            for (String prefix : OVERRIDABLE_PREFIXES) {
+                if (key.startsWith(prefix)) {
+                    values.put(key, system.getProperty(key));
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Watch the configuration file and reload it when it changes.
+     * Does nothing when configuration comes from inside a JAR.
+     */
+    public synchronized void startWatching() {
+        Path path = configPath != null ? configPath : classpathConfigFile();
+        if (watchService != null || path == null) {
+            return;
+        }
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            Path directory = path.toAbsolutePath().getParent();
+            directory.register(service, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            watchService = service;
+            Thread watcher = new Thread(() -> watch(service, path.getFileName()), "config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+            LoggerUtil.info("Watching configuration file " + path);
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to watch configuration file " + path, e);
+        }
+    }
+
+    /**
+     * Stop watching the configuration file
+     */
+    public synchronized void stopWatching() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LoggerUtil.warn("Failed to close configuration watcher: " + e.getMessage());
+            }
+            watchService = null;
+        }
+    }
+
+    private void watch(WatchService service, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    relevant |= fileName.equals(event.context());
+                }
+                key.reset();
+                if (relevant) {
+                    // Editors often write in several steps; let the file settle first
+                    Thread.sleep(RELOAD_SETTLE_MILLIS);
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Watching stopped
+        }
+    }
+
+    private Path classpathConfigFile() {
+        URL resource = getClass().getClassLoader().getResource(CONFIG_FILE);
+        if (resource != null && "file".equals(resource.getProtocol())) {
             try {
-                return Integer.parseInt(value);
-            } catch (NumberFormatException e) {
-                LoggerUtil.warn("Invalid integer value for key: " + key);
+                return Paths.get(resource.toURI());
+            } catch (Exception e) {
+                return null;
             }
         }
-        return defaultValue;
+        return null;
+    }
+
+    private static Path resolveConfigPath() {
+        String path = System.getProperty(CONFIG_PATH_PROPERTY, System.getenv(CONFIG_PATH_ENV));
+        return path == null || path.isBlank() ? null : Paths.get(path);
+    }
+
+    public void addListener(ConfigurationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ConfigurationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Current immutable snapshot; hold on to it to read several values consistently
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        return snapshot.get(key, defaultValue);
+    }
+
+    public String getProperty(String key) {
+        return snapshot.get(key);
+    }
+
+    public int getIntProperty(String key, int defaultValue) {
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    public long getLongProperty(String key, long defaultValue) {
+        return snapshot.getLong(key, defaultValue);
+    }
+
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
+    }
+
+    public Duration getDurationProperty(String key, Duration defaultValue) {
+        return snapshot.getDuration(key, defaultValue);
+    }
+
+    public URI getUriProperty(String key, URI defaultValue) {
+        return snapshot.getUri(key, defaultValue);
     }
 }
@@ -0,0 +1,143 @@
+package com.company.app.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log Ring Buffer - Preallocated multi-producer, single-consumer queue of log records.
+ * Producers claim a sequence number, fill the slot in place and publish it;
+ * the writer thread drains published slots in order. No objects are allocated
+ * per record once the buffer is created.
+ */
+class LogRingBuffer {
+
+    /**
+     * Mutable slot reused for every record that lands on it
+     */
+    static final class Slot {
+        long timestamp;
+        LoggerUtil.LogLevel level;
+        String message;
+        Object arg1;
+        Object arg2;
+        int argCount;
+        Throwable throwable;
+
+        void clear() {
+            message = null;
+            arg1 = null;
+            arg2 = null;
+            throwable = null;
+        }
+    }
+
+    /**
+     * Receives each published slot during a drain
+     */
+    interface SlotConsumer {
+        void accept(Slot slot);
+    }
+
+    private final Slot[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final AtomicLong consumeSequence = new AtomicLong();
+
+    LogRingBuffer(int requestedCapacity) {
+        int capacity = capacityFor(requestedCapacity);
+        this.slots = new Slot[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1L);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Slots a buffer asked for the given capacity holds: the next power of two, at least four
+     */
+    static int capacityFor(int requestedCapacity) {
+        return Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+    }
+
+    /**
+     * Claim the next free sequence, or -1 when the buffer is full
+     */
+    long tryClaim() {
+        while (true) {
+            long sequence = claimSequence.get();
+            if (sequence - consumeSequence.get() >= slots.length) {
+                return -1L;
+            }
+            if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Claim the next sequence, waiting for the writer to free a slot if needed
+     */
+    long claim() {
+        long sequence;
+        int spins = 0;
+        while ((sequence = tryClaim()) < 0) {
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(50_000L);
+            }
+        }
+        return sequence;
+    }
+
+    Slot slot(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    /**
+     * Make a filled slot visible to the writer
+     */
+    void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+    }
+
+    /**
+     * Hand up to maxBatch published records to the consumer, in order
+     */
+    int drain(SlotConsumer consumer, int maxBatch) {
+        long next = consumeSequence.get();
+        int drained = 0;
+        while (drained < maxBatch && published.get((int) (next & mask)) == next) {
+            Slot slot = slot(next);
+            consumer.accept(slot);
+            slot.clear();
+            next++;
+            drained++;
+            consumeSequence.lazySet(next);
+        }
+        return drained;
+    }
+
+    /**
+     * Sequence that the next claimed record will receive
+     */
+    long claimedSequence() {
+        return claimSequence.get();
+    }
+
+    long consumedSequence() {
+        return consumeSequence.get();
+    }
+
+    int size() {
+        return (int) (claimSequence.get() - consumeSequence.get());
+    }
+}
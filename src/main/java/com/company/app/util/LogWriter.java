@@ -0,0 +1,273 @@
+package com.company.app.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log Writer - Background thread that drains the log ring buffer.
+ * Formats records in batches and writes them to the console and to a
+ * size-rolled log file, so callers never format or perform I/O themselves.
+ */
+class LogWriter implements Runnable {
+
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final LogRingBuffer ring;
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread thread;
+
+    private boolean console = true;
+    private Path file;
+    private long maxFileSize = 10L * 1024 * 1024;
+    private int maxHistory = 5;
+    private Writer fileOut;
+    private long fileSize;
+
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTimestamp;
+    private long reportedDrops;
+
+    private volatile boolean running = true;
+    private volatile long flushedSequence;
+
+    LogWriter(LogRingBuffer ring) {
+        this.ring = ring;
+        this.thread = new Thread(this, "log-writer");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Change output targets; takes effect from the next batch
+     */
+    synchronized void configure(boolean console, Path file, long maxFileSize, int maxHistory) {
+        this.console = console;
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        if (file == null ? this.file != null : !file.equals(this.file)) {
+            closeFile();
+            this.file = file;
+            openFile();
+        }
+    }
+
+    synchronized void setConsole(boolean console) {
+        this.console = console;
+    }
+
+    @Override
+    public void run() {
+        while (running || ring.size() > 0) {
+            int drained;
+            synchronized (this) {
+                drained = ring.drain(this::write, MAX_BATCH);
+                if (drained > 0 || flushedSequence < ring.consumedSequence()) {
+                    reportDrops();
+                    flushOutputs();
+                    flushedSequence = ring.consumedSequence();
+                }
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        synchronized (this) {
+            flushOutputs();
+            closeFile();
+        }
+    }
+
+    /**
+     * Wait until everything logged before this call has been written out
+     */
+    boolean flush(long timeoutMillis) {
+        long target = ring.claimedSequence();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (flushedSequence < target) {
+            if (!thread.isAlive() || System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(100_000L);
+        }
+        return true;
+    }
+
+    /**
+     * Drain remaining records and stop the writer thread
+     */
+    void shutdown(long timeoutMillis) {
+        flush(timeoutMillis);
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean isRunning() {
+        return running && thread.isAlive();
+    }
+
+    /**
+     * Format and write a record on the calling thread, used once the writer has stopped
+     */
+    synchronized void writeDirect(LogRingBuffer.Slot slot) {
+        write(slot);
+        flushOutputs();
+    }
+
+    private void write(LogRingBuffer.Slot slot) {
+        line.setLength(0);
+        line.append('[').append(timestamp(slot.timestamp)).append("] [").append(slot.level.name()).append("] ");
+        appendMessage(slot);
+        line.append(System.lineSeparator());
+        if (slot.throwable != null) {
+            appendStackTrace(slot.throwable);
+        }
+        emit();
+    }
+
+    private void appendMessage(LogRingBuffer.Slot slot) {
+        String message = slot.message;
+        if (slot.argCount == 0 || message == null) {
+            line.append(message);
+            return;
+        }
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < slot.argCount && (placeholder = message.indexOf("{}", start)) >= 0) {
+            line.append(message, start, placeholder).append(argIndex++ == 0 ? slot.arg1 : slot.arg2);
+            start = placeholder + 2;
+        }
+        line.append(message, start, message.length());
+    }
+
+    private void appendStackTrace(Throwable throwable) {
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        line.append(trace);
+    }
+
+    private String timestamp(long epochMillis) {
+        long second = epochMillis / 1000;
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTimestamp = TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(epochMillis));
+        }
+        return cachedTimestamp;
+    }
+
+    private void reportDrops() {
+        long dropped = LoggerUtil.getDroppedCount();
+        if (dropped > reportedDrops) {
+            long delta = dropped - reportedDrops;
+            reportedDrops = dropped;
+            line.setLength(0);
+            line.append('[').append(timestamp(System.currentTimeMillis())).append("] [WARN] ")
+                .append(delta).append(" log records dropped because the log buffer was full")
+                .append(System.lineSeparator());
+            emit();
+        }
+    }
+
+    private void emit() {
+        if (console) {
+            System.out.append(line);
+        }
+        if (fileOut != null) {
+            try {
+                if (fileSize + line.length() > maxFileSize) {
+                    rollFile();
+                }
+                fileOut.append(line);
+                fileSize += line.length();
+            } catch (IOException e) {
+                System.err.println("Failed to write log file " + file + ": " + e.getMessage());
+                closeFile();
+            }
+        }
+    }
+
+    private void flushOutputs() {
+        if (console) {
+            System.out.flush();
+        }
+        if (fileOut != null) {
+            try {
+                fileOut.flush();
+            } catch (IOException e) {
+                System.err.println("Failed to flush log file " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void openFile() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            fileSize = Files.exists(file) ? Files.size(file) : 0L;
+            fileOut = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                StandardCharsets.UTF_8), 64 * 1024);
+        } catch (IOException e) {
+            System.err.println("Failed to open log file " + file + ": " + e.getMessage());
+            fileOut = null;
+        }
+    }
+
+    private void closeFile() {
+        if (fileOut != null) {
+            try {
+                fileOut.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close log file " + file + ": " + e.getMessage());
+            }
+            fileOut = null;
+        }
+    }
+
+    private void rollFile() throws IOException {
+        closeFile();
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            Path older = file.resolveSibling(file.getFileName() + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, file.resolveSibling(file.getFileName() + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxHistory > 0) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        openFile();
+    }
+}
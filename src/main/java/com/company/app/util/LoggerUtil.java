@@ -1,44 +1,251 @@
 package com.company.app.util;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * Logger Utility - Centralized logging configuration.
  * Provides consistent logging across the application.
+ * Records below the configured level are rejected with a single comparison;
+ * enabled records are copied into a preallocated ring buffer and formatted
+ * and written by a background thread, so the calling thread (often the
+ * JavaFX thread) never formats timestamps or blocks on I/O.
  */
 public class LoggerUtil {
     
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
     
     public enum LogLevel {
         DEBUG, INFO, WARN, ERROR
     }
     
+    /**
+     * What a caller does when the ring buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Wait for the writer to free a slot */
+        BLOCK,
+        /** Drop DEBUG records, wait for the writer for everything else */
+        DROP_DEBUG,
+        /** Drop the record and count it */
+        DROP
+    }
+    
+    // Sized when the class loads, before configuration can be read: ConfigurationManager logs while it
+    // loads, so the size comes from the logging.bufferSize system property, which overrides the file
+    private static final LogRingBuffer ring = new LogRingBuffer(Integer.getInteger("logging.bufferSize", DEFAULT_BUFFER_SIZE));
+    private static final LogWriter writer = new LogWriter(ring);
+    private static final LongAdder droppedCount = new LongAdder();
+    private static volatile int threshold = LogLevel.DEBUG.ordinal();
+    private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP_DEBUG;
+    
+    static {
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writer.shutdown(FLUSH_TIMEOUT_MILLIS), "log-shutdown"));
+    }
+    
+    /**
+     * Apply logging.* settings from the application configuration.
+     * logging.bufferSize cannot change the ring once it exists; a configured
+     * size that differs from the one in use is reported instead.
+     */
+    public static void configure(ConfigurationManager config) {
+        int bufferSize = config.getIntProperty("logging.bufferSize", DEFAULT_BUFFER_SIZE);
+        if (LogRingBuffer.capacityFor(bufferSize) != ring.capacity()) {
+            warn("logging.bufferSize=" + bufferSize + " is ignored; the log buffer holds " + ring.capacity()
+                + " records. Set it as the -Dlogging.bufferSize system property to take effect.");
+        }
+        setLevel(parseLevel(config.getProperty("logging.level"), LogLevel.DEBUG));
+        overflowPolicy = parsePolicy(config.getProperty("logging.overflow"), OverflowPolicy.DROP_DEBUG);
+        String file = config.getProperty("logging.file");
+        Path logFile = file == null || file.isBlank() ? null : Paths.get(file);
+        writer.configure(
+            config.getBooleanProperty("logging.console", true),
+            logFile,
+            config.getLongProperty("logging.file.maxSize", 10 * 1024 * 1024),
+            config.getIntProperty("logging.file.maxHistory", 5));
+    }
+    
+    public static void setLevel(LogLevel level) {
+        threshold = level.ordinal();
+    }
+    
+    public static LogLevel getLevel() {
+        return LogLevel.values()[threshold];
+    }
+    
+    /**
+     * Enable or disable writing records to standard output
+     */
+    public static void setConsoleOutput(boolean enabled) {
+        writer.setConsole(enabled);
+    }
+    
+    public static void setOverflowPolicy(OverflowPolicy policy) {
+        overflowPolicy = policy;
+    }
+    
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+    
+    public static boolean isDebugEnabled() {
+        return LogLevel.DEBUG.ordinal() >= threshold;
+    }
+    
     public static void debug(String message) {
-        log(LogLevel.DEBUG, message, null);
+        if (isDebugEnabled()) {
+            log(LogLevel.DEBUG, message, null, null, 0, null);
+        }
+    }
+    
+    /**
+     * Log at DEBUG, building the message only if DEBUG is enabled
+     */
+    public static void debug(Supplier<String> message) {
+        if (isDebugEnabled()) {
+            log(LogLevel.DEBUG, message.get(), null, null, 0, null);
+        }
+    }
+    
+    /**
+     * Log at DEBUG, substituting {} placeholders on the writer thread
+     */
+    public static void debug(String pattern, Object arg) {
+        if (isDebugEnabled()) {
+            log(LogLevel.DEBUG, pattern, arg, null, 1, null);
+        }
+    }
+    
+    public static void debug(String pattern, Object arg1, Object arg2) {
+        if (isDebugEnabled()) {
+            log(LogLevel.DEBUG, pattern, arg1, arg2, 2, null);
+        }
     }
     
     public static void info(String message) {
-        log(LogLevel.INFO, message, null);
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message, null, null, 0, null);
+        }
+    }
+    
+    public static void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message.get(), null, null, 0, null);
+        }
+    }
+    
+    public static void info(String pattern, Object arg) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, pattern, arg, null, 1, null);
+        }
+    }
+    
+    public static void info(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, pattern, arg1, arg2, 2, null);
+        }
     }
     
     public static void warn(String message) {
-        log(LogLevel.WARN, message, null);
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, message, null, null, 0, null);
+        }
+    }
+    
+    public static void warn(String pattern, Object arg) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, pattern, arg, null, 1, null);
+        }
     }
     
     public static void error(String message, Throwable throwable) {
-        log(LogLevel.ERROR, message, throwable);
+        log(LogLevel.ERROR, message, null, null, 0, throwable);
     }
     
-    private static void log(LogLevel level, String message, Throwable throwable) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        String logMessage = String.format("[%s] [%s] %s", timestamp, level.name(), message);
-        
-        System.out.println(logMessage);
+    /**
+     * Block until all records logged so far have been written out
+     */
+    public static boolean flush() {
+        return writer.flush(FLUSH_TIMEOUT_MILLIS);
+    }
+    
+    /**
+     * Flush pending records and stop the writer thread.
+     * Records logged afterwards are written synchronously.
+     */
+    public static void shutdown() {
+        writer.shutdown(FLUSH_TIMEOUT_MILLIS);
+    }
+    
+    /**
+     * Number of records discarded because the ring buffer was full
+     */
+    public static long getDroppedCount() {
+        return droppedCount.sum();
+    }
+    
+    /**
+     * Number of records waiting for the writer thread
+     */
+    public static int getPendingCount() {
+        return ring.size();
+    }
+    
+    private static void log(LogLevel level, String message, Object arg1, Object arg2, int argCount, Throwable throwable) {
+        if (!writer.isRunning()) {
+            LogRingBuffer.Slot slot = new LogRingBuffer.Slot();
+            fill(slot, level, message, arg1, arg2, argCount, throwable);
+            writer.writeDirect(slot);
+            return;
+        }
         
-        if (throwable != null) {
-            throwable.printStackTrace();
+        long sequence = ring.tryClaim();
+        if (sequence < 0) {
+            OverflowPolicy policy = overflowPolicy;
+            if (policy == OverflowPolicy.DROP || (policy == OverflowPolicy.DROP_DEBUG && level == LogLevel.DEBUG)) {
+                droppedCount.increment();
+                return;
+            }
+            sequence = ring.claim();
+        }
+        fill(ring.slot(sequence), level, message, arg1, arg2, argCount, throwable);
+        ring.publish(sequence);
+    }
+    
+    private static void fill(LogRingBuffer.Slot slot, LogLevel level, String message, Object arg1, Object arg2,
+                             int argCount, Throwable throwable) {
+        slot.timestamp = System.currentTimeMillis();
+        slot.level = level;
+        slot.message = message;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.argCount = argCount;
+        slot.throwable = throwable;
+    }
+    
+    private static LogLevel parseLevel(String value, LogLevel defaultLevel) {
+        if (value != null) {
+            try {
+                return LogLevel.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown logging.level: " + value);
+            }
+        }
+        return defaultLevel;
+    }
+    
+    private static OverflowPolicy parsePolicy(String value, OverflowPolicy defaultPolicy) {
+        if (value != null) {
+            try {
+                return OverflowPolicy.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown logging.overflow: " + value);
+            }
         }
+        return defaultPolicy;
     }
 }
@@ -0,0 +1,94 @@
+package com.company.app.util;
+
+/**
+ * LTTB - Largest-Triangle-Three-Buckets downsampling.
+ * Reduces a series to a target number of points while keeping its visual
+ * shape: the first and last points are kept and, for each bucket in between,
+ * the point forming the largest triangle with the previous pick and the
+ * average of the next bucket wins. NaN samples mark gaps: a bucket holding
+ * one is emitted as a NaN break at that sample, and gaps are left out of the
+ * averages and triangles so the other buckets still pick by shape. Works on
+ * caller-owned primitive arrays and allocates nothing.
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Downsample count points from xs/ys into outX/outY (which must hold
+     * threshold points). Input must be ordered by x. Returns the number of
+     * points written; when count is at most threshold the input is copied as is.
+     */
+    public static int downsample(long[] xs, double[] ys, int count, int threshold, long[] outX, double[] outY) {
+        if (threshold >= count || threshold < 3) {
+            int copied = Math.min(count, Math.min(outX.length, outY.length));
+            System.arraycopy(xs, 0, outX, 0, copied);
+            System.arraycopy(ys, 0, outY, 0, copied);
+            return copied;
+        }
+
+        double bucketSize = (double) (count - 2) / (threshold - 2);
+        int selected = 0;
+        outX[0] = xs[0];
+        outY[0] = ys[0];
+        // Last real point picked; a leading gap leaves none yet
+        double anchorX = xs[0];
+        double anchorY = ys[0];
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket is the third corner of the triangle
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, count);
+            double averageX = 0;
+            double averageY = 0;
+            int nextLength = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                if (!Double.isNaN(ys[i])) {
+                    averageX += xs[i];
+                    averageY += ys[i];
+                    nextLength++;
+                }
+            }
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            if (nextLength > 0) {
+                averageX /= nextLength;
+                averageY /= nextLength;
+            } else {
+                // The next bucket is all gap: aim level with the anchor at the far end of this bucket
+                averageX = xs[Math.min(end, count - 1)];
+                averageY = anchorY;
+            }
+            double pointX = anchorX;
+            double pointY = Double.isNaN(anchorY) ? averageY : anchorY;
+
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                if (Double.isNaN(ys[i])) {
+                    chosen = i;
+                    break;
+                }
+                double area = Math.abs((pointX - averageX) * (ys[i] - pointY) - (pointX - xs[i]) * (averageY - pointY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+
+            selected++;
+            outX[selected] = xs[chosen];
+            outY[selected] = ys[chosen];
+            if (!Double.isNaN(ys[chosen])) {
+                anchorX = xs[chosen];
+                anchorY = ys[chosen];
+            }
+        }
+
+        selected++;
+        outX[selected] = xs[count - 1];
+        outY[selected] = ys[count - 1];
+        return selected + 1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.app.util;
+
+/**
+ * Time Series - Fixed-capacity ring buffer of timestamped samples.
+ * Timestamps and values live in primitive arrays allocated once, so adding
+ * a sample never allocates and the oldest samples are overwritten when the
+ * buffer is full. Writers may be on any thread; readers copy a time window
+ * out under the same short lock and work on their own arrays.
+ */
+public class TimeSeries {
+
+    private final String name;
+    private final long[] times;
+    private final double[] values;
+    private int head;
+    private int count;
+    private long version;
+
+    public TimeSeries(String name, int capacity) {
+        this.name = name;
+        this.times = new long[Math.max(2, capacity)];
+        this.values = new double[times.length];
+    }
+
+    public void add(double value) {
+        add(System.currentTimeMillis(), value);
+    }
+
+    public synchronized void add(long timeMillis, double value) {
+        times[head] = timeMillis;
+        values[head] = value;
+        head = head + 1 == times.length ? 0 : head + 1;
+        if (count < times.length) {
+            count++;
+        }
+        version++;
+    }
+
+    /**
+     * Copy the samples taken at or after fromMillis into the given arrays,
+     * oldest first. If there are more than the arrays hold, the newest ones
+     * are kept. Returns the number of samples copied.
+     */
+    public synchronized int copySince(long fromMillis, long[] timesOut, double[] valuesOut) {
+        int limit = Math.min(timesOut.length, valuesOut.length);
+        // Walk back from the newest sample; concurrent writers may interleave slightly out of order
+        int available = 0;
+        int index = head;
+        while (available < count && available < limit) {
+            index = index == 0 ? times.length - 1 : index - 1;
+            if (times[index] < fromMillis) {
+                break;
+            }
+            available++;
+        }
+        int start = head - available;
+        if (start < 0) {
+            start += times.length;
+        }
+        int firstRun = Math.min(available, times.length - start);
+        System.arraycopy(times, start, timesOut, 0, firstRun);
+        System.arraycopy(values, start, valuesOut, 0, firstRun);
+        System.arraycopy(times, 0, timesOut, firstRun, available - firstRun);
+        System.arraycopy(values, 0, valuesOut, firstRun, available - firstRun);
+        return available;
+    }
+
+    /**
+     * Most recent value, or NaN if nothing has been added
+     */
+    public synchronized double latest() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return values[head == 0 ? values.length - 1 : head - 1];
+    }
+
+    /**
+     * Incremented on every add, so readers can skip work when nothing changed
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return times.length;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.app.core;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BootTimeline tests
+ */
+public class BootTimelineTest {
+    
+    @Test
+    public void testJvmPhaseCoversTimeBeforeTimeline() {
+        BootTimeline timeline = new BootTimeline(System.currentTimeMillis() - 250);
+        
+        BootTimeline.Phase jvm = timeline.getPhases().get(0);
+        assertEquals("jvm", jvm.getName());
+        assertEquals(0.0, jvm.getStartMillis(), 0.001);
+        assertTrue(jvm.getDurationMillis() >= 250);
+    }
+    
+    @Test
+    public void testParallelPhasesAreRecordedInStartOrder() throws Exception {
+        BootTimeline timeline = new BootTimeline(System.currentTimeMillis());
+        BootTimeline.Phase scene = timeline.begin("scene");
+        CompletableFuture.runAsync(() -> timeline.time("config", () -> sleep(20))).get();
+        scene.end();
+        timeline.mark("first-frame");
+        
+        List<BootTimeline.Phase> phases = timeline.getPhases();
+        assertEquals(List.of("jvm", "scene", "config", "first-frame"),
+            phases.stream().map(BootTimeline.Phase::getName).toList());
+        assertNotEquals(phases.get(1).getThread(), phases.get(2).getThread());
+        assertTrue(phases.get(1).getDurationMillis() >= phases.get(2).getDurationMillis());
+        
+        Map<String, Double> report = timeline.toReport();
+        assertTrue(report.get("config") >= 20);
+        assertTrue(timeline.format().contains("first-frame"));
+    }
+    
+    @Test
+    public void testUnfinishedPhaseIsReportedAsRunning() {
+        BootTimeline timeline = new BootTimeline(System.currentTimeMillis());
+        timeline.begin("connect");
+        
+        assertEquals(-1, timeline.toReport().get("connect"));
+        assertTrue(timeline.format().contains("running"));
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
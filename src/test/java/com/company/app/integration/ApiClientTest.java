@@ -0,0 +1,228 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.company.app.exception.ApplicationException;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ApiClient tests against a local HTTP server
+ */
+public class ApiClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ApiClient client;
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final AtomicInteger catalogCalls = new AtomicInteger();
+    private final AtomicInteger notModifiedCalls = new AtomicInteger();
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/1", exchange -> {
+            byte[] body = "{\"id\":1,\"username\":\"alice\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/health", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/broken", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        // The first call stalls like a degraded replica; later calls answer at once
+        server.createContext("/slow", exchange -> {
+            if (slowCalls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(3000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"id\":2,\"username\":\"bob\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // Cacheable for a minute, and slow enough that concurrent callers overlap
+        server.createContext("/catalog", exchange -> {
+            catalogCalls.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\":3,\"username\":\"carol\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // Always stale, but answers 304 when the client presents the current ETag
+        server.createContext("/versioned", exchange -> {
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedCalls.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"id\":4,\"username\":\"dave\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // Answers once, then fails like a backend that has gone down
+        server.createContext("/flaky", exchange -> {
+            if (flakyCalls.incrementAndGet() > 1) {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"id\":5,\"username\":\"erin\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        client = new ApiClient("test-api", "http://localhost", server.getAddress().getPort());
+        client.connect();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.disconnect();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testMakeRequestDecodesBody() throws Exception {
+        UserPayload user = client.makeRequest("/users/1", UserPayload.class);
+        assertEquals(1, user.id);
+        assertEquals("alice", user.username);
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        List<CompletableFuture<UserPayload>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(client.makeRequestAsync("users/1", UserPayload.class));
+        }
+        for (CompletableFuture<UserPayload> future : futures) {
+            assertEquals("alice", future.get().username);
+        }
+    }
+
+    @Test
+    public void testErrorStatusFailsFuture() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> client.makeRequestAsync("/missing", UserPayload.class).get());
+        assertTrue(e.getCause() instanceof ApplicationException);
+        assertEquals("API_HTTP_404", ((ApplicationException) e.getCause()).getErrorCode());
+    }
+
+    @Test
+    public void testServiceAvailable() {
+        assertTrue(client.isServiceAvailable());
+    }
+
+    @Test
+    public void testHedgedRequestBeatsSlowReplica() throws Exception {
+        client.setResiliencePolicy(new ResiliencePolicy(250, 99, 3, 50, 20, 10, 10000, 3, 64, true, 95, 10));
+        // Enough fast calls to establish the latency percentiles
+        for (int i = 0; i < 40; i++) {
+            client.makeRequest("/users/1", UserPayload.class);
+        }
+
+        long start = System.nanoTime();
+        UserPayload user = client.makeRequestAsync("/slow", UserPayload.class).get();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("bob", user.username);
+        assertEquals(2, slowCalls.get());
+        assertTrue(elapsedMillis < 2000, "Hedged request took " + elapsedMillis + "ms");
+        assertTrue(client.getEffectiveTimeout() < client.getConnectionTimeout());
+    }
+
+    @Test
+    public void testOpenCircuitFailsFast() throws Exception {
+        client.setResiliencePolicy(new ResiliencePolicy(250, 99, 3, 50, 4, 4, 60000, 1, 64, false, 95, 10));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ExecutionException.class, () -> client.makeRequestAsync("/broken", UserPayload.class).get());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> client.makeRequestAsync("/users/1", UserPayload.class).get());
+        assertEquals("CIRCUIT_OPEN", ((ApplicationException) e.getCause()).getErrorCode());
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneCallAndThenHitCache() throws Exception {
+        List<CompletableFuture<UserPayload>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(client.makeRequestAsync("/catalog", UserPayload.class));
+        }
+        for (CompletableFuture<UserPayload> future : futures) {
+            assertEquals("carol", future.get().username);
+        }
+        assertEquals(1, catalogCalls.get());
+        assertEquals(9, client.getCacheStats().getCoalescedCount());
+
+        assertEquals("carol", client.makeRequest("/catalog", UserPayload.class).username);
+        assertEquals(1, catalogCalls.get());
+        assertEquals(1, client.getCacheStats().getHitCount());
+    }
+
+    @Test
+    public void testStaleEntryIsRevalidatedWithEtag() throws Exception {
+        assertEquals("dave", client.makeRequest("/versioned", UserPayload.class).username);
+        assertEquals("dave", client.makeRequest("/versioned", UserPayload.class).username);
+        assertEquals(1, notModifiedCalls.get());
+        assertEquals(1, client.getCacheStats().getRevalidationCount());
+        assertEquals(1, client.getCacheStats().getMissCount());
+    }
+
+    @Test
+    public void testStaleEntryServedWhenServiceFails() throws Exception {
+        assertEquals("erin", client.makeRequest("/flaky", UserPayload.class).username);
+        assertEquals("erin", client.makeRequest("/flaky", UserPayload.class).username);
+        assertEquals(2, flakyCalls.get());
+        assertEquals(1, client.getCacheStats().getStaleCount());
+    }
+
+    private static class UserPayload {
+        int id;
+        String username;
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CacheClient and NearCache tests against an in-memory store
+ */
+public class CacheClientTest {
+
+    private InMemoryCacheStore store;
+    private CacheClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        store = new InMemoryCacheStore();
+        client = new CacheClient("test-cache", "localhost", 6379, store);
+        client.connect();
+    }
+
+    @Test
+    public void testNearCacheServesRepeatedReads() {
+        client.put("user:1:name", "Alice");
+        int before = store.getRoundTrips();
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Alice", client.get("user:1:name"));
+        }
+        assertEquals(before, store.getRoundTrips());
+    }
+
+    @Test
+    public void testGetAllFetchesMissesInOneRoundTrip() {
+        store.setAll(Map.of("a", "1", "b", "2", "c", "3"), 0);
+        client.get("a");
+        int before = store.getRoundTrips();
+
+        Map<String, String> values = client.getAll(List.of("a", "b", "c", "missing"));
+
+        assertEquals(Map.of("a", "1", "b", "2", "c", "3"), values);
+        assertEquals(before + 1, store.getRoundTrips());
+    }
+
+    @Test
+    public void testWriteFromOtherInstanceInvalidatesNearCache() throws Exception {
+        CacheClient other = new CacheClient("other-cache", "localhost", 6379, store.sharingServer());
+        other.connect();
+        client.put("user:2:name", "Bob");
+        assertEquals("Bob", client.get("user:2:name"));
+
+        other.put("user:2:name", "Robert");
+
+        assertEquals("Robert", client.get("user:2:name"));
+    }
+
+    @Test
+    public void testOwnWritesKeepNearCacheEntry() {
+        client.put("user:3:name", "Carol");
+        assertEquals(1, client.getNearCache().size());
+    }
+
+    @Test
+    public void testFrequentKeysSurviveScan() {
+        NearCache cache = new NearCache(10, 60000);
+        for (int i = 0; i < 10; i++) {
+            cache.put("hot" + i, "v");
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                cache.get("hot" + i);
+            }
+        }
+        // One-off keys should not displace the hot set
+        for (int i = 0; i < 100; i++) {
+            cache.get("cold" + i);
+            cache.put("cold" + i, "v");
+        }
+        int hotRemaining = 0;
+        for (int i = 0; i < 10; i++) {
+            if (cache.get("hot" + i) != null) {
+                hotRemaining++;
+            }
+        }
+        assertTrue(hotRemaining >= 9, "Only " + hotRemaining + " hot keys survived");
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    public void testExpiredEntriesAreMisses() throws InterruptedException {
+        NearCache cache = new NearCache(10, 1);
+        cache.put("k", "v");
+        Thread.sleep(5);
+        assertNull(cache.get("k"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChangeFeed tests against in-memory sources
+ */
+public class ChangeFeedTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ChangeFeed feed;
+
+    @AfterEach
+    public void tearDown() {
+        if (feed != null) {
+            feed.close();
+        }
+    }
+
+    @Test
+    public void testRepeatedChangesToOneRowAreCoalesced() {
+        List<RowChange> merged = ChangeFeed.coalesce(List.of(
+            change(RowChange.Op.INSERT, 1, 1),
+            change(RowChange.Op.UPDATE, 2, 2),
+            change(RowChange.Op.UPDATE, 1, 3),
+            change(RowChange.Op.INSERT, 3, 4),
+            change(RowChange.Op.DELETE, 3, 0),
+            change(RowChange.Op.DELETE, 2, 0)));
+
+        assertEquals(2, merged.size());
+        assertEquals(1, merged.get(0).getId());
+        assertEquals(RowChange.Op.INSERT, merged.get(0).getOp());
+        assertEquals(START.plusSeconds(3), merged.get(0).getChangedAt());
+        assertEquals(2, merged.get(1).getId());
+        assertEquals(RowChange.Op.DELETE, merged.get(1).getOp());
+    }
+
+    @Test
+    public void testSubscribersReceiveTheirTableAndResumeAfterFailure() throws Exception {
+        InMemoryChangeSource source = new InMemoryChangeSource();
+        List<RowChange> users = new CopyOnWriteArrayList<>();
+        List<RowChange> audit = new CopyOnWriteArrayList<>();
+        feed = new ChangeFeed("test", source, null, 20, 100);
+        feed.subscribe(ChangeFeed.USERS_TABLE, users::addAll);
+        feed.subscribe(ChangeFeed.AUDIT_LOG_TABLE, audit::addAll);
+        feed.start();
+
+        source.publish(change(RowChange.Op.UPDATE, 1, 1));
+        source.publish(new RowChange(ChangeFeed.AUDIT_LOG_TABLE, RowChange.Op.INSERT, 9, START));
+        awaitTrue(() -> users.size() == 1 && audit.size() == 1);
+        assertEquals(1, users.get(0).getId());
+        assertEquals(9, audit.get(0).getId());
+
+        source.setFailing(true);
+        awaitTrue(() -> !feed.isConnected());
+        // Published while the feed is down; only the watermark catch-up can find it
+        source.publish(change(RowChange.Op.UPDATE, 2, 2));
+        source.setFailing(false);
+        awaitTrue(() -> users.size() == 2);
+
+        assertEquals(2, users.get(1).getId());
+        assertEquals(new Watermark(START.plusSeconds(2), 2), feed.getWatermark(ChangeFeed.USERS_TABLE));
+        assertTrue(source.getOpenCount() >= 2);
+        Thread.sleep(100);
+        assertEquals(2, users.size());
+    }
+
+    @Test
+    public void testListenerFallsBackOnlyForLastingErrors() {
+        assertThrows(SQLFeatureNotSupportedException.class, () -> listenerFailingWith("0A000").open());
+        assertThrows(SQLFeatureNotSupportedException.class, () -> listenerFailingWith("42501").open());
+        // Too many connections and admin shutdown clear up; the feed retries instead of polling for good
+        for (String state : new String[] {"53300", "57P01", null}) {
+            SQLException e = assertThrows(SQLException.class, () -> listenerFailingWith(state).open());
+            assertFalse(e instanceof SQLFeatureNotSupportedException, "SQLState " + state);
+        }
+    }
+
+    private static NotifyChangeSource listenerFailingWith(String sqlState) {
+        return new NotifyChangeSource(() -> (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("prepareStatement")) {
+                    throw new SQLException("refused", sqlState);
+                }
+                return null;
+            }), null, 1000);
+    }
+
+    @Test
+    public void testUnsupportedPrimarySwitchesToFallback() throws Exception {
+        ChangeSource unsupported = new ChangeSource() {
+            @Override
+            public void open() throws SQLException {
+                throw new SQLFeatureNotSupportedException("no LISTEN here");
+            }
+
+            @Override
+            public List<RowChange> read(Map<String, Watermark> watermarks, long timeoutMillis) {
+                throw new IllegalStateException("never opened");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        InMemoryChangeSource fallback = new InMemoryChangeSource();
+        List<RowChange> users = new CopyOnWriteArrayList<>();
+        feed = new ChangeFeed("test", unsupported, fallback, 0, 100);
+        feed.subscribe(ChangeFeed.USERS_TABLE, users::addAll);
+        feed.start();
+
+        fallback.publish(change(RowChange.Op.INSERT, 4, 1));
+        awaitTrue(() -> users.size() == 1);
+        assertTrue(feed.isConnected());
+    }
+
+    @Test
+    public void testNotificationPayloadParsing() {
+        RowChange update = NotifyChangeSource.parse("users,UPDATE,42,2024-01-02T03:04:05.123456");
+        assertEquals(ChangeFeed.USERS_TABLE, update.getTable());
+        assertEquals(RowChange.Op.UPDATE, update.getOp());
+        assertEquals(42, update.getId());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000), update.getChangedAt());
+
+        RowChange delete = NotifyChangeSource.parse("users,DELETE,7,");
+        assertEquals(RowChange.Op.DELETE, delete.getOp());
+        assertNull(delete.getChangedAt());
+
+        assertNull(NotifyChangeSource.parse("users,TRUNCATE,1,"));
+        assertNull(NotifyChangeSource.parse("garbage"));
+    }
+
+    private static RowChange change(RowChange.Op op, long id, int second) {
+        return new RowChange(ChangeFeed.USERS_TABLE, op, id, op == RowChange.Op.DELETE ? null : START.plusSeconds(second));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CircuitBreaker, LatencyWindow and HedgeBudget tests
+ */
+public class CircuitBreakerTest {
+
+    private static ResiliencePolicy policy() {
+        // 50% of a 10-call window after at least 4 calls; open for 1s; 2 half-open probes
+        return new ResiliencePolicy(100, 99, 3, 50, 10, 4, 1000, 2, 8, false, 95, 10);
+    }
+
+    @Test
+    public void testOpensOnFailureRateAndRecoversThroughHalfOpen() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("test", policy(), now::get);
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "Too few calls to trust the rate");
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        now.set(1000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "Only two probes while half-open");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate());
+    }
+
+    @Test
+    public void testFailedProbeReopens() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("test", policy(), now::get);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        now.set(1500);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testLatencyWindowPercentiles() {
+        LatencyWindow window = new LatencyWindow(100);
+        assertEquals(-1, window.percentile(50, 1));
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+        assertEquals(50, window.percentile(50, 1));
+        assertEquals(99, window.percentile(99, 1));
+        // Old samples roll out of the window
+        for (int i = 0; i < 100; i++) {
+            window.record(1000);
+        }
+        assertEquals(1000, window.percentile(50, 1));
+    }
+
+    @Test
+    public void testHedgeBudgetFollowsRecentRequests() {
+        AtomicLong now = new AtomicLong();
+        HedgeBudget budget = new HedgeBudget(10, now::get);
+        for (int i = 0; i < 1000; i++) {
+            budget.recordRequest();
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(budget.tryAcquire(10));
+        }
+        assertFalse(budget.tryAcquire(10), "10% of 1000 requests");
+
+        // After a quiet spell the old traffic no longer buys hedges
+        now.set(60_000);
+        for (int i = 0; i < 20; i++) {
+            budget.recordRequest();
+        }
+        assertTrue(budget.tryAcquire(10));
+        assertTrue(budget.tryAcquire(10));
+        assertFalse(budget.tryAcquire(10));
+    }
+}
@@ -0,0 +1,168 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ConnectionPool tests
+ */
+public class ConnectionPoolTest {
+
+    private FakeConnectionFactory factory;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        factory = new FakeConnectionFactory();
+        pool = new ConnectionPool("test-pool", factory, new PoolConfig(1, 2, 100, 1000, 60000, 0, 60000));
+        pool.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void testStartFillsMinimum() {
+        assertEquals(1, factory.getCreatedCount());
+        assertEquals(1, pool.getStats().getIdleCount());
+    }
+
+    @Test
+    public void testLeaseAndReturnReusesConnection() throws SQLException {
+        Connection first = pool.lease();
+        assertEquals(1, pool.getStats().getActiveCount());
+        first.close();
+        assertTrue(first.isClosed());
+        assertEquals(0, pool.getStats().getActiveCount());
+
+        Connection second = pool.lease();
+        second.close();
+        assertEquals(1, factory.getCreatedCount());
+        assertEquals(2, pool.getStats().getLeaseCount());
+    }
+
+    @Test
+    public void testLeaseListenerSeesHoldTimesAndTimeouts() throws Exception {
+        List<Boolean> outcomes = new ArrayList<>();
+        List<Long> latencies = new ArrayList<>();
+        pool.setLeaseListener((latencyNanos, success) -> {
+            outcomes.add(success);
+            latencies.add(latencyNanos);
+        });
+
+        Connection first = pool.lease();
+        Thread.sleep(20);
+        first.close();
+        Connection second = pool.lease();
+        Connection third = pool.lease();
+        assertThrows(SQLException.class, () -> pool.lease());
+        second.close();
+        third.close();
+
+        assertEquals(List.of(true, false, true, true), outcomes);
+        assertTrue(latencies.get(0) >= TimeUnit.MILLISECONDS.toNanos(20));
+        // The timed-out lease reports how long it waited
+        assertTrue(latencies.get(1) >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void testLeaseTimesOutWhenExhausted() throws SQLException {
+        Connection first = pool.lease();
+        Connection second = pool.lease();
+        assertThrows(SQLException.class, () -> pool.lease());
+        assertEquals(1, pool.getStats().getLeaseTimeoutCount());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void testReturnedLeaseRejectsCalls() throws SQLException {
+        Connection connection = pool.lease();
+        connection.close();
+        assertThrows(SQLException.class, () -> connection.createStatement());
+    }
+
+    @Test
+    public void testInvalidConnectionReplacedOnBorrow() throws Exception {
+        factory.setValid(false);
+        Thread.sleep(600);
+        Connection connection = pool.lease();
+        assertEquals(2, factory.getCreatedCount());
+        assertEquals(1, factory.getClosedCount());
+        connection.close();
+    }
+
+    @Test
+    public void testCloseReleasesIdleConnections() {
+        pool.close();
+        assertEquals(1, factory.getClosedCount());
+        assertThrows(SQLException.class, () -> pool.lease());
+    }
+
+    @Test
+    public void testReconfigureChangesCapacity() throws SQLException {
+        pool.reconfigure(new PoolConfig(1, 3, 100, 1000, 60000, 0, 60000));
+        Connection first = pool.lease();
+        Connection second = pool.lease();
+        Connection third = pool.lease();
+        assertEquals(3, pool.getStats().getActiveCount());
+        first.close();
+        second.close();
+        third.close();
+
+        pool.reconfigure(new PoolConfig(1, 1, 100, 1000, 60000, 0, 60000));
+        assertEquals(1, pool.getStats().getIdleCount());
+        Connection only = pool.lease();
+        assertThrows(SQLException.class, pool::lease);
+        only.close();
+    }
+
+    @Test
+    public void testPreparedStatementsAreReusedAcrossLeases() throws SQLException {
+        pool.close();
+        factory = new FakeConnectionFactory();
+        pool = new ConnectionPool("test-pool", factory, new PoolConfig(1, 1, 100, 1000, 60000, 0, 60000, 4));
+        pool.start();
+        for (int i = 0; i < 3; i++) {
+            try (Connection connection = pool.lease();
+                 PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+                assertFalse(statement.isClosed());
+            }
+        }
+        assertEquals(1, factory.getPreparedCount());
+        assertEquals(2, pool.getStats().getStatementCacheHits());
+        assertEquals(1, pool.getStats().getStatementCacheMisses());
+
+        // The cached statement is busy, so a second one is prepared and closed for real
+        try (Connection connection = pool.lease();
+             PreparedStatement first = connection.prepareStatement("SELECT 1")) {
+            PreparedStatement second = connection.prepareStatement("SELECT 1");
+            second.close();
+            assertTrue(second.isClosed());
+            assertFalse(first.isClosed());
+        }
+        assertEquals(2, factory.getPreparedCount());
+
+        // A returned handle stays closed even though its statement is reused
+        PreparedStatement returned;
+        try (Connection connection = pool.lease()) {
+            returned = connection.prepareStatement("SELECT 1");
+            assertSame(connection, returned.getConnection());
+            returned.close();
+            returned.close();
+        }
+        assertTrue(returned.isClosed());
+        assertThrows(SQLException.class, returned::executeQuery);
+        assertEquals(2, factory.getPreparedCount());
+    }
+}
@@ -0,0 +1,106 @@
+package com.company.app.integration;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded stand-in for a JDBC driver - hands out in-memory connections
+ * that only track open/closed state and validity.
+ */
+public class FakeConnectionFactory implements ConnectionFactory {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final AtomicInteger prepared = new AtomicInteger();
+    private volatile boolean valid = true;
+    private volatile boolean failing = false;
+
+    @Override
+    public Connection create() throws SQLException {
+        if (failing) {
+            throw new SQLException("Connection refused");
+        }
+        created.incrementAndGet();
+        boolean[] open = {true};
+        boolean[] autoCommit = {true};
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        if (open[0]) {
+                            open[0] = false;
+                            closed.incrementAndGet();
+                        }
+                        return null;
+                    case "isClosed":
+                        return !open[0];
+                    case "isValid":
+                        return open[0] && valid;
+                    case "getAutoCommit":
+                        return autoCommit[0];
+                    case "setAutoCommit":
+                        autoCommit[0] = (Boolean) args[0];
+                        return null;
+                    case "prepareStatement":
+                        prepared.incrementAndGet();
+                        return newStatement();
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    private static PreparedStatement newStatement() {
+        boolean[] open = {true};
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[]{PreparedStatement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        open[0] = false;
+                        return null;
+                    case "isClosed":
+                        return !open[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    public int getClosedCount() {
+        return closed.get();
+    }
+
+    /**
+     * Statements prepared on the physical connections
+     */
+    public int getPreparedCount() {
+        return prepared.get();
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+}
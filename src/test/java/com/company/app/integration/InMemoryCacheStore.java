@@ -0,0 +1,103 @@
+package com.company.app.integration;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stand-in for Redis. Stores created with the same data and bus
+ * behave like several processes sharing one Redis server.
+ */
+public class InMemoryCacheStore implements CacheStore {
+
+    private final Map<String, String> data;
+    private final List<Consumer<String>> bus;
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    public InMemoryCacheStore() {
+        this(new ConcurrentHashMap<>(), new CopyOnWriteArrayList<>());
+    }
+
+    private InMemoryCacheStore(Map<String, String> data, List<Consumer<String>> bus) {
+        this.data = data;
+        this.bus = bus;
+    }
+
+    /**
+     * Another "process" connected to the same server
+     */
+    public InMemoryCacheStore sharingServer() {
+        return new InMemoryCacheStore(data, bus);
+    }
+
+    @Override
+    public void open() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean ping() {
+        return true;
+    }
+
+    @Override
+    public String get(String key) {
+        roundTrips.incrementAndGet();
+        return data.get(key);
+    }
+
+    @Override
+    public Map<String, String> getAll(Collection<String> keys) {
+        roundTrips.incrementAndGet();
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            String value = data.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void set(String key, String value, long ttlMillis) {
+        roundTrips.incrementAndGet();
+        data.put(key, value);
+    }
+
+    @Override
+    public void setAll(Map<String, String> entries, long ttlMillis) {
+        roundTrips.incrementAndGet();
+        data.putAll(entries);
+    }
+
+    @Override
+    public void delete(String key) {
+        roundTrips.incrementAndGet();
+        data.remove(key);
+    }
+
+    @Override
+    public void publishInvalidation(String message) {
+        for (Consumer<String> listener : bus) {
+            listener.accept(message);
+        }
+    }
+
+    @Override
+    public void subscribeInvalidations(Consumer<String> listener) {
+        bus.add(listener);
+    }
+
+    public int getRoundTrips() {
+        return roundTrips.get();
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.app.integration;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory stand-in for a database change source - keeps every published
+ * change in a log, delivers new ones live and, after a reopen, catches up from
+ * the feed's watermarks the way the polling catch-up would. Deletes carry no
+ * position, so like a real catch-up it cannot recover ones missed while down.
+ */
+public class InMemoryChangeSource implements ChangeSource {
+
+    private final List<RowChange> log = new ArrayList<>();
+    private int next;
+    private boolean reopened;
+    private int openCount;
+    private boolean failing;
+
+    public synchronized void publish(RowChange change) {
+        log.add(change);
+        notifyAll();
+    }
+
+    /**
+     * Make the source fail like a dropped connection, or recover
+     */
+    public synchronized void setFailing(boolean failing) {
+        this.failing = failing;
+        notifyAll();
+    }
+
+    public synchronized int getOpenCount() {
+        return openCount;
+    }
+
+    @Override
+    public synchronized void open() throws SQLException {
+        if (failing) {
+            throw new SQLException("Connection refused", "08001");
+        }
+        reopened = openCount++ > 0;
+    }
+
+    @Override
+    public synchronized List<RowChange> read(Map<String, Watermark> watermarks, long timeoutMillis)
+            throws SQLException, InterruptedException {
+        if (reopened) {
+            reopened = false;
+            next = log.size();
+            for (int i = 0; i < log.size(); i++) {
+                RowChange change = log.get(i);
+                Watermark mark = watermarks.get(change.getTable());
+                if (change.getChangedAt() != null && (mark == null
+                        || new Watermark(change.getChangedAt(), change.getId()).compareTo(mark) > 0)) {
+                    next = i;
+                    break;
+                }
+            }
+        }
+        if (next == log.size() && !failing) {
+            wait(timeoutMillis);
+        }
+        if (failing) {
+            throw new SQLException("Connection reset", "08006");
+        }
+        List<RowChange> changes = new ArrayList<>(log.subList(next, log.size()));
+        next = log.size();
+        return changes;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,206 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * QueryExecutor and RecordMapper tests
+ */
+public class QueryExecutorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] COLUMNS = {"id", "user_id", "action", "timestamp"};
+
+    enum Action { LOGIN, LOGOUT }
+
+    record Event(long id, Long userId, Action action, LocalDateTime timestamp) {
+    }
+
+    private final List<String> calls = new ArrayList<>();
+    private int totalRows;
+    private int rowsRead;
+    private int openConnections;
+
+    @Test
+    public void testRecordsMapByColumnLabel() throws SQLException {
+        totalRows = 3;
+        QueryExecutor executor = new QueryExecutor("test", this::connection);
+        List<Event> events = executor.list("SELECT * FROM audit_log", RecordMapper.of(Event.class));
+
+        assertEquals(List.of(
+            new Event(1, 1L, Action.LOGOUT, BASE.plusMinutes(1)),
+            new Event(2, 2L, Action.LOGIN, BASE.plusMinutes(2)),
+            new Event(3, null, Action.LOGOUT, BASE.plusMinutes(3))), events);
+        assertSame(RecordMapper.of(Event.class), RecordMapper.of(Event.class));
+        assertEquals(0, openConnections);
+    }
+
+    @Test
+    public void testParametersUseTypedSetters() throws SQLException {
+        totalRows = 1;
+        QueryExecutor executor = new QueryExecutor("test", this::connection);
+        Event event = executor.first("SELECT * FROM audit_log WHERE id = ?", RecordMapper.of(Event.class),
+            "alice", 7L, BASE, Action.LOGIN, null);
+
+        assertEquals(1, event.id());
+        assertEquals(List.of("setMaxRows:1", "setString:alice", "setLong:7",
+            "setTimestamp:" + Timestamp.valueOf(BASE), "setString:LOGIN", "setObject:null"), calls);
+    }
+
+    @Test
+    public void testStreamReadsLazilyAndReleasesOnClose() throws SQLException {
+        totalRows = 1_000_000;
+        QueryExecutor executor = new QueryExecutor("test", this::connection);
+        List<Long> ids;
+        try (Stream<Event> events = executor.stream("SELECT * FROM audit_log", 500, RecordMapper.of(Event.class))) {
+            assertEquals(1, openConnections);
+            ids = events.limit(5).map(Event::id).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+        assertTrue(rowsRead <= 6, "read " + rowsRead + " rows");
+        assertTrue(calls.contains("setAutoCommit:false"));
+        assertTrue(calls.contains("setFetchSize:500"));
+        assertEquals(0, openConnections);
+
+        QueryStats stats = executor.getStats().get(0);
+        assertEquals("SELECT * FROM audit_log", stats.getSql());
+        assertEquals(1, stats.getCallCount());
+        assertEquals(5, stats.getRowCount());
+    }
+
+    @Test
+    public void testMissingColumnFailsTheQuery() {
+        totalRows = 1;
+        QueryExecutor executor = new QueryExecutor("test", this::connection);
+        record Other(long id, String missing) {
+        }
+        assertThrows(SQLException.class, () -> executor.list("SELECT * FROM audit_log", RecordMapper.of(Other.class)));
+        assertEquals(0, openConnections);
+        assertEquals(1, executor.getStats().get(0).getFailureCount());
+    }
+
+    @Test
+    public void testDistinctStatementsBeyondTheCapShareOneTally() throws SQLException {
+        QueryExecutor executor = new QueryExecutor("test", this::connection);
+        for (int i = 0; i < QueryExecutor.MAX_TRACKED_STATEMENTS + 10; i++) {
+            executor.update("DELETE FROM audit_log WHERE id = " + i);
+        }
+
+        List<QueryStats> stats = executor.getStats();
+        assertEquals(QueryExecutor.MAX_TRACKED_STATEMENTS + 1, stats.size());
+        QueryStats other = stats.stream()
+            .filter(s -> s.getSql().equals(QueryExecutor.OTHER_STATEMENTS))
+            .findFirst().orElseThrow();
+        assertEquals(10, other.getCallCount());
+    }
+
+    @Test
+    public void testListAppliesTheFetchSize() throws SQLException {
+        totalRows = 2;
+        QueryExecutor executor = new QueryExecutor("test", this::connection);
+        executor.list("SELECT * FROM audit_log", 50, RecordMapper.of(Event.class));
+
+        assertTrue(calls.contains("setFetchSize:50"));
+    }
+
+    private Connection connection() {
+        openConnections++;
+        boolean[] open = {true};
+        return proxy(Connection.class, (name, args) -> {
+            switch (name) {
+                case "prepareStatement":
+                    return statement();
+                case "close":
+                    if (open[0]) {
+                        open[0] = false;
+                        openConnections--;
+                    }
+                    return null;
+                case "setAutoCommit":
+                    calls.add(name + ":" + args[0]);
+                    return null;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private PreparedStatement statement() {
+        return proxy(PreparedStatement.class, (name, args) -> {
+            if (name.equals("executeQuery")) {
+                return resultSet();
+            } else if (name.equals("executeUpdate")) {
+                return 1;
+            } else if (name.startsWith("set")) {
+                calls.add(name + ":" + args[args.length - 1]);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Rows produced on demand: id n, user_id n (null every third row), alternating action, n minutes past BASE
+     */
+    private ResultSet resultSet() {
+        int[] position = {0};
+        boolean[] wasNull = {false};
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (name, args) -> {
+            switch (name) {
+                case "getColumnCount":
+                    return COLUMNS.length;
+                case "getColumnLabel":
+                    return COLUMNS[(Integer) args[0] - 1];
+                default:
+                    return null;
+            }
+        });
+        return proxy(ResultSet.class, (name, args) -> {
+            int row = position[0];
+            switch (name) {
+                case "next":
+                    if (row == totalRows) {
+                        return false;
+                    }
+                    position[0]++;
+                    rowsRead++;
+                    return true;
+                case "getMetaData":
+                    return metaData;
+                case "getLong":
+                    wasNull[0] = (Integer) args[0] == 2 && row % 3 == 0;
+                    return wasNull[0] ? 0L : (long) row;
+                case "wasNull":
+                    return wasNull[0];
+                case "getString":
+                    return row % 2 == 0 ? "LOGIN" : "LOGOUT";
+                case "getTimestamp":
+                    return Timestamp.valueOf(BASE.plusMinutes(row));
+                default:
+                    return null;
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> handler.invoke(method.getName(), args)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ResponseCache, CachedResponse and DiskCacheTier tests
+ */
+public class ResponseCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static HttpHeaders headers(Map<String, List<String>> values) {
+        return HttpHeaders.of(values, (name, value) -> true);
+    }
+
+    @Test
+    public void testCacheControlDecidesWhatIsStored() {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        assertNull(CachedResponse.from(headers(Map.of()), body, 0), "Nothing to reuse without freshness or validators");
+        assertNull(CachedResponse.from(headers(Map.of("Cache-Control", List.of("no-store", "max-age=60"))), body, 0));
+
+        CachedResponse fresh = CachedResponse.from(headers(Map.of("Cache-Control", List.of("public, max-age=60"))), body, 1000);
+        assertTrue(fresh.isFresh(60_999));
+        assertFalse(fresh.isFresh(61_000));
+
+        CachedResponse validated = CachedResponse.from(headers(Map.of("ETag", List.of("\"a\""))), body, 1000);
+        assertFalse(validated.isFresh(1000));
+        assertTrue(validated.hasValidators());
+    }
+
+    @Test
+    public void testMemoryTierEvictsLeastRecentlyUsed() {
+        ResponseCache cache = new ResponseCache(10, null);
+        cache.put("a", new CachedResponse(new byte[4], null, null, 0, 1));
+        cache.put("b", new CachedResponse(new byte[4], null, null, 0, 1));
+        assertNotNull(cache.get("a"));
+        cache.put("c", new CachedResponse(new byte[4], null, null, 0, 1));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(8, cache.getStats().getMemoryBytes());
+    }
+
+    @Test
+    public void testDiskTierSurvivesRestart() throws Exception {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        new ResponseCache(1024, new DiskCacheTier(directory, 1 << 20))
+            .put("http://api/users/1", new CachedResponse(body, "\"v7\"", "Tue, 01 Sep 2026 10:00:00 GMT", 5, 60_005));
+
+        ResponseCache restarted = new ResponseCache(1024, new DiskCacheTier(directory, 1 << 20));
+        CachedResponse entry = restarted.get("http://api/users/1");
+        assertNotNull(entry);
+        assertArrayEquals(body, entry.getBody());
+        assertEquals("\"v7\"", entry.getEtag());
+        assertEquals("Tue, 01 Sep 2026 10:00:00 GMT", entry.getLastModified());
+        assertEquals(60_005, entry.getExpiresAt());
+        assertEquals(1, restarted.getStats().getMemoryEntries(), "Disk hit is promoted to memory");
+        assertNull(restarted.get("http://api/users/2"));
+    }
+
+    @Test
+    public void testOnlyDiskLookupsLeaveTheCallerThread() throws Exception {
+        ResponseCache cache = new ResponseCache(1024, new DiskCacheTier(directory, 1 << 20));
+        cache.put("http://api/users/1", new CachedResponse(new byte[4], null, null, 0, 1));
+        List<Runnable> deferred = new ArrayList<>();
+
+        assertNotNull(cache.getAsync("http://api/users/1", deferred::add).getNow(null));
+        assertTrue(deferred.isEmpty(), "Memory hit answered in place");
+
+        CompletableFuture<CachedResponse> miss = cache.getAsync("http://api/users/2", deferred::add);
+        assertFalse(miss.isDone());
+        deferred.forEach(Runnable::run);
+        assertNull(miss.join());
+    }
+
+    @Test
+    public void testUnreadableEntryIsDiscardedFromTheBudget() throws Exception {
+        DiskCacheTier disk = new DiskCacheTier(directory, 1 << 20);
+        disk.put("http://api/users/1", new CachedResponse(new byte[100], null, null, 0, 1));
+        Path file;
+        try (Stream<Path> files = Files.list(directory)) {
+            file = files.findFirst().orElseThrow();
+        }
+        // Same length, damaged header
+        byte[] content = Files.readAllBytes(file);
+        content[0] = 0;
+        Files.write(file, content);
+
+        assertNull(disk.get("http://api/users/1"));
+        assertFalse(Files.exists(file));
+        assertEquals(0, disk.getTotalBytes());
+    }
+}
@@ -0,0 +1,137 @@
+package com.company.app.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SnapshotStore tests
+ */
+public class SnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRecordsSurviveReopenAndCompaction() throws IOException {
+        Path file = directory.resolve("users.snap");
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 1 << 20)) {
+            store.put("user/1", bytes("alice"));
+            store.put("user/2", bytes("bob"));
+            store.put("user/1", bytes("alicia"));
+            store.remove("user/2");
+        }
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 1 << 20)) {
+            assertEquals("alicia", text(store.get("user/1")));
+            assertNull(store.get("user/2"));
+            assertEquals(1, store.getRecordCount());
+            store.compact();
+            // Written after the index block, so reopening reads both
+            store.put("user/3", bytes("carol"));
+        }
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 1 << 20)) {
+            List<String> keys = new ArrayList<>();
+            store.forEach("user/", (key, value) -> keys.add(key));
+            keys.sort(null);
+            assertEquals(List.of("user/1", "user/3"), keys);
+            assertEquals("carol", text(store.get("user/3")));
+        }
+    }
+
+    @Test
+    public void testTornTailIsDropped() throws IOException {
+        Path file = directory.resolve("torn.snap");
+        long end;
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 1 << 20)) {
+            store.put("a", bytes("one"));
+            end = store.getFileBytes();
+        }
+        // A record header promising more bytes than were written, as after a crash mid-append
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer garbage = ByteBuffer.allocate(16).putInt(1).putInt(500).putInt(42).putInt(7);
+            garbage.flip();
+            channel.write(garbage, end);
+        }
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 1 << 20)) {
+            assertEquals("one", text(store.get("a")));
+            assertEquals(1, store.getRecordCount());
+            store.put("b", bytes("two"));
+        }
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 1 << 20)) {
+            assertEquals("two", text(store.get("b")));
+        }
+    }
+
+    @Test
+    public void testSchemaChangeDiscardsRecords() throws IOException {
+        Path file = directory.resolve("schema.snap");
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 1 << 20)) {
+            store.put("a", bytes("one"));
+        }
+        try (SnapshotStore store = SnapshotStore.open(file, 2, 1 << 20)) {
+            assertNull(store.get("a"));
+            assertEquals(0, store.getRecordCount());
+        }
+    }
+
+    @Test
+    public void testSizeCapEvictsOldestRecords() throws IOException {
+        Path file = directory.resolve("capped.snap");
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 64 * 1024)) {
+            byte[] value = new byte[1000];
+            for (int batch = 0; batch < 10; batch++) {
+                Map<String, byte[]> records = new LinkedHashMap<>();
+                for (int i = 0; i < 10; i++) {
+                    records.put("k" + (batch * 10 + i), value);
+                }
+                store.putAll(records);
+            }
+            assertTrue(store.getEvictedCount() > 0);
+            assertTrue(store.getFileBytes() <= 64 * 1024);
+            assertNull(store.get("k0"));
+            assertNotNull(store.get("k99"));
+        }
+    }
+
+    @Test
+    public void testForEachReadsValuesAcrossChunks() throws IOException {
+        Path file = directory.resolve("large.snap");
+        try (SnapshotStore store = SnapshotStore.open(file, 1, 64 << 20)) {
+            for (int i = 0; i < 8; i++) {
+                byte[] value = new byte[300_000];
+                Arrays.fill(value, (byte) i);
+                store.put("blob/" + i, value);
+            }
+            store.put("other", bytes("skipped"));
+            Map<String, Integer> lastBytes = new LinkedHashMap<>();
+            store.forEach("blob/", (key, value) -> {
+                assertEquals(300_000, value.remaining());
+                assertTrue(value.isReadOnly());
+                lastBytes.put(key, (int) value.get(value.limit() - 1));
+            });
+            assertEquals(8, lastBytes.size());
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i, lastBytes.get("blob/" + i));
+            }
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
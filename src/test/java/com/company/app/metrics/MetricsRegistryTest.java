@@ -0,0 +1,85 @@
+package com.company.app.metrics;
+
+import org.junit.jupiter.api.Test;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MetricsRegistry, Histogram and MetricsServer tests
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    public void testHistogramBucketsAreContiguous() {
+        for (int index = 0; index < Histogram.BUCKET_COUNT - 1; index++) {
+            assertEquals(Histogram.upperBound(index) + 1, Histogram.lowerBound(index + 1));
+            assertEquals(index, Histogram.bucketIndex(Histogram.lowerBound(index)));
+            assertEquals(index, Histogram.bucketIndex(Histogram.upperBound(index)));
+        }
+        assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentilesAndMerge() {
+        Histogram first = new Histogram();
+        Histogram second = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            (i % 2 == 0 ? first : second).record(i * 1_000L);
+        }
+
+        HistogramSnapshot merged = first.snapshot().merge(second.snapshot());
+        assertEquals(1000, merged.getCount());
+        assertEquals(500_500_000L, merged.getSum());
+        long median = merged.valueAtPercentile(50);
+        // Log-linear buckets keep every value within one eighth of its power of two
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.13, "median " + median);
+        assertEquals(1000, merged.countAtOrBelow(Long.MAX_VALUE));
+
+        first.merge(second.snapshot());
+        assertEquals(merged.getCount(), first.snapshot().getCount());
+    }
+
+    @Test
+    public void testScrapeRendersPrometheusText() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("app_events_total", "Events seen", "service", "api").add(3);
+        assertSame(registry.counter("app_events_total", "Events seen", "service", "api"),
+            registry.counter("app_events_total", "Events seen", "service", "api"));
+        registry.gauge("app_queue_depth", "Queued items", () -> 7);
+        Timer timer = registry.timer("app_request_duration_seconds", "Request time", "service", "api");
+        timer.record(2_000_000L, true);
+        timer.record(200_000_000L, false);
+
+        String text = registry.scrape();
+        assertTrue(text.contains("# TYPE app_events_total counter\n"));
+        assertTrue(text.contains("app_events_total{service=\"api\"} 3\n"));
+        assertTrue(text.contains("app_queue_depth 7\n"));
+        assertTrue(text.contains("# TYPE app_request_duration_seconds histogram\n"));
+        assertTrue(text.contains("app_request_duration_seconds_bucket{service=\"api\",outcome=\"success\",le=\"0.001\"} 0\n"));
+        assertTrue(text.contains("app_request_duration_seconds_bucket{service=\"api\",outcome=\"success\",le=\"0.0025\"} 1\n"));
+        assertTrue(text.contains("app_request_duration_seconds_count{service=\"api\",outcome=\"failure\"} 1\n"));
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("app_events_total", "Events seen"));
+    }
+
+    @Test
+    public void testServerServesMetrics() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("app_scrapes_total", "Scrapes").increment();
+        MetricsServer server = new MetricsServer(registry, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+            assertTrue(response.body().contains("app_scrapes_total 1\n"));
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.company.app.service;
+
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import com.company.app.model.AuditEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AuditColumnCache tests
+ */
+public class AuditColumnCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final String[] ACTIONS = {"LOGIN", "LOGOUT", "NAVIGATE_USERS", null};
+
+    @Test
+    public void testIncrementalLoadAndGroupBy() throws Exception {
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog();
+        log.add(6_000, 0);
+        AuditColumnCache cache = new AuditColumnCache(log, 1000, 1 << 20);
+        assertFalse(cache.covers(START));
+        assertEquals(6_000, cache.refresh());
+        log.add(4_000, 6_000);
+        assertEquals(4_000, cache.refresh());
+        assertEquals(0, cache.refresh());
+        assertEquals(10_000, cache.getWatermark());
+        assertEquals(10_000, cache.getRowCount());
+        assertTrue(cache.covers(START));
+
+        LocalDateTime from = START.plusHours(3);
+        LocalDateTime to = START.plusHours(20);
+        Map<String, Long> byAction = new HashMap<>();
+        Map<Long, Long> byUser = new HashMap<>();
+        long[] byHour = new long[17];
+        long user3Logins = 0;
+        for (AuditEntry entry : log.entries) {
+            if (entry.timestamp().isBefore(from) || !entry.timestamp().isBefore(to)) {
+                continue;
+            }
+            String action = entry.action() == null ? "" : entry.action();
+            byAction.merge(action, 1L, Long::sum);
+            if (action.equals("LOGOUT")) {
+                byUser.merge(entry.userId(), 1L, Long::sum);
+            }
+            byHour[(int) Duration.between(from, entry.timestamp()).toHours()]++;
+            if (entry.userId() == 3 && action.equals("LOGIN")) {
+                user3Logins++;
+            }
+        }
+
+        assertEquals(byAction, cache.countByAction(from, to, null));
+        assertEquals(byUser, cache.countByUser(from, to, "LOGOUT"));
+        assertArrayEquals(byHour, cache.countByTime(from, to, Duration.ofHours(1), null, null));
+        long[] logins = cache.countByTime(from, to, Duration.ofDays(1), 3L, "LOGIN");
+        assertArrayEquals(new long[]{user3Logins}, logins);
+        assertTrue(cache.countByUser(from, to, "NEVER_RECORDED").isEmpty());
+    }
+
+    @Test
+    public void testTimestampsTooFarApartStartNewChunks() throws Exception {
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog();
+        // 30 days apart: beyond an int millisecond delta from the chunk's first row
+        for (int i = 0; i < 5; i++) {
+            log.entries.add(new AuditEntry(i + 1, 1, "LOGIN", START.plusDays(30L * i)));
+        }
+        AuditColumnCache cache = new AuditColumnCache(log, 1000, 1 << 20);
+        cache.refresh();
+        assertEquals(5, cache.getRowCount());
+        assertArrayEquals(new long[]{2, 2, 1},
+            cache.countByTime(START, START.plusDays(150), Duration.ofDays(60), null, null));
+    }
+
+    @Test
+    public void testOldestRowsEvictedUnderMemoryCap() throws Exception {
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog();
+        log.add(5_000, 0);
+        // Room for three chunks of 1000 rows
+        AuditColumnCache cache = new AuditColumnCache(log, 1000, 3 * 1000 * 10);
+        cache.refresh();
+
+        assertEquals(3 * 1000 * 10, cache.getMemoryBytes());
+        assertEquals(3_000, cache.getRowCount());
+        LocalDateTime firstKept = log.entries.get(2_000).timestamp();
+        assertFalse(cache.covers(START));
+        assertFalse(cache.covers(firstKept.minusSeconds(37)));
+        assertTrue(cache.covers(firstKept));
+        long kept = cache.countByAction(firstKept, START.plusDays(30), null).values().stream()
+            .mapToLong(Long::longValue).sum();
+        assertEquals(3_000, kept);
+    }
+
+    @Test
+    public void testReportMatchesDatabaseReport() throws Exception {
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog();
+        log.add(20_000, 0);
+        AuditColumnCache cache = new AuditColumnCache(log, 4096, 1 << 20);
+        cache.refresh();
+        LocalDateTime from = START.plusMinutes(90);
+        LocalDateTime to = START.plusDays(5);
+
+        try (ReportEngine database = new ReportEngine(log, 2, Duration.ofDays(1), 5);
+             ReportEngine cached = new ReportEngine(log, cache, 2, Duration.ofDays(1), 5)) {
+            AuditReport expected = database.aggregate(from, to, (fraction, rows) -> { })
+                .getResult().get(10, TimeUnit.SECONDS);
+            int scans = log.rangeScans.get();
+            AuditReport actual = cached.aggregate(from, to, (fraction, rows) -> { })
+                .getResult().get(10, TimeUnit.SECONDS);
+
+            assertEquals(scans, log.rangeScans.get());
+            assertEquals(expected.getRowCount(), actual.getRowCount());
+            assertEquals(List.copyOf(expected.getActionCounts().entrySet()),
+                List.copyOf(actual.getActionCounts().entrySet()));
+            assertEquals(expected.getUserCounts(), actual.getUserCounts());
+            assertEquals(expected.getHourlyCounts(), actual.getHourlyCounts());
+            assertEquals(expected.getTopUsers(), actual.getTopUsers());
+        }
+    }
+
+    @Test
+    public void testRowsWithinCommitLagWaitForALaterLoad() throws Exception {
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog();
+        log.add(100, 0);
+        // id 60 has not committed yet while id 61, stamped 2s ago, already has
+        AuditEntry late = log.entries.remove(59);
+        MovableClock clock = new MovableClock(START.plusSeconds(60 * 37 + 2));
+        AuditColumnCache cache = new AuditColumnCache(log, 1000, 1 << 20, clock);
+
+        assertEquals(59, cache.refresh());
+        assertEquals(59, cache.getWatermark());
+        assertEquals(clock.now().minusSeconds(5), cache.getLoadedThrough());
+
+        log.entries.add(59, late);
+        clock.time = START.plusSeconds(80 * 37 + 2);
+        cache.refresh();
+        assertEquals(80, cache.getWatermark());
+        assertEquals(80, cache.getRowCount());
+
+        // The range past the cache's settled end is read from the database
+        LocalDateTime to = START.plusSeconds(100 * 37);
+        try (ReportEngine database = new ReportEngine(log, 2, Duration.ofMinutes(10), 5);
+             ReportEngine cached = new ReportEngine(log, cache, 2, Duration.ofMinutes(10), 5)) {
+            AuditReport expected = database.aggregate(START, to, (fraction, rows) -> { })
+                .getResult().get(10, TimeUnit.SECONDS);
+            int scans = log.rangeScans.get();
+            AuditReport actual = cached.aggregate(START, to, (fraction, rows) -> { })
+                .getResult().get(10, TimeUnit.SECONDS);
+
+            assertTrue(log.rangeScans.get() - scans <= 2, "cached report scanned only the tail");
+            assertEquals(expected.getRowCount(), actual.getRowCount());
+            assertEquals(expected.getActionCounts(), actual.getActionCounts());
+            assertEquals(expected.getUserCounts(), actual.getUserCounts());
+            assertEquals(expected.getHourlyCounts(), actual.getHourlyCounts());
+            assertEquals(expected.getTopUsers(), actual.getTopUsers());
+        }
+    }
+
+    @Test
+    public void testRowStampedAheadOfTheClockDoesNotHoldBackTheLoad() throws Exception {
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog();
+        log.add(10, 0);
+        // Written by a host whose clock runs an hour fast
+        log.entries.add(new AuditEntry(11, 1, "LOGIN", START.plusHours(2)));
+        log.entries.add(new AuditEntry(12, 2, "LOGOUT", START.plusSeconds(12 * 37)));
+        MovableClock clock = new MovableClock(START.plusHours(1));
+        AuditColumnCache cache = new AuditColumnCache(log, 1000, 1 << 20, clock);
+
+        assertEquals(12, cache.refresh());
+        assertEquals(12, cache.getWatermark());
+        assertEquals(1, cache.countByAction(START.plusHours(2), START.plusHours(3), null).get("LOGIN"));
+    }
+
+    @Test
+    public void testActionsBeyondDictionaryShareOtherCode() throws Exception {
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog();
+        for (int i = 0; i < 70_000; i++) {
+            log.entries.add(new AuditEntry(i + 1, 1, "ACTION_" + i, START.plusSeconds(i)));
+        }
+        AuditColumnCache cache = new AuditColumnCache(log, 1 << 16, 1 << 24);
+        cache.refresh();
+
+        Map<String, Long> byAction = cache.countByAction(START, START.plusDays(1), null);
+        // 65535 named actions and the shared last code
+        assertEquals(1 << 16, byAction.size());
+        assertEquals(70_000 - 65_535, byAction.get("(other)"));
+        assertEquals(1, byAction.get("ACTION_65534"));
+    }
+
+    @Test
+    public void testCloseDoesNotWaitForALoad() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AppendOnlyAuditLog log = new AppendOnlyAuditLog() {
+            @Override
+            public Stream<AuditEntry> streamAfter(long afterId) {
+                return Stream.iterate(1L, id -> id + 1).map(id -> {
+                    if (id == 2) {
+                        reading.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return new AuditEntry(id, 1, "LOGIN", START.plusSeconds(id));
+                });
+            }
+        };
+        AuditColumnCache cache = new AuditColumnCache(log, 1000, 1 << 20);
+        Thread loading = new Thread(() -> {
+            try {
+                cache.refresh();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        loading.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), cache::close);
+        release.countDown();
+        loading.join(5000);
+
+        assertFalse(loading.isAlive());
+        assertEquals(0, cache.getRowCount());
+        assertEquals(0, cache.refresh());
+    }
+
+    /**
+     * A clock the test moves by hand, on UTC like the audit timestamps
+     */
+    private static class MovableClock extends Clock {
+        LocalDateTime time;
+
+        MovableClock(LocalDateTime time) {
+            this.time = time;
+        }
+
+        LocalDateTime now() {
+            return time;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return time.toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * audit_log rows in id order, one every 37 seconds from START
+     */
+    private static class AppendOnlyAuditLog extends JdbcAuditLog {
+        final List<AuditEntry> entries = new ArrayList<>();
+        final AtomicInteger rangeScans = new AtomicInteger();
+
+        AppendOnlyAuditLog() {
+            super(null);
+        }
+
+        void add(int count, int firstIndex) {
+            for (int i = firstIndex; i < firstIndex + count; i++) {
+                entries.add(new AuditEntry(i + 1, i % 7 == 0 ? 3 : i % 50, ACTIONS[i % ACTIONS.length],
+                    START.plusSeconds(i * 37L)));
+            }
+        }
+
+        @Override
+        public Stream<AuditEntry> streamAfter(long afterId) {
+            return List.copyOf(entries).stream().filter(e -> e.id() > afterId);
+        }
+
+        @Override
+        public Stream<AuditEntry> streamRange(LocalDateTime from, LocalDateTime to) {
+            rangeScans.incrementAndGet();
+            return List.copyOf(entries).stream()
+                .filter(e -> !e.timestamp().isBefore(from) && e.timestamp().isBefore(to));
+        }
+    }
+}
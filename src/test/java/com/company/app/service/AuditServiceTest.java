@@ -0,0 +1,111 @@
+package com.company.app.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.company.app.model.AuditEvent;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AuditService tests
+ */
+public class AuditServiceTest {
+
+    /**
+     * Sink that keeps every batch it is given
+     */
+    private static class RecordingSink implements AuditSink {
+        final List<List<AuditEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void write(List<AuditEvent> batch) {
+            batches.add(new ArrayList<>(batch));
+        }
+
+        int eventCount() {
+            synchronized (batches) {
+                return batches.stream().mapToInt(List::size).sum();
+            }
+        }
+    }
+
+    @Test
+    public void testEventsAreWrittenInBatches() {
+        AuditService audit = new AuditService(1000, 50, 200, 3, 10, AuditService.OverflowPolicy.DROP_NEWEST, 0, 1);
+        RecordingSink sink = new RecordingSink();
+        for (int i = 0; i < 120; i++) {
+            assertTrue(audit.record("ACTION_" + i));
+        }
+
+        audit.start(sink);
+        assertTrue(audit.shutdown(5000));
+
+        assertEquals(120, sink.eventCount());
+        assertEquals(3, sink.batches.size());
+        assertEquals("ACTION_0", sink.batches.get(0).get(0).getAction());
+        assertEquals(120, audit.getStats().getWrittenCount());
+        assertEquals(0, audit.getStats().getQueueDepth());
+    }
+
+    @Test
+    public void testLingerFlushesPartialBatch() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        AuditService audit = new AuditService(100, 50, 50, 3, 10, AuditService.OverflowPolicy.DROP_NEWEST, 0, 1);
+        audit.start(batch -> written.countDown());
+
+        audit.record("NAVIGATE_HOME");
+
+        assertTrue(written.await(2, TimeUnit.SECONDS));
+        audit.shutdown(1000);
+    }
+
+    @Test
+    public void testOverflowPolicies() {
+        AuditService dropNewest = new AuditService(2, 10, 0, 1, 0, AuditService.OverflowPolicy.DROP_NEWEST, 0, 1);
+        dropNewest.record("a");
+        dropNewest.record("b");
+        assertFalse(dropNewest.record("c"));
+        assertEquals(1, dropNewest.getStats().getDroppedCount());
+
+        AuditService dropOldest = new AuditService(2, 10, 0, 1, 0, AuditService.OverflowPolicy.DROP_OLDEST, 0, 1);
+        RecordingSink sink = new RecordingSink();
+        dropOldest.record("a");
+        dropOldest.record("b");
+        assertTrue(dropOldest.record("c"));
+        dropOldest.start(sink);
+        dropOldest.shutdown(5000);
+        assertEquals("b", sink.batches.get(0).get(0).getAction());
+        assertEquals(1, dropOldest.getStats().getDroppedCount());
+    }
+
+    @Test
+    public void testFailedWritesAreRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        AuditService audit = new AuditService(100, 10, 0, 3, 1, AuditService.OverflowPolicy.DROP_NEWEST, 0, 1);
+        audit.record("SAVE");
+
+        audit.start(batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("database unavailable");
+            }
+        });
+        audit.shutdown(5000);
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, audit.getStats().getWrittenCount());
+        assertEquals(0, audit.getStats().getFailedCount());
+    }
+
+    @Test
+    public void testRecordAfterShutdownIsDropped() {
+        AuditService audit = new AuditService(10, 10, 0, 1, 0, AuditService.OverflowPolicy.DROP_NEWEST, 0, 1);
+        audit.start(new RecordingSink());
+        audit.shutdown(1000);
+
+        assertFalse(audit.record("LATE"));
+    }
+}
@@ -3,6 +3,12 @@ package com.company.app.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.company.app.integration.ContainerServiceClient;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -14,7 +20,8 @@ public class ContainerServiceManagerTest {
     
     @BeforeEach
     public void setUp() {
-        manager = ContainerServiceManager.getInstance();
+        // An instance per test, so registrations and cached health do not leak between tests
+        manager = new ContainerServiceManager();
     }
     
     @Test
@@ -33,6 +40,294 @@ public class ContainerServiceManagerTest {
         assertNotNull(retrieved);
     }
     
+    @Test
+    public void testHealthCheckReportsHealthy() {
+        manager.registerService("healthy-service", new MockContainerService("healthy", "http://localhost", 8081));
+        
+        Map<String, HealthCheckResult> results = manager.healthCheckAllServices();
+        assertEquals(HealthStatus.HEALTHY, results.get("healthy-service").getStatus());
+        assertEquals(HealthStatus.HEALTHY, manager.getCachedHealth("healthy-service").getStatus());
+    }
+    
+    @Test
+    public void testOpenCircuitReportsDegraded() {
+        MockContainerService service = new MockContainerService("tripped", "http://localhost", 8084);
+        for (int i = 0; i < 10; i++) {
+            service.getCircuitBreaker().onFailure();
+        }
+        manager.registerService("tripped-service", service);
+        
+        assertEquals(HealthStatus.DEGRADED, manager.healthCheckAllServices().get("tripped-service").getStatus());
+        manager.registerService("tripped-service", new MockContainerService("tripped", "http://localhost", 8084));
+    }
+    
+    @Test
+    public void testHungProbeTimesOutWithoutBlockingSweep() {
+        HangingContainerService hanging = new HangingContainerService("hanging", "http://localhost", 8082);
+        hanging.setConnectionTimeout(200);
+        manager.registerService("hanging-service", hanging);
+        
+        long start = System.currentTimeMillis();
+        Map<String, HealthCheckResult> results = manager.healthCheckAllServices();
+        long elapsed = System.currentTimeMillis() - start;
+        
+        assertEquals(HealthStatus.TIMED_OUT, results.get("hanging-service").getStatus());
+        assertTrue(elapsed < 2000, "Sweep took " + elapsed + "ms");
+        hanging.setConnectionTimeout(5000);
+        manager.registerService("hanging-service", new MockContainerService("hanging", "http://localhost", 8082));
+    }
+    
+    @Test
+    public void testHungProbeHoldsOneThread() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger probes = new AtomicInteger();
+        MockContainerService stuck = new MockContainerService("stuck", "http://localhost", 8086) {
+            @Override
+            public boolean isServiceAvailable() {
+                probes.incrementAndGet();
+                // Ignores interrupts, like a probe blocked in a socket read
+                while (true) {
+                    try {
+                        release.await();
+                        return true;
+                    } catch (InterruptedException e) {
+                        // keep waiting
+                    }
+                }
+            }
+        };
+        stuck.setConnectionTimeout(100);
+        manager.registerService("stuck-service", stuck);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(HealthStatus.TIMED_OUT, manager.healthCheckAllServices().get("stuck-service").getStatus());
+            }
+            assertEquals(1, probes.get());
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    @Test
+    public void testCachedHealthBecomesStale() throws InterruptedException {
+        manager.registerService("stale-service", new MockContainerService("stale", "http://localhost", 8083));
+        manager.healthCheckAllServices();
+        manager.setHealthCacheTtl(0);
+        Thread.sleep(5);
+        try {
+            assertEquals(HealthStatus.STALE, manager.getCachedHealth("stale-service").getStatus());
+        } finally {
+            manager.setHealthCacheTtl(10000);
+        }
+    }
+    
+    @Test
+    public void testUnprobedServiceIsUnknown() {
+        assertEquals(HealthStatus.UNKNOWN, manager.getCachedHealth("never-registered").getStatus());
+    }
+    
+    @Test
+    public void testStartupHonorsDependencies() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        manager.registerService("order-db", new RecordingContainerService("order-db", events, 100, false));
+        manager.registerService("order-cache", new RecordingContainerService("order-cache", events, 100, false));
+        manager.registerService("order-api", new RecordingContainerService("order-api", events, 0, false), "order-db", "order-cache");
+        
+        StartupTimeline timeline = manager.startAllServices();
+        
+        assertTrue(events.indexOf("connected:order-api") > events.indexOf("connected:order-db"));
+        assertTrue(events.indexOf("connected:order-api") > events.indexOf("connected:order-cache"));
+        // Independent services connect concurrently
+        assertTrue(events.indexOf("connecting:order-cache") < events.indexOf("connected:order-db")
+            || events.indexOf("connecting:order-db") < events.indexOf("connected:order-cache"));
+        assertEquals(StartupTimeline.Outcome.STARTED, timeline.getEntry("order-api").getOutcome());
+        assertEquals("order-api", timeline.getCriticalPath().get(timeline.getCriticalPath().size() - 1));
+        
+        events.clear();
+        manager.stopAllServices();
+        assertTrue(events.indexOf("disconnected:order-api") < events.indexOf("disconnected:order-db"));
+        assertTrue(events.indexOf("disconnected:order-api") < events.indexOf("disconnected:order-cache"));
+    }
+    
+    @Test
+    public void testFailedDependencySkipsDependents() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        manager.registerService("broken-db", new RecordingContainerService("broken-db", events, 0, true));
+        manager.registerService("broken-api", new RecordingContainerService("broken-api", events, 0, false), "broken-db");
+        
+        StartupTimeline timeline = manager.startAllServices();
+        
+        assertEquals(StartupTimeline.Outcome.FAILED, timeline.getEntry("broken-db").getOutcome());
+        assertEquals(StartupTimeline.Outcome.SKIPPED, timeline.getEntry("broken-api").getOutcome());
+        assertFalse(events.contains("connecting:broken-api"));
+    }
+    
+    @Test
+    public void testStartAndStopMoveThroughStates() {
+        List<String> transitions = Collections.synchronizedList(new ArrayList<>());
+        ServiceStateListener listener = (previous, current) -> {
+            if (current.getServiceId().startsWith("state-")) {
+                transitions.add(current.getServiceId() + ":" + current.getState());
+            }
+        };
+        manager.addServiceStateListener(listener);
+        try {
+            List<String> events = Collections.synchronizedList(new ArrayList<>());
+            manager.registerService("state-db", new RecordingContainerService("state-db", events, 0, true));
+            manager.registerService("state-api", new RecordingContainerService("state-api", events, 0, false), "state-db");
+            assertEquals(ServiceState.REGISTERED, manager.getRegistration("state-api").getState());
+            
+            manager.startAllServices();
+            assertEquals(ServiceState.STOPPED, manager.getRegistration("state-db").getState());
+            assertEquals(ServiceState.STOPPED, manager.getRegistration("state-api").getState());
+            assertEquals(List.of("state-db:REGISTERED", "state-api:REGISTERED", "state-db:CONNECTING", "state-db:STOPPED",
+                "state-api:STOPPED"), transitions);
+            
+            transitions.clear();
+            manager.registerService("state-db", new RecordingContainerService("state-db", events, 0, false));
+            manager.startAllServices();
+            assertEquals(ServiceState.UP, manager.getRegistration("state-api").getState());
+            manager.stopAllServices();
+            assertTrue(transitions.indexOf("state-api:STOPPING") < transitions.indexOf("state-db:STOPPING"));
+            assertEquals(ServiceState.STOPPED, manager.getRegistration("state-db").getState());
+            manager.healthCheckAllServices();
+            assertEquals(ServiceState.STOPPED, manager.getRegistration("state-db").getState());
+        } finally {
+            manager.removeServiceStateListener(listener);
+        }
+    }
+    
+    @Test
+    public void testHealthOnlyMovesRunningServices() {
+        manager.registerService("probed-service", new MockContainerService("probed", "http://localhost", 8085));
+        manager.healthCheckAllServices();
+        assertEquals(ServiceState.REGISTERED, manager.getRegistration("probed-service").getState());
+        
+        assertTrue(manager.transition("probed-service", ServiceState.REGISTERED, ServiceState.STOPPED));
+        assertFalse(manager.transition("probed-service", ServiceState.REGISTERED, ServiceState.CONNECTING));
+        manager.healthCheckAllServices();
+        assertEquals(ServiceState.STOPPED, manager.getRegistration("probed-service").getState());
+        
+        // Started, then failed a probe: the next passing probe brings it back
+        assertTrue(manager.transition("probed-service", ServiceState.DOWN));
+        long version = manager.getRegistration("probed-service").getVersion();
+        manager.healthCheckAllServices();
+        ServiceRegistration up = manager.getRegistration("probed-service");
+        assertEquals(ServiceState.UP, up.getState());
+        assertEquals(version + 1, up.getVersion());
+        
+        assertTrue(manager.transition("probed-service", ServiceState.STOPPING));
+        manager.healthCheckAllServices();
+        assertEquals(ServiceState.STOPPING, manager.getRegistration("probed-service").getState());
+        assertFalse(manager.transition("never-registered", ServiceState.UP));
+    }
+    
+    @Test
+    public void testReplacedClientIsDisconnected() throws InterruptedException {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        RecordingContainerService first = new RecordingContainerService("replaced-first", events, 0, false);
+        manager.registerService("replaced-service", first);
+        assertTrue(manager.transition("replaced-service", ServiceState.UP));
+        
+        manager.registerService("replaced-service", first, "replaced-dependency");
+        assertEquals(ServiceState.UP, manager.getRegistration("replaced-service").getState());
+        assertEquals(List.of("replaced-dependency"), manager.getDependencies("replaced-service"));
+        
+        manager.registerService("replaced-service", new RecordingContainerService("replaced-second", events, 0, false));
+        assertEquals(ServiceState.REGISTERED, manager.getRegistration("replaced-service").getState());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (events.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("disconnected:replaced-first"), events);
+    }
+    
+    @Test
+    public void testConcurrentTransitionsAreAtomic() throws InterruptedException {
+        String[] ids = new String[4];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "concurrent-" + i;
+            manager.registerService(ids[i], new MockContainerService(ids[i], "http://localhost", 0));
+            manager.transition(ids[i], ServiceState.DOWN);
+        }
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        Map<String, ServiceRegistration> before = manager.getRegistrations();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    String id = ids[i % ids.length];
+                    // Exactly one thread wins each DOWN -> UP and each UP -> DOWN
+                    manager.transition(id, ServiceState.DOWN, ServiceState.UP);
+                    manager.transition(id, ServiceState.UP, ServiceState.DOWN);
+                    Map<String, ServiceRegistration> snapshot = manager.getRegistrations();
+                    if (!snapshot.keySet().containsAll(before.keySet())) {
+                        errors.add("snapshot lost a service");
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(List.of(), errors);
+        assertThrows(UnsupportedOperationException.class, () -> manager.getRegistrations().remove(ids[0]));
+        for (String id : ids) {
+            ServiceRegistration registration = manager.getRegistration(id);
+            long moves = registration.getVersion() - before.get(id).getVersion();
+            // Moves alternate starting from DOWN, so the final state follows from their count
+            assertEquals(moves % 2 == 0 ? ServiceState.DOWN : ServiceState.UP, registration.getState());
+        }
+    }
+    
+    // Records connect/disconnect ordering
+    private static class RecordingContainerService extends MockContainerService {
+        private final List<String> events;
+        private final long connectDelay;
+        private final boolean failConnect;
+        
+        public RecordingContainerService(String serviceName, List<String> events, long connectDelay, boolean failConnect) {
+            super(serviceName, "http://localhost", 0);
+            this.events = events;
+            this.connectDelay = connectDelay;
+            this.failConnect = failConnect;
+        }
+        
+        @Override
+        public void connect() throws Exception {
+            events.add("connecting:" + serviceName);
+            Thread.sleep(connectDelay);
+            if (failConnect) {
+                throw new Exception("Connection refused");
+            }
+            events.add("connected:" + serviceName);
+        }
+        
+        @Override
+        public void disconnect() throws Exception {
+            events.add("disconnected:" + serviceName);
+        }
+    }
+    
+    // Probe that never returns on its own
+    private static class HangingContainerService extends MockContainerService {
+        public HangingContainerService(String serviceName, String serviceUrl, int servicePort) {
+            super(serviceName, serviceUrl, servicePort);
+        }
+        
+        @Override
+        public boolean isServiceAvailable() {
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+    
     // Mock implementation for testing
     private static class MockContainerService extends ContainerServiceClient {
         public MockContainerService(String serviceName, String serviceUrl, int servicePort) {
@@ -0,0 +1,195 @@
+package com.company.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import com.company.app.integration.QueryException;
+import com.company.app.model.AuditEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportEngine tests
+ */
+public class ReportEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final String[] ACTIONS = {"LOGIN", "LOGOUT", "NAVIGATE_USERS"};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPartitionsCoverTheRange() {
+        List<LocalDateTime> bounds = ReportEngine.partition(START, START.plusHours(50), Duration.ofDays(1));
+        assertEquals(List.of(START, START.plusDays(1), START.plusDays(2), START.plusHours(50)), bounds);
+        // A year in one-second steps is capped at 4096 partitions
+        assertTrue(ReportEngine.partition(START, START.plusYears(1), Duration.ofSeconds(1)).size() <= 4097);
+        assertThrows(IllegalArgumentException.class, () -> ReportEngine.partition(START, START, Duration.ofDays(1)));
+    }
+
+    @Test
+    public void testParallelReportMatchesSequentialCounts() throws Exception {
+        List<AuditEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            // User 7 is busiest, then users by descending id
+            long userId = i % 5 == 0 ? 7 : i % 40;
+            entries.add(new AuditEntry(i + 1, userId, ACTIONS[i % 3], START.plusSeconds(i * 37L)));
+        }
+        InMemoryAuditLog log = new InMemoryAuditLog(entries);
+        AtomicInteger progressCalls = new AtomicInteger();
+        double[] lastFraction = {0};
+        try (ReportEngine engine = new ReportEngine(log, 3, Duration.ofHours(6), 3)) {
+            AuditReport report = engine.aggregate(START, START.plusDays(9), (fraction, rows) -> {
+                progressCalls.incrementAndGet();
+                synchronized (lastFraction) {
+                    lastFraction[0] = Math.max(lastFraction[0], fraction);
+                }
+            }).getResult().get(10, TimeUnit.SECONDS);
+
+            long[] expectedUsers = new long[40];
+            Map<LocalDateTime, Long> expectedHours = new HashMap<>();
+            entries.stream().filter(e -> e.timestamp().isBefore(START.plusDays(9))).forEach(e -> {
+                expectedUsers[(int) e.userId()]++;
+                expectedHours.merge(e.timestamp().withMinute(0).withSecond(0), 1L, Long::sum);
+            });
+            long total = expectedHours.values().stream().mapToLong(Long::longValue).sum();
+
+            assertEquals(total, report.getRowCount());
+            assertEquals(36, log.scans.get());
+            assertEquals(List.of("LOGIN", "LOGOUT", "NAVIGATE_USERS"), List.copyOf(report.getActionCounts().keySet()));
+            assertEquals(expectedUsers[39], report.getUserCounts().get(39L));
+            assertEquals(expectedHours, report.getHourlyCounts());
+            assertEquals(new AuditReport.UserCount(7, expectedUsers[7]), report.getTopUsers().get(0));
+            assertEquals(3, report.getTopUsers().size());
+            assertTrue(report.getTopUsers().get(1).getCount() >= report.getTopUsers().get(2).getCount());
+            assertEquals(1.0, lastFraction[0]);
+            assertEquals(36, progressCalls.get());
+        }
+    }
+
+    @Test
+    public void testCancelStopsScansAndReleasesCursors() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        InMemoryAuditLog endless = new InMemoryAuditLog(List.of()) {
+            @Override
+            Stream<AuditEntry> entries(LocalDateTime from, LocalDateTime to) {
+                reading.countDown();
+                return Stream.iterate(1L, id -> id + 1).map(id -> new AuditEntry(id, 1, "LOGIN", from));
+            }
+        };
+        try (ReportEngine engine = new ReportEngine(endless, 2, Duration.ofDays(1), 3)) {
+            ReportJob<AuditReport> job = engine.aggregate(START, START.plusDays(4), (fraction, rows) -> { });
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            job.cancel();
+            assertThrows(CancellationException.class, () -> job.getResult().get(5, TimeUnit.SECONDS));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (endless.open.get() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, endless.open.get());
+            assertTrue(endless.scans.get() < 4, "scanned " + endless.scans.get() + " partitions");
+        }
+    }
+
+    @Test
+    public void testFailedPartitionStopsItsSiblings() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        LocalDateTime failing = START.plusDays(3);
+        InMemoryAuditLog log = new InMemoryAuditLog(List.of()) {
+            @Override
+            Stream<AuditEntry> entries(LocalDateTime from, LocalDateTime to) {
+                if (from.equals(failing)) {
+                    return Stream.generate(() -> {
+                        try {
+                            reading.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        throw new QueryException("Partition failed", new SQLException("connection reset"));
+                    });
+                }
+                reading.countDown();
+                return Stream.iterate(1L, id -> id + 1).map(id -> new AuditEntry(id, 1, "LOGIN", from));
+            }
+        };
+        try (ReportEngine engine = new ReportEngine(log, 2, Duration.ofDays(1), 3)) {
+            ReportJob<AuditReport> job = engine.aggregate(START, START.plusDays(4), (fraction, rows) -> { });
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> job.getResult().get(5, TimeUnit.SECONDS));
+            assertInstanceOf(QueryException.class, failure.getCause());
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (log.open.get() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, log.open.get());
+        }
+    }
+
+    @Test
+    public void testExportWritesQuotedCsvAndReplacesTarget() throws Exception {
+        List<AuditEntry> entries = new ArrayList<>();
+        entries.add(new AuditEntry(1, 2, "LOGIN", START.plusMinutes(1)));
+        entries.add(new AuditEntry(2, 3, "say \"hi\", again", START.plusMinutes(2)));
+        entries.add(new AuditEntry(3, 3, null, START.plusMinutes(3)));
+        for (int i = 4; i <= 5000; i++) {
+            entries.add(new AuditEntry(i, 4, "ÜBERSICHT", START.plusMinutes(i)));
+        }
+        Path target = tempDir.resolve("audit.csv");
+        Files.writeString(target, "old contents");
+        try (ReportEngine engine = new ReportEngine(new InMemoryAuditLog(entries), 2, Duration.ofDays(1), 3)) {
+            long rows = engine.export(START, START.plusDays(30), target, (fraction, count) -> { })
+                .getResult().get(10, TimeUnit.SECONDS);
+            assertEquals(5000, rows);
+        }
+        List<String> lines = Files.readAllLines(target, StandardCharsets.UTF_8);
+        assertEquals(5001, lines.size());
+        assertEquals("id,user_id,action,timestamp", lines.get(0));
+        assertEquals("1,2,LOGIN,2024-03-01T00:01:00", lines.get(1));
+        assertEquals("2,3,\"say \"\"hi\"\", again\",2024-03-01T00:02:00", lines.get(2));
+        assertEquals("3,3,,2024-03-01T00:03:00", lines.get(3));
+        assertEquals("5000,4,ÜBERSICHT,2024-03-04T11:20:00", lines.get(5000));
+        assertFalse(Files.exists(tempDir.resolve("audit.csv.part")));
+    }
+
+    /**
+     * Serves range reads from a list, counting scans and open streams
+     */
+    private static class InMemoryAuditLog extends JdbcAuditLog {
+        final List<AuditEntry> entries;
+        final AtomicInteger scans = new AtomicInteger();
+        final AtomicInteger open = new AtomicInteger();
+
+        InMemoryAuditLog(List<AuditEntry> entries) {
+            super(null);
+            this.entries = entries;
+        }
+
+        @Override
+        public Stream<AuditEntry> streamRange(LocalDateTime from, LocalDateTime to) {
+            scans.incrementAndGet();
+            open.incrementAndGet();
+            return entries(from, to).onClose(open::decrementAndGet);
+        }
+
+        Stream<AuditEntry> entries(LocalDateTime from, LocalDateTime to) {
+            return entries.stream().filter(e -> !e.timestamp().isBefore(from) && e.timestamp().isBefore(to));
+        }
+    }
+}
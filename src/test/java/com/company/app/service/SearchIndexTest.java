@@ -0,0 +1,151 @@
+package com.company.app.service;
+
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import com.company.app.model.User;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchIndex and SearchService tests
+ */
+public class SearchIndexTest {
+
+    @Test
+    public void testPrefixAndSubstringMatchesAreRanked() {
+        SearchIndex index = new SearchIndex();
+        index.putNavigation("Users", "Manage user accounts");
+        index.putUser(1, "alice.smith", "alice@example.com");
+        index.putUser(2, "bob", "bob.user@example.com");
+        index.putUser(3, "malice", "m@example.com");
+
+        List<SearchHit> hits = index.search("ali", 10);
+        assertEquals(List.of("alice.smith", "malice"), labels(hits));
+
+        // One- and two-character queries match word prefixes only
+        assertEquals(List.of("Users", "alice.smith"), labels(index.search("a", 10)));
+        assertEquals(List.of("Users", "bob"), labels(index.search("us", 10)));
+
+        // Every word must match
+        assertEquals(List.of("bob"), labels(index.search("bob user", 10)));
+        assertTrue(index.search("bob smith", 10).isEmpty());
+        assertTrue(index.search("zzz", 10).isEmpty());
+    }
+
+    @Test
+    public void testUpdatedUserReplacesOldEntry() {
+        SearchIndex index = new SearchIndex();
+        assertTrue(index.putUser(7, "carol", "carol@example.com"));
+        assertFalse(index.putUser(7, "carol", "carol@example.com"));
+        assertTrue(index.putUser(7, "caroline", "caroline@example.com"));
+
+        List<SearchHit> hits = index.search("carol", 10);
+        assertEquals(1, hits.size());
+        assertEquals("caroline", hits.get(0).getLabel());
+        assertEquals(7, hits.get(0).getId());
+
+        index.removeUser(7);
+        assertTrue(index.search("carol", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testTopResultsFromLargeIndex() {
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 200_000; i++) {
+            index.putUser(i, String.format("user%06d", i), "user" + i + "@example.com");
+        }
+        List<SearchHit> hits = index.search("user01234", 5);
+        assertEquals(5, hits.size());
+        // Equal scores and lengths fall back to insertion order
+        assertEquals("user012340", hits.get(0).getLabel());
+        assertEquals(List.of("user012340"), labels(index.search("user012340", 5)));
+    }
+
+    @Test
+    public void testLateEntriesWithCommonGramsStillRank() {
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 10_000; i++) {
+            index.putUser(i, "smithson" + i, "s" + i + "@example.com");
+        }
+        index.putUser(10_000, "smith", "smith@example.com");
+        index.putUser(3, "smit", "renamed@example.com");
+
+        assertEquals(List.of("smith", "smithson0", "smithson1"), labels(index.search("smith", 3)));
+        assertEquals(List.of("smit", "smith"), labels(index.search("smit", 2)));
+    }
+
+    @Test
+    public void testServiceAppliesChangedUsers() throws InterruptedException {
+        ChangeLogUserStore store = new ChangeLogUserStore();
+        store.save(1, "dave", "dave@example.com");
+        store.save(2, "erin", "erin@example.com");
+        SearchService service = new SearchService(60_000, 3_600_000, 10);
+        service.addNavigation("Reports", "Generate and view reports");
+        service.start(store);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (service.getIndex().size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        service.stop();
+        assertEquals(3, service.getIndex().size());
+        assertEquals(List.of("dave"), labels(service.search("dave").join()));
+
+        store.save(1, "david", "david@example.com");
+        service.refresh();
+        assertEquals(List.of("david"), labels(service.search("dav").join()));
+        assertEquals(List.of("Reports"), labels(service.search("rep").join()));
+    }
+
+    private static List<String> labels(List<SearchHit> hits) {
+        List<String> labels = new ArrayList<>();
+        hits.forEach(hit -> labels.add(hit.getLabel()));
+        return labels;
+    }
+
+    /**
+     * Users stamped with a rising updated_at on every save
+     */
+    private static class ChangeLogUserStore implements UserStore {
+        private final List<User> users = new ArrayList<>();
+        private LocalDateTime clock = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        synchronized void save(long id, String username, String email) {
+            clock = clock.plusSeconds(10);
+            users.removeIf(user -> user.getId() == id);
+            users.add(new User(id, username, email, null, clock));
+        }
+
+        @Override
+        public int count() {
+            return users.size();
+        }
+
+        @Override
+        public List<User> pageAfter(String afterUsername, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> pageBefore(String beforeUsername, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> pageAt(long offset, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized List<User> changedSince(LocalDateTime updatedAfter, long afterId, int limit) {
+            return users.stream()
+                .filter(user -> user.getUpdatedAt().isAfter(updatedAfter)
+                    || (user.getUpdatedAt().equals(updatedAfter) && user.getId() > afterId))
+                .sorted(Comparator.comparing(User::getUpdatedAt).thenComparingLong(User::getId))
+                .limit(limit)
+                .toList();
+        }
+    }
+}
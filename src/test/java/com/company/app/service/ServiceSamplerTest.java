@@ -0,0 +1,64 @@
+package com.company.app.service;
+
+import org.junit.jupiter.api.Test;
+import com.company.app.integration.ContainerServiceClient;
+import com.company.app.integration.RequestListener;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ServiceSampler tests
+ */
+public class ServiceSamplerTest {
+    
+    @Test
+    public void testClientsRegisteredLaterAreSampled() {
+        ContainerServiceManager manager = new ContainerServiceManager();
+        CountingClient before = new CountingClient("before");
+        manager.registerService("sampled-before", before);
+        ServiceSampler sampler = new ServiceSampler(64, 1000);
+        sampler.attach(manager);
+        try {
+            CountingClient after = new CountingClient("after");
+            manager.registerService("sampled-after", after);
+            CountingClient replacement = new CountingClient("replacement");
+            manager.registerService("sampled-before", replacement);
+            manager.transition("sampled-before", ServiceState.UP);
+            
+            // One listener from the manager's request timer, one from the sampler
+            assertEquals(2, before.listeners.get());
+            assertEquals(2, after.listeners.get());
+            assertEquals(2, replacement.listeners.get());
+        } finally {
+            sampler.stop();
+        }
+    }
+    
+    // Counts request listeners without making requests
+    private static class CountingClient extends ContainerServiceClient {
+        final AtomicInteger listeners = new AtomicInteger();
+        
+        CountingClient(String serviceName) {
+            super(serviceName, "http://localhost", 0);
+        }
+        
+        @Override
+        public void addRequestListener(RequestListener listener) {
+            listeners.incrementAndGet();
+            super.addRequestListener(listener);
+        }
+        
+        @Override
+        public void connect() {
+        }
+        
+        @Override
+        public void disconnect() {
+        }
+        
+        @Override
+        public boolean isServiceAvailable() {
+            return true;
+        }
+    }
+}
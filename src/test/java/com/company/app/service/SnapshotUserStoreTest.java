@@ -0,0 +1,186 @@
+package com.company.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.company.app.integration.RowChange;
+import com.company.app.model.User;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SnapshotUserStore tests
+ */
+public class SnapshotUserStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testPagesServedFromSnapshotWhileSourceIsDown() throws Exception {
+        FlakyUserStore source = new FlakyUserStore();
+        source.save(1, "carol", "carol@example.com");
+        source.save(2, "alice", "alice@example.com");
+        source.save(3, "bob", "bob@example.com");
+        try (SnapshotUserStore store = SnapshotUserStore.open(source, directory.resolve("users.snap"), 1 << 20, 3_600_000)) {
+            assertFalse(store.isComplete());
+            store.sync();
+            assertTrue(store.isComplete());
+
+            source.down = true;
+            assertEquals(3, store.count());
+            assertEquals(List.of("alice", "bob"), usernames(store.pageAfter(null, 2)));
+            assertEquals(List.of("carol"), usernames(store.pageAfter("bob", 2)));
+            assertEquals(List.of("alice", "bob"), usernames(store.pageBefore("carol", 2)));
+            assertEquals(List.of("bob"), usernames(store.pageAt(1, 1)));
+            assertThrows(SQLException.class, store::sync);
+        }
+    }
+
+    @Test
+    public void testDeltaSyncAppliesChangesAndNotifies() throws Exception {
+        FlakyUserStore source = new FlakyUserStore();
+        source.save(1, "dave", "dave@example.com");
+        source.save(2, "erin", "erin@example.com");
+        Path file = directory.resolve("delta.snap");
+        AtomicInteger notified = new AtomicInteger();
+        try (SnapshotUserStore store = SnapshotUserStore.open(source, file, 1 << 20, 3_600_000)) {
+            store.addChangeListener(changes -> notified.incrementAndGet());
+            store.sync();
+            assertEquals(1, notified.get());
+
+            // Nothing changed: no notification
+            store.sync();
+            assertEquals(1, notified.get());
+
+            source.save(1, "david", "david@example.com");
+            store.sync();
+            assertEquals(2, notified.get());
+            assertEquals(List.of("david", "erin"), usernames(store.pageAfter(null, 10)));
+        }
+
+        // A restart with the database unreachable still has the whole table
+        source.down = true;
+        try (SnapshotUserStore store = SnapshotUserStore.open(source, file, 1 << 20, 3_600_000)) {
+            assertTrue(store.isComplete());
+            assertEquals(List.of("david", "erin"), usernames(store.pageAfter(null, 10)));
+        }
+    }
+
+    @Test
+    public void testResyncDropsDeletedUsers() throws Exception {
+        FlakyUserStore source = new FlakyUserStore();
+        source.save(1, "frank", "frank@example.com");
+        source.save(2, "grace", "grace@example.com");
+        try (SnapshotUserStore store = SnapshotUserStore.open(source, directory.resolve("resync.snap"), 1 << 20, 0)) {
+            store.sync();
+            source.delete(1);
+            store.sync();
+            assertEquals(1, store.count());
+            assertEquals(List.of("grace"), usernames(store.pageAfter(null, 10)));
+        }
+    }
+
+    @Test
+    public void testReportedDeletesApplyWithoutResync() throws Exception {
+        FlakyUserStore source = new FlakyUserStore();
+        source.save(1, "heidi", "heidi@example.com");
+        source.save(2, "ivan", "ivan@example.com");
+        List<RowChange> reported = new ArrayList<>();
+        try (SnapshotUserStore store = SnapshotUserStore.open(source, directory.resolve("deletes.snap"), 1 << 20, 3_600_000)) {
+            store.sync();
+            store.addChangeListener(reported::addAll);
+            source.delete(2);
+
+            store.applyDeletes(List.of(new RowChange("users", RowChange.Op.DELETE, 2, null)));
+
+            assertEquals(List.of("heidi"), usernames(store.pageAfter(null, 10)));
+            assertEquals(1, reported.size());
+            assertEquals(RowChange.Op.DELETE, reported.get(0).getOp());
+        }
+    }
+
+    @Test
+    public void testUserEncodingRoundTrips() {
+        User user = new User(9, "héloïse", "h@example.com", LocalDateTime.of(2024, 2, 3, 4, 5, 6, 7000),
+            LocalDateTime.of(2024, 3, 4, 5, 6, 7));
+        User copy = SnapshotUserStore.decode(ByteBuffer.wrap(SnapshotUserStore.encode(user)));
+        assertEquals(user.getId(), copy.getId());
+        assertEquals(user.getUsername(), copy.getUsername());
+        assertEquals(user.getEmail(), copy.getEmail());
+        assertEquals(user.getCreatedAt(), copy.getCreatedAt());
+        assertEquals(user.getUpdatedAt(), copy.getUpdatedAt());
+    }
+
+    private static List<String> usernames(List<User> users) {
+        List<String> names = new ArrayList<>();
+        users.forEach(user -> names.add(user.getUsername()));
+        return names;
+    }
+
+    /**
+     * In-memory users table that can be taken offline
+     */
+    private static class FlakyUserStore implements UserStore {
+        private final List<User> users = new ArrayList<>();
+        private LocalDateTime clock = LocalDateTime.of(2024, 1, 1, 0, 0);
+        volatile boolean down;
+
+        synchronized void save(long id, String username, String email) {
+            clock = clock.plusSeconds(10);
+            users.removeIf(user -> user.getId() == id);
+            users.add(new User(id, username, email, null, clock));
+        }
+
+        synchronized void delete(long id) {
+            users.removeIf(user -> user.getId() == id);
+        }
+
+        private void checkUp() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+        }
+
+        @Override
+        public synchronized int count() throws SQLException {
+            checkUp();
+            return users.size();
+        }
+
+        @Override
+        public List<User> pageAfter(String afterUsername, int limit) throws SQLException {
+            checkUp();
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> pageBefore(String beforeUsername, int limit) throws SQLException {
+            checkUp();
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> pageAt(long offset, int limit) throws SQLException {
+            checkUp();
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized List<User> changedSince(LocalDateTime updatedAfter, long afterId, int limit) throws SQLException {
+            checkUp();
+            return users.stream()
+                .filter(user -> user.getUpdatedAt().isAfter(updatedAfter)
+                    || (user.getUpdatedAt().equals(updatedAfter) && user.getId() > afterId))
+                .sorted(Comparator.comparing(User::getUpdatedAt).thenComparingLong(User::getId))
+                .limit(limit)
+                .toList();
+        }
+    }
+}
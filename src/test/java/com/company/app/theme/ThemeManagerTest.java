@@ -0,0 +1,36 @@
+package com.company.app.theme;
+
+import org.junit.jupiter.api.Test;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ThemeManager tests
+ */
+public class ThemeManagerTest {
+    
+    @Test
+    public void testThemeCssIsScopedToRootClass() {
+        Map<String, String> variables = new LinkedHashMap<>();
+        variables.put("-app-nav-background", "#004d40");
+        variables.put(" -app-text ", " derive(#000000, 20%) ");
+        
+        String css = ThemeManager.toCss("ocean", variables);
+        
+        assertEquals(".root.theme-ocean {\n"
+            + "    -app-nav-background: #004d40;\n"
+            + "    -app-text: derive(#000000, 20%);\n"
+            + "}\n", css);
+    }
+    
+    @Test
+    public void testInvalidVariablesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> ThemeManager.toCss("bad", Map.of("app-text", "#000000")));
+        assertThrows(IllegalArgumentException.class,
+            () -> ThemeManager.toCss("bad", Map.of("-app-text", "#000000; } .root { -fx-opacity: 0")));
+        assertThrows(IllegalArgumentException.class,
+            () -> ThemeManager.toCss("bad", Map.of("-app-text", " ")));
+    }
+}
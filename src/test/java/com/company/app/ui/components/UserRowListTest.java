@@ -0,0 +1,202 @@
+package com.company.app.ui.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import com.company.app.integration.RowChange;
+import com.company.app.model.User;
+import com.company.app.service.UserStore;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserRowList tests
+ */
+public class UserRowListTest {
+
+    private static final int USERS = 10_000;
+    private static final int PAGE_SIZE = 100;
+
+    private CountingUserStore store;
+    private Queue<Runnable> pendingLoads;
+    private UserRowList rows;
+
+    @BeforeEach
+    public void setUp() {
+        store = new CountingUserStore(USERS);
+        pendingLoads = new ArrayDeque<>();
+        rows = new UserRowList(store, PAGE_SIZE, 4, 1, pendingLoads::add, Runnable::run);
+        rows.reload();
+        runPendingLoads();
+    }
+
+    private void runPendingLoads() {
+        Runnable load;
+        while ((load = pendingLoads.poll()) != null) {
+            load.run();
+        }
+    }
+
+    @Test
+    public void testRowsLoadInBackgroundAndReplacePlaceholders() {
+        assertEquals(USERS, rows.size());
+        assertSame(UserRowList.LOADING, rows.get(150));
+
+        runPendingLoads();
+
+        assertEquals("user-00150", rows.get(150).getUsername());
+    }
+
+    @Test
+    public void testSequentialScrollUsesKeysetAndPrefetchesAhead() {
+        for (int index = 0; index < 20 * PAGE_SIZE; index += 10) {
+            rows.get(index);
+            runPendingLoads();
+        }
+
+        assertEquals(0, store.offsetQueries);
+        // Page 20 was prefetched while the last rows of page 19 were read
+        assertEquals("user-02000", rows.get(2000).getUsername());
+    }
+
+    @Test
+    public void testJumpUsesOffsetOnceThenScrollsBackByKeyset() {
+        rows.get(5000);
+        runPendingLoads();
+        assertEquals(1, store.offsetQueries);
+
+        rows.get(4999);
+        runPendingLoads();
+
+        assertEquals(1, store.offsetQueries);
+        assertEquals("user-04999", rows.get(4999).getUsername());
+    }
+
+    @Test
+    public void testEmptyPageReleasesWaitingNeighbour() {
+        // Users deleted after the count was read leave the tail pages empty
+        store.users.subList(4000, USERS).clear();
+
+        rows.get(5000);
+        runPendingLoads();
+
+        // Page 51 waited for page 50's keyset; with none to offer it is read by offset
+        assertEquals(2, store.offsetQueries);
+        assertTrue(pendingLoads.isEmpty());
+        assertEquals(2, rows.getCachedPageCount());
+    }
+
+    @Test
+    public void testPageCacheStaysBounded() {
+        for (int index = 0; index < USERS; index += PAGE_SIZE) {
+            rows.get(index);
+            runPendingLoads();
+        }
+
+        assertTrue(rows.getCachedPageCount() <= 4);
+    }
+
+    @Test
+    public void testChangedRowsAreRefreshedInPlace() {
+        rows.get(0);
+        runPendingLoads();
+        store.users.set(5, new User(6, "user-00005", "renamed@example.com", null));
+
+        rows.applyChanges(List.of(new RowChange("users", RowChange.Op.UPDATE, 6, null)));
+        // The old row stays on screen until the page is re-read
+        assertEquals("user5@example.com", rows.get(5).getEmail());
+        runPendingLoads();
+
+        assertEquals("renamed@example.com", rows.get(5).getEmail());
+        assertEquals(USERS, rows.size());
+
+        // A user from outside the loaded pages renamed into them shows up too
+        store.users.set(3, new User(9000, "user-00003", "moved@example.com", null));
+        rows.applyChanges(List.of(new RowChange("users", RowChange.Op.UPDATE, 9000, null)));
+        runPendingLoads();
+        assertEquals(9000, rows.get(3).getId());
+    }
+
+    @Test
+    public void testUpdatesDuringRefreshShareOneFollowUp() {
+        rows.get(0);
+        runPendingLoads();
+
+        for (int i = 0; i < 5; i++) {
+            rows.applyChanges(List.of(new RowChange("users", RowChange.Op.UPDATE, i + 1, null)));
+        }
+        assertEquals(1, pendingLoads.size());
+        int passes = 0;
+        Runnable load;
+        while ((load = pendingLoads.poll()) != null) {
+            load.run();
+            passes++;
+        }
+        // The first pass plus one follow-up for the four updates that arrived meanwhile
+        assertEquals(2, passes);
+    }
+
+    @Test
+    public void testDeletedRowShrinksListWithoutReload() {
+        rows.get(0);
+        runPendingLoads();
+        store.users.remove(USERS - 1);
+
+        rows.applyChanges(List.of(new RowChange("users", RowChange.Op.DELETE, USERS, null)));
+        runPendingLoads();
+
+        assertEquals(USERS - 1, rows.size());
+        assertEquals("user-00000", rows.get(0).getUsername());
+        assertEquals(0, store.offsetQueries);
+    }
+
+    /**
+     * In-memory users ordered by username, counting how pages are addressed
+     */
+    private static class CountingUserStore implements UserStore {
+        private final List<User> users = new ArrayList<>();
+        private int offsetQueries;
+
+        CountingUserStore(int count) {
+            for (int i = 0; i < count; i++) {
+                users.add(new User(i + 1, String.format("user-%05d", i), "user" + i + "@example.com", null));
+            }
+        }
+
+        @Override
+        public int count() {
+            return users.size();
+        }
+
+        @Override
+        public List<User> pageAfter(String afterUsername, int limit) {
+            int start = afterUsername == null ? 0 : indexOf(afterUsername) + 1;
+            return new ArrayList<>(users.subList(start, Math.min(users.size(), start + limit)));
+        }
+
+        @Override
+        public List<User> pageBefore(String beforeUsername, int limit) {
+            int end = indexOf(beforeUsername);
+            return new ArrayList<>(users.subList(Math.max(0, end - limit), end));
+        }
+
+        @Override
+        public List<User> pageAt(long offset, int limit) {
+            offsetQueries++;
+            int start = (int) Math.min(offset, users.size());
+            return new ArrayList<>(users.subList(start, Math.min(users.size(), start + limit)));
+        }
+
+        @Override
+        public List<User> changedSince(LocalDateTime updatedAfter, long afterId, int limit) {
+            return new ArrayList<>();
+        }
+
+        private int indexOf(String username) {
+            return Integer.parseInt(username.substring("user-".length()));
+        }
+    }
+}
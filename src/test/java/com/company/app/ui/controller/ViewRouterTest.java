@@ -0,0 +1,131 @@
+package com.company.app.ui.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import com.company.app.ui.components.ManagedView;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ViewRouter tests
+ */
+public class ViewRouterTest {
+    
+    private Pane host;
+    private Queue<Runnable> pendingBuilds;
+    private ViewRouter router;
+    
+    @BeforeEach
+    public void setUp() {
+        host = new Pane();
+        pendingBuilds = new ArrayDeque<>();
+        router = new ViewRouter(host, 2, pendingBuilds::add, Runnable::run);
+        for (String route : new String[] {"home", "users", "settings"}) {
+            router.register(route, () -> new TestView(route));
+        }
+    }
+    
+    private void runPendingBuilds() {
+        Runnable build;
+        while ((build = pendingBuilds.poll()) != null) {
+            build.run();
+        }
+    }
+    
+    @Test
+    public void testFirstVisitBuildsInBackgroundThenRevisitUsesCache() {
+        CompletableFuture<Node> first = router.navigate("users");
+        assertTrue(host.getChildren().isEmpty());
+        assertFalse(first.isDone());
+        
+        runPendingBuilds();
+        TestView users = (TestView) first.join();
+        assertSame(users, host.getChildren().get(0));
+        
+        router.navigate("home");
+        runPendingBuilds();
+        assertSame(users, router.navigate("users").join());
+        assertTrue(pendingBuilds.isEmpty());
+        assertSame(users, host.getChildren().get(0));
+        assertEquals(2, users.shown);
+        
+        RouteStats stats = router.getStats("users");
+        assertEquals(2, stats.getNavigations());
+        assertEquals(1, stats.getCacheHits());
+        assertEquals(1, stats.getBuilds());
+    }
+    
+    @Test
+    public void testStaleBuildIsCachedButNotShown() {
+        router.navigate("users");
+        router.navigate("home");
+        runPendingBuilds();
+        
+        assertEquals("home", router.getCurrentRoute());
+        assertEquals("home", ((TestView) host.getChildren().get(0)).route);
+        assertTrue(router.isCached("users"));
+        assertEquals(0, router.getStats("users").getNavigations());
+    }
+    
+    @Test
+    public void testLeastRecentlyUsedViewIsEvictedAndDisposed() {
+        TestView home = (TestView) navigateAndBuild("home");
+        navigateAndBuild("users");
+        navigateAndBuild("settings");
+        
+        assertFalse(router.isCached("home"));
+        assertTrue(home.disposed);
+        assertTrue(router.isCached("users"));
+        assertTrue(router.isCached("settings"));
+    }
+    
+    @Test
+    public void testFailedBuildIsReportedAndRetried() {
+        boolean[] fail = {true};
+        router.register("reports", () -> {
+            if (fail[0]) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return new TestView("reports");
+        });
+        
+        CompletableFuture<Node> failed = router.navigate("reports");
+        runPendingBuilds();
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(1, router.getStats("reports").getFailures());
+        
+        fail[0] = false;
+        assertEquals("reports", ((TestView) navigateAndBuild("reports")).route);
+    }
+    
+    private Node navigateAndBuild(String route) {
+        CompletableFuture<Node> view = router.navigate(route);
+        runPendingBuilds();
+        return view.join();
+    }
+    
+    private static class TestView extends Region implements ManagedView {
+        final String route;
+        int shown;
+        boolean disposed;
+        
+        TestView(String route) {
+            this.route = route;
+        }
+        
+        @Override
+        public void onShow() {
+            shown++;
+        }
+        
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+}
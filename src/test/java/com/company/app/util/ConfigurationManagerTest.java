@@ -1,6 +1,16 @@
 package com.company.app.util;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -28,4 +38,123 @@ public class ConfigurationManagerTest {
         int port = manager.getIntProperty("service.api.port", 8080);
         assertTrue(port > 0);
     }
+    
+    @TempDir
+    Path tempDir;
+    
+    private Path writeConfig(String content) throws IOException {
+        Path file = tempDir.resolve("application.properties");
+        Files.writeString(file, content);
+        return file;
+    }
+    
+    @Test
+    public void testTypedValuesAreParsedOnce() throws IOException {
+        Path file = writeConfig("service.api.timeout=5s\nservice.health.interval=1500\nlogging.console=false\n"
+            + "logging.file.maxSize=10485760000\nservice.api.url=http://api:8080\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of());
+        
+        assertEquals(Duration.ofSeconds(5), manager.getDurationProperty("service.api.timeout", Duration.ZERO));
+        assertEquals(Duration.ofMillis(1500), manager.getDurationProperty("service.health.interval", Duration.ZERO));
+        assertFalse(manager.getBooleanProperty("logging.console", true));
+        assertEquals(10485760000L, manager.getLongProperty("logging.file.maxSize", 0));
+        assertEquals(8080, manager.getUriProperty("service.api.url", null).getPort());
+        assertEquals(42, manager.getIntProperty("service.api.timeout", 42));
+    }
+    
+    @Test
+    public void testEnvironmentOverridesFile() throws IOException {
+        Path file = writeConfig("service.api.timeout=5000\nservice.database.url=localhost\nservice.api.url=http://localhost\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of(
+            "SERVICE_API_TIMEOUT", "250",
+            "DB_HOST", "postgres",
+            "API_URL", "http://backend:9090"));
+        
+        assertEquals(250, manager.getIntProperty("service.api.timeout", 0));
+        assertEquals("postgres", manager.getProperty("service.database.url"));
+        assertEquals("http://backend", manager.getProperty("service.api.url"));
+        assertEquals(9090, manager.getIntProperty("service.api.port", 0));
+    }
+    
+    @Test
+    public void testInvalidValuesFallBackToDefaults() throws IOException {
+        Path file = writeConfig("service.api.port=99999\nui.window.width=wide\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of());
+        
+        assertEquals(2, manager.getSnapshot().getErrors().size());
+        assertEquals(1200, manager.getIntProperty("ui.window.width", 1200));
+    }
+    
+    @Test
+    public void testOutOfRangeValuesFallBackToDefaults() throws IOException {
+        Path file = writeConfig("service.api.port=99999\nservice.api.timeout=-5000\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of());
+        
+        assertEquals(2, manager.getSnapshot().getErrors().size());
+        assertEquals(8080, manager.getIntProperty("service.api.port", 8080));
+        assertEquals(8080L, manager.getLongProperty("service.api.port", 8080L));
+        assertEquals(Duration.ofSeconds(30), manager.getDurationProperty("service.api.timeout", Duration.ofSeconds(30)));
+        assertEquals(30000, manager.getIntProperty("service.api.timeout", 30000));
+    }
+    
+    @Test
+    public void testMalformedApiUrlIsReported() throws IOException {
+        Path file = writeConfig("service.api.url=http://localhost\nservice.api.port=8080\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of("API_URL", "http://bad host:9090"));
+        
+        assertEquals(1, manager.getSnapshot().getErrors().size());
+        assertEquals("http://localhost", manager.getProperty("service.api.url"));
+        assertEquals(8080, manager.getIntProperty("service.api.port", 0));
+        
+        // The same environment on reload is not a new problem
+        Files.writeString(file, "service.api.url=http://localhost\nservice.api.port=8081\n");
+        assertTrue(manager.reload());
+        assertEquals(8081, manager.getIntProperty("service.api.port", 0));
+    }
+    
+    @Test
+    public void testReloadSwapsSnapshotAndNotifiesListeners() throws IOException {
+        Path file = writeConfig("service.api.timeout=5000\napp.name=test\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of());
+        AtomicReference<Set<String>> changed = new AtomicReference<>();
+        manager.addListener((previous, current, changedKeys) -> changed.set(changedKeys));
+        ConfigSnapshot before = manager.getSnapshot();
+        
+        Files.writeString(file, "service.api.timeout=2000\napp.name=test\n");
+        assertTrue(manager.reload());
+        
+        assertEquals(Set.of("service.api.timeout"), changed.get());
+        assertEquals(2000, manager.getIntProperty("service.api.timeout", 0));
+        assertEquals(5000, before.getInt("service.api.timeout", 0));
+        assertTrue(manager.getSnapshot().getVersion() > before.getVersion());
+    }
+    
+    @Test
+    public void testInvalidReloadKeepsPreviousSnapshot() throws IOException {
+        Path file = writeConfig("service.api.timeout=5000\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of());
+        ConfigSnapshot before = manager.getSnapshot();
+        
+        Files.writeString(file, "service.api.timeout=soon\n");
+        assertFalse(manager.reload());
+        
+        assertSame(before, manager.getSnapshot());
+    }
+    
+    @Test
+    public void testWatcherReloadsEditedFile() throws Exception {
+        Path file = writeConfig("service.health.cacheTtl=10000\n");
+        ConfigurationManager manager = new ConfigurationManager(file, Map.of());
+        CountDownLatch reloaded = new CountDownLatch(1);
+        manager.addListener((previous, current, changedKeys) -> reloaded.countDown());
+        manager.startWatching();
+        try {
+            Files.writeString(file, "service.health.cacheTtl=3s\n");
+            // Polling watch services on some platforms take several seconds to notice
+            assertTrue(reloaded.await(15, TimeUnit.SECONDS));
+            assertEquals(3000, manager.getDurationProperty("service.health.cacheTtl", Duration.ZERO).toMillis());
+        } finally {
+            manager.stopWatching();
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.company.app.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LogRingBuffer tests
+ */
+public class LogRingBufferTest {
+
+    @Test
+    public void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer(8).capacity());
+        assertEquals(16, new LogRingBuffer(9).capacity());
+        assertEquals(16, LogRingBuffer.capacityFor(9));
+        assertEquals(4, LogRingBuffer.capacityFor(0));
+    }
+
+    @Test
+    public void testClaimFailsWhenFull() {
+        LogRingBuffer ring = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            long sequence = ring.tryClaim();
+            assertEquals(i, sequence);
+            ring.publish(sequence);
+        }
+        assertEquals(-1L, ring.tryClaim());
+        ring.drain(slot -> { }, 1);
+        assertEquals(4L, ring.tryClaim());
+    }
+
+    @Test
+    public void testDrainStopsAtUnpublishedSlot() {
+        LogRingBuffer ring = new LogRingBuffer(8);
+        long first = ring.tryClaim();
+        long second = ring.tryClaim();
+        ring.publish(second);
+        assertEquals(0, ring.drain(slot -> { }, 10));
+        ring.publish(first);
+        assertEquals(2, ring.drain(slot -> { }, 10));
+    }
+
+    @Test
+    public void testConcurrentProducersPreserveEveryRecord() throws InterruptedException {
+        LogRingBuffer ring = new LogRingBuffer(64);
+        int producers = 4;
+        int perProducer = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence = ring.claim();
+                    ring.slot(sequence).message = "m";
+                    ring.publish(sequence);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        int[] received = {0};
+        long deadline = System.currentTimeMillis() + 10000;
+        while (received[0] < producers * perProducer && System.currentTimeMillis() < deadline) {
+            ring.drain(slot -> {
+                assertEquals("m", slot.message);
+                received[0]++;
+            }, 128);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(producers * perProducer, received[0]);
+    }
+}
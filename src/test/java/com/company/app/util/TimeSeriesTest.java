@@ -0,0 +1,108 @@
+package com.company.app.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimeSeries and Lttb tests
+ */
+public class TimeSeriesTest {
+    
+    @Test
+    public void testRingBufferKeepsNewestSamplesInOrder() {
+        TimeSeries series = new TimeSeries("api", 4);
+        for (int i = 1; i <= 6; i++) {
+            series.add(i * 100L, i);
+        }
+        
+        long[] times = new long[8];
+        double[] values = new double[8];
+        int copied = series.copySince(0, times, values);
+        
+        assertEquals(4, copied);
+        assertArrayEquals(new long[] {300, 400, 500, 600}, Arrays.copyOf(times, copied));
+        assertEquals(6.0, series.latest());
+        assertEquals(6, series.getVersion());
+    }
+    
+    @Test
+    public void testCopySinceReturnsOnlyTheWindow() {
+        TimeSeries series = new TimeSeries("api", 16);
+        for (int i = 1; i <= 10; i++) {
+            series.add(i * 100L, i);
+        }
+        
+        long[] times = new long[3];
+        double[] values = new double[3];
+        assertEquals(2, series.copySince(900, times, values));
+        assertEquals(9.0, values[0]);
+        // More samples in the window than the output holds: the newest are kept
+        assertEquals(3, series.copySince(0, times, values));
+        assertArrayEquals(new double[] {8, 9, 10}, values);
+    }
+    
+    @Test
+    public void testLttbKeepsEndpointsAndPeaks() {
+        int count = 10_000;
+        long[] xs = new long[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = i;
+            ys[i] = i == 4321 ? 500 : Math.sin(i / 100.0);
+        }
+        
+        long[] outX = new long[200];
+        double[] outY = new double[200];
+        int sampled = Lttb.downsample(xs, ys, count, 200, outX, outY);
+        
+        assertEquals(200, sampled);
+        assertEquals(0, outX[0]);
+        assertEquals(count - 1, outX[sampled - 1]);
+        boolean peakKept = false;
+        for (int i = 0; i < sampled; i++) {
+            peakKept |= outX[i] == 4321;
+            if (i > 0) {
+                assertTrue(outX[i] > outX[i - 1]);
+            }
+        }
+        assertTrue(peakKept);
+    }
+    
+    @Test
+    public void testLttbKeepsGapsAsBreaks() {
+        int count = 1000;
+        long[] xs = new long[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = i;
+            // Failed probes from 400 to 419
+            ys[i] = i >= 400 && i < 420 ? Double.NaN : Math.sin(i / 50.0);
+        }
+        
+        long[] outX = new long[50];
+        double[] outY = new double[50];
+        int sampled = Lttb.downsample(xs, ys, count, 50, outX, outY);
+        
+        assertEquals(50, sampled);
+        int breaks = 0;
+        for (int i = 0; i < sampled; i++) {
+            if (Double.isNaN(outY[i])) {
+                breaks++;
+                assertTrue(outX[i] >= 400 && outX[i] < 420, "break at " + outX[i]);
+            } else {
+                assertEquals(Math.sin(outX[i] / 50.0), outY[i]);
+            }
+        }
+        assertTrue(breaks >= 1);
+    }
+    
+    @Test
+    public void testLttbCopiesShortSeries() {
+        long[] outX = new long[10];
+        double[] outY = new double[10];
+        
+        assertEquals(3, Lttb.downsample(new long[] {1, 2, 3}, new double[] {4, 5, 6}, 3, 10, outX, outY));
+        assertEquals(6.0, outY[2]);
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.app.ui.perf;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Frame Stats - Per-frame phase samples for one scripted scenario.
+ */
+class FrameStats {
+
+    private final String name;
+    private final long[] cssNanos;
+    private final long[] layoutNanos;
+    private final long[] renderNanos;
+    private final long[] allocatedBytes;
+    private int frames;
+    private int nodeCount;
+
+    FrameStats(String name, int capacity) {
+        this.name = name;
+        this.cssNanos = new long[capacity];
+        this.layoutNanos = new long[capacity];
+        this.renderNanos = new long[capacity];
+        this.allocatedBytes = new long[capacity];
+    }
+
+    void add(long css, long layout, long render, long allocated, int nodes) {
+        cssNanos[frames] = css;
+        layoutNanos[frames] = layout;
+        renderNanos[frames] = render;
+        allocatedBytes[frames] = allocated;
+        nodeCount = nodes;
+        frames++;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Total frame time percentile in milliseconds
+     */
+    double totalMillis(double percentile) {
+        long[] totals = new long[frames];
+        for (int i = 0; i < frames; i++) {
+            totals[i] = cssNanos[i] + layoutNanos[i] + renderNanos[i];
+        }
+        return percentile(totals, percentile) / 1_000_000.0;
+    }
+
+    double meanAllocatedBytes() {
+        return Arrays.stream(allocatedBytes, 0, frames).average().orElse(0);
+    }
+
+    /**
+     * Report section for this scenario
+     */
+    Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("frames", frames);
+        report.put("nodeCount", nodeCount);
+        report.put("cssMillis", phase(cssNanos));
+        report.put("layoutMillis", phase(layoutNanos));
+        report.put("renderMillis", phase(renderNanos));
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("p50", totalMillis(50));
+        total.put("p95", totalMillis(95));
+        total.put("max", totalMillis(100));
+        report.put("totalMillis", total);
+        report.put("allocatedBytesPerFrame", Math.round(meanAllocatedBytes()));
+        return report;
+    }
+
+    private Map<String, Object> phase(long[] samples) {
+        Map<String, Object> phase = new LinkedHashMap<>();
+        phase.put("p50", percentile(samples, 50) / 1_000_000.0);
+        phase.put("p95", percentile(samples, 95) / 1_000_000.0);
+        phase.put("max", percentile(samples, 100) / 1_000_000.0);
+        return phase;
+    }
+
+    private long percentile(long[] samples, double percentile) {
+        if (frames == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, frames);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * frames) - 1;
+        return sorted[Math.max(0, Math.min(frames - 1, index))];
+    }
+}
@@ -0,0 +1,276 @@
+package com.company.app.ui.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.image.WritableImage;
+import javafx.stage.Stage;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.company.app.theme.ThemeManager;
+import com.company.app.ui.components.MainFrame;
+import com.company.app.ui.controller.MainFrameController;
+import com.company.app.util.LoggerUtil;
+
+/**
+ * Frame Time Harness - Headless frame-time benchmark for the main window.
+ * Builds MainFrame through MainFrameController on the Monocle headless
+ * platform with the software pipeline, replays scripted interactions, and
+ * times the CSS, layout and render phases of every frame along with node
+ * counts and bytes allocated on the FX thread. Results are written to
+ * target/ui-perf-report.json and the process exits with status 1 when a
+ * threshold from ui-perf-thresholds.properties is exceeded.
+ *
+ * Each frame runs as one FX task (interaction, applyCss, layout, snapshot),
+ * so no real pulse can slip in between and take the work being measured.
+ */
+public final class FrameTimeHarness {
+
+    private static final Path REPORT_FILE = Paths.get("target", "ui-perf-report.json");
+    private static final String THRESHOLDS_FILE = "ui-perf-thresholds.properties";
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Stage stage;
+    private Scene scene;
+    private MainFrame mainFrame;
+    private WritableImage frameBuffer;
+
+    private FrameTimeHarness() {
+    }
+
+    public static void main(String[] args) {
+        int status;
+        try {
+            status = run();
+        } catch (Exception e) {
+            System.err.println("UI frame-time harness failed: " + e);
+            e.printStackTrace();
+            status = 2;
+        }
+        Platform.exit();
+        LoggerUtil.shutdown();
+        System.exit(status);
+    }
+
+    private static int run() throws Exception {
+        // Defaults for runs outside the ui-perf profile, e.g. from an IDE
+        defaultProperty("glass.platform", "Monocle");
+        defaultProperty("monocle.platform", "Headless");
+        defaultProperty("prism.order", "sw");
+        int warmupFrames = Integer.getInteger("uiperf.warmup", 50);
+        int measuredFrames = Integer.getInteger("uiperf.frames", 200);
+
+        LoggerUtil.setLevel(LoggerUtil.LogLevel.WARN);
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        if (!started.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("JavaFX platform did not start");
+        }
+
+        FrameTimeHarness harness = new FrameTimeHarness();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javafxVersion", System.getProperty("javafx.runtime.version"));
+        report.put("pipeline", System.getProperty("prism.order"));
+        report.put("warmupFrames", warmupFrames);
+        report.put("measuredFrames", measuredFrames);
+        report.put("build", onFx(harness::build));
+
+        Map<String, IntConsumer> scenarios = harness.scenarios();
+        List<FrameStats> results = new ArrayList<>();
+        Map<String, Object> scenarioReports = new LinkedHashMap<>();
+        for (Map.Entry<String, IntConsumer> scenario : scenarios.entrySet()) {
+            FrameStats stats = new FrameStats(scenario.getKey(), measuredFrames);
+            for (int frame = 0; frame < warmupFrames + measuredFrames; frame++) {
+                int step = frame;
+                boolean measured = frame >= warmupFrames;
+                onFx(() -> harness.frame(scenario.getValue(), step, measured ? stats : null));
+            }
+            results.add(stats);
+            scenarioReports.put(stats.getName(), stats.toReport());
+        }
+        report.put("scenarios", scenarioReports);
+
+        List<String> violations = checkThresholds(loadThresholds(), report, results);
+        report.put("violations", violations);
+        writeReport(report);
+
+        for (FrameStats stats : results) {
+            System.out.printf("%-14s p50=%.3fms p95=%.3fms alloc=%d B/frame nodes=%d%n", stats.getName(),
+                stats.totalMillis(50), stats.totalMillis(95), Math.round(stats.meanAllocatedBytes()), stats.getNodeCount());
+        }
+        violations.forEach(violation -> System.out.println("THRESHOLD EXCEEDED: " + violation));
+        System.out.println("Report: " + REPORT_FILE.toAbsolutePath());
+        return violations.isEmpty() ? 0 : 1;
+    }
+
+    /**
+     * Build the window the way Application does and measure the cost
+     */
+    private Map<String, Object> build() {
+        long allocatedBefore = allocatedBytes();
+        long started = System.nanoTime();
+        stage = new Stage();
+        MainFrameController controller = new MainFrameController();
+        controller.initialize(stage);
+        stage.setWidth(1200);
+        stage.setHeight(800);
+        stage.show();
+        scene = stage.getScene();
+        mainFrame = controller.getMainFrame();
+        scene.getRoot().applyCss();
+        scene.getRoot().layout();
+        frameBuffer = new WritableImage((int) scene.getWidth(), (int) scene.getHeight());
+        scene.snapshot(frameBuffer);
+        long elapsed = System.nanoTime() - started;
+
+        Map<String, Object> build = new LinkedHashMap<>();
+        build.put("millis", elapsed / 1_000_000.0);
+        build.put("allocatedBytes", allocatedBytes() - allocatedBefore);
+        build.put("nodeCount", countNodes(scene.getRoot()));
+        return build;
+    }
+
+    /**
+     * Scripted interactions, each applied once per frame
+     */
+    private Map<String, IntConsumer> scenarios() {
+        Button[] navigation = {
+            mainFrame.getNavigationBar().getHomeButton(),
+            mainFrame.getNavigationBar().getDashboardButton(),
+            mainFrame.getNavigationBar().getSettingsButton()
+        };
+        String[] themes = ThemeManager.getInstance().getAvailableThemes();
+
+        Map<String, IntConsumer> scenarios = new LinkedHashMap<>();
+        scenarios.put("idle", step -> { });
+        scenarios.put("navigation", step -> navigation[step % navigation.length].fire());
+        scenarios.put("theme-switch", step -> ThemeManager.getInstance().setTheme(themes[step % themes.length], scene));
+        scenarios.put("status-bar", step -> {
+            mainFrame.getStatusBar().setStatus("Processing step " + step);
+            mainFrame.getStatusBar().setConnectionStatus(step % 2 == 0 ? "Connected" : "Degraded", step % 2 == 0);
+            mainFrame.getStatusBar().setLastUpdated(String.format("12:00:%02d", step % 60));
+        });
+        return scenarios;
+    }
+
+    private Void frame(IntConsumer interaction, int step, FrameStats stats) {
+        Parent root = scene.getRoot();
+        long allocatedBefore = allocatedBytes();
+        interaction.accept(step);
+        long started = System.nanoTime();
+        root.applyCss();
+        long cssDone = System.nanoTime();
+        root.layout();
+        long layoutDone = System.nanoTime();
+        scene.snapshot(frameBuffer);
+        long renderDone = System.nanoTime();
+        if (stats != null) {
+            stats.add(cssDone - started, layoutDone - cssDone, renderDone - layoutDone,
+                allocatedBytes() - allocatedBefore, countNodes(root));
+        }
+        return null;
+    }
+
+    private static List<String> checkThresholds(Properties thresholds, Map<String, Object> report, List<FrameStats> results) {
+        List<String> violations = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> build = (Map<String, Object>) report.get("build");
+        check(violations, thresholds, "build.millis.max", ((Number) build.get("millis")).doubleValue());
+        check(violations, thresholds, "build.allocatedBytes.max", ((Number) build.get("allocatedBytes")).doubleValue());
+        check(violations, thresholds, "scene.nodes.max", ((Number) build.get("nodeCount")).doubleValue());
+        for (FrameStats stats : results) {
+            String scenario = stats.getName();
+            check(violations, thresholds, scenario + ".frame.p95.millis", stats.totalMillis(95),
+                "frame.p95.millis");
+            check(violations, thresholds, scenario + ".frame.allocatedBytes.max", stats.meanAllocatedBytes(),
+                "frame.allocatedBytes.max");
+            check(violations, thresholds, scenario + ".nodes.max", stats.getNodeCount(), "scene.nodes.max");
+        }
+        return violations;
+    }
+
+    /**
+     * Compare a measurement with the first threshold key that is set
+     */
+    private static void check(List<String> violations, Properties thresholds, String key, double value, String... fallbacks) {
+        String limit = System.getProperty("uiperf." + key, thresholds.getProperty(key));
+        for (int i = 0; limit == null && i < fallbacks.length; i++) {
+            limit = System.getProperty("uiperf." + fallbacks[i], thresholds.getProperty(fallbacks[i]));
+        }
+        if (limit != null && value > Double.parseDouble(limit)) {
+            violations.add(String.format("%s: %.3f > %s", key, value, limit));
+        }
+    }
+
+    private static Properties loadThresholds() throws IOException {
+        Properties thresholds = new Properties();
+        try (InputStream input = FrameTimeHarness.class.getClassLoader().getResourceAsStream(THRESHOLDS_FILE)) {
+            if (input != null) {
+                thresholds.load(input);
+            }
+        }
+        return thresholds;
+    }
+
+    private static void writeReport(Map<String, Object> report) throws IOException {
+        Files.createDirectories(REPORT_FILE.getParent());
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(REPORT_FILE)) {
+            gson.toJson(report, writer);
+        }
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static <T> T onFx(Callable<T> task) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result.get(60, TimeUnit.SECONDS);
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}